@@ -18,18 +18,21 @@
  */
 package org.tweetyproject.arg.adf.io;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
-import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Stack;
+import java.util.Objects;
+import java.util.concurrent.Executor;
 
 import org.tweetyproject.arg.adf.semantics.link.LinkStrategy;
 import org.tweetyproject.arg.adf.syntax.Argument;
@@ -51,7 +54,15 @@ import org.tweetyproject.arg.adf.syntax.adf.AbstractDialecticalFramework;
  * ac(a,c(v)).' is a valid input but 'ac(a,c(v)). s(a).' is not. This assumption
  * makes error handling and reporting much easier. However, this also means that
  * the order of the input statements matter and we are thus not fully
- * declarative.
+ * declarative. Arguments without an 'ac' statement are always accepted, i.e.
+ * they get the acceptance condition c(v).
+ * <p>
+ * The input is parsed in a single pass without building a parse-tree, the
+ * acceptance conditions are built bottom-up while reading them. Arguments are
+ * interned by their name and identical subformulas are shared, i.e. every
+ * structurally distinct acceptance condition is only instantiated once per
+ * parse. Formulas whose operands are identical are simplified on the fly, e.g.
+ * 'and(a,a)' becomes 'a' and 'xor(a,a)' becomes 'c(f)'.
  * 
  * @author Mathias Hofer
  *
@@ -63,6 +74,8 @@ public final class KppADFFormatParser {
 	private final boolean lazy;
 	
 	private final LinkStrategy linkStrategy;
+	
+	private final Executor executor;
 
 	/**
 	 * 
@@ -72,6 +85,20 @@ public final class KppADFFormatParser {
 	public KppADFFormatParser(LinkStrategy linkStrategy, boolean lazy) {
 		this.linkStrategy = linkStrategy;
 		this.lazy = lazy;
+		this.executor = Runnable::run;
+	}
+	
+	/**
+	 * Computes the links eagerly, the links of the children are computed by
+	 * tasks which are executed by the given executor.
+	 * 
+	 * @param linkStrategy the strategy which is used to compute the links, must be thread-safe if the executor uses multiple threads
+	 * @param executor the executor of the link computations
+	 */
+	public KppADFFormatParser(LinkStrategy linkStrategy, Executor executor) {
+		this.linkStrategy = linkStrategy;
+		this.lazy = false;
+		this.executor = Objects.requireNonNull(executor);
 	}
 	
 	public AbstractDialecticalFramework parse(String text) throws IOException {
@@ -79,357 +106,557 @@ public final class KppADFFormatParser {
 	}
 	
 	public AbstractDialecticalFramework parse(File file) throws FileNotFoundException, IOException {
-		return parse(new BufferedReader(new InputStreamReader(new FileInputStream(file))));
-	}
-
-	public AbstractDialecticalFramework parse(Reader reader) throws IOException {
-		Map<String, Argument> arguments = new HashMap<String, Argument>();
-		Map<Argument, AcceptanceCondition> accByArgument = new HashMap<Argument, AcceptanceCondition>();
-		Stack<Node> nodes = new Stack<Node>();
-		CharBuffer buf = CharBuffer.allocate(BUFFER_CAPACITY);
-		StringBuilder token = new StringBuilder();
-		while (reader.read(buf) > 0) {
-			buf.flip();
-			while (buf.hasRemaining()) {
-				char c = buf.get();
-				if (c == '(') {
-					String parsed = token.toString();
-					token = new StringBuilder(); // consume token
-					switch (parsed) {
-					case "s":
-						nodes.push(new SNode(arguments));
-						break;
-					case "ac":
-						nodes.push(new ACNode(accByArgument));
-						break;
-					case "c":
-						nodes.push(new CNode());
-						break;
-					case "neg":
-						nodes.push(new NegNode());
-						break;
-					case "and":
-						nodes.push(new AndNode());
-						break;
-					case "or":
-						nodes.push(new OrNode());
-						break;
-					case "imp":
-						nodes.push(new ImpNode());
-						break;
-					case "xor":
-						nodes.push(new XorNode());
-						break;
-					case "iff":
-						nodes.push(new IffNode());
-						break;
-					default:
-						throw new IOException("Unknown expression: " + parsed);
-					}
-				} else if (c == ',') {
-					// we only have to deal with identifiers
-					if (token.length() > 0) {
-						Node top = nodes.peek();
-						top.addNode(new IdentifierNode(token.toString(), arguments));
-						// consume token
-						token = new StringBuilder();
-					}
-				} else if (c == ')') {
-					// check if we have to process an identifier
-					if (token.length() > 0) {
-						Node top = nodes.peek();
-						top.addNode(new IdentifierNode(token.toString(), arguments));
-						// consume token
-						token = new StringBuilder();
-					}
-
-					// keep the last node for the '.' case
-					if (nodes.size() > 1) {
-						Node child = nodes.pop();
-						Node parent = nodes.peek();
-						parent.addNode(child);
-					}
-				} else if (c == '.') {
-					Node root = nodes.pop();
-					if (nodes.isEmpty()) {
-						root.parseStatement();
-					} else {
-						throw new IOException("Unprocessed node(s) on the stack!");
-					}
-				} else if (!Character.isWhitespace(c)) {
-					// build token until there is something to do
-					token.append(c);
-				}
-			}
-			buf.clear();
-		}
-
-		if (!nodes.isEmpty()) {
-			throw new IOException("Unprocessed node(s) on the stack!");
+		try (InputStream in = new FileInputStream(file)) {
+			return parse(in);
 		}
-		
-		AbstractDialecticalFramework.Builder builder = AbstractDialecticalFramework.fromMap(accByArgument);
-		if (lazy) {
-			builder = builder.lazy(linkStrategy);
-		} else {
-			builder = builder.eager(linkStrategy);
-		}
-		return builder.build();
 	}
 
 	/**
-	 * Represents a node of the parse-tree.
+	 * Parses the UTF-8 encoded input directly on byte level. The stream is not
+	 * closed by this method.
 	 * 
-	 * Provides all necessary methods and throws IOExceptions if they are
-	 * called on wrong nodes. This basically outsources error-handling to the
-	 * nodes and keeps the parser logic clean.
+	 * @param in the input
+	 * @return the parsed ADF
+	 * @throws IOException if the input could not be read or is malformed
 	 */
-	private abstract class Node {
+	public AbstractDialecticalFramework parse(InputStream in) throws IOException {
+		return new Parser(new ByteLexer(in)).parse();
+	}
 
-		private String name;
+	public AbstractDialecticalFramework parse(Reader reader) throws IOException {
+		return new Parser(new CharLexer(reader)).parse();
+	}
 
-		public Node(String name) {
-			this.name = name;
-		}
+	private static final int EOF = 0;
 
-		abstract void addNode(Node node);
+	private static final int IDENTIFIER = 1;
 
-		void parseStatement() throws IOException {
-			throw new IOException(toString() + " neither 's' nor 'ac'!");
-		}
+	private static final int OPEN = 2;
 
-		AcceptanceCondition parseFormula() throws IOException {
-			throw new IOException(toString() + " not a formula!");
-		}
+	private static final int CLOSE = 3;
 
-		AcceptanceCondition parseSpecialFormula() throws IOException {
-			throw new IOException(toString() + " neither 'v' (verum) nor 'f' (falsum)!");
-		}
+	private static final int COMMA = 4;
 
-		Argument parseArgument() throws IOException {
-			throw new IOException(toString() + " not a proposition!");
-		}
+	private static final int DOT = 5;
 
-		public String getName() {
-			return name;
-		}
+	private static final int NONE = -1;
 
-		@Override
-		public String toString() {
-			return name;
-		}
-	}
+	private static final int CONSTANT = 0;
 
-	private class SNode extends UnaryNode {
-		private Map<String, Argument> statements;
+	private static final int NEG = 1;
 
-		public SNode(Map<String, Argument> statements) {
-			super("s");
-			this.statements = statements;
-		}
+	private static final int AND = 2;
 
-		@Override
-		public void parseStatement() throws IOException {
-			// call parseArgument() just for error-handling purposes
-			// it returns null -> is absent in statements -> create new one
-			// it does not return null -> is in statements -> do nothing
-			getChild().parseArgument();
-			String argName = getChild().getName();
-			statements.putIfAbsent(argName, new Argument(argName));
-		}
-	}
+	private static final int OR = 3;
 
-	private class ACNode extends BinaryNode {
+	private static final int IMP = 4;
 
-		private Map<Argument, AcceptanceCondition> accByArgument;
-		
-		public ACNode(Map<Argument, AcceptanceCondition> accByArgument) {
-			super("ac");
-			this.accByArgument = accByArgument;
-		}
+	private static final int XOR = 5;
 
-		@Override
-		public void parseStatement() throws IOException {
-			Argument argument = getFirst().parseArgument();
-			AcceptanceCondition acceptanceCondition = getSecond().parseFormula();
-			accByArgument.put(argument, acceptanceCondition);
-		}
-	}
+	private static final int IFF = 6;
+
+	private final class Parser {
+
+		private final Lexer lexer;
+
+		private final Symbols symbols = new Symbols();
+
+		private final List<Argument> arguments = new ArrayList<>();
 
-	private abstract class UnaryNode extends Node {
-		private Node child;
+		private final Map<Argument, AcceptanceCondition> accByArgument = new HashMap<>();
 
-		public UnaryNode(String name) {
-			super(name);
+		private final Map<Key, AcceptanceCondition> formulas = new HashMap<>();
+
+		// the operators which are currently open, together with their left operands
+		private int[] operators = new int[16];
+
+		private AcceptanceCondition[] lefts = new AcceptanceCondition[16];
+
+		private int depth;
+
+		Parser(Lexer lexer) {
+			this.lexer = lexer;
 		}
 
-		@Override
-		public void addNode(Node node) {
-			if (child == null) {
-				child = node;
+		AbstractDialecticalFramework parse() throws IOException {
+			lexer.advance();
+			while (lexer.type != EOF) {
+				parseStatement();
+			}
+
+			AbstractDialecticalFramework.Builder builder = AbstractDialecticalFramework.builder();
+			for (Argument argument : arguments) {
+				builder.add(argument, accByArgument.getOrDefault(argument, AcceptanceCondition.TAUTOLOGY));
+			}
+			if (lazy) {
+				builder = builder.lazy(linkStrategy);
+			} else {
+				builder = builder.eager(linkStrategy, executor);
+			}
+			return builder.build();
+		}
+
+		private void parseStatement() throws IOException {
+			expect(IDENTIFIER);
+			if (lexer.is("s")) {
+				lexer.advance();
+				consume(OPEN);
+				expect(IDENTIFIER);
+				if (symbols.get(lexer.text, lexer.length) == null) {
+					Argument argument = new Argument(lexer.name());
+					symbols.put(lexer.text, lexer.length, argument);
+					arguments.add(argument);
+				}
+				lexer.advance();
+				consume(CLOSE);
+			} else if (lexer.is("ac")) {
+				lexer.advance();
+				consume(OPEN);
+				Argument argument = parseArgument();
+				consume(COMMA);
+				AcceptanceCondition acc = parseFormula();
+				consume(CLOSE);
+				accByArgument.put(argument, acc);
 			} else {
-				throw new IllegalArgumentException("Cannot add node '" + node + "' to " + this);
+				throw error(lexer.name() + " neither 's' nor 'ac'!");
 			}
+			consume(DOT);
 		}
 
-		public Node getChild() {
-			return child;
+		private Argument parseArgument() throws IOException {
+			expect(IDENTIFIER);
+			Argument argument = symbols.get(lexer.text, lexer.length);
+			if (argument == null) {
+				throw error("Undefined argument: " + lexer.name());
+			}
+			lexer.advance();
+			return argument;
+		}
+
+		/**
+		 * Uses an explicit stack of open operators instead of recursion, so
+		 * the nesting depth of the formulas is only bounded by the heap.
+		 */
+		private AcceptanceCondition parseFormula() throws IOException {
+			int bottom = depth;
+			while (true) {
+				// descend until we have read an operand
+				AcceptanceCondition operand = null;
+				while (operand == null) {
+					expect(IDENTIFIER);
+					// the identifier is overwritten by the lookahead, so we have to resolve it first
+					int operator = operator();
+					Argument argument = symbols.get(lexer.text, lexer.length);
+					String name = argument == null ? lexer.name() : argument.getName();
+					lexer.advance();
+					if (lexer.type == OPEN) {
+						lexer.advance();
+						if (operator == CONSTANT) {
+							operand = parseConstant();
+						} else if (operator != NONE) {
+							push(operator);
+						} else {
+							throw error("Unknown expression: " + name);
+						}
+					} else if (argument != null) {
+						operand = argument;
+					} else {
+						throw error("Undefined argument: " + name);
+					}
+				}
+
+				// ascend as long as operators are complete
+				while (true) {
+					if (depth == bottom) {
+						return operand;
+					}
+					int top = depth - 1;
+					if (operators[top] != NEG && lefts[top] == null) {
+						consume(COMMA);
+						lefts[top] = operand;
+						break;
+					}
+					consume(CLOSE);
+					operand = intern(operators[top], lefts[top], operand);
+					lefts[top] = null;
+					depth--;
+				}
+			}
 		}
 
-		@Override
-		public String toString() {
-			return getName() + "(" + child + ")";
+		private AcceptanceCondition parseConstant() throws IOException {
+			expect(IDENTIFIER);
+			AcceptanceCondition constant;
+			if (lexer.is("v")) {
+				constant = AcceptanceCondition.TAUTOLOGY;
+			} else if (lexer.is("f")) {
+				constant = AcceptanceCondition.CONTRADICTION;
+			} else {
+				throw error(lexer.name() + " neither 'v' (verum) nor 'f' (falsum)!");
+			}
+			lexer.advance();
+			consume(CLOSE);
+			return constant;
+		}
+
+		private int operator() {
+			if (lexer.is("c")) {
+				return CONSTANT;
+			} else if (lexer.is("neg")) {
+				return NEG;
+			} else if (lexer.is("and")) {
+				return AND;
+			} else if (lexer.is("or")) {
+				return OR;
+			} else if (lexer.is("imp")) {
+				return IMP;
+			} else if (lexer.is("xor")) {
+				return XOR;
+			} else if (lexer.is("iff")) {
+				return IFF;
+			}
+			return NONE;
 		}
-	}
 
-	private abstract class BinaryNode extends Node {
-		private Node first;
-		private Node second;
+		private void push(int operator) {
+			if (depth == operators.length) {
+				operators = Arrays.copyOf(operators, depth * 2);
+				lefts = Arrays.copyOf(lefts, depth * 2);
+			}
+			operators[depth++] = operator;
+		}
+
+		/**
+		 * Returns the shared instance of the given formula, the operands must
+		 * already be shared instances.
+		 */
+		private AcceptanceCondition intern(int operator, AcceptanceCondition left, AcceptanceCondition right) {
+			if (left == right) {
+				switch (operator) {
+				case AND:
+				case OR:
+					return left;
+				case IMP:
+				case IFF:
+					return AcceptanceCondition.TAUTOLOGY;
+				case XOR:
+					return AcceptanceCondition.CONTRADICTION;
+				}
+			}
+			Key key = new Key(operator, left, right);
+			AcceptanceCondition acc = formulas.get(key);
+			if (acc == null) {
+				acc = create(operator, left, right);
+				formulas.put(key, acc);
+			}
+			return acc;
+		}
+
+		private AcceptanceCondition create(int operator, AcceptanceCondition left, AcceptanceCondition right) {
+			switch (operator) {
+			case NEG:
+				return new NegationAcceptanceCondition(right);
+			case AND:
+				return new ConjunctionAcceptanceCondition(left, right);
+			case OR:
+				return new DisjunctionAcceptanceCondition(left, right);
+			case IMP:
+				return new ImplicationAcceptanceCondition(left, right);
+			case XOR:
+				return new ExclusiveDisjunctionAcceptanceCondition(left, right);
+			case IFF:
+				return new EquivalenceAcceptanceCondition(left, right);
+			default:
+				throw new IllegalArgumentException("Unknown operator: " + operator);
+			}
+		}
 
-		public BinaryNode(String name) {
-			super(name);
+		private void consume(int type) throws IOException {
+			expect(type);
+			lexer.advance();
 		}
 
-		@Override
-		public void addNode(Node node) {
-			if (first == null) {
-				first = node;
-			} else if (second == null) {
-				second = node;
-			} else {
-				throw new IllegalArgumentException("Cannot add node '" + node + "' to " + this);
+		private void expect(int type) throws IOException {
+			if (lexer.type != type) {
+				throw error("Expected " + describe(type) + " but found " + describe(lexer.type) + "!");
 			}
 		}
 
-		public Node getFirst() {
-			return first;
+		private String describe(int type) {
+			switch (type) {
+			case EOF:
+				return "end of input";
+			case IDENTIFIER:
+				return lexer.type == IDENTIFIER ? "'" + lexer.name() + "'" : "identifier";
+			case OPEN:
+				return "'('";
+			case CLOSE:
+				return "')'";
+			case COMMA:
+				return "','";
+			default:
+				return "'.'";
+			}
 		}
 
-		public Node getSecond() {
-			return second;
+		private IOException error(String message) {
+			return new IOException(message + " (line " + lexer.line + ")");
 		}
 
-		@Override
-		public String toString() {
-			return getName() + "(" + first + "," + second + ")";
-		}
 	}
 
-	private class IdentifierNode extends Node {
-		private Map<String, Argument> statements;
+	/**
+	 * Identifies a formula by its operator and the identities of its operands,
+	 * which suffices since the operands are shared instances themselves.
+	 */
+	private static final class Key {
+
+		private final int operator;
 
-		public IdentifierNode(String name, Map<String, Argument> statements) {
-			super(name);
-			this.statements = statements;
-		}
+		private final AcceptanceCondition left;
 
-		@Override
-		public void addNode(Node node) {
-			throw new IllegalArgumentException("Cannot add node '" + node + "' to " + this);
-		}
+		private final AcceptanceCondition right;
 
-		@Override
-		public Argument parseArgument() throws IOException {
-			return statements.get(getName());
+		Key(int operator, AcceptanceCondition left, AcceptanceCondition right) {
+			this.operator = operator;
+			this.left = left;
+			this.right = right;
 		}
 
+		/* (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
 		@Override
-		AcceptanceCondition parseFormula() throws IOException {
-			return parseArgument();
+		public int hashCode() {
+			int l = System.identityHashCode(left);
+			int r = System.identityHashCode(right);
+			// the implication is the only operator which is not commutative
+			return 31 * operator + (operator == IMP ? 31 * l + r : l + r);
 		}
 
+		/* (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
 		@Override
-		AcceptanceCondition parseSpecialFormula() throws IOException {
-			if ("v".equals(getName())) {
-				return AcceptanceCondition.TAUTOLOGY;
-			} else if ("f".equals(getName())) {
-				return AcceptanceCondition.CONTRADICTION;
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
 			}
-			return super.parseSpecialFormula();
+			Key other = (Key) obj;
+			if (operator != other.operator) {
+				return false;
+			}
+			return (left == other.left && right == other.right)
+					|| (operator != IMP && left == other.right && right == other.left);
 		}
+
 	}
 
-	private class CNode extends UnaryNode {
+	/**
+	 * Maps the raw identifiers of the input to their arguments without
+	 * creating intermediate strings.
+	 */
+	private static final class Symbols {
 
-		public CNode() {
-			super("c");
-		}
+		private char[][] keys = new char[64][];
 
-		@Override
-		public AcceptanceCondition parseFormula() throws IOException {
-			return getChild().parseSpecialFormula();
-		}
-	}
+		private Argument[] values = new Argument[64];
 
-	private class NegNode extends UnaryNode {
+		private int size;
 
-		public NegNode() {
-			super("neg");
+		Argument get(char[] text, int length) {
+			return values[slot(keys, text, length)];
 		}
 
-		@Override
-		public AcceptanceCondition parseFormula() throws IOException {
-			return new NegationAcceptanceCondition(getChild().parseFormula());
+		void put(char[] text, int length, Argument argument) {
+			int slot = slot(keys, text, length);
+			if (values[slot] == null) {
+				keys[slot] = Arrays.copyOf(text, length);
+				values[slot] = argument;
+				if (++size * 2 > keys.length) {
+					grow();
+				}
+			}
 		}
-	}
-
-	private class AndNode extends BinaryNode {
 
-		public AndNode() {
-			super("and");
+		private void grow() {
+			char[][] oldKeys = keys;
+			Argument[] oldValues = values;
+			keys = new char[oldKeys.length * 2][];
+			values = new Argument[oldKeys.length * 2];
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldKeys[i] != null) {
+					int slot = slot(keys, oldKeys[i], oldKeys[i].length);
+					keys[slot] = oldKeys[i];
+					values[slot] = oldValues[i];
+				}
+			}
 		}
 
-		@Override
-		public AcceptanceCondition parseFormula() throws IOException {
-			return new ConjunctionAcceptanceCondition(getFirst().parseFormula(), getSecond().parseFormula());
+		private static int slot(char[][] keys, char[] text, int length) {
+			int hash = 0;
+			for (int i = 0; i < length; i++) {
+				hash = 31 * hash + text[i];
+			}
+			int mask = keys.length - 1;
+			int slot = (hash ^ (hash >>> 16)) & mask;
+			while (keys[slot] != null && !Arrays.equals(keys[slot], 0, keys[slot].length, text, 0, length)) {
+				slot = (slot + 1) & mask;
+			}
+			return slot;
 		}
+
 	}
 
-	private class OrNode extends BinaryNode {
+	/**
+	 * Splits the input into tokens, identifiers are kept in a reused buffer
+	 * which is valid until the next call of {@link #advance()}.
+	 */
+	private static abstract class Lexer {
 
-		public OrNode() {
-			super("or");
-		}
+		int type;
 
-		@Override
-		public AcceptanceCondition parseFormula() throws IOException {
-			return new DisjunctionAcceptanceCondition(getFirst().parseFormula(), getSecond().parseFormula());
-		}
-	}
+		char[] text = new char[64];
 
-	private class ImpNode extends BinaryNode {
+		int length;
 
-		public ImpNode() {
-			super("imp");
+		int line = 1;
+
+		private int lookahead = -2;
+
+		/**
+		 * @return the next unit of the input or -1 if the end is reached
+		 */
+		abstract int read() throws IOException;
+
+		String name() {
+			return new String(text, 0, length);
 		}
 
-		@Override
-		public AcceptanceCondition parseFormula() throws IOException {
-			return new ImplicationAcceptanceCondition(getFirst().parseFormula(), getSecond().parseFormula());
+		boolean is(String keyword) {
+			if (keyword.length() != length) {
+				return false;
+			}
+			for (int i = 0; i < length; i++) {
+				if (keyword.charAt(i) != text[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		void advance() throws IOException {
+			int c = lookahead;
+			lookahead = -2;
+			if (c == -2) {
+				c = read();
+			}
+			while (c >= 0 && c <= ' ') {
+				if (c == '\n') {
+					line++;
+				}
+				c = read();
+			}
+			switch (c) {
+			case -1:
+				type = EOF;
+				return;
+			case '(':
+				type = OPEN;
+				return;
+			case ')':
+				type = CLOSE;
+				return;
+			case ',':
+				type = COMMA;
+				return;
+			case '.':
+				type = DOT;
+				return;
+			}
+			length = 0;
+			do {
+				if (length == text.length) {
+					text = Arrays.copyOf(text, length * 2);
+				}
+				text[length++] = (char) c;
+				c = read();
+			} while (c > ' ' && c != '(' && c != ')' && c != ',' && c != '.');
+			lookahead = c;
+			type = IDENTIFIER;
 		}
+
 	}
 
-	private class XorNode extends BinaryNode {
+	private static final class ByteLexer extends Lexer {
 
-		public XorNode() {
-			super("xor");
+		private final InputStream in;
+
+		private final byte[] buffer = new byte[BUFFER_CAPACITY];
+
+		private int position;
+
+		private int limit;
+
+		ByteLexer(InputStream in) {
+			this.in = Objects.requireNonNull(in);
+		}
+
+		@Override
+		int read() throws IOException {
+			if (position == limit) {
+				limit = in.read(buffer);
+				position = 0;
+				if (limit <= 0) {
+					limit = 0;
+					return -1;
+				}
+			}
+			return buffer[position++] & 0xFF;
 		}
 
+		/*
+		 * The identifier consists of the raw bytes of the input, so we have to
+		 * decode it.
+		 */
 		@Override
-		public AcceptanceCondition parseFormula() throws IOException {
-			return new ExclusiveDisjunctionAcceptanceCondition(getFirst().parseFormula(), getSecond().parseFormula());
+		String name() {
+			byte[] bytes = new byte[length];
+			for (int i = 0; i < length; i++) {
+				bytes[i] = (byte) text[i];
+			}
+			return new String(bytes, StandardCharsets.UTF_8);
 		}
+
 	}
 
-	private class IffNode extends BinaryNode {
+	private static final class CharLexer extends Lexer {
+
+		private final Reader reader;
+
+		private final char[] buffer = new char[BUFFER_CAPACITY];
+
+		private int position;
+
+		private int limit;
 
-		public IffNode() {
-			super("iff");
+		CharLexer(Reader reader) {
+			this.reader = Objects.requireNonNull(reader);
 		}
 
 		@Override
-		public AcceptanceCondition parseFormula() throws IOException {
-			return new EquivalenceAcceptanceCondition(getFirst().parseFormula(), getSecond().parseFormula());
+		int read() throws IOException {
+			if (position == limit) {
+				limit = reader.read(buffer);
+				position = 0;
+				if (limit <= 0) {
+					limit = 0;
+					return -1;
+				}
+			}
+			return buffer[position++];
 		}
+
 	}
+
 }
@@ -28,6 +28,7 @@ import org.tweetyproject.arg.adf.semantics.link.Link;
 import org.tweetyproject.arg.adf.syntax.Argument;
 import org.tweetyproject.arg.adf.syntax.adf.AbstractDialecticalFramework;
 import org.tweetyproject.arg.adf.syntax.pl.Literal;
+import org.tweetyproject.arg.adf.util.ArgumentIndex;
 import org.tweetyproject.arg.adf.util.Pair;
 import org.tweetyproject.arg.adf.util.UnionCollectionView;
 
@@ -55,6 +56,8 @@ public final class PropositionalMapping {
 
 	private final Map<Pair<Argument, Argument>, Literal> links = new HashMap<>();
 
+	private final ArgumentIndex index;
+
 	/**
 	 * Creates propositional representations for the arguments and links of the
 	 * provided ADF. It does not compute any links in the process.
@@ -70,6 +73,7 @@ public final class PropositionalMapping {
 	 *            the ADF for which we need a propositional representation
 	 */
 	public PropositionalMapping(AbstractDialecticalFramework adf) {
+		this.index = adf.getArgumentIndex();
 		for (Argument child : adf.getArguments()) {
 			falses.put(child, Literal.create(child.getName() + "_f"));
 			trues.put(child, Literal.create(child.getName() + "_t"));
@@ -120,6 +124,16 @@ public final class PropositionalMapping {
 		return Collections.unmodifiableSet(trues.keySet()); // could also return falses.keySet(), does not matter
 	}
 
+	/**
+	 * Returns the index of the arguments of this mapping, interpretations
+	 * constructed from witnesses are represented relative to it.
+	 * 
+	 * @return the index of the arguments
+	 */
+	public ArgumentIndex getArgumentIndex() {
+		return index;
+	}
+
 	public Literal getLink(Link link) {
 		return getLink(link.getFrom(), link.getTo());
 	}
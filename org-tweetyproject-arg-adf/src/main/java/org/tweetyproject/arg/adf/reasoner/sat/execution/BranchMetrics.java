@@ -0,0 +1,119 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.adf.reasoner.sat.execution;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import org.tweetyproject.arg.adf.semantics.interpretation.Interpretation;
+
+/**
+ * A snapshot of the work done by a single branch of a {@link ParallelExecution}.
+ * 
+ * @author Sebastian Franke
+ *
+ */
+public final class BranchMetrics {
+
+	private final Interpretation prefix;
+	
+	private final long candidates;
+	
+	private final long verifications;
+	
+	private final long models;
+	
+	private final long satCalls;
+	
+	private final Duration wallTime;
+	
+	private final Duration busyTime;
+
+	BranchMetrics(Interpretation prefix, long candidates, long verifications, long models, long satCalls, Duration wallTime, Duration busyTime) {
+		this.prefix = Objects.requireNonNull(prefix);
+		this.candidates = candidates;
+		this.verifications = verifications;
+		this.models = models;
+		this.satCalls = satCalls;
+		this.wallTime = Objects.requireNonNull(wallTime);
+		this.busyTime = Objects.requireNonNull(busyTime);
+	}
+
+	/**
+	 * @return the prefix every interpretation of the branch extends, or the
+	 *         empty interpretation if the search space was not decomposed
+	 */
+	public Interpretation getPrefix() {
+		return prefix;
+	}
+
+	/**
+	 * @return the number of candidates computed by the branch
+	 */
+	public long getCandidates() {
+		return candidates;
+	}
+
+	/**
+	 * @return the number of candidates the verifier was called for
+	 */
+	public long getVerifications() {
+		return verifications;
+	}
+	
+	/**
+	 * @return the number of verified candidates
+	 */
+	public long getModels() {
+		return models;
+	}
+
+	/**
+	 * @return the number of satisfiability checks and witness computations of
+	 *         all the solver states of the branch
+	 */
+	public long getSatCalls() {
+		return satCalls;
+	}
+
+	/**
+	 * @return the time between the start of the first step of the branch and
+	 *         its end
+	 */
+	public Duration getWallTime() {
+		return wallTime;
+	}
+
+	/**
+	 * @return the time the branch actually occupied a worker
+	 */
+	public Duration getBusyTime() {
+		return busyTime;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "BranchMetrics [prefix=" + prefix + ", candidates=" + candidates + ", verifications=" + verifications
+				+ ", models=" + models + ", satCalls=" + satCalls + ", wallTime=" + wallTime + ", busyTime=" + busyTime + "]";
+	}
+	
+}
@@ -1,9 +1,12 @@
 package org.tweetyproject.arg.adf.reasoner.sat.execution;
 
+import java.time.Duration;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import org.tweetyproject.arg.adf.sat.IncrementalSatSolver;
-import org.tweetyproject.arg.adf.sat.solver.NativeMinisatSolver;
+import org.tweetyproject.arg.adf.sat.solver.PlSatSolverAdapter;
 
 public final class Configuration {
 
@@ -11,9 +14,21 @@ public final class Configuration {
 	
 	private final int parallelism;
 	
+	private final Executor executor;
+	
+	private final int bufferSize;
+	
+	private final Duration splitThreshold;
+	
+	private final ExecutionListener listener;
+	
 	private Configuration(Builder builder) {
 		this.satSolver = builder.satSolver;
 		this.parallelism = builder.parallelism;
+		this.executor = builder.executor;
+		this.bufferSize = builder.bufferSize > 0 ? builder.bufferSize : builder.parallelism;
+		this.splitThreshold = builder.splitThreshold;
+		this.listener = builder.listener;
 	}
 	
 	public static Builder builder() {
@@ -27,12 +42,53 @@ public final class Configuration {
 	public int getParallelism() {
 		return parallelism;
 	}
+	
+	/**
+	 * @return the executor the branches of a parallel execution run on, or an
+	 *         empty optional if every execution creates its own pool
+	 */
+	public Optional<Executor> getExecutor() {
+		return Optional.ofNullable(executor);
+	}
+	
+	/**
+	 * @return the maximal number of results a parallel execution computes in
+	 *         advance of the consumer
+	 */
+	public int getBufferSize() {
+		return bufferSize;
+	}
+	
+	/**
+	 * @return the time after which a branch of a parallel execution is split
+	 *         if there are idle workers, or an empty optional if branches are
+	 *         never split
+	 */
+	public Optional<Duration> getSplitThreshold() {
+		return Optional.ofNullable(splitThreshold);
+	}
+	
+	/**
+	 * @return the listener which is notified about the branches of a parallel
+	 *         execution
+	 */
+	public ExecutionListener getExecutionListener() {
+		return listener;
+	}
 
 	public static final class Builder {
 		
-		private IncrementalSatSolver satSolver = new NativeMinisatSolver();
+		private IncrementalSatSolver satSolver = new PlSatSolverAdapter();
 		
 		private int parallelism = Runtime.getRuntime().availableProcessors();
+		
+		private Executor executor;
+		
+		private int bufferSize;
+		
+		private Duration splitThreshold = ParallelExecution.DEFAULT_SPLIT_THRESHOLD;
+		
+		private ExecutionListener listener = ExecutionListener.NONE;
 				
 		public Builder setSatSolver(IncrementalSatSolver satSolver) {
 			this.satSolver = Objects.requireNonNull(satSolver);
@@ -51,6 +107,74 @@ public final class Configuration {
 			return this;
 		}
 		
+		/**
+		 * Runs the branches of parallel executions on the given executor
+		 * instead of a work-stealing pool owned by the execution. The executor
+		 * is not shut down by the execution.
+		 * <p>
+		 * Branches never block while they wait for the consumer, so the
+		 * executor may as well be backed by virtual threads.
+		 * 
+		 * @param executor the executor
+		 * @return this builder
+		 */
+		public Builder setExecutor(Executor executor) {
+			this.executor = Objects.requireNonNull(executor);
+			return this;
+		}
+		
+		/**
+		 * Defaults to the parallelism level.
+		 * 
+		 * @param bufferSize the maximal number of results a parallel execution
+		 *                   computes in advance of the consumer
+		 * @return this builder
+		 */
+		public Builder setBufferSize(int bufferSize) {
+			if (bufferSize < 1) {
+				throw new IllegalArgumentException("Buffer size must be > 0");
+			}
+			this.bufferSize = bufferSize;
+			return this;
+		}
+		
+		/**
+		 * A branch of a parallel execution which has been busy for longer than
+		 * the given threshold is split into smaller branches if there are fewer
+		 * branches than the parallelism level.
+		 * 
+		 * @param splitThreshold the threshold, defaults to one second
+		 * @return this builder
+		 */
+		public Builder setSplitThreshold(Duration splitThreshold) {
+			if (splitThreshold.isNegative()) {
+				throw new IllegalArgumentException("Split threshold must not be negative");
+			}
+			this.splitThreshold = splitThreshold;
+			return this;
+		}
+		
+		/**
+		 * Branches of parallel executions are never split, they are only
+		 * created once by the decomposer of the semantics.
+		 * 
+		 * @return this builder
+		 */
+		public Builder disableSplitting() {
+			this.splitThreshold = null;
+			return this;
+		}
+		
+		/**
+		 * @param listener the listener which is notified about the branches of
+		 *                 parallel executions
+		 * @return this builder
+		 */
+		public Builder setExecutionListener(ExecutionListener listener) {
+			this.listener = Objects.requireNonNull(listener);
+			return this;
+		}
+		
 		public Configuration build() {
 			return new Configuration(this);
 		}
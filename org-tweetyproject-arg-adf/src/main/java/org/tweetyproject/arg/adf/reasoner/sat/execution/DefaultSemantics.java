@@ -41,6 +41,11 @@ abstract class DefaultSemantics implements Semantics {
 		return new RandomDecomposer();
 	}
 	
+	@Override
+	public PropositionalMapping getPropositionalMapping() {
+		return mapping;
+	}
+	
 	static final class ConflictFreeSemantics extends DefaultSemantics {
 
 		public ConflictFreeSemantics(AbstractDialecticalFramework adf) {
@@ -110,6 +115,11 @@ abstract class DefaultSemantics implements Semantics {
 			return List.of(ConflictFreeMaximizer.withoutPrefix(stateSupplier, adf, mapping));
 		}
 		
+		@Override
+		public boolean isRestrictable() {
+			return false;
+		}
+		
 		@Override
 		public Semantics withPrefix(Interpretation prefix) {
 			return new PrefixSemantics.NaiveSemantics(adf, mapping, prefix);
@@ -186,6 +196,16 @@ abstract class DefaultSemantics implements Semantics {
 			return List.of(AdmissibleMaximizer.withoutPrefix(stateSupplier, adf, mapping));
 		}
 		
+		@Override
+		public boolean isRestrictable() {
+			return false;
+		}
+		
+		@Override
+		public boolean isDecomposable() {
+			return false;
+		}
+		
 		@Override
 		public Semantics withPrefix(Interpretation prefix) {
 			return new PrefixSemantics.PreferredSemantics(adf, mapping, prefix);
@@ -348,6 +368,16 @@ abstract class DefaultSemantics implements Semantics {
 			return List.of();
 		}
 		
+		@Override
+		public boolean isRestrictable() {
+			return false;
+		}
+		
+		@Override
+		public boolean isDecomposable() {
+			return false;
+		}
+		
 		@Override
 		public Semantics withPrefix(Interpretation prefix) {
 			return new PrefixSemantics.GroundSemantics(adf, mapping, prefix);
@@ -35,6 +35,11 @@ public interface Execution extends AutoCloseable {
 		
 	boolean verify(Interpretation candidate);
 	
+	/**
+	 * 
+	 * @param model a verified candidate
+	 * @return the processed model, or <code>null</code> if it is discarded
+	 */
 	Interpretation processModel(Interpretation model);
 	
 	boolean addClause( Clause clause );
@@ -0,0 +1,65 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.adf.reasoner.sat.execution;
+
+import java.util.Collection;
+
+import org.tweetyproject.arg.adf.semantics.interpretation.Interpretation;
+
+/**
+ * Is notified about the branches of a {@link ParallelExecution}.
+ * <p>
+ * The callbacks are invoked on the worker threads of the execution, hence
+ * implementations must be thread-safe and should return quickly.
+ * 
+ * @author Sebastian Franke
+ *
+ */
+public interface ExecutionListener {
+	
+	/**
+	 * A listener which ignores all notifications.
+	 */
+	static final ExecutionListener NONE = new ExecutionListener() {};
+
+	/**
+	 * Called before the first candidate of a branch is computed.
+	 * 
+	 * @param prefix the prefix of the branch
+	 */
+	default void branchStarted(Interpretation prefix) {}
+	
+	/**
+	 * Called if a long-running branch is replaced by smaller branches, which
+	 * continue where it stopped. The branch is finished afterwards.
+	 * 
+	 * @param metrics the metrics of the split branch
+	 * @param prefixes the prefixes of the new branches
+	 */
+	default void branchSplit(BranchMetrics metrics, Collection<Interpretation> prefixes) {}
+
+	/**
+	 * Called exactly once for every branch, after it is exhausted, split or
+	 * the execution is closed.
+	 * 
+	 * @param metrics the metrics of the branch
+	 */
+	default void branchFinished(BranchMetrics metrics) {}
+	
+}
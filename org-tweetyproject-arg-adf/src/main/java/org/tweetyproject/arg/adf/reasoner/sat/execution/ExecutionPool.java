@@ -0,0 +1,262 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.adf.reasoner.sat.execution;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+
+import org.tweetyproject.arg.adf.reasoner.sat.generator.CandidateGenerator;
+import org.tweetyproject.arg.adf.reasoner.sat.processor.InterpretationProcessor;
+import org.tweetyproject.arg.adf.reasoner.sat.processor.StateProcessor;
+import org.tweetyproject.arg.adf.reasoner.sat.verifier.Verifier;
+import org.tweetyproject.arg.adf.sat.IncrementalSatSolver;
+import org.tweetyproject.arg.adf.sat.state.ScopedSatSolverState;
+import org.tweetyproject.arg.adf.semantics.interpretation.Interpretation;
+import org.tweetyproject.arg.adf.syntax.pl.Clause;
+
+/**
+ * Keeps prepared executions of a fixed {@link Semantics}, so that consecutive
+ * executions do not have to encode the ADF again.
+ * <p>
+ * Every pooled execution owns a state which contains the base encoding of the
+ * semantics, as well as a prepared verifier and the processors. Everything an
+ * execution adds to its state, e.g. the refinements of the generator or the
+ * clauses of a query condition, is added in a scope of a
+ * {@link ScopedSatSolverState} and retracted if the execution is closed. The
+ * base encoding and the clauses the solver learned from it remain and are
+ * reused by the next execution.
+ * <p>
+ * This class is thread-safe, every execution is used by one thread at a time.
+ * If all pooled executions are in use, a new one is prepared. At most
+ * <code>capacity</code> idle executions are kept, and an execution is
+ * discarded as soon as its state holds more retracted than base clauses.
+ * 
+ * @author Sebastian Franke
+ *
+ */
+public final class ExecutionPool implements AutoCloseable {
+
+	private final Semantics semantics;
+
+	private final IncrementalSatSolver satSolver;
+
+	private final int capacity;
+
+	// LIFO, the most recently used state is the one with the most useful learned clauses
+	private final Deque<PooledState> idle = new ArrayDeque<>();
+
+	private boolean closed;
+
+	/**
+	 * @param semantics the semantics of the executions
+	 * @param satSolver the solver which creates the states
+	 * @param capacity the maximal number of idle executions which are kept
+	 */
+	public ExecutionPool(Semantics semantics, IncrementalSatSolver satSolver, int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Capacity must be > 0");
+		}
+		this.semantics = Objects.requireNonNull(semantics);
+		this.satSolver = Objects.requireNonNull(satSolver);
+		this.capacity = capacity;
+	}
+
+	/**
+	 * The returned execution is given back to the pool by closing it.
+	 * 
+	 * @return an execution which is exclusively used by the caller
+	 * @throws IllegalStateException if the pool is already closed
+	 */
+	public Execution lease() {
+		PooledState pooled;
+		synchronized (this) {
+			if (closed) {
+				throw new IllegalStateException("Execution pool already closed!");
+			}
+			pooled = idle.pollFirst();
+		}
+		if (pooled == null) {
+			pooled = new PooledState(); // the base encoding is computed outside of the lock
+		}
+		return new PooledExecution(pooled);
+	}
+
+	/**
+	 * @return the number of idle executions
+	 */
+	public synchronized int size() {
+		return idle.size();
+	}
+
+	private void release(PooledState pooled) {
+		boolean keep;
+		synchronized (this) {
+			keep = !closed && idle.size() < capacity && !pooled.isExhausted();
+			if (keep) {
+				idle.offerFirst(pooled);
+			}
+		}
+		if (!keep) {
+			pooled.close();
+		}
+	}
+
+	/**
+	 * Closes all idle executions, executions which are currently in use are
+	 * closed as soon as they are given back.
+	 */
+	@Override
+	public void close() {
+		List<PooledState> disposed;
+		synchronized (this) {
+			closed = true;
+			disposed = new ArrayList<>(idle);
+			idle.clear();
+		}
+		for (PooledState pooled : disposed) {
+			pooled.close();
+		}
+	}
+
+	private final class PooledState {
+
+		private final ScopedSatSolverState state;
+
+		private final CandidateGenerator generator;
+
+		private final List<InterpretationProcessor> candidateProcessors;
+
+		private final Verifier verifier;
+
+		private final List<InterpretationProcessor> modelProcessors;
+
+		PooledState() {
+			this.generator = semantics.createCandidateGenerator();
+			this.candidateProcessors = semantics.createCandidateProcessor(satSolver::createState);
+			this.verifier = semantics.createVerifier(satSolver::createState).orElse(null);
+			this.state = new ScopedSatSolverState(satSolver.createState());
+
+			for (StateProcessor processor : semantics.createStateProcessors()) {
+				processor.process(state::add);
+			}
+
+			generator.prepare(state::add);
+			this.modelProcessors = semantics.createModelProcessors(satSolver::createState);
+
+			if (verifier != null) {
+				verifier.prepare();
+			}
+		}
+
+		boolean isExhausted() {
+			return state.getRetractedClauses() > state.getPermanentClauses();
+		}
+
+		void close() {
+			state.close();
+			if (verifier != null) {
+				verifier.close();
+			}
+			for (InterpretationProcessor processor : candidateProcessors) {
+				processor.close();
+			}
+			for (InterpretationProcessor processor : modelProcessors) {
+				processor.close();
+			}
+		}
+
+	}
+
+	private final class PooledExecution implements Execution {
+
+		private final PooledState pooled;
+
+		private boolean closed;
+
+		PooledExecution(PooledState pooled) {
+			this.pooled = pooled;
+			pooled.state.openScope();
+		}
+
+		@Override
+		public Interpretation computeCandidate() {
+			Interpretation processed = pooled.generator.generate(pooled.state);
+			if (processed == null) {
+				return null;
+			}
+			for (InterpretationProcessor processor : pooled.candidateProcessors) {
+				processed = processor.process(processed);
+				processor.updateState(pooled.state, processed);
+			}
+			return processed;
+		}
+
+		@Override
+		public boolean verify(Interpretation candidate) {
+			if (pooled.verifier != null) {
+				return pooled.verifier.verify(candidate);
+			}
+			return true;
+		}
+
+		@Override
+		public Interpretation processModel(Interpretation model) {
+			Interpretation processed = model;
+			for (InterpretationProcessor processor : pooled.modelProcessors) {
+				processed = processor.process(processed);
+				processor.updateState(pooled.state, processed);
+			}
+			return processed;
+		}
+
+		@Override
+		public boolean addClause(Clause clause) {
+			return pooled.state.add(clause);
+		}
+
+		@Override
+		public boolean addClauses(Collection<? extends Clause> clauses) {
+			for (Clause clause : clauses) {
+				if (!pooled.state.add(clause)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Retracts everything this execution added to the state and gives the
+		 * state back to the pool. Subsequent calls have no effect.
+		 */
+		@Override
+		public void close() {
+			if (!closed) {
+				closed = true;
+				pooled.state.closeScope();
+				release(pooled);
+			}
+		}
+
+	}
+
+}
@@ -18,293 +18,679 @@
  */
 package org.tweetyproject.arg.adf.reasoner.sat.execution;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
-import org.tweetyproject.arg.adf.reasoner.sat.decomposer.Decomposer;
 import org.tweetyproject.arg.adf.reasoner.sat.generator.CandidateGenerator;
 import org.tweetyproject.arg.adf.reasoner.sat.processor.InterpretationProcessor;
 import org.tweetyproject.arg.adf.reasoner.sat.processor.StateProcessor;
 import org.tweetyproject.arg.adf.reasoner.sat.verifier.Verifier;
 import org.tweetyproject.arg.adf.sat.IncrementalSatSolver;
 import org.tweetyproject.arg.adf.sat.SatSolverState;
-import org.tweetyproject.arg.adf.sat.state.SynchronizedSatSolverState;
 import org.tweetyproject.arg.adf.semantics.interpretation.Interpretation;
+import org.tweetyproject.arg.adf.syntax.Argument;
 import org.tweetyproject.arg.adf.syntax.adf.AbstractDialecticalFramework;
 import org.tweetyproject.arg.adf.syntax.pl.Clause;
+import org.tweetyproject.arg.adf.syntax.pl.Literal;
 
 /**
+ * Decomposes the search space into disjoint branches, each of them fixed by a
+ * prefix interpretation, and computes the branches in parallel.
+ * <p>
+ * Every branch runs the whole pipeline of candidate generation, verification
+ * and model processing as a sequence of small tasks on the executor. A branch
+ * never blocks a worker while it waits for the consumer: if the number of
+ * results which are computed but not yet consumed reaches the buffer size, the
+ * branch is parked until the consumer takes a result. Hence the executor may
+ * be shared with other executions or be backed by virtual threads.
+ * <p>
+ * A branch which has been busy for longer than the split threshold while there
+ * are fewer branches than the parallelism level is split on an additional
+ * argument. The new branches are seeded with everything the split branch has
+ * learned so far, so they continue exactly where it stopped.
+ * <p>
+ * Semantics which are not decomposable, i.e. the grounded and the preferred
+ * semantics, are computed by a single branch which is never split.
+ * 
  * @author Mathias Hofer
  *
  */
 public final class ParallelExecution implements Execution {
-					
-	private final ExecutorService executor = Executors.newWorkStealingPool();
 	
-	private final IncrementalSatSolver satSolver;
+	static final Duration DEFAULT_SPLIT_THRESHOLD = Duration.ofSeconds(1);
+	
+	private static final Result END = new Result(null, false, null, null);
+	
+	private final AbstractDialecticalFramework adf;
 	
 	private final Semantics semantics;
 	
-	private final Decomposer decomposer;
+	private final IncrementalSatSolver satSolver;
 	
 	private final int parallelism;
 	
-	private final AbstractDialecticalFramework adf;
+	private final Executor executor;
+	
+	private final ExecutorService ownedExecutor;
+	
+	private final ExecutionListener listener;
+	
+	private final long splitThreshold;
+	
+	private final Semaphore permits;
+	
+	private final BlockingQueue<Result> results = new LinkedBlockingQueue<>();
 	
-	private Map<Interpretation, Future<Boolean>> verifications;
+	private final Queue<Branch> parked = new ConcurrentLinkedQueue<>();
 	
-	private Map<Interpretation, Future<Interpretation>> models;
+	private final Set<Branch> branches = ConcurrentHashMap.newKeySet();
 	
-	private BlockingQueue<Candidate> candidates;
+	private final AtomicInteger alive = new AtomicInteger();
 	
-	private Map<Branch, Interpretation> branches;
+	private final List<Clause> clauses = new CopyOnWriteArrayList<>();
 	
+	private final Map<Interpretation, Result> pending = new HashMap<>();
+	
+	private volatile boolean closed;
+	
+	private boolean started;
+	
+	private boolean done;
+	
+	private boolean twoValued;
+	
+	/**
+	 * Creates an execution which runs on its own work-stealing pool and uses
+	 * the default buffer size and split threshold.
+	 * 
+	 * @param adf the ADF
+	 * @param semantics the semantics
+	 * @param satSolver the SAT solver
+	 * @param parallelism the desired number of branches
+	 */
 	public ParallelExecution(AbstractDialecticalFramework adf, Semantics semantics, IncrementalSatSolver satSolver, int parallelism) {
-		this.satSolver = Objects.requireNonNull(satSolver);
+		this(adf, semantics, satSolver, parallelism, null, parallelism, DEFAULT_SPLIT_THRESHOLD, ExecutionListener.NONE);
+	}
+	
+	/**
+	 * Creates an execution according to the given configuration.
+	 * 
+	 * @param adf the ADF
+	 * @param semantics the semantics
+	 * @param configuration the configuration
+	 */
+	public ParallelExecution(AbstractDialecticalFramework adf, Semantics semantics, Configuration configuration) {
+		this(adf, semantics, configuration.getSatSolver(), configuration.getParallelism(),
+				configuration.getExecutor().orElse(null), configuration.getBufferSize(),
+				configuration.getSplitThreshold().orElse(null), configuration.getExecutionListener());
+	}
+	
+	private ParallelExecution(AbstractDialecticalFramework adf, Semantics semantics, IncrementalSatSolver satSolver,
+			int parallelism, Executor executor, int bufferSize, Duration splitThreshold, ExecutionListener listener) {
 		this.adf = Objects.requireNonNull(adf);
 		this.semantics = Objects.requireNonNull(semantics);
-		this.decomposer = semantics.createDecomposer();
+		this.satSolver = Objects.requireNonNull(satSolver);
+		this.listener = Objects.requireNonNull(listener);
 		this.parallelism = parallelism;
+		this.permits = new Semaphore(Math.max(1, bufferSize));
+		this.splitThreshold = splitThreshold != null ? splitThreshold.toNanos() : -1;
+		if (executor != null) {
+			this.executor = executor;
+			this.ownedExecutor = null;
+		} else {
+			this.ownedExecutor = Executors.newWorkStealingPool(Math.max(1, parallelism));
+			this.executor = ownedExecutor;
+		}
 	}
 	
 	private void start() {
-		Collection<Interpretation> decompositions = decomposer.decompose(adf, parallelism);
-		int numDecompositions = decompositions.size();
-		this.verifications = new ConcurrentHashMap<>(numDecompositions);
-		this.models = new ConcurrentHashMap<>(numDecompositions);
-		this.branches = new ConcurrentHashMap<>(numDecompositions);
-		this.candidates = new LinkedBlockingQueue<>(numDecompositions);
-		
-		for (Interpretation prefix : decompositions) {
-			this.branches.put(new Branch(prefix, semantics, satSolver), prefix);
+		started = true;
+		List<Branch> initial = new ArrayList<>();
+		if (semantics.isDecomposable()) {
+			Collection<Interpretation> prefixes = semantics.createDecomposer().decompose(adf, parallelism);
+			twoValued = !prefixes.isEmpty() && prefixes.stream().allMatch(p -> !p.arguments().isEmpty() && p.undecided().isEmpty());
+			for (Interpretation prefix : prefixes) {
+				initial.add(new Branch(semantics, prefix, prefix, null));
+			}
+		} else {
+			// a single branch computes the whole search space
+			initial.add(new Branch(semantics, null, Interpretation.empty(adf), null));
+		}
+		if (initial.isEmpty()) {
+			results.add(END);
+			return;
 		}
 		
-		for (Branch source : this.branches.keySet()) {
-			executor.execute(() -> {
-				source.prepare();
-				Interpretation candidate = source.computeCandidate();
-				notifyCandidate(candidate, source);
-			});
+		alive.set(initial.size());
+		branches.addAll(initial);
+		for (Branch branch : initial) {
+			schedule(branch);
 		}
 	}
 	
-	private void notifyCandidate(Interpretation candidate, Execution source) {
-		if (candidate != null) {
-			Future<Boolean> verification = executor.submit(() ->  {
-				boolean verified = source.verify(candidate);
-				notifyVerified(candidate, source, verified);
-				return verified;
-			});
-			verifications.put(candidate, verification);
-			candidates.offer(new Candidate(source, candidate));
+	private void schedule(Branch branch) {
+		parked.add(branch);
+		drain();
+	}
+	
+	/**
+	 * Submits parked branches as long as there are free slots in the buffer.
+	 */
+	private void drain() {
+		while (!closed && !parked.isEmpty() && permits.tryAcquire()) {
+			Branch branch = parked.poll();
+			if (branch == null) {
+				// someone else was faster, release and check again
+				permits.release();
+			} else {
+				submit(branch);
+			}
+		}
+	}
+	
+	private void submit(Branch branch) {
+		try {
+			executor.execute(() -> step(branch));
+		} catch (RejectedExecutionException e) {
+			if (closed) {
+				permits.release();
+				finish(branch);
+			} else {
+				fail(branch, e);
+			}
+		}
+	}
+	
+	private void release() {
+		permits.release();
+		drain();
+	}
+	
+	/**
+	 * Computes the next result of the given branch, the caller holds a permit
+	 * which is passed on to the result.
+	 */
+	private void step(Branch branch) {
+		Result result = null;
+		try {
+			result = branch.next();
+		} catch (RuntimeException | Error e) {
+			fail(branch, e);
+			return;
+		}
+		
+		if (result == null) {
+			release();
+			finish(branch);
 		} else {
-			source.close();
-			branches.remove(source);
-			if (branches.isEmpty()) {
-				candidates.offer(new Candidate(source, null));
+			results.add(result);
+			if (shouldSplit(branch)) {
+				split(branch);
+			} else {
+				schedule(branch);
 			}
 		}
 	}
 	
-	private void notifyVerified(Interpretation candidate, Execution source, boolean verified) {
-		if (verified) {
-			Future<Interpretation> model = executor.submit(() -> {
-				return source.processModel(candidate);
-			});
-			models.put(candidate, model);
+	private void fail(Branch branch, Throwable failure) {
+		results.add(new Result(null, false, null, failure));
+		finish(branch);
+	}
+	
+	private void finish(Branch branch) {
+		if (branches.remove(branch)) {
+			branch.cancel();
+			listener.branchFinished(branch.metrics());
+			if (alive.decrementAndGet() == 0) {
+				results.add(END);
+			}
+		}
+	}
+	
+	private boolean shouldSplit(Branch branch) {
+		return splitThreshold >= 0 && !closed 
+				&& semantics.isDecomposable()
+				&& alive.get() < parallelism 
+				&& branch.busyTime >= splitThreshold
+				&& branch.prefix.arguments().size() < adf.size();
+	}
+	
+	/**
+	 * Replaces the given branch by one branch for each value of the undecided
+	 * argument with the highest outgoing degree.
+	 */
+	private void split(Branch parent) {
+		Argument argument = null;
+		int degree = -1;
+		for (Argument candidate : adf.getArguments()) {
+			if (!parent.prefix.arguments().contains(candidate) && adf.outgoingDegree(candidate) > degree) {
+				argument = candidate;
+				degree = adf.outgoingDegree(candidate);
+			}
+		}
+		
+		List<Interpretation> parts = new ArrayList<>(3);
+		parts.add(Interpretation.fromSets(Set.of(argument), Set.of(), Set.of()));
+		parts.add(Interpretation.fromSets(Set.of(), Set.of(argument), Set.of()));
+		if (!twoValued) {
+			parts.add(Interpretation.fromSets(Set.of(), Set.of(), Set.of(argument)));
+		}
+		
+		List<Branch> children = new ArrayList<>(parts.size());
+		List<Interpretation> prefixes = new ArrayList<>(parts.size());
+		for (Interpretation part : parts) {
+			Interpretation prefix = Interpretation.union(parent.prefix, part);
+			children.add(new Branch(parent.semantics, part, prefix, parent));
+			prefixes.add(prefix);
+		}
+		
+		alive.addAndGet(children.size());
+		branches.addAll(children);
+		listener.branchSplit(parent.metrics(), prefixes);
+		finish(parent);
+		for (Branch child : children) {
+			schedule(child);
+		}
+		if (closed) {
+			for (Branch child : children) {
+				finish(child);
+			}
 		}
 	}
 
 	@Override
 	public Interpretation computeCandidate() {
-		if (branches == null) start();
+		if (!started) start();
+		if (done || closed) return null;
 		
+		final Result result;
 		try {
-			final Candidate result = candidates.take();
-			if (result.interpretation != null) {
-				final Execution source = result.source;
-				executor.execute(() -> {
-					Interpretation candidate = source.computeCandidate();
-					notifyCandidate(candidate, source);
-				});				
-			}
-			return result.interpretation;
+			result = results.take();
 		} catch (InterruptedException e) {
 			close();
 			throw new RuntimeException(e);
 		}
+		
+		if (result == END) {
+			done = true;
+			return null;
+		}
+		release(); // the result is consumed, so the next one can be computed
+		
+		if (result.failure != null) {
+			close();
+			throw new RuntimeException(result.failure);
+		}
+		pending.put(result.candidate, result);
+		return result.candidate;
 	}
 
 	@Override
 	public boolean verify(Interpretation candidate) {
-		try {
-			if (verifications.containsKey(candidate)) {
-				return verifications.remove(candidate).get();				
-			}
+		Result result = pending.get(candidate);
+		if (result == null) {
 			return false;
-		} catch (InterruptedException | ExecutionException e) {
-			close();
-			throw new RuntimeException(e);
 		}
+		if (!result.verified) {
+			pending.remove(candidate);
+		}
+		return result.verified;
 	}
 	
 	@Override
 	public Interpretation processModel(Interpretation model) {
-		try {
-			return models.get(model).get();
-		} catch (InterruptedException | ExecutionException e) {
-			close();
-			throw new RuntimeException(e);
+		Result result = pending.remove(model);
+		if (result == null || !result.verified) {
+			throw new IllegalArgumentException("The given interpretation is not a verified candidate of this execution!");
 		}
+		return result.model;
 	}
 	
 	@Override
 	public void close() {
-		executor.shutdownNow();
-		for (Execution branch : branches.keySet()) {
-			branch.close();
+		if (closed) return;
+		
+		closed = true;
+		for (Branch branch : branches) {
+			finish(branch);
+		}
+		if (ownedExecutor != null) {
+			ownedExecutor.shutdownNow();
 		}
 	}
 	
+	/**
+	 * The clause is added to all the branches before they compute their next
+	 * candidate, results which are already computed are not affected.
+	 */
 	@Override
 	public boolean addClause(Clause clause) {
-		boolean successful = true;
-		for (Execution branch : branches.keySet()) {
-			successful &= branch.addClause(clause);
-		}
-		return successful;
+		return clauses.add(Objects.requireNonNull(clause));
 	}
 
 	@Override
 	public boolean addClauses(Collection<? extends Clause> clauses) {
-		boolean successful = true;
-		for (Execution branch : branches.keySet()) {
-			successful &= branch.addClauses(clauses);
+		for (Clause clause : clauses) {
+			Objects.requireNonNull(clause);
 		}
-		return successful;
+		return this.clauses.addAll(clauses);
 	}
 	
-	private static final class Candidate {
+	private static final class Result {
 		
-		private final Execution source;
+		private final Interpretation candidate;
 		
-		private final Interpretation interpretation;
+		private final boolean verified;
+		
+		private final Interpretation model;
+		
+		private final Throwable failure;
 
-		Candidate(Execution source, Interpretation interpretation) {
-			this.source = source;
-			this.interpretation = interpretation;	
+		Result(Interpretation candidate, boolean verified, Interpretation model, Throwable failure) {
+			this.candidate = candidate;
+			this.verified = verified;
+			this.model = model;
+			this.failure = failure;
 		}
 		
 	}
 	
-	private static final class Branch implements Execution {
+	/**
+	 * A branch is only ever computed by one worker at a time, it is either
+	 * parked, submitted or running.
+	 */
+	private final class Branch {
 		
-		private final List<StateProcessor> stateProcessors;
+		private final Semantics parentSemantics;
 		
-		private final CandidateGenerator generator;
+		/**
+		 * The part of the prefix which is added by this branch, or null if the
+		 * branch is not restricted at all.
+		 */
+		private final Interpretation part;
 		
-		private final List<InterpretationProcessor> candidateProcessors;
+		private final Interpretation prefix;
 		
-		private final Optional<Verifier> verifier;
-
-		private final List<InterpretationProcessor> modelProcessors;
+		/**
+		 * Candidates which were already computed by the ancestors of this branch.
+		 */
+		private final Set<Interpretation> inherited;
+		
+		private final Set<Interpretation> generated = new HashSet<>();
+		
+		/**
+		 * The values the candidate and model processors of this branch and its
+		 * ancestors updated their state with.
+		 */
+		private final List<Interpretation[]> candidateUpdates;
 		
-		private final IncrementalSatSolver satSolver;
+		private final List<Interpretation[]> modelUpdates;
+		
+		private final AtomicLong satCalls = new AtomicLong();
+		
+		private Semantics semantics;
+		
+		private CandidateGenerator generator;
+		
+		private List<InterpretationProcessor> candidateProcessors;
+		
+		private Optional<Verifier> verifier;
+
+		private List<InterpretationProcessor> modelProcessors;
 	
 		private SatSolverState state;
+		
+		private int clausesAdded;
+		
+		private long candidates;
+		
+		private long verifications;
+		
+		private long models;
+		
+		private long startTime = -1;
+		
+		private long endTime = -1;
+		
+		private long busyTime;
+		
+		private boolean running;
+		
+		private boolean cancelled;
+		
+		private boolean disposed;
 				
-		public Branch( Interpretation prefix, Semantics semantics, IncrementalSatSolver satSolver ) {
-			Semantics prefixSemantics = semantics.withPrefix(prefix);
-			this.satSolver = satSolver;
-			this.stateProcessors = prefixSemantics.createStateProcessors();
-			this.generator = prefixSemantics.createCandidateGenerator();
-			this.candidateProcessors = prefixSemantics.createCandidateProcessor(satSolver::createState);
-			this.verifier = prefixSemantics.createVerifier(() -> new SynchronizedSatSolverState(satSolver.createState()));
-			this.modelProcessors = prefixSemantics.createModelProcessors(satSolver::createState);
+		Branch(Semantics parentSemantics, Interpretation part, Interpretation prefix, Branch parent) {
+			this.parentSemantics = parentSemantics;
+			this.part = part;
+			this.prefix = prefix;
+			if (parent != null) {
+				Set<Interpretation> inherited = new HashSet<>(parent.inherited);
+				inherited.addAll(parent.generated);
+				this.inherited = inherited;
+				this.candidateUpdates = new ArrayList<>(parent.candidateUpdates);
+				this.modelUpdates = new ArrayList<>(parent.modelUpdates);
+			} else {
+				this.inherited = Set.of();
+				this.candidateUpdates = new ArrayList<>();
+				this.modelUpdates = new ArrayList<>();
+			}
+		}
+		
+		private SatSolverState createState() {
+			return new CountingSatSolverState(satSolver.createState(), satCalls);
 		}
 		
 		private void prepare() {
-			SatSolverState state = satSolver.createState();
+			this.semantics = part != null ? parentSemantics.withPrefix(part) : parentSemantics;
+			this.generator = semantics.createCandidateGenerator();
+			this.candidateProcessors = semantics.createCandidateProcessor(this::createState);
+			this.verifier = semantics.createVerifier(this::createState);
+			this.modelProcessors = semantics.createModelProcessors(this::createState);
+			
+			SatSolverState state = createState();
 			generator.prepare(state::add);
-
-			for (StateProcessor processor : stateProcessors) {
+			for (StateProcessor processor : semantics.createStateProcessors()) {
 				processor.process(state::add);
 			}
-
-			this.state = new SynchronizedSatSolverState(state);
-
+			
+			// continue where the parent stopped
+			replay(state, candidateProcessors, candidateUpdates);
+			replay(state, modelProcessors, modelUpdates);
+			
+			this.state = state;
 			verifier.ifPresent(Verifier::prepare);
 		}
 		
-		@Override
-		public Interpretation computeCandidate() {
+		private void replay(SatSolverState state, List<InterpretationProcessor> processors, List<Interpretation[]> updates) {
+			for (Interpretation[] update : updates) {
+				for (int i = 0; i < update.length; i++) {
+					processors.get(i).updateState(state, update[i]);
+				}
+			}
+		}
+		
+		/**
+		 * @return the next result, or null if the branch is exhausted or cancelled
+		 */
+		Result next() {
+			synchronized (this) {
+				if (cancelled) return null;
+				running = true;
+			}
+			long start = System.nanoTime();
+			try {
+				if (state == null) {
+					startTime = start;
+					listener.branchStarted(prefix);
+					prepare();
+				}
+				
+				while (clausesAdded < clauses.size()) {
+					state.add(clauses.get(clausesAdded++));
+				}
+				
+				Interpretation candidate = generate();
+				if (candidate == null) {
+					return null;
+				}
+				
+				Interpretation processed = process(candidate, candidateProcessors, candidateUpdates);
+				boolean verified = verify(processed);
+				Interpretation model = verified ? process(processed, modelProcessors, modelUpdates) : null;
+				return new Result(processed, verified, model, null);
+			} finally {
+				busyTime += System.nanoTime() - start;
+				synchronized (this) {
+					running = false;
+					if (cancelled) dispose();
+				}
+			}
+		}
+		
+		private Interpretation generate() {
 			Interpretation candidate = generator.generate(state);
+			while (candidate != null && inherited.contains(candidate)) {
+				candidate = generator.generate(state);
+			}
 			if (candidate != null) {
-				return processCandidate(candidate);
+				candidates++;
+				if (splitThreshold >= 0) {
+					generated.add(candidate);
+				}
 			}
-			return null;
+			return candidate;
 		}
 		
-		private Interpretation processCandidate(Interpretation candidate) {
-			Interpretation processed = candidate;
-			for (InterpretationProcessor processor : candidateProcessors) {
+		private Interpretation process(Interpretation interpretation, List<InterpretationProcessor> processors, List<Interpretation[]> updates) {
+			if (processors.isEmpty()) {
+				return interpretation;
+			}
+			Interpretation[] update = new Interpretation[processors.size()];
+			Interpretation processed = interpretation;
+			for (int i = 0; i < update.length; i++) {
+				InterpretationProcessor processor = processors.get(i);
 				processed = processor.process(processed);
 				processor.updateState(state, processed);
+				update[i] = processed;
+			}
+			if (splitThreshold >= 0) {
+				updates.add(update);
 			}
 			return processed;
 		}
-
-		@Override
-		public boolean verify(Interpretation candidate) {
-			return verifier.map(v -> v.verify(candidate))
-						   .orElse(true);
+		
+		private boolean verify(Interpretation candidate) {
+			if (verifier.isEmpty()) {
+				models++;
+				return true;
+			}
+			verifications++;
+			boolean verified = verifier.get().verify(candidate);
+			if (verified) {
+				models++;
+			}
+			return verified;
 		}
 		
-		@Override
-		public Interpretation processModel(Interpretation model) {
-			Interpretation processed = model;
-			for (InterpretationProcessor processor : modelProcessors) {
-				processed = processor.process(processed);
-				processor.updateState(state, processed);
+		synchronized void cancel() {
+			cancelled = true;
+			if (!running) {
+				dispose();
 			}
-			return processed;
 		}
 		
-		@Override
-		public boolean addClause(Clause clause) {
-			return state.add(clause);
+		private void dispose() {
+			if (disposed) return;
+			
+			disposed = true;
+			endTime = System.nanoTime();
+			if (state != null) {
+				state.close();
+				verifier.ifPresent(Verifier::close);
+				for (InterpretationProcessor processor : modelProcessors) {
+					processor.close();
+				}
+				for (InterpretationProcessor processor : candidateProcessors) {
+					processor.close();
+				}
+			}
+		}
+		
+		synchronized BranchMetrics metrics() {
+			long end = endTime >= 0 ? endTime : System.nanoTime();
+			Duration wallTime = startTime >= 0 ? Duration.ofNanos(end - startTime) : Duration.ZERO;
+			return new BranchMetrics(prefix, candidates, verifications, models, satCalls.get(), wallTime, Duration.ofNanos(busyTime));
 		}
 		
+	}
+	
+	/**
+	 * Counts the calls to the solver for the metrics of a branch.
+	 */
+	private static final class CountingSatSolverState implements SatSolverState {
+		
+		private final SatSolverState delegate;
+		
+		private final AtomicLong calls;
+		
+		CountingSatSolverState(SatSolverState delegate, AtomicLong calls) {
+			this.delegate = delegate;
+			this.calls = calls;
+		}
+
 		@Override
-		public void close() {
-			state.close();
-			verifier.ifPresent(Verifier::close);
-			for (InterpretationProcessor processor : modelProcessors) {
-				processor.close();
-			}
-			for (InterpretationProcessor processor : candidateProcessors) {
-				processor.close();
-			}
+		public boolean satisfiable() {
+			calls.incrementAndGet();
+			return delegate.satisfiable();
 		}
 
 		@Override
-		public boolean addClauses(Collection<? extends Clause> clauses) {
-			for (Clause clause : clauses) {
-				if(!state.add(clause)) {
-					return false;
-				}
-			}
-			return true;
+		public Set<Literal> witness() {
+			calls.incrementAndGet();
+			return delegate.witness();
+		}
+
+		@Override
+		public Set<Literal> witness(Collection<? extends Literal> filter) {
+			calls.incrementAndGet();
+			return delegate.witness(filter);
+		}
+
+		@Override
+		public void assume(Literal literal) {
+			delegate.assume(literal);
+		}
+
+		@Override
+		public boolean add(Clause clause) {
+			return delegate.add(clause);
+		}
+
+		@Override
+		public void close() {
+			delegate.close();
 		}
 		
 	}
@@ -23,7 +23,7 @@ import org.tweetyproject.arg.adf.reasoner.sat.verifier.GrounderStableVerifier;
 import org.tweetyproject.arg.adf.reasoner.sat.verifier.NaiveVerifier;
 import org.tweetyproject.arg.adf.reasoner.sat.verifier.Verifier;
 import org.tweetyproject.arg.adf.sat.SatSolverState;
-import org.tweetyproject.arg.adf.sat.solver.NativeMinisatSolver;
+import org.tweetyproject.arg.adf.sat.solver.PlSatSolverAdapter;
 import org.tweetyproject.arg.adf.semantics.interpretation.Interpretation;
 import org.tweetyproject.arg.adf.semantics.link.SatLinkStrategy;
 import org.tweetyproject.arg.adf.syntax.Argument;
@@ -62,9 +62,14 @@ abstract class PrefixSemantics implements Semantics {
 		return new RandomDecomposer();
 	}
 	
+	@Override
+	public PropositionalMapping getPropositionalMapping() {
+		return mapping;
+	}
+	
 	private static AbstractDialecticalFramework reduct(AbstractDialecticalFramework adf, Interpretation interpretation) {
 		Transformer<AcceptanceCondition> fixPartials = new FixPartialTransformer(interpretation);		
-		Builder builder = AbstractDialecticalFramework.builder().eager(new SatLinkStrategy(new NativeMinisatSolver())); // TODO fix
+		Builder builder = AbstractDialecticalFramework.builder().eager(new SatLinkStrategy(new PlSatSolverAdapter())); // TODO fix
 		for (Argument arg : adf.getArguments()) {
 			builder.add(arg, fixPartials.transform(adf.getAcceptanceCondition(arg)));
 		}
@@ -140,6 +145,11 @@ abstract class PrefixSemantics implements Semantics {
 			return List.of();
 		}
 		
+		@Override
+		public boolean isRestrictable() {
+			return false;
+		}
+		
 		@Override
 		public Semantics withPrefix(Interpretation prefix) {
 			return new NaiveSemantics(adf, mapping, Interpretation.union(this.prefix, prefix));			
@@ -216,6 +226,16 @@ abstract class PrefixSemantics implements Semantics {
 			return List.of();
 		}
 		
+		@Override
+		public boolean isRestrictable() {
+			return false;
+		}
+		
+		@Override
+		public boolean isDecomposable() {
+			return false;
+		}
+		
 		@Override
 		public Semantics withPrefix(Interpretation prefix) {
 			return new PreferredSemantics(adf, mapping, Interpretation.union(this.prefix, prefix));
@@ -378,6 +398,16 @@ abstract class PrefixSemantics implements Semantics {
 			return List.of();
 		}
 		
+		@Override
+		public boolean isRestrictable() {
+			return false;
+		}
+		
+		@Override
+		public boolean isDecomposable() {
+			return false;
+		}
+		
 		@Override
 		public Semantics withPrefix(Interpretation prefix) {
 			return new GroundSemantics(adf, mapping, Interpretation.union(this.prefix, prefix));
@@ -23,6 +23,7 @@ import java.util.Optional;
 import java.util.function.Supplier;
 
 import org.tweetyproject.arg.adf.reasoner.sat.decomposer.Decomposer;
+import org.tweetyproject.arg.adf.reasoner.sat.encodings.PropositionalMapping;
 import org.tweetyproject.arg.adf.reasoner.sat.execution.DefaultSemantics.AdmissibleSemantics;
 import org.tweetyproject.arg.adf.reasoner.sat.execution.DefaultSemantics.CompleteSemantics;
 import org.tweetyproject.arg.adf.reasoner.sat.execution.DefaultSemantics.ConflictFreeSemantics;
@@ -59,6 +60,14 @@ public interface Semantics {
 	Optional<Verifier> createVerifier(Supplier<SatSolverState> stateSupplier);
 
 	List<InterpretationProcessor> createModelProcessors(Supplier<SatSolverState> stateSupplier);
+	
+	/**
+	 * Additional clauses, e.g. the condition of a query, have to be encoded
+	 * with the same propositional variables as the semantics.
+	 * 
+	 * @return the propositional representation of the arguments and links
+	 */
+	PropositionalMapping getPropositionalMapping();
 
 	/**
 	 * 
@@ -66,6 +75,31 @@ public interface Semantics {
 	 * @return a new {@link Semantics} instance
 	 */
 	Semantics withPrefix(Interpretation prefix);
+	
+	/**
+	 * Whether the interpretations can be computed independently for disjoint
+	 * prefixes. This does not hold for semantics which are defined by a global
+	 * condition, e.g. the grounded and the preferred semantics, hence they are
+	 * never split by a {@link ParallelExecution}.
+	 * 
+	 * @return true if the search space may be decomposed
+	 */
+	default boolean isDecomposable() {
+		return true;
+	}
+	
+	/**
+	 * Whether the interpretations which satisfy some additional clauses, e.g.
+	 * the condition of a query, are computed by adding these clauses to the
+	 * search space. This does not hold if the models are maximized or
+	 * computed as a fixpoint, e.g. for the naive, the preferred and the
+	 * grounded semantics, hence their models have to be filtered instead.
+	 * 
+	 * @return true if the search space may be restricted by additional clauses
+	 */
+	default boolean isRestrictable() {
+		return true;
+	}
 
 	static Semantics conflictFree(AbstractDialecticalFramework adf) {
 		return new ConflictFreeSemantics(adf);
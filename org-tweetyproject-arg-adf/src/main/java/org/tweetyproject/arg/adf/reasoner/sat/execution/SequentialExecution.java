@@ -47,6 +47,8 @@ public final class SequentialExecution implements Execution {
 	
 	private final List<InterpretationProcessor> modelProcessors;
 	
+	private boolean closed;
+	
 	public SequentialExecution(AbstractDialecticalFramework adf, Semantics semantics, IncrementalSatSolver satSolver) {
 		this.generator = semantics.createCandidateGenerator();
 		this.candidateProcessors = semantics.createCandidateProcessor(satSolver::createState);
@@ -102,8 +104,16 @@ public final class SequentialExecution implements Execution {
 		return state.add(clause);
 	}
 	
+	/*
+	 * Called by the model iterator as well as by the query, so subsequent calls
+	 * must not free the native resources of the state again.
+	 */
 	@Override
 	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
 		state.close();
 		if (verifier != null) {
 			verifier.close();			
@@ -18,8 +18,6 @@
  */
 package org.tweetyproject.arg.adf.reasoner.sat.generator;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 import java.util.function.Consumer;
 
@@ -99,7 +97,7 @@ public abstract class GroundGenerator implements CandidateGenerator {
 			oldInterpretation = newInterpretation;
 			fixPartial.encode(state::add, oldInterpretation);
 			
-			Map<Argument, Boolean> valMap = new HashMap<>();
+			Interpretation.Builder builder = Interpretation.builder(adf);
 			for (Argument s : adf.getArguments()) {
 				TseitinTransformer transformer = TseitinTransformer.ofPositivePolarity(r -> mapping.getLink(r, s), false);
 				Literal accName = transformer.collect(adf.getAcceptanceCondition(s), state::add);
@@ -113,15 +111,15 @@ public abstract class GroundGenerator implements CandidateGenerator {
 				boolean notUnsat = state.satisfiable();
 				
 				if (!notTaut) {
-					valMap.put(s, true);
+					builder.put(s, true);
 				} else if (!notUnsat) {
-					valMap.put(s, false);
+					builder.put(s, false);
 				} else {
-					valMap.put(s, null);
+					builder.put(s, null);
 				}
 			}
 			
-			newInterpretation = Interpretation.fromMap(valMap);
+			newInterpretation = builder.build();
 		} while (!newInterpretation.equals(oldInterpretation));
 		
 		makeUnsat(state); // signal the execution framework that we are done by returning null for subsequent calls
@@ -0,0 +1,101 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.adf.reasoner.sat.query;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import org.tweetyproject.arg.adf.reasoner.sat.execution.Execution;
+import org.tweetyproject.arg.adf.semantics.interpretation.Interpretation;
+import org.tweetyproject.arg.adf.syntax.Argument;
+import org.tweetyproject.arg.adf.syntax.acc.AcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.adf.AbstractDialecticalFramework;
+import org.tweetyproject.arg.adf.syntax.pl.Clause;
+import org.tweetyproject.arg.adf.transform.FixPartialTransformer;
+
+/**
+ * Discards the models of the decorated execution which do not satisfy a
+ * condition, where an argument of the condition denotes that it is satisfied.
+ * 
+ * @author Sebastian Franke
+ *
+ */
+final class ConditionalExecution implements Execution {
+
+	private final Execution execution;
+
+	private final AbstractDialecticalFramework adf;
+
+	private final AcceptanceCondition condition;
+
+	/**
+	 * @param execution the decorated execution
+	 * @param adf the ADF of the execution
+	 * @param condition the condition the models have to satisfy
+	 */
+	ConditionalExecution(Execution execution, AbstractDialecticalFramework adf, AcceptanceCondition condition) {
+		this.execution = Objects.requireNonNull(execution);
+		this.adf = Objects.requireNonNull(adf);
+		this.condition = Objects.requireNonNull(condition);
+	}
+
+	@Override
+	public Interpretation computeCandidate() {
+		return execution.computeCandidate();
+	}
+
+	@Override
+	public boolean verify(Interpretation candidate) {
+		return execution.verify(candidate);
+	}
+
+	@Override
+	public Interpretation processModel(Interpretation model) {
+		Interpretation processed = execution.processModel(model);
+		if (processed != null && satisfies(processed)) {
+			return processed;
+		}
+		return null;
+	}
+
+	private boolean satisfies(Interpretation model) {
+		Set<Argument> unsatisfied = new HashSet<>(adf.getArguments());
+		unsatisfied.removeAll(model.satisfied());
+		Interpretation twoValued = Interpretation.fromSets(model.satisfied(), unsatisfied, adf);
+		return new FixPartialTransformer(twoValued).transform(condition) == AcceptanceCondition.TAUTOLOGY;
+	}
+
+	@Override
+	public boolean addClause(Clause clause) {
+		return execution.addClause(clause);
+	}
+
+	@Override
+	public boolean addClauses(Collection<? extends Clause> clauses) {
+		return execution.addClauses(clauses);
+	}
+
+	@Override
+	public void close() {
+		execution.close();
+	}
+
+}
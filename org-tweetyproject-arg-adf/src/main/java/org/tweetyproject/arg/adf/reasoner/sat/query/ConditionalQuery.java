@@ -44,7 +44,7 @@ final class ConditionalQuery<T> extends SatQuery<T>{
 	 * @param condition
 	 */
 	public ConditionalQuery(SatQuery<T> query, AcceptanceCondition condition) {
-		super(query.adf, query.semantics, query.configuration); // implicit null check of query
+		super(query.adf, query.semantics, query.configuration, query.session); // implicit null check of query
 		this.query = query;
 		this.condition = Objects.requireNonNull(condition);
 	}
@@ -56,10 +56,31 @@ final class ConditionalQuery<T> extends SatQuery<T>{
 
 	@Override
 	T execute(Execution execution) {
-		TseitinTransformer transformer = TseitinTransformer.ofPositivePolarity(true);
+		return query.execute(restrict(execution));
+	}
+	
+	/*
+	 * The decorated query decides when the execution is closed.
+	 */
+	@Override
+	T run(Execution execution) {
+		return query.run(restrict(execution));
+	}
+
+	/**
+	 * The condition is encoded with the propositional variables of the
+	 * semantics, i.e. an argument of the condition denotes that it is
+	 * satisfied. If the semantics does not allow to restrict its search space,
+	 * the models which do not satisfy the condition are discarded instead.
+	 */
+	private Execution restrict(Execution execution) {
+		if (!semantics.isRestrictable()) {
+			return new ConditionalExecution(execution, adf, condition);
+		}
+		TseitinTransformer transformer = TseitinTransformer.ofPositivePolarity(semantics.getPropositionalMapping()::getTrue, true);
 		Literal name = transformer.collect(condition, execution::addClause);
 		execution.addClause(Clause.of(name));
-		return query.execute(execution);
+		return execution;
 	}
 
 }
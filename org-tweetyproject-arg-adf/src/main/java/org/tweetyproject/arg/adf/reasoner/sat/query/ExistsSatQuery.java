@@ -30,7 +30,11 @@ import org.tweetyproject.arg.adf.syntax.adf.AbstractDialecticalFramework;
 final class ExistsSatQuery extends SatQuery<Boolean> {
 
 	public ExistsSatQuery(AbstractDialecticalFramework adf, Semantics semantics, Configuration configuration) {
-		super(adf, semantics, configuration);
+		this(adf, semantics, configuration, null);
+	}
+
+	public ExistsSatQuery(AbstractDialecticalFramework adf, Semantics semantics, Configuration configuration, SatReasoningSession session) {
+		super(adf, semantics, configuration, session);
 	}
 	
 	@Override
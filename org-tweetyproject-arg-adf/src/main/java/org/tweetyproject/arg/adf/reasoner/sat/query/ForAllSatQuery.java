@@ -24,6 +24,7 @@ import org.tweetyproject.arg.adf.reasoner.sat.execution.Configuration;
 import org.tweetyproject.arg.adf.reasoner.sat.execution.Execution;
 import org.tweetyproject.arg.adf.reasoner.sat.execution.Semantics;
 import org.tweetyproject.arg.adf.syntax.acc.AcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.NegationAcceptanceCondition;
 import org.tweetyproject.arg.adf.syntax.adf.AbstractDialecticalFramework;
 import org.tweetyproject.arg.adf.syntax.pl.Clause;
 import org.tweetyproject.arg.adf.syntax.pl.Literal;
@@ -38,7 +39,11 @@ final class ForAllSatQuery extends SatQuery<Boolean> {
 	private final AcceptanceCondition condition;
 
 	public ForAllSatQuery(AbstractDialecticalFramework adf, Semantics semantics, Configuration configuration, AcceptanceCondition condition) {
-		super(adf, semantics, configuration);
+		this(adf, semantics, configuration, condition, null);
+	}
+
+	public ForAllSatQuery(AbstractDialecticalFramework adf, Semantics semantics, Configuration configuration, AcceptanceCondition condition, SatReasoningSession session) {
+		super(adf, semantics, configuration, session);
 		this.condition = Objects.requireNonNull(condition);
 	}
 	
@@ -50,7 +55,11 @@ final class ForAllSatQuery extends SatQuery<Boolean> {
 	@Override
 	Boolean execute(Execution execution) {
 		// check if there is a model that does not satisfy the condition
-		TseitinTransformer transformer = TseitinTransformer.ofNegativePolarity(true);
+		if (!semantics.isRestrictable()) {
+			Execution counterexamples = new ConditionalExecution(execution, adf, new NegationAcceptanceCondition(condition));
+			return !new ModelIterator(counterexamples).hasNext();
+		}
+		TseitinTransformer transformer = TseitinTransformer.ofNegativePolarity(semantics.getPropositionalMapping()::getTrue, true);
 		Literal name = transformer.collect(condition, execution::addClause);
 		execution.addClause(Clause.of(name.neg()));
 		boolean hasModel = new ModelIterator(execution).hasNext();
@@ -31,7 +31,11 @@ import org.tweetyproject.arg.adf.syntax.adf.AbstractDialecticalFramework;
 final class InterpretationSatQuery extends SatQuery<Interpretation>{
 
 	public InterpretationSatQuery(AbstractDialecticalFramework adf, Semantics semantics, Configuration configuration) {
-		super(adf, semantics, configuration);
+		this(adf, semantics, configuration, null);
+	}
+
+	public InterpretationSatQuery(AbstractDialecticalFramework adf, Semantics semantics, Configuration configuration, SatReasoningSession session) {
+		super(adf, semantics, configuration, session);
 	}
 	
 	@Override
@@ -25,9 +25,7 @@ import java.util.stream.StreamSupport;
 
 import org.tweetyproject.arg.adf.reasoner.sat.execution.Configuration;
 import org.tweetyproject.arg.adf.reasoner.sat.execution.Execution;
-import org.tweetyproject.arg.adf.reasoner.sat.execution.ParallelExecution;
 import org.tweetyproject.arg.adf.reasoner.sat.execution.Semantics;
-import org.tweetyproject.arg.adf.reasoner.sat.execution.SequentialExecution;
 import org.tweetyproject.arg.adf.semantics.interpretation.Interpretation;
 import org.tweetyproject.arg.adf.syntax.adf.AbstractDialecticalFramework;
 
@@ -38,7 +36,11 @@ import org.tweetyproject.arg.adf.syntax.adf.AbstractDialecticalFramework;
 final class InterpretationsSatQuery extends SatQuery<Stream<Interpretation>>{
 
 	public InterpretationsSatQuery(AbstractDialecticalFramework adf, Semantics semantics, Configuration configuration) {
-		super(adf, semantics, configuration);
+		this(adf, semantics, configuration, null);
+	}
+
+	public InterpretationsSatQuery(AbstractDialecticalFramework adf, Semantics semantics, Configuration configuration, SatReasoningSession session) {
+		super(adf, semantics, configuration, session);
 	}
 
 	@Override
@@ -53,14 +55,12 @@ final class InterpretationsSatQuery extends SatQuery<Stream<Interpretation>>{
 		return new InterpretationsSatQuery(adf, semantics, configuration);
 	}
 	
+	/*
+	 * The execution is closed by the stream, not before it is consumed.
+	 */
 	@Override
-	public Stream<Interpretation> execute() {
-		return execute(new SequentialExecution(adf, semantics, configuration.getSatSolver()));
-	}
-	
-	@Override
-	public Stream<Interpretation> executeParallel() {
-		return execute(new ParallelExecution(adf, semantics, configuration.getSatSolver(), configuration.getParallelism()));
+	Stream<Interpretation> run(Execution execution) {
+		return execute(execution);
 	}
 
 }
@@ -70,9 +70,7 @@ final class ModelIterator implements Iterator<Interpretation>{
 			next = null;
 		} else if (!end) {
 			model = nextModel();
-			if (model != null) {
-				model = execution.processModel(model);
-			} else {
+			if (model == null) {
 				end = true;
 				execution.close();
 			}
@@ -83,14 +81,16 @@ final class ModelIterator implements Iterator<Interpretation>{
 
 	private Interpretation nextModel() {
 		Interpretation candidate = candidates.next();
-		boolean isModel = false;
-		while (candidate != null && !isModel) {
-			isModel = execution.verify(candidate);
-			if (!isModel) {
+		Interpretation model = null;
+		while (candidate != null && model == null) {
+			if (execution.verify(candidate)) {
+				model = execution.processModel(candidate); // null if discarded
+			}
+			if (model == null) {
 				candidate = candidates.next();
 			}
 		}
-		return candidate; // either model or null
+		return model; // either processed model or null
 	}
 	
 }
@@ -40,29 +40,65 @@ abstract class SatQuery<T> implements Query<T> {
 
 	final Configuration configuration;
 
+	/**
+	 * The session which provides the executions, or <code>null</code> if
+	 * every execution creates its own states.
+	 */
+	final SatReasoningSession session;
+
 	SatQuery(AbstractDialecticalFramework adf, Semantics semantics, Configuration configuration) {
+		this(adf, semantics, configuration, null);
+	}
+
+	SatQuery(AbstractDialecticalFramework adf, Semantics semantics, Configuration configuration, SatReasoningSession session) {
 		this.adf = Objects.requireNonNull(adf);
 		this.semantics = Objects.requireNonNull(semantics);
 		this.configuration = Objects.requireNonNull(configuration);
+		this.session = session;
 	}
 
 	abstract T execute(Execution execution);
 	
+	/**
+	 * @return a new sequential execution, or a pooled one if this query is
+	 *         bound to a session
+	 */
+	Execution createExecution() {
+		if (session != null) {
+			return session.execution(semantics);
+		}
+		return new SequentialExecution(adf, semantics, configuration.getSatSolver());
+	}
+
+	/**
+	 * A query obtained from a {@link SatReasoningSession} is detached from it by
+	 * this method, i.e. its executions do not use the states of the session.
+	 * 
+	 * @see org.tweetyproject.arg.adf.reasoner.query.Query#configure(org.tweetyproject.arg.adf.reasoner.sat.execution.Configuration)
+	 */
 	@Override
 	public abstract SatQuery<T> configure(Configuration configuration);
 
-	@Override
-	public T execute() {
-		try (Execution execution = new SequentialExecution(adf, semantics, configuration.getSatSolver())) {
+	/**
+	 * Executes this query and closes the execution afterwards.
+	 * 
+	 * @param execution the execution of this query
+	 * @return the result
+	 */
+	T run(Execution execution) {
+		try (execution) {
 			return execute(execution);
 		}
 	}
 
+	@Override
+	public T execute() {
+		return run(createExecution());
+	}
+
 	@Override
 	public T executeParallel() {
-		try (Execution execution = new ParallelExecution(adf, semantics, configuration.getSatSolver(), configuration.getParallelism())) {
-			return execute(execution);
-		}
+		return run(new ParallelExecution(adf, semantics, configuration));
 	}
 
 }
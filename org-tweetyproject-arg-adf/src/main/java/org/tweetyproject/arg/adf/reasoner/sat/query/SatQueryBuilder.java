@@ -19,6 +19,7 @@
 package org.tweetyproject.arg.adf.reasoner.sat.query;
 
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import org.tweetyproject.arg.adf.reasoner.query.ConditionalTaskStep;
@@ -39,8 +40,30 @@ public final class SatQueryBuilder {
 	
 	private final AbstractDialecticalFramework adf;
 	
+	private final SatReasoningSession session;
+	
 	public SatQueryBuilder(AbstractDialecticalFramework adf) {
+		this(adf, null);
+	}
+	
+	/**
+	 * @param adf the ADF
+	 * @param session the session which executes the queries, or null
+	 */
+	SatQueryBuilder(AbstractDialecticalFramework adf, SatReasoningSession session) {
 		this.adf = Objects.requireNonNull(adf);
+		this.session = session;
+	}
+	
+	/**
+	 * The states of a session are bound to the propositional mapping of a
+	 * semantics instance, so a session always returns the same instance.
+	 */
+	private Semantics semantics(String name, Function<AbstractDialecticalFramework, Semantics> factory) {
+		if (session == null) {
+			return factory.apply(adf);
+		}
+		return session.semantics(name, factory);
 	}
 	
 	public SemanticsStep defaultConfiguration() {
@@ -61,42 +84,42 @@ public final class SatQueryBuilder {
 
 		@Override
 		public ConditionlessTaskStep conflictFree() {
-			return new DefaultConditionlessSatTask(Semantics.conflictFree(adf));
+			return new DefaultConditionlessSatTask(semantics("conflictFree", Semantics::conflictFree));
 		}
 
 		@Override
 		public ConditionlessTaskStep naive() {
-			return new DefaultConditionlessSatTask(Semantics.naive(adf));
+			return new DefaultConditionlessSatTask(semantics("naive", Semantics::naive));
 		}
 
 		@Override
 		public ConditionlessTaskStep admissible() {
-			return new DefaultConditionlessSatTask(Semantics.admissible(adf));
+			return new DefaultConditionlessSatTask(semantics("admissible", Semantics::admissible));
 		}
 
 		@Override
 		public ConditionlessTaskStep preferred() {
-			return new DefaultConditionlessSatTask(Semantics.preferred(adf));
+			return new DefaultConditionlessSatTask(semantics("preferred", Semantics::preferred));
 		}
 
 		@Override
 		public ConditionlessTaskStep stable() {
-			return new DefaultConditionlessSatTask(Semantics.stable(adf));
+			return new DefaultConditionlessSatTask(semantics("stable", Semantics::stable));
 		}
 
 		@Override
 		public ConditionlessTaskStep complete() {
-			return new DefaultConditionlessSatTask(Semantics.complete(adf));
+			return new DefaultConditionlessSatTask(semantics("complete", Semantics::complete));
 		}
 
 		@Override
 		public ConditionlessTaskStep model() {
-			return new DefaultConditionlessSatTask(Semantics.model(adf));
+			return new DefaultConditionlessSatTask(semantics("model", Semantics::model));
 		}
 
 		@Override
 		public ConditionlessTaskStep ground() {
-			return new DefaultConditionlessSatTask(Semantics.ground(adf));
+			return new DefaultConditionlessSatTask(semantics("ground", Semantics::ground));
 		}
 
 		@Override
@@ -114,17 +137,17 @@ public final class SatQueryBuilder {
 
 			@Override
 			public Query<Stream<Interpretation>> interpretations() {
-				return new InterpretationsSatQuery(adf, semantics, configuration);
+				return new InterpretationsSatQuery(adf, semantics, configuration, session);
 			}
 
 			@Override
 			public Query<Interpretation> interpretation() {
-				return new InterpretationSatQuery(adf, semantics, configuration);
+				return new InterpretationSatQuery(adf, semantics, configuration, session);
 			}
 
 			@Override
 			public Query<Boolean> exists() {
-				return new ExistsSatQuery(adf, semantics, configuration);
+				return new ExistsSatQuery(adf, semantics, configuration, session);
 			}
 
 			@Override
@@ -147,22 +170,22 @@ public final class SatQueryBuilder {
 
 			@Override
 			public Query<Stream<Interpretation>> interpretations() {
-				return new ConditionalQuery<>(new InterpretationsSatQuery(adf, semantics, configuration), condition);
+				return new ConditionalQuery<>(new InterpretationsSatQuery(adf, semantics, configuration, session), condition);
 			}
 
 			@Override
 			public Query<Interpretation> interpretation() {
-				return new ConditionalQuery<>(new InterpretationSatQuery(adf, semantics, configuration), condition);
+				return new ConditionalQuery<>(new InterpretationSatQuery(adf, semantics, configuration, session), condition);
 			}
 
 			@Override
 			public Query<Boolean> exists() {
-				return new ConditionalQuery<>(new ExistsSatQuery(adf, semantics, configuration), condition);
+				return new ConditionalQuery<>(new ExistsSatQuery(adf, semantics, configuration, session), condition);
 			}
 
 			@Override
 			public Query<Boolean> forAll() {
-				return new ForAllSatQuery(adf, semantics, configuration, condition);
+				return new ForAllSatQuery(adf, semantics, configuration, condition, session);
 			}
 			
 		}
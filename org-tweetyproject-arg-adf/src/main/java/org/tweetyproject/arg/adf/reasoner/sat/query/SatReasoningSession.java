@@ -0,0 +1,120 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.adf.reasoner.sat.query;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.tweetyproject.arg.adf.reasoner.query.SemanticsStep;
+import org.tweetyproject.arg.adf.reasoner.sat.execution.Configuration;
+import org.tweetyproject.arg.adf.reasoner.sat.execution.Execution;
+import org.tweetyproject.arg.adf.reasoner.sat.execution.ExecutionPool;
+import org.tweetyproject.arg.adf.reasoner.sat.execution.Semantics;
+import org.tweetyproject.arg.adf.syntax.adf.AbstractDialecticalFramework;
+
+/**
+ * A long-lived reasoning session which answers many queries on the same ADF.
+ * <p>
+ * In contrast to {@link AbstractDialecticalFramework#query()}, the queries of a
+ * session do not encode the ADF from scratch on every execution. For every
+ * semantics the session keeps an {@link ExecutionPool} of states which already
+ * contain the encoding of the ADF, the queries only add their own clauses,
+ * e.g. the condition of {@link org.tweetyproject.arg.adf.reasoner.query.ConditionlessTaskStep#where(org.tweetyproject.arg.adf.syntax.acc.AcceptanceCondition)},
+ * which are retracted again once the query is done. Clauses the solver learned
+ * from the encoding of the ADF are thereby reused by subsequent queries.
+ * <p>
+ * Sessions are thread-safe, concurrent queries are executed on distinct
+ * states. For every semantics at most {@link Configuration#getParallelism()}
+ * idle states are kept. Queries which are reconfigured by
+ * {@link org.tweetyproject.arg.adf.reasoner.query.Query#configure(Configuration)}
+ * and parallel executions do not use the states of the session.
+ * 
+ * @author Sebastian Franke
+ *
+ */
+public final class SatReasoningSession implements AutoCloseable {
+
+	private final AbstractDialecticalFramework adf;
+
+	private final Configuration configuration;
+
+	private final Map<String, Semantics> semantics = new ConcurrentHashMap<>();
+
+	private final Map<Semantics, ExecutionPool> pools = new HashMap<>();
+
+	private boolean closed;
+
+	/**
+	 * Creates a session with the default configuration.
+	 * 
+	 * @param adf the ADF of the queries
+	 */
+	public SatReasoningSession(AbstractDialecticalFramework adf) {
+		this(adf, Configuration.builder().build());
+	}
+
+	/**
+	 * @param adf the ADF of the queries
+	 * @param configuration the configuration of the queries
+	 */
+	public SatReasoningSession(AbstractDialecticalFramework adf, Configuration configuration) {
+		this.adf = Objects.requireNonNull(adf);
+		this.configuration = Objects.requireNonNull(configuration);
+	}
+
+	/**
+	 * @return the first step of a query which is executed by this session
+	 */
+	public SemanticsStep query() {
+		return new SatQueryBuilder(adf, this).configure(configuration);
+	}
+
+	Semantics semantics(String name, Function<AbstractDialecticalFramework, Semantics> factory) {
+		return semantics.computeIfAbsent(name, n -> factory.apply(adf));
+	}
+
+	Execution execution(Semantics semantics) {
+		ExecutionPool pool;
+		synchronized (this) {
+			if (closed) {
+				throw new IllegalStateException("Session already closed!");
+			}
+			pool = pools.computeIfAbsent(semantics, s -> new ExecutionPool(s, configuration.getSatSolver(), configuration.getParallelism()));
+		}
+		return pool.lease();
+	}
+
+	/**
+	 * Releases the states of this session, the states of queries which are
+	 * still running are released as soon as they are done.
+	 */
+	@Override
+	public void close() {
+		synchronized (this) {
+			closed = true;
+		}
+		for (ExecutionPool pool : pools.values()) {
+			pool.close();
+		}
+	}
+
+}
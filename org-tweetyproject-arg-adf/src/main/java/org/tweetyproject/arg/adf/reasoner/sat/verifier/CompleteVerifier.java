@@ -23,11 +23,8 @@ import java.util.Objects;
 import java.util.function.Supplier;
 
 import org.tweetyproject.arg.adf.reasoner.sat.encodings.ConflictFreeInterpretationSatEncoding;
-import org.tweetyproject.arg.adf.reasoner.sat.encodings.FixPartialSatEncoding;
-import org.tweetyproject.arg.adf.reasoner.sat.encodings.LargerInterpretationSatEncoding;
 import org.tweetyproject.arg.adf.reasoner.sat.encodings.PropositionalMapping;
 import org.tweetyproject.arg.adf.reasoner.sat.encodings.RelativeSatEncoding;
-import org.tweetyproject.arg.adf.reasoner.sat.encodings.SatEncoding;
 import org.tweetyproject.arg.adf.sat.SatSolverState;
 import org.tweetyproject.arg.adf.semantics.interpretation.Interpretation;
 import org.tweetyproject.arg.adf.syntax.Argument;
@@ -47,11 +44,7 @@ public final class CompleteVerifier implements Verifier {
 	
 	private final PropositionalMapping mapping;
 	
-	private final SatEncoding conflictFree;
-	
-	private final RelativeSatEncoding fixPartial;
-	
-	private final RelativeSatEncoding larger;
+	private final RelativeSatEncoding conflictFree;
 	
 	/**
 	 * @param stateSupplier
@@ -63,8 +56,6 @@ public final class CompleteVerifier implements Verifier {
 		this.adf = Objects.requireNonNull(adf);
 		this.mapping = Objects.requireNonNull(mapping);
 		this.conflictFree = new ConflictFreeInterpretationSatEncoding(adf, mapping);
-		this.fixPartial = new FixPartialSatEncoding(mapping);
-		this.larger = new LargerInterpretationSatEncoding(mapping);
 	}
 
 	@Override
@@ -73,12 +64,12 @@ public final class CompleteVerifier implements Verifier {
 	@Override
 	public boolean verify(Interpretation candidate) {
 		try(SatSolverState state = stateSupplier.get()) {
-			conflictFree.encode(state::add);
+			// fixes the links of the decided arguments, the links of the undecided
+			// arguments remain open, s.t. every completion of the candidate is considered
+			conflictFree.encode(state::add, candidate);
 			
 			boolean complete = true;
 			Iterator<Argument> undecided = candidate.undecided().iterator();
-			fixPartial.encode(state::add, candidate);
-			larger.encode(state::add, candidate);
 			while (undecided.hasNext() && complete) {
 				Argument s = undecided.next();
 				TseitinTransformer transformer = TseitinTransformer.ofPositivePolarity(r -> mapping.getLink(r, s), false);
@@ -0,0 +1,163 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.adf.sat.solver;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.tweetyproject.arg.adf.sat.IncrementalSatSolver;
+import org.tweetyproject.arg.adf.sat.SatSolverState;
+import org.tweetyproject.arg.adf.syntax.pl.Clause;
+import org.tweetyproject.arg.adf.syntax.pl.Literal;
+import org.tweetyproject.logics.pl.sat.Sat4jSolver;
+import org.tweetyproject.logics.pl.sat.SatSolver;
+import org.tweetyproject.logics.pl.sat.SatSolverSession;
+
+/**
+ * An {@link IncrementalSatSolver} based on the incremental sessions of a
+ * {@link SatSolver} of the propositional logic library, see
+ * {@link SatSolver#createSession()}. With the default {@link Sat4jSolver} (or
+ * the {@link org.tweetyproject.logics.pl.sat.CdclSolver}) this provides
+ * incremental solving in pure Java, i.e. without native libraries.
+ * 
+ * @author Sebastian Franke
+ *
+ */
+public final class PlSatSolverAdapter implements IncrementalSatSolver {
+
+	private final SatSolver satSolver;
+
+	/**
+	 * Creates an incremental solver based on the {@link Sat4jSolver}.
+	 */
+	public PlSatSolverAdapter() {
+		this(new Sat4jSolver());
+	}
+
+	/**
+	 * 
+	 * @param satSolver the solver whose sessions are used
+	 */
+	public PlSatSolverAdapter(SatSolver satSolver) {
+		this.satSolver = Objects.requireNonNull(satSolver);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.tweetyproject.arg.adf.sat.IncrementalSatSolver#createState()
+	 */
+	@Override
+	public SatSolverState createState() {
+		return new SessionSatSolverState(satSolver.createSession());
+	}
+
+	private static final class SessionSatSolverState implements SatSolverState {
+
+		private final SatSolverSession session;
+
+		private int[] assumptions = new int[4];
+
+		private int numberOfAssumptions = 0;
+
+		private int numberOfVariables = 0;
+
+		/**
+		 * Maps the propositions to their variables in the session.
+		 */
+		private final Map<Literal, Integer> nonTransientMapping = new HashMap<>();
+
+		private Map<Literal, Integer> transientMapping = new HashMap<>();
+
+		private SessionSatSolverState(SatSolverSession session) {
+			this.session = session;
+		}
+
+		@Override
+		public void close() {
+			session.close();
+		}
+
+		@Override
+		public Set<Literal> witness() {
+			return witness(nonTransientMapping.keySet());
+		}
+
+		@Override
+		public Set<Literal> witness(Collection<? extends Literal> filter) {
+			if (satisfiable()) {
+				Set<Literal> witness = new HashSet<>();
+				for (Literal atom : filter) {
+					Integer mapping = nonTransientMapping.get(atom);
+					if (mapping != null && session.getValue(mapping)) {
+						witness.add(atom);
+					}
+				}
+				return witness;
+			}
+
+			return null;
+		}
+
+		@Override
+		public boolean satisfiable() {
+			transientMapping = new HashMap<>();
+			int[] current = Arrays.copyOf(assumptions, numberOfAssumptions);
+			numberOfAssumptions = 0;
+			return session.solve(current);
+		}
+
+		@Override
+		public void assume(Literal literal) {
+			int mapped = mapToVariable(literal.getAtom());
+			if (numberOfAssumptions == assumptions.length) {
+				assumptions = Arrays.copyOf(assumptions, 2 * numberOfAssumptions);
+			}
+			assumptions[numberOfAssumptions++] = literal.isPositive() ? mapped : -mapped;
+		}
+
+		@Override
+		public boolean add(Clause clause) {
+			int[] sclause = new int[clause.size()];
+			int i = 0;
+			for (Literal literal : clause) {
+				int mapped = mapToVariable(literal.getAtom());
+				sclause[i] = literal.isPositive() ? mapped : -mapped;
+				i++;
+			}
+			session.addClause(sclause);
+			return true;
+		}
+
+		private int mapToVariable(Literal atom) {
+			Map<Literal, Integer> map = atom.isTransient() ? transientMapping : nonTransientMapping;
+			Integer mapping = map.get(atom);
+			if (mapping == null) {
+				mapping = ++numberOfVariables;
+				map.put(atom, mapping);
+			}
+			return mapping;
+		}
+	}
+}
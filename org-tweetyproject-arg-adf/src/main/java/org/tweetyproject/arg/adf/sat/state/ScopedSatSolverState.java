@@ -0,0 +1,159 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.adf.sat.state;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+
+import org.tweetyproject.arg.adf.sat.SatSolverState;
+import org.tweetyproject.arg.adf.syntax.pl.Clause;
+import org.tweetyproject.arg.adf.syntax.pl.Literal;
+
+/**
+ * Allows to retract clauses from a state, even though {@link SatSolverState}
+ * itself only supports adding clauses.
+ * <p>
+ * All the clauses added while a scope is open are guarded by a fresh
+ * activation literal, which is assumed by every satisfiability check of the
+ * scope. Closing the scope adds the negated activation literal as a unit
+ * clause, which permanently satisfies the guarded clauses and everything the
+ * solver has learned from them. The clauses added outside of any scope stay
+ * in effect, together with the clauses learned from them.
+ * 
+ * @author Sebastian Franke
+ *
+ */
+public final class ScopedSatSolverState implements SatSolverState {
+
+	private final SatSolverState delegate;
+
+	private Literal activation;
+
+	private long permanentClauses;
+
+	private long scopedClauses;
+
+	private long retractedClauses;
+
+	/**
+	 * @param delegate the state which receives the (guarded) clauses
+	 */
+	public ScopedSatSolverState(SatSolverState delegate) {
+		this.delegate = Objects.requireNonNull(delegate);
+	}
+
+	/**
+	 * Opens a new scope, all clauses added until {@link #closeScope()} is
+	 * called are retracted afterwards.
+	 * 
+	 * @throws IllegalStateException if there is already an open scope
+	 */
+	public void openScope() {
+		if (activation != null) {
+			throw new IllegalStateException("There is already an open scope!");
+		}
+		activation = Literal.create();
+	}
+
+	/**
+	 * Retracts all the clauses which were added since the last call of
+	 * {@link #openScope()}.
+	 * 
+	 * @throws IllegalStateException if there is no open scope
+	 */
+	public void closeScope() {
+		if (activation == null) {
+			throw new IllegalStateException("There is no open scope!");
+		}
+		delegate.add(Clause.of(activation.neg()));
+		activation = null;
+		retractedClauses += scopedClauses;
+		scopedClauses = 0;
+	}
+
+	/**
+	 * @return true if there is an open scope
+	 */
+	public boolean isScopeOpen() {
+		return activation != null;
+	}
+
+	/**
+	 * @return the number of clauses added outside of any scope
+	 */
+	public long getPermanentClauses() {
+		return permanentClauses;
+	}
+
+	/**
+	 * Retracted clauses are only disabled, they still occupy the memory of the
+	 * underlying state.
+	 * 
+	 * @return the number of clauses retracted so far
+	 */
+	public long getRetractedClauses() {
+		return retractedClauses;
+	}
+
+	@Override
+	public boolean satisfiable() {
+		assumeActivation();
+		return delegate.satisfiable();
+	}
+
+	@Override
+	public Set<Literal> witness() {
+		assumeActivation();
+		return delegate.witness();
+	}
+
+	@Override
+	public Set<Literal> witness(Collection<? extends Literal> filter) {
+		assumeActivation();
+		return delegate.witness(filter);
+	}
+
+	@Override
+	public void assume(Literal literal) {
+		delegate.assume(literal);
+	}
+
+	@Override
+	public boolean add(Clause clause) {
+		if (activation == null) {
+			permanentClauses++;
+			return delegate.add(clause);
+		}
+		scopedClauses++;
+		return delegate.add(Clause.of(clause, activation.neg()));
+	}
+
+	@Override
+	public void close() {
+		delegate.close();
+	}
+
+	private void assumeActivation() {
+		if (activation != null) {
+			delegate.assume(activation);
+		}
+	}
+
+}
@@ -0,0 +1,345 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.adf.semantics.interpretation;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import org.tweetyproject.arg.adf.syntax.Argument;
+import org.tweetyproject.arg.adf.util.ArgumentIndex;
+import org.tweetyproject.arg.adf.util.ThreeValuedBitSet;
+
+/**
+ * An interpretation which assigns a value to every argument of an
+ * {@link ArgumentIndex} and stores the values in a {@link ThreeValuedBitSet}.
+ * <p>
+ * Subset, superset and equality checks between two such interpretations over
+ * the same index only need a few word operations per 64 arguments, and an
+ * interpretation only occupies two bits per argument. The sets returned by
+ * {@link #satisfied()}, {@link #unsatisfied()} and {@link #undecided()} are
+ * views and are not materialized.
+ * <p>
+ * Instances are immutable.
+ * 
+ * @author Sebastian Franke
+ *
+ */
+public final class BitSetInterpretation implements Interpretation {
+
+	private final ArgumentIndex index;
+
+	private final ThreeValuedBitSet values;
+
+	private final Set<Argument> satisfied = new ValueSet(true);
+
+	private final Set<Argument> unsatisfied = new ValueSet(false);
+
+	private final Set<Argument> undecided = new ValueSet(null);
+
+	private int hash = 0;
+
+	/**
+	 * The given bitset is not copied, it must not be modified afterwards.
+	 * 
+	 * @param index the arguments of the interpretation
+	 * @param values the values of the arguments relative to <code>index</code>
+	 */
+	BitSetInterpretation(ArgumentIndex index, ThreeValuedBitSet values) {
+		if (index.size() != values.size()) {
+			throw new IllegalArgumentException("The bitset does not match the size of the index!");
+		}
+		this.index = index;
+		this.values = values;
+	}
+
+	/**
+	 * Converts the given interpretation relative to <code>index</code>, the
+	 * arguments of <code>index</code> which are not contained in
+	 * <code>interpretation</code> are undecided.
+	 * 
+	 * @param interpretation some interpretation
+	 * @param index the index of the result
+	 * @return the bitset based interpretation or <code>null</code> if
+	 *         <code>interpretation</code> decides an argument unknown to
+	 *         <code>index</code>
+	 */
+	static BitSetInterpretation of(Interpretation interpretation, ArgumentIndex index) {
+		if (interpretation instanceof BitSetInterpretation && ((BitSetInterpretation) interpretation).index == index) {
+			return (BitSetInterpretation) interpretation;
+		}
+		ThreeValuedBitSet values = new ThreeValuedBitSet(index.size());
+		if (!assign(values, index, interpretation.satisfied(), true) || !assign(values, index, interpretation.unsatisfied(), false)) {
+			return null;
+		}
+		return new BitSetInterpretation(index, values);
+	}
+
+	/**
+	 * Assigns <code>value</code> to the given arguments.
+	 * 
+	 * @return false iff one of the arguments is unknown to <code>index</code>
+	 */
+	static boolean assign(ThreeValuedBitSet values, ArgumentIndex index, Set<Argument> arguments, boolean value) {
+		for (Argument arg : arguments) {
+			int i = index.indexOf(arg);
+			if (i < 0) {
+				return false;
+			}
+			values.set(i, value);
+		}
+		return true;
+	}
+
+	/**
+	 * Decides a currently undecided argument.
+	 * 
+	 * @param argument an undecided argument
+	 * @param value the value of the argument
+	 * @return the extended interpretation
+	 */
+	BitSetInterpretation extend(Argument argument, boolean value) {
+		int i = index.indexOf(argument);
+		if (i < 0 || values.get(i) != null) {
+			throw new IllegalArgumentException("Given argument must be undecided!");
+		}
+		ThreeValuedBitSet extended = values.copy();
+		extended.set(i, value);
+		return new BitSetInterpretation(index, extended);
+	}
+
+	/**
+	 * @return the index which defines the positions of the arguments
+	 */
+	public ArgumentIndex getIndex() {
+		return index;
+	}
+
+	/**
+	 * @param i the index of an argument
+	 * @return the value of the argument, <code>null</code> if it is undecided
+	 * @throws IndexOutOfBoundsException if there is no argument with index
+	 *         <code>i</code>
+	 */
+	public Boolean get(int i) {
+		return values.get(i);
+	}
+
+	/**
+	 * Returns the first index greater or equal than <code>from</code> of an
+	 * argument with the given value.
+	 * 
+	 * @param value the value, <code>null</code> for undecided
+	 * @param from the index to start from
+	 * @return the index or -1 if there is none
+	 */
+	public int next(Boolean value, int from) {
+		return values.next(value, from);
+	}
+
+	/**
+	 * @return a copy of the underlying bitset
+	 */
+	public ThreeValuedBitSet toBitSet() {
+		return values.copy();
+	}
+
+	@Override
+	public boolean satisfied(Argument arg) {
+		return value(arg) == Boolean.TRUE;
+	}
+
+	@Override
+	public boolean unsatisfied(Argument arg) {
+		return value(arg) == Boolean.FALSE;
+	}
+
+	@Override
+	public boolean undecided(Argument arg) {
+		int i = index.indexOf(arg);
+		return i >= 0 && values.get(i) == null;
+	}
+
+	@Override
+	public boolean decided(Argument arg) {
+		return value(arg) != null;
+	}
+
+	private Boolean value(Argument arg) {
+		int i = index.indexOf(arg);
+		return i < 0 ? null : values.get(i);
+	}
+
+	@Override
+	public Set<Argument> satisfied() {
+		return satisfied;
+	}
+
+	@Override
+	public Set<Argument> unsatisfied() {
+		return unsatisfied;
+	}
+
+	@Override
+	public Set<Argument> undecided() {
+		return undecided;
+	}
+
+	@Override
+	public Set<Argument> arguments() {
+		return index.arguments();
+	}
+
+	@Override
+	public int size() {
+		return index.size();
+	}
+
+	@Override
+	public boolean contains(Argument argument) {
+		return index.contains(argument);
+	}
+
+	@Override
+	public int numDecided() {
+		return values.numDefined();
+	}
+
+	@Override
+	public boolean isSubsetOf(Interpretation superset) {
+		if (superset instanceof BitSetInterpretation && ((BitSetInterpretation) superset).index == index) {
+			return values.isSubsetOf(((BitSetInterpretation) superset).values);
+		}
+		return Interpretation.super.isSubsetOf(superset);
+	}
+
+	@Override
+	public boolean isSupersetOf(Interpretation subset) {
+		if (subset instanceof BitSetInterpretation && ((BitSetInterpretation) subset).index == index) {
+			return ((BitSetInterpretation) subset).values.isSubsetOf(values);
+		}
+		return Interpretation.super.isSupersetOf(subset);
+	}
+
+	@Override
+	public int hashCode() {
+		// must be consistent with the other implementations, which hash the three sets
+		int h = hash;
+		if (h == 0) {
+			h = Objects.hash(satisfied, undecided, unsatisfied);
+			hash = h;
+		}
+		return h;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj instanceof BitSetInterpretation && ((BitSetInterpretation) obj).index == index) {
+			return values.equals(((BitSetInterpretation) obj).values);
+		}
+		if (!(obj instanceof Interpretation)) {
+			return false;
+		}
+		Interpretation other = (Interpretation) obj;
+		return Objects.equals(satisfied, other.satisfied()) && Objects.equals(undecided, other.undecided())
+				&& Objects.equals(unsatisfied, other.unsatisfied());
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder("{");
+		for (Argument a : satisfied) {
+			s.append(" t(").append(a).append(")");
+		}
+		for (Argument a : unsatisfied) {
+			s.append(" f(").append(a).append(")");
+		}
+		for (Argument a : undecided) {
+			s.append(" u(").append(a).append(")");
+		}
+		if (s.length() > 1) {
+			s.deleteCharAt(1);
+		}
+		s.append("}");
+		return s.toString();
+	}
+
+	/**
+	 * The arguments with a certain value.
+	 */
+	private final class ValueSet extends AbstractSet<Argument> {
+
+		private final Boolean value;
+
+		ValueSet(Boolean value) {
+			this.value = value;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof Argument)) {
+				return false;
+			}
+			int i = index.indexOf((Argument) o);
+			return i >= 0 && values.get(i) == value;
+		}
+
+		@Override
+		public int size() {
+			if (value == null) {
+				return values.size() - values.numDefined();
+			}
+			return value ? values.numTrue() : values.numFalse();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return values.next(value, 0) < 0;
+		}
+
+		@Override
+		public Iterator<Argument> iterator() {
+			return new Iterator<Argument>() {
+
+				private int next = values.next(value, 0);
+
+				@Override
+				public boolean hasNext() {
+					return next >= 0;
+				}
+
+				@Override
+				public Argument next() {
+					if (next < 0) {
+						throw new NoSuchElementException();
+					}
+					Argument arg = index.get(next);
+					next = next + 1 < values.size() ? values.next(value, next + 1) : -1;
+					return arg;
+				}
+			};
+		}
+	}
+
+}
@@ -23,6 +23,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -35,7 +36,9 @@ import org.tweetyproject.arg.adf.semantics.interpretation.Interpretations.Single
 import org.tweetyproject.arg.adf.syntax.Argument;
 import org.tweetyproject.arg.adf.syntax.adf.AbstractDialecticalFramework;
 import org.tweetyproject.arg.adf.syntax.pl.Literal;
+import org.tweetyproject.arg.adf.util.ArgumentIndex;
 import org.tweetyproject.arg.adf.util.MinusSetView;
+import org.tweetyproject.arg.adf.util.ThreeValuedBitSet;
 
 /**
  * This class represents a three-valued interpretation of an Abstract
@@ -67,10 +70,18 @@ public interface Interpretation {
 	}
 	
 	static Interpretation fromSet(Set<Argument> satisfied, AbstractDialecticalFramework adf) {
+		Interpretation interpretation = fromSets(satisfied, Set.of(), adf.getArgumentIndex());
+		if (interpretation != null) {
+			return interpretation;
+		}
 		return new SetInterpretation(satisfied, Set.of(), new MinusSetView<>(adf.getArguments(), satisfied));
 	}
 		
 	static Interpretation fromSets(Set<Argument> satisfied, Set<Argument> unsatisfied, AbstractDialecticalFramework adf) {
+		Interpretation interpretation = fromSets(satisfied, unsatisfied, adf.getArgumentIndex());
+		if (interpretation != null) {
+			return interpretation;
+		}
 		Set<Argument> undecided = new HashSet<>();
 		for (Argument arg : adf.getArguments()) {
 			if (!satisfied.contains(arg) && !unsatisfied.contains(arg)) {
@@ -112,9 +123,19 @@ public interface Interpretation {
 	 * @return return value
 	 */
 	static Interpretation extend(Interpretation toExtend, Argument argument, boolean value) {
+		if (toExtend instanceof BitSetInterpretation) {
+			return ((BitSetInterpretation) toExtend).extend(argument, value);
+		}
 		if (!toExtend.undecided(argument)) {
 			throw new IllegalArgumentException("Given argument must be undecided!");
 		}
+		if (toExtend instanceof SingleValuedInterpretation) {
+			ArgumentIndex index = ((SingleValuedInterpretation) toExtend).getArgumentIndex();
+			BitSetInterpretation converted = BitSetInterpretation.of(toExtend, index);
+			if (converted != null) {
+				return converted.extend(argument, value);
+			}
+		}
 		Set<Argument> undecided = new HashSet<Argument>(toExtend.undecided());
 		undecided.remove(argument);
 		if (value) {
@@ -141,22 +162,57 @@ public interface Interpretation {
 	 * @return an ADF interpretation
 	 */
 	static Interpretation fromWitness(Set<Literal> witness,	PropositionalMapping mapping) {
-		Set<Argument> satisfied = new HashSet<>();
-		Set<Argument> unsatisfied = new HashSet<>();
-		Set<Argument> undecided = new HashSet<>();
-		for (Argument a : mapping.getArguments()) {
+		ArgumentIndex index = mapping.getArgumentIndex();
+		ThreeValuedBitSet values = new ThreeValuedBitSet(index.size());
+		for (int i = 0; i < index.size(); i++) {
+			Argument a = index.get(i);
 			if (witness.contains(mapping.getTrue(a))) {
-				satisfied.add(a);
+				values.set(i, true);
 			} else if (witness.contains(mapping.getFalse(a))) {
-				unsatisfied.add(a);
-			} else {
-				undecided.add(a);
+				values.set(i, false);
 			}
 		}
-		return new SetInterpretation(satisfied, unsatisfied, undecided);
+		return new BitSetInterpretation(index, values);
+	}
+	
+	/**
+	 * Creates an interpretation relative to the given index, all the arguments
+	 * which are neither in <code>satisfied</code> nor in
+	 * <code>unsatisfied</code> are undecided.
+	 * <p>
+	 * Interpretations relative to the same index can be compared very
+	 * efficiently, see {@link BitSetInterpretation}.
+	 * 
+	 * @param satisfied the satisfied arguments
+	 * @param unsatisfied the unsatisfied arguments
+	 * @param index the arguments of the interpretation
+	 * @return the interpretation or <code>null</code> if some of the given arguments are unknown to <code>index</code>
+	 */
+	static Interpretation fromSets(Set<Argument> satisfied, Set<Argument> unsatisfied, ArgumentIndex index) {
+		ThreeValuedBitSet values = new ThreeValuedBitSet(index.size());
+		if (!BitSetInterpretation.assign(values, index, satisfied, true) || !BitSetInterpretation.assign(values, index, unsatisfied, false)) {
+			return null;
+		}
+		return new BitSetInterpretation(index, values);
+	}
+	
+	/**
+	 * Creates an interpretation relative to the given index.
+	 * 
+	 * @param values the values of the arguments, the bitset is copied
+	 * @param index the arguments of the interpretation
+	 * @return the interpretation
+	 * @throws IllegalArgumentException if the sizes of <code>values</code> and <code>index</code> differ
+	 */
+	static Interpretation fromBitSet(ThreeValuedBitSet values, ArgumentIndex index) {
+		return new BitSetInterpretation(index, values.copy());
 	}
 			
 	static Interpretation partial(Set<Argument> satisfied, Set<Argument> unsatisfied, AbstractDialecticalFramework adf) {
+		Interpretation interpretation = fromSets(satisfied, unsatisfied, adf.getArgumentIndex());
+		if (interpretation != null) {
+			return interpretation;
+		}
 		Set<Argument> undecided = new HashSet<Argument>();
 		for (Argument arg : adf.getArguments()) {
 			if (!satisfied.contains(arg) && !unsatisfied.contains(arg)) {
@@ -269,29 +325,35 @@ public interface Interpretation {
 	}
 	
 	static final class Builder {
-		private final Map<Argument, Boolean> assignment = new HashMap<>();
+		private final ArgumentIndex index;
+		
+		private final ThreeValuedBitSet values;
 		
 		private Builder(Collection<Argument> arguments) {
-			for (Argument arg : arguments) {
-				// initialize as undecided
-				assignment.put(arg, null);
-			}
+			this(ArgumentIndex.of(new LinkedHashSet<>(arguments)));
 		}
 				
 		private Builder(AbstractDialecticalFramework adf) {
-			this(adf.getArguments());
+			this(adf.getArgumentIndex());
+		}
+		
+		private Builder(ArgumentIndex index) {
+			// initialize as undecided
+			this.index = index;
+			this.values = new ThreeValuedBitSet(index.size());
 		}
 		
 		public Builder put(Argument arg, Boolean value) {
-			if (!assignment.containsKey(arg)) {
+			int i = index.indexOf(arg);
+			if (i < 0) {
 				throw new IllegalArgumentException("The given argument is unknown to the provided ADF!");
 			}
-			assignment.put(arg, value);
+			values.set(i, value);
 			return this;
 		}
 		
 		public Interpretation build() {
-			return Interpretation.fromMap(assignment);
+			return new BitSetInterpretation(index, values.copy());
 		}
 	}
 	
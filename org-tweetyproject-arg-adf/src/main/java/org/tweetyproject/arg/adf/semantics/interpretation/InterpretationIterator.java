@@ -19,12 +19,11 @@
 package org.tweetyproject.arg.adf.semantics.interpretation;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Iterator;
-import java.util.List;
-import java.util.Map;
+import java.util.LinkedHashSet;
 
 import org.tweetyproject.arg.adf.syntax.Argument;
+import org.tweetyproject.arg.adf.util.ArgumentIndex;
 import org.tweetyproject.arg.adf.util.ThreeValuedBitSet;
 
 /**
@@ -35,7 +34,7 @@ import org.tweetyproject.arg.adf.util.ThreeValuedBitSet;
  */
 public class InterpretationIterator implements Iterator<Interpretation> {
 
-	private final List<Argument> arguments;
+	private final ArgumentIndex arguments;
 	
 	private ThreeValuedBitSet current;
 	
@@ -46,8 +45,8 @@ public class InterpretationIterator implements Iterator<Interpretation> {
 		if (arguments == null || arguments.size() <= 0) {
 			throw new IllegalArgumentException("arguments must not be null!");
 		}
-		this.arguments = List.copyOf(arguments);
-		this.current = new ThreeValuedBitSet(arguments.size());
+		this.arguments = ArgumentIndex.of(new LinkedHashSet<>(arguments));
+		this.current = new ThreeValuedBitSet(this.arguments.size());
 	}
 
 	/* (non-Javadoc)
@@ -77,13 +76,7 @@ public class InterpretationIterator implements Iterator<Interpretation> {
 	}
 	
 	private Interpretation fromCurrent() {
-		Map<Argument, Boolean> assignment = new HashMap<Argument, Boolean>();
-		int i = 0;
-		for (Argument arg : arguments) {
-			assignment.put(arg, current.get(i));
-			i++;
-		}
-		return Interpretation.fromMap(assignment);
+		return Interpretation.fromBitSet(current, arguments);
 	}
 	
 }
@@ -24,6 +24,7 @@ import java.util.Set;
 
 import org.tweetyproject.arg.adf.syntax.Argument;
 import org.tweetyproject.arg.adf.syntax.adf.AbstractDialecticalFramework;
+import org.tweetyproject.arg.adf.util.ArgumentIndex;
 import org.tweetyproject.arg.adf.util.MinusSetView;
 import org.tweetyproject.arg.adf.util.UnionSetView;
 
@@ -243,6 +244,8 @@ final class Interpretations {
 
 		private final Set<Argument> undecided;
 
+		private final AbstractDialecticalFramework adf;
+
 		/**
 		 * 
 		 * @param argument the argument with the value
@@ -253,6 +256,14 @@ final class Interpretations {
 			this.argument = argument;
 			this.value = value;
 			this.undecided = new MinusSetView<Argument>(adf.getArguments(), Set.of(argument));
+			this.adf = adf;
+		}
+
+		/**
+		 * @return the index of the arguments of the contextual ADF
+		 */
+		ArgumentIndex getArgumentIndex() {
+			return adf.getArgumentIndex();
 		}
 
 		@Override
@@ -18,6 +18,10 @@
  */
 package org.tweetyproject.arg.adf.semantics.link;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.tweetyproject.arg.adf.semantics.interpretation.Interpretation;
 import org.tweetyproject.arg.adf.syntax.Argument;
 import org.tweetyproject.arg.adf.syntax.acc.AcceptanceCondition;
@@ -27,5 +31,24 @@ public interface LinkStrategy {
 	LinkType compute(Argument parent, AcceptanceCondition childAcc);
 	
 	LinkType compute(Argument parent, AcceptanceCondition childAcc, Interpretation assumption);
+	
+	/**
+	 * Computes the types of the links from all the given parents to the child
+	 * with the acceptance condition <code>childAcc</code>.
+	 * <p>
+	 * Implementations may share work between the links of the same child, the
+	 * default implementation computes them one by one.
+	 * 
+	 * @param parents some arguments occurring in <code>childAcc</code>
+	 * @param childAcc the acceptance condition of the child
+	 * @return the link types of the parents
+	 */
+	default Map<Argument, LinkType> computeAll(Collection<Argument> parents, AcceptanceCondition childAcc) {
+		Map<Argument, LinkType> types = new HashMap<>();
+		for (Argument parent : parents) {
+			types.put(parent, compute(parent, childAcc));
+		}
+		return types;
+	}
 		
 }
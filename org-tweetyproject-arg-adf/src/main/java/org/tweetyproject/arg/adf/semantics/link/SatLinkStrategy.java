@@ -18,7 +18,15 @@
  */
 package org.tweetyproject.arg.adf.semantics.link;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import org.tweetyproject.arg.adf.sat.IncrementalSatSolver;
@@ -26,6 +34,16 @@ import org.tweetyproject.arg.adf.sat.SatSolverState;
 import org.tweetyproject.arg.adf.semantics.interpretation.Interpretation;
 import org.tweetyproject.arg.adf.syntax.Argument;
 import org.tweetyproject.arg.adf.syntax.acc.AcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.ConjunctionAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.ContradictionAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.DisjunctionAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.EquivalenceAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.ExclusiveDisjunctionAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.ImplicationAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.NegationAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.TautologyAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.Visitor;
+import org.tweetyproject.arg.adf.syntax.adf.AbstractDialecticalFramework;
 import org.tweetyproject.arg.adf.syntax.pl.Clause;
 import org.tweetyproject.arg.adf.syntax.pl.Literal;
 import org.tweetyproject.arg.adf.transform.TseitinTransformer;
@@ -33,33 +51,121 @@ import org.tweetyproject.arg.adf.util.CacheMap;
 
 /**
  * Computes the LinkType via two Sat-calls.
+ * <p>
+ * The acceptance condition of a child is encoded only once for all of its
+ * links, see {@link #computeAll(Collection, AcceptanceCondition)}. The link
+ * types are memoised by the structure of the acceptance condition and the
+ * names of its arguments, hence they are not computed again for an equal
+ * acceptance condition, e.g. if an unchanged ADF is loaded again. The memo
+ * belongs to this instance, so the same strategy has to be reused to benefit
+ * from it, as {@link AbstractDialecticalFramework#fromFile(java.io.File)}
+ * does.
+ * <p>
+ * This class is thread-safe if the states of the solver can be used
+ * concurrently.
  * 
  * @author Mathias Hofer
  *
  */
 public final class SatLinkStrategy implements LinkStrategy {
 
+	private static final int DEFAULT_CACHE_SIZE = 100_000;
+
 	private final IncrementalSatSolver solver;
 
+	/**
+	 * Maps the keys of acceptance conditions to the link types of their
+	 * parents, identified by their names.
+	 */
+	private final Map<String, Map<String, LinkType>> cache;
+
 	public SatLinkStrategy(IncrementalSatSolver solver) {
+		this(solver, DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * @param solver the solver used to compute the link types
+	 * @param cacheSize the maximal number of acceptance conditions whose link
+	 *        types are memoised, 0 disables memoisation
+	 */
+	public SatLinkStrategy(IncrementalSatSolver solver, int cacheSize) {
+		if (cacheSize < 0) {
+			throw new IllegalArgumentException("cacheSize >= 0 required!");
+		}
 		this.solver = Objects.requireNonNull(solver);
+		this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Map<String, LinkType>> eldest) {
+				return size() > cacheSize;
+			}
+		});
 	}
 
 	@Override
 	public LinkType compute(Argument parent, AcceptanceCondition childAcc) {
-		return compute(parent, childAcc, null);
+		return computeAll(List.of(parent), childAcc).get(parent);
 	}
 
 	@Override
 	public LinkType compute(Argument parent, AcceptanceCondition childAcc, Interpretation assumption) {
+		if (assumption == null) {
+			return compute(parent, childAcc);
+		}
+		checkParent(parent, childAcc);
+		return classify(List.of(parent), childAcc, assumption).get(parent);
+	}
+
+	/**
+	 * Computes the link types of all the given parents with a single solver
+	 * state, already memoised link types are reused.
+	 */
+	@Override
+	public Map<Argument, LinkType> computeAll(Collection<Argument> parents, AcceptanceCondition childAcc) {
+		for (Argument parent : parents) {
+			checkParent(parent, childAcc);
+		}
+
+		String key = key(childAcc);
+		Map<String, LinkType> memoised = key == null ? null : cache.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+
+		Map<Argument, LinkType> types = new HashMap<>();
+		List<Argument> missing = new ArrayList<>(parents.size());
+		for (Argument parent : parents) {
+			LinkType type = memoised == null ? null : memoised.get(parent.getName());
+			if (type != null) {
+				types.put(parent, type);
+			} else {
+				missing.add(parent);
+			}
+		}
+
+		if (!missing.isEmpty()) {
+			Map<Argument, LinkType> computed = classify(missing, childAcc, null);
+			if (memoised != null) {
+				for (Map.Entry<Argument, LinkType> entry : computed.entrySet()) {
+					memoised.put(entry.getKey().getName(), entry.getValue());
+				}
+			}
+			types.putAll(computed);
+		}
+		return types;
+	}
+
+	private static void checkParent(Argument parent, AcceptanceCondition childAcc) {
 		if (!childAcc.contains(parent)) {
 			throw new IllegalArgumentException("The parent does not occur in the child acceptance condition!");
 		}
+	}
 
+	private Map<Argument, LinkType> classify(Collection<Argument> parents, AcceptanceCondition childAcc, Interpretation assumption) {
 		Function<Argument, Literal> mapping = new CacheMap<>(arg -> Literal.create(arg.getName()));
 
 		TseitinTransformer transformer = TseitinTransformer.ofPositivePolarity(mapping, false);
 
+		Map<Argument, LinkType> types = new HashMap<>();
 		try (SatSolverState state = solver.createState()) {
 			Literal childAccName = transformer.collect(childAcc, state::add);
 
@@ -75,24 +181,102 @@ public final class SatLinkStrategy implements LinkStrategy {
 				}
 			}
 
-			// used to activate either attacking or supporting check
-			Literal toggle = Literal.create("toggle");
+			// the encoding is shared by all parents, the checks only differ in the assumptions
+			for (Argument parent : parents) {
+				Literal literal = mapping.apply(parent);
+
+				state.assume(literal);
+				boolean supporting = !state.satisfiable();
+
+				state.assume(literal.neg());
+				boolean attacking = !state.satisfiable();
+
+				types.put(parent, LinkType.get(attacking, supporting));
+			}
+		}
+		return types;
+	}
+
+	/**
+	 * Computes a key which identifies the acceptance condition by its
+	 * structure and the names of its arguments. The key is independent of the
+	 * order of the children of commutative operators.
+	 * 
+	 * @param acc some acceptance condition
+	 * @return the key or <code>null</code> if the arguments cannot be
+	 *         identified by their names
+	 */
+	private static String key(AcceptanceCondition acc) {
+		return acc.accept(KeyVisitor.INSTANCE, new HashMap<>());
+	}
 
-			Clause attackingClause = Clause.of(childAccName, mapping.apply(parent).neg(), toggle);
-			state.add(attackingClause);
+	private static enum KeyVisitor implements Visitor<String, Map<String, Argument>> {
+		INSTANCE;
 
-			Clause supportingClause = Clause.of(childAccName, mapping.apply(parent), toggle.neg());
-			state.add(supportingClause);
+		@Override
+		public String visit(TautologyAcceptanceCondition acc, Map<String, Argument> names) {
+			return "T";
+		}
+
+		@Override
+		public String visit(ContradictionAcceptanceCondition acc, Map<String, Argument> names) {
+			return "F";
+		}
 
-			// satisfies attackingClause, thus deactivates the attacking check
-			state.assume(toggle);
-			boolean supporting = !state.satisfiable();
+		@Override
+		public String visit(ConjunctionAcceptanceCondition acc, Map<String, Argument> names) {
+			return commutative("and", acc, names);
+		}
 
-			// satisfies supportingClause, thus deactivates the supporting check
-			state.assume(toggle.neg());
-			boolean attacking = !state.satisfiable();
+		@Override
+		public String visit(DisjunctionAcceptanceCondition acc, Map<String, Argument> names) {
+			return commutative("or", acc, names);
+		}
 
-			return LinkType.get(attacking, supporting);
+		@Override
+		public String visit(EquivalenceAcceptanceCondition acc, Map<String, Argument> names) {
+			return commutative("iff", acc, names);
+		}
+
+		@Override
+		public String visit(ExclusiveDisjunctionAcceptanceCondition acc, Map<String, Argument> names) {
+			return commutative("xor", acc, names);
+		}
+
+		@Override
+		public String visit(ImplicationAcceptanceCondition acc, Map<String, Argument> names) {
+			String left = acc.getLeft().accept(this, names);
+			String right = left == null ? null : acc.getRight().accept(this, names);
+			return right == null ? null : "impl(" + left + "," + right + ")";
+		}
+
+		@Override
+		public String visit(NegationAcceptanceCondition acc, Map<String, Argument> names) {
+			String child = acc.getChild().accept(this, names);
+			return child == null ? null : "neg(" + child + ")";
+		}
+
+		@Override
+		public String visit(Argument acc, Map<String, Argument> names) {
+			String name = acc.getName();
+			// only cacheable if the name identifies the argument
+			if (name == null || names.computeIfAbsent(name, n -> acc) != acc) {
+				return null;
+			}
+			return name.length() + ":" + name;
+		}
+
+		private String commutative(String operator, AcceptanceCondition acc, Map<String, Argument> names) {
+			List<String> children = new ArrayList<>();
+			for (AcceptanceCondition child : acc.getChildren()) {
+				String key = child.accept(this, names);
+				if (key == null) {
+					return null;
+				}
+				children.add(key);
+			}
+			Collections.sort(children);
+			return operator + "(" + String.join(",", children) + ")";
 		}
 	}
 
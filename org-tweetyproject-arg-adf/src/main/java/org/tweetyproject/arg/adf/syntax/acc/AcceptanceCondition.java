@@ -18,6 +18,10 @@
  */
 package org.tweetyproject.arg.adf.syntax.acc;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Stream;
 
@@ -49,13 +53,24 @@ public interface AcceptanceCondition {
 	static final TautologyAcceptanceCondition TAUTOLOGY = TautologyAcceptanceCondition.INSTANCE;	
 	
 	/**
+	 * Uses an explicit stack instead of recursion, so arbitrarily deep acceptance
+	 * conditions do not overflow the call stack.
 	 * 
-	 * @return recursively computes all the arguments of this acceptance condition
+	 * @return all the arguments of this acceptance condition, one for each occurrence
 	 */
 	default Stream<Argument> arguments() {
-		return getChildren()
-				.stream()
-				.flatMap(AcceptanceCondition::arguments);
+		List<Argument> arguments = new ArrayList<>();
+		Deque<AcceptanceCondition> stack = new ArrayDeque<>();
+		stack.push(this);
+		while (!stack.isEmpty()) {
+			AcceptanceCondition acc = stack.pop();
+			if (acc instanceof Argument) {
+				arguments.add((Argument) acc);
+			} else {
+				acc.getChildren().forEach(stack::push);
+			}
+		}
+		return arguments.stream();
 	}
 	
 	/**
@@ -86,9 +101,16 @@ public interface AcceptanceCondition {
 	 * @return true if the argument is contained
 	 */
 	default boolean contains(Argument arg) {
-		return getChildren()
-				.stream()
-				.anyMatch(x -> x.contains(arg));
+		Deque<AcceptanceCondition> stack = new ArrayDeque<>();
+		stack.push(this);
+		while (!stack.isEmpty()) {
+			AcceptanceCondition acc = stack.pop();
+			if (acc == arg) {
+				return true;
+			}
+			acc.getChildren().forEach(stack::push);
+		}
+		return false;
 	}
 	
 	/**
@@ -22,8 +22,12 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import org.tweetyproject.arg.adf.semantics.link.Link;
@@ -49,6 +53,11 @@ abstract class AbstractBuilder implements Builder {
 
 	private boolean eager = true;
 
+	/**
+	 * Executes the eager link computation, by default in the calling thread.
+	 */
+	private Executor executor = Runnable::run;
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -86,8 +95,21 @@ abstract class AbstractBuilder implements Builder {
 	 */
 	@Override
 	public Builder eager(LinkStrategy linkStrategy) {
+		return eager(linkStrategy, Runnable::run);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.tweetyproject.arg.adf.syntax.adf.AbstractDialecticalFramework.Builder
+	 * #eager(org.tweetyproject.arg.adf.semantics.LinkStrategy, java.util.concurrent.Executor)
+	 */
+	@Override
+	public Builder eager(LinkStrategy linkStrategy, Executor executor) {
 		eager = true;
 		this.linkStrategy = Objects.requireNonNull(linkStrategy);
+		this.executor = Objects.requireNonNull(executor);
 		return this;
 	}
 
@@ -135,10 +157,28 @@ abstract class AbstractBuilder implements Builder {
 	}
 
 	protected Collection<Link> linksTo(Argument child) {
-		Set<Link> to = linksTo.computeIfAbsent(child, a -> new HashSet<>());		
-		if (eager) {
-			// check if we have to compute missing links
-			AcceptanceCondition acc = arguments.get(child);
+		return linksTo.computeIfAbsent(child, a -> new HashSet<>());
+	}
+
+	/**
+	 * If the links are computed eagerly, this computes all the missing links
+	 * in one stage. The links of each child are computed together by
+	 * {@link LinkStrategy#computeAll(Collection, AcceptanceCondition)} in a
+	 * task which is executed by the executor given to
+	 * {@link #eager(LinkStrategy, Executor)}.
+	 * 
+	 * @throws IllegalStateException if there are missing arguments or if
+	 *         there are missing links and no strategy to compute them
+	 */
+	protected void computeLinks() {
+		if (!eager) {
+			return;
+		}
+
+		Map<Argument, CompletableFuture<Map<Argument, LinkType>>> tasks = new HashMap<>();
+		for (Entry<Argument, AcceptanceCondition> entry : arguments.entrySet()) {
+			Argument child = entry.getKey();
+			AcceptanceCondition acc = entry.getValue();
 			Set<Argument> parents = acc.arguments().collect(Collectors.toSet());
 			
 			// check if there are missing parent arguments
@@ -149,22 +189,41 @@ abstract class AbstractBuilder implements Builder {
 			}
 			
 			// check if there are missing links
-			for (Link link : to) {
+			for (Link link : linksTo(child)) {
 				parents.remove(link.getFrom());
 			}
 
-			if (!parents.isEmpty() && linkStrategy == null) {
-				// if mode is provided
-				throw new IllegalStateException("Could not build ADF because of missing links!");
+			if (!parents.isEmpty()) {
+				if (linkStrategy == null) {
+					// if mode is provided
+					throw new IllegalStateException("Could not build ADF because of missing links!");
+				}
+				tasks.put(child, CompletableFuture.supplyAsync(() -> linkStrategy.computeAll(parents, acc), executor));
 			}
+		}
+
+		for (Entry<Argument, CompletableFuture<Map<Argument, LinkType>>> task : tasks.entrySet()) {
+			Argument child = task.getKey();
+			Collection<Link> to = linksTo(child);
+			for (Entry<Argument, LinkType> type : join(task.getValue()).entrySet()) {
+				to.add(Link.of(type.getKey(), child, type.getValue()));
+			}
+		}
+	}
 
-			// eagerly compute missing links
-			for (Argument parent : parents) {
-				LinkType type = linkStrategy.compute(parent, acc);
-				to.add(Link.of(parent, child, type));
+	private static <T> T join(CompletableFuture<T> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			// rethrow the original exception of the link strategy
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
 			}
+			throw e;
 		}
-		return to;
 	}
 
 }
@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -31,13 +32,12 @@ import java.util.stream.Stream;
 import org.tweetyproject.arg.adf.io.KppADFFormatParser;
 import org.tweetyproject.arg.adf.reasoner.query.SemanticsStep;
 import org.tweetyproject.arg.adf.reasoner.sat.query.SatQueryBuilder;
-import org.tweetyproject.arg.adf.sat.solver.NativeMinisatSolver;
 import org.tweetyproject.arg.adf.semantics.link.Link;
 import org.tweetyproject.arg.adf.semantics.link.LinkStrategy;
-import org.tweetyproject.arg.adf.semantics.link.SatLinkStrategy;
 import org.tweetyproject.arg.adf.syntax.Argument;
 import org.tweetyproject.arg.adf.syntax.acc.AcceptanceCondition;
 import org.tweetyproject.arg.adf.transform.Transformer;
+import org.tweetyproject.arg.adf.util.ArgumentIndex;
 
 /**
  * The implementing subtypes must ensure the following properties:
@@ -65,8 +65,20 @@ public interface AbstractDialecticalFramework {
 		return new GraphAbstractDialecticalFramework.Builder();
 	}
 	
+	/**
+	 * Parses the given file with the {@link KppADFFormatParser}. The link
+	 * types are computed lazily by a
+	 * {@link org.tweetyproject.arg.adf.semantics.link.SatLinkStrategy} which is shared
+	 * by all calls of this method, so the link types of an unchanged ADF are
+	 * not computed again if it is loaded again.
+	 * 
+	 * @param file the file to parse
+	 * @return the parsed ADF
+	 * @throws FileNotFoundException if the file does not exist
+	 * @throws IOException if the file cannot be read or parsed
+	 */
 	static AbstractDialecticalFramework fromFile(File file) throws FileNotFoundException, IOException {
-		return new KppADFFormatParser(new SatLinkStrategy(new NativeMinisatSolver()), true).parse(file);
+		return new KppADFFormatParser(SharedLinkStrategy.INSTANCE, true).parse(file);
 	}
 
 	static Builder fromMap(Map<Argument, AcceptanceCondition> map) {
@@ -109,6 +121,18 @@ public interface AbstractDialecticalFramework {
 	 */
 	Set<Argument> getArguments();
 
+	/**
+	 * Returns an index of the arguments, which allows to represent
+	 * interpretations of this ADF as bitsets. Implementations should return the
+	 * same instance on every call, since such interpretations are only
+	 * efficiently comparable if they share the same index.
+	 * 
+	 * @return an index of all the arguments
+	 */
+	default ArgumentIndex getArgumentIndex() {
+		return ArgumentIndex.of(getArguments());
+	}
+
 	/**
 	 * If the caller just consumes some links, this method should be used.
 	 * Depending on the implementation, the links may be computed lazily and
@@ -198,6 +222,18 @@ public interface AbstractDialecticalFramework {
 
 		Builder eager(LinkStrategy linkStrategy);
 
+		/**
+		 * Computes the missing links when the ADF is built, the links of each
+		 * child are computed by a task which is executed by the given
+		 * executor. This allows to compute the links of large ADFs in
+		 * parallel, as long as the link strategy is thread-safe.
+		 * 
+		 * @param linkStrategy the strategy used to compute the links
+		 * @param executor the executor of the link computations
+		 * @return this builder
+		 */
+		Builder eager(LinkStrategy linkStrategy, Executor executor);
+
 		Builder add(Argument arg, AcceptanceCondition acc);
 		
 		Builder add(Link link);
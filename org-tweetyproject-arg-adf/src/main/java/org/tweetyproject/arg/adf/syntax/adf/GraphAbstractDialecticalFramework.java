@@ -38,6 +38,7 @@ import org.tweetyproject.arg.adf.syntax.Argument;
 import org.tweetyproject.arg.adf.syntax.acc.AcceptanceCondition;
 import org.tweetyproject.arg.adf.transform.Transformer;
 import org.tweetyproject.arg.adf.util.AbstractUnmodifiableCollection;
+import org.tweetyproject.arg.adf.util.ArgumentIndex;
 import org.tweetyproject.arg.adf.util.LazyMap;
 
 /**
@@ -54,12 +55,16 @@ final class GraphAbstractDialecticalFramework implements AbstractDialecticalFram
 
 	private transient int k = -1;
 
+	private transient ArgumentIndex argumentIndex;
+
 	private final LinkStrategy linkStrategy;
 
 	private GraphAbstractDialecticalFramework(Builder builder) {
 		this.linkStrategy = builder.linkStrategy;
 		this.index = new HashMap<>(builder.arguments.size());
 		
+		builder.computeLinks();
+		
 		// create nodes
 		for (Entry<Argument, AcceptanceCondition> entry : builder.arguments.entrySet()) {
 			index.put(entry.getKey(), new Node(entry.getKey(), entry.getValue()));
@@ -119,6 +124,17 @@ final class GraphAbstractDialecticalFramework implements AbstractDialecticalFram
 		return Collections.unmodifiableSet(index.keySet());
 	}
 	
+	@Override
+	public ArgumentIndex getArgumentIndex() {
+		ArgumentIndex argumentIndex = this.argumentIndex;
+		if (argumentIndex == null) {
+			// racy but benign, the index is immutable
+			argumentIndex = ArgumentIndex.of(index.keySet());
+			this.argumentIndex = argumentIndex;
+		}
+		return argumentIndex;
+	}
+	
 	@Override
 	public int size() {
 		return index.size();
@@ -135,7 +151,7 @@ final class GraphAbstractDialecticalFramework implements AbstractDialecticalFram
 				.stream()
 				.flatMap(n -> n.parents.values().stream());
 	}
-
+
 	@Override
 	public Link link(Argument parent, Argument child) {
 		return node(child).parents.get(parent);
@@ -155,7 +171,7 @@ final class GraphAbstractDialecticalFramework implements AbstractDialecticalFram
 	public Set<Link> linksFrom(Argument parent) {
 		return new ChildrenSet(parent, node(parent).children);
 	}
-
+
 	@Override
 	public Set<Argument> parents(Argument child) {
 		return Collections.unmodifiableSet(node(child).parents.keySet());
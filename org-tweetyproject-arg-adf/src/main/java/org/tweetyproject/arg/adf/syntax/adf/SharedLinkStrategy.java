@@ -0,0 +1,39 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.adf.syntax.adf;
+
+import org.tweetyproject.arg.adf.sat.solver.PlSatSolverAdapter;
+import org.tweetyproject.arg.adf.semantics.link.LinkStrategy;
+import org.tweetyproject.arg.adf.semantics.link.SatLinkStrategy;
+
+/**
+ * Holds the link strategy which is shared by all calls of
+ * {@link AbstractDialecticalFramework#fromFile(java.io.File)}, so that its
+ * memoised link types survive between them.
+ * 
+ * @author Sebastian Franke
+ *
+ */
+final class SharedLinkStrategy {
+
+	static final LinkStrategy INSTANCE = new SatLinkStrategy(new PlSatSolverAdapter());
+
+	private SharedLinkStrategy() {}
+
+}
@@ -91,24 +91,16 @@ public final class FixPartialTransformer extends AbstractTransformer<AcceptanceC
 			return TAUTOLOGY;
 		}
 		
-		if (children.contains(CONTRADICTION)) {
-			Set<AcceptanceCondition> reduced = new HashSet<>();
-			for (AcceptanceCondition acc : children) {
-				if (acc != CONTRADICTION) {
-					reduced.add(acc);
-				}
-			}
-			
-			if (reduced.isEmpty()) { // conjunction only contained CONTRADICTION
-				return CONTRADICTION;
-			} else if (reduced.size() > 1) {
-				return new ConjunctionAcceptanceCondition(reduced);
-			} else { // size == 1
-				return reduced.iterator().next();
-			}
-		}
+		Set<AcceptanceCondition> reduced = new HashSet<>(children);
+		reduced.remove(CONTRADICTION);
 		
-		return new DisjunctionAcceptanceCondition(children);
+		if (reduced.isEmpty()) { // disjunction only contained CONTRADICTION
+			return CONTRADICTION;
+		} else if (reduced.size() > 1) {
+			return new DisjunctionAcceptanceCondition(reduced);
+		} else { // size == 1, also if the rewritten children collapsed
+			return reduced.iterator().next();
+		}
 	}
 
 	/* (non-Javadoc)
@@ -121,24 +113,16 @@ public final class FixPartialTransformer extends AbstractTransformer<AcceptanceC
 			return CONTRADICTION;
 		}
 
-		if (children.contains(TAUTOLOGY)) {
-			Set<AcceptanceCondition> reduced = new HashSet<>();
-			for (AcceptanceCondition acc : children) {
-				if (acc != TAUTOLOGY) {
-					reduced.add(acc);
-				}
-			}
-			
-			if (reduced.isEmpty()) { // conjunction only contained TAUTOLOGY
-				return TAUTOLOGY;
-			} else if (reduced.size() > 1) {
-				return new ConjunctionAcceptanceCondition(reduced);
-			} else { // size == 1
-				return reduced.iterator().next();
-			}
-		}
+		Set<AcceptanceCondition> reduced = new HashSet<>(children);
+		reduced.remove(TAUTOLOGY);
 		
-		return new ConjunctionAcceptanceCondition(children);
+		if (reduced.isEmpty()) { // conjunction only contained TAUTOLOGY
+			return TAUTOLOGY;
+		} else if (reduced.size() > 1) {
+			return new ConjunctionAcceptanceCondition(reduced);
+		} else { // size == 1, also if the rewritten children collapsed
+			return reduced.iterator().next();
+		}
 	}
 
 	/* (non-Javadoc)
@@ -147,7 +131,7 @@ public final class FixPartialTransformer extends AbstractTransformer<AcceptanceC
 	@Override
 	protected AcceptanceCondition transformImplication(AcceptanceCondition left, AcceptanceCondition right,
 			Void topDownData, int polarity) {
-		if (left == CONTRADICTION || right == TAUTOLOGY) {
+		if (left == CONTRADICTION || right == TAUTOLOGY || left.equals(right)) {
 			return TAUTOLOGY;
 		} else if (left == TAUTOLOGY && right == CONTRADICTION) {
 			return CONTRADICTION;
@@ -92,6 +92,10 @@ public class OmegaReductTransformer extends AbstractTransformer<AcceptanceCondit
 	@Override
 	protected AcceptanceCondition transformImplication(AcceptanceCondition left, AcceptanceCondition right,
 			Void topDownData, int polarity) {
+		// both sides may be reduced to the same condition
+		if (left.equals(right)) {
+			return AcceptanceCondition.TAUTOLOGY;
+		}
 		return new ImplicationAcceptanceCondition(left, right);
 	}
 
@@ -101,6 +105,9 @@ public class OmegaReductTransformer extends AbstractTransformer<AcceptanceCondit
 	@Override
 	protected AcceptanceCondition transformEquivalence(Set<AcceptanceCondition> children, Void topDownData,
 			int polarity) {
+		if (children.size() < 2) {
+			return AcceptanceCondition.TAUTOLOGY;
+		}
 		return new EquivalenceAcceptanceCondition(children);
 	}
 
@@ -110,6 +117,9 @@ public class OmegaReductTransformer extends AbstractTransformer<AcceptanceCondit
 	@Override
 	protected AcceptanceCondition transformExclusiveDisjunction(AcceptanceCondition left, AcceptanceCondition right,
 			Void topDownData, int polarity) {
+		if (left.equals(right)) {
+			return AcceptanceCondition.CONTRADICTION;
+		}
 		return new ExclusiveDisjunctionAcceptanceCondition(left, right);
 	}
 
@@ -206,16 +206,17 @@ public final class TseitinTransformer implements Collector<Literal, Clause>, Tra
 				children.put(createName(child), child);
 			}
 			defineEquivalence(name, children.keySet(), clauses, polarity);
+			// the children occur positively and negatively, so they need both directions
 			for (Entry<Literal, AcceptanceCondition> entry : children.entrySet()) {
-				define(entry.getKey(), entry.getValue(), clauses, polarity);
+				define(entry.getKey(), entry.getValue(), clauses, 0);
 			}
 		} else if (acc instanceof ExclusiveDisjunctionAcceptanceCondition) {
 			ExclusiveDisjunctionAcceptanceCondition xor = (ExclusiveDisjunctionAcceptanceCondition) acc;
 			Literal left = createName(xor.getLeft());
 			Literal right = createName(xor.getRight());
 			defineExclusiveDisjunction(name, left, right, clauses, polarity);
-			define(left, xor.getLeft(), clauses, polarity);
-			define(right, xor.getRight(), clauses, polarity);
+			define(left, xor.getLeft(), clauses, 0);
+			define(right, xor.getRight(), clauses, 0);
 		} else if (acc instanceof NegationAcceptanceCondition) {
 			Literal child = createName(((NegationAcceptanceCondition) acc).getChild());
 			defineNegation(name, child, clauses, polarity);
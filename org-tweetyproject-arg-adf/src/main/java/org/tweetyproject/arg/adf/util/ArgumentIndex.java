@@ -0,0 +1,159 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.adf.util;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import org.tweetyproject.arg.adf.syntax.Argument;
+
+/**
+ * An immutable bijection between a fixed set of arguments and the integers
+ * <code>0, ..., size() - 1</code>.
+ * <p>
+ * This allows to represent sets of arguments, e.g. the truth values of an
+ * interpretation, as bitsets. Instances are meant to be shared by everything
+ * that works on the same arguments, since bitsets are only comparable if they
+ * are relative to the same index.
+ * 
+ * @author Sebastian Franke
+ *
+ */
+public final class ArgumentIndex {
+
+	private final Argument[] arguments;
+
+	private final Map<Argument, Integer> indices;
+
+	private final Set<Argument> view = new ArgumentSet();
+
+	private ArgumentIndex(Argument[] arguments) {
+		this.arguments = arguments;
+		this.indices = new HashMap<>(arguments.length * 2);
+		for (int i = 0; i < arguments.length; i++) {
+			if (indices.put(Objects.requireNonNull(arguments[i]), i) != null) {
+				throw new IllegalArgumentException("Duplicate argument " + arguments[i]);
+			}
+		}
+	}
+
+	/**
+	 * Creates an index of the given arguments, the indices follow the
+	 * iteration order of <code>arguments</code>.
+	 * 
+	 * @param arguments the arguments, must not contain duplicates
+	 * @return the index of the arguments
+	 */
+	public static ArgumentIndex of(Collection<Argument> arguments) {
+		return new ArgumentIndex(arguments.toArray(new Argument[arguments.size()]));
+	}
+
+	/**
+	 * @param argument some argument
+	 * @return the index of <code>argument</code> or -1 if it is not contained
+	 */
+	public int indexOf(Argument argument) {
+		Integer index = indices.get(argument);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * @param index some index
+	 * @return the argument with the given index
+	 * @throws IndexOutOfBoundsException if there is no such argument
+	 */
+	public Argument get(int index) {
+		return arguments[index];
+	}
+
+	/**
+	 * @param argument some argument
+	 * @return true iff the argument has an index
+	 */
+	public boolean contains(Argument argument) {
+		return indices.containsKey(argument);
+	}
+
+	/**
+	 * @return the number of indexed arguments
+	 */
+	public int size() {
+		return arguments.length;
+	}
+
+	/**
+	 * @return an unmodifiable view of the arguments which iterates in the
+	 *         order of their indices
+	 */
+	public Set<Argument> arguments() {
+		return view;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return Arrays.toString(arguments);
+	}
+
+	private final class ArgumentSet extends AbstractSet<Argument> {
+
+		@Override
+		public boolean contains(Object o) {
+			return indices.containsKey(o);
+		}
+
+		@Override
+		public int size() {
+			return arguments.length;
+		}
+
+		@Override
+		public Iterator<Argument> iterator() {
+			return new Iterator<Argument>() {
+
+				private int next = 0;
+
+				@Override
+				public boolean hasNext() {
+					return next < arguments.length;
+				}
+
+				@Override
+				public Argument next() {
+					if (next >= arguments.length) {
+						throw new NoSuchElementException();
+					}
+					return arguments[next++];
+				}
+			};
+		}
+	}
+
+}
@@ -19,27 +19,36 @@
 package org.tweetyproject.arg.adf.util;
 
 import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 
+import org.tweetyproject.arg.adf.semantics.interpretation.BitSetInterpretation;
 import org.tweetyproject.arg.adf.semantics.interpretation.Interpretation;
 import org.tweetyproject.arg.adf.syntax.Argument;
 
 /**
  * This is a monotone collection, hence you can only add elements to it, but not remove them.
+ * <p>
+ * {@link #contains(Object)} checks if the given interpretation is a superset of
+ * one of the added interpretations, i.e. if it agrees with one of them on all
+ * of its decided arguments.
+ * <p>
+ * The interpretations are stored as sequences of decided arguments, ordered by
+ * an {@link ArgumentIndex}, in a trie. If the added interpretations are
+ * {@link BitSetInterpretation}s relative to the same index, which is the case
+ * for interpretations of the same ADF, no conversion is needed at all.
  * 
  * @author Mathias Hofer
  *
  */
 public final class InterpretationTrieSet extends AbstractSet<Interpretation> {
 
-	private Argument[] order;
+	private ArgumentIndex index;
 	
-	private final Node root = new InnerNode();
+	private final Node root = new Node();
 	
 	private int size = 0;
 	
@@ -62,10 +71,17 @@ public final class InterpretationTrieSet extends AbstractSet<Interpretation> {
 	 */
 	@Override
 	public boolean add(Interpretation e) {
-		if (this.order == null) {
-			this.order = arguments(e);
+		if (e.numDecided() <= 0) {
+			throw new IllegalArgumentException("Interpretation must have decided arguments!");
+		}
+		if (this.index == null) {
+			this.index = index(e);
+		}
+		Node node = root;
+		for (int literal : literals(e)) {
+			node = node.child(literal);
 		}
-		root.add(e, orderedDecided(e, order));
+		node.terminal = true;
 		size++;
 		return true;
 	}
@@ -100,8 +116,7 @@ public final class InterpretationTrieSet extends AbstractSet<Interpretation> {
 	@Override
 	public boolean contains(Object o) {
 		if (o instanceof Interpretation && size > 0) {
-			Interpretation interpretation = (Interpretation) o;
-			return root.contains(interpretation, orderedDecided(interpretation, order));
+			return root.containsSubsetOf(literals((Interpretation) o));
 		}
 		return false;
 	}
@@ -120,13 +135,16 @@ public final class InterpretationTrieSet extends AbstractSet<Interpretation> {
 	}
 	
 	/**
-	 * Creates an array of the arguments in <code>interpretation</code> but
-	 * orders them s.t. the undecided ones are at the end.
+	 * Uses the index of the interpretation if there is one, otherwise creates
+	 * an index of its arguments s.t. the undecided ones are at the end.
 	 * 
 	 * @param interpretation
-	 * @return the arguments as an array and in a more efficient order
+	 * @return the index which defines the order of the arguments in the trie
 	 */
-	private static Argument[] arguments(Interpretation interpretation) {
+	private static ArgumentIndex index(Interpretation interpretation) {
+		if (interpretation instanceof BitSetInterpretation) {
+			return ((BitSetInterpretation) interpretation).getIndex();
+		}
 		Argument[] arguments = new Argument[interpretation.size()];
 		int index = 0;
 		for (Argument a : interpretation.satisfied()) {
@@ -138,78 +156,115 @@ public final class InterpretationTrieSet extends AbstractSet<Interpretation> {
 		for (Argument a : interpretation.undecided()) {
 			arguments[index++] = a;
 		}
-		return arguments;
+		return ArgumentIndex.of(Arrays.asList(arguments));
 	}
-	
-	private interface Node {
-		
-		void add(Interpretation interpretation, List<Argument> orderedDecided);
-		
-		boolean contains(Interpretation interpretation, List<Argument> orderedDecided);
+
+	/**
+	 * Encodes the decided arguments of the interpretation in ascending order
+	 * of their index, the argument with index i is encoded as 2i + 1 if it is
+	 * satisfied and as 2i if it is unsatisfied.
+	 */
+	private int[] literals(Interpretation interpretation) {
+		if (interpretation instanceof BitSetInterpretation && ((BitSetInterpretation) interpretation).getIndex() == index) {
+			BitSetInterpretation bitSet = (BitSetInterpretation) interpretation;
+			int[] literals = new int[bitSet.numDecided()];
+			int i = 0;
+			for (int j = bitSet.next(true, 0); j >= 0; j = next(bitSet, true, j)) {
+				literals[i++] = 2 * j + 1;
+			}
+			for (int j = bitSet.next(false, 0); j >= 0; j = next(bitSet, false, j)) {
+				literals[i++] = 2 * j;
+			}
+			Arrays.sort(literals);
+			return literals;
+		}
+		int[] literals = new int[interpretation.numDecided()];
+		int i = 0;
+		for (Argument arg : interpretation.satisfied()) {
+			int j = index.indexOf(arg);
+			if (j >= 0) {
+				literals[i++] = 2 * j + 1;
+			}
+		}
+		for (Argument arg : interpretation.unsatisfied()) {
+			int j = index.indexOf(arg);
+			if (j >= 0) {
+				literals[i++] = 2 * j;
+			}
+		}
+		literals = Arrays.copyOf(literals, i);
+		Arrays.sort(literals);
+		return literals;
+	}
+
+	private static int next(BitSetInterpretation bitSet, Boolean value, int previous) {
+		return previous + 1 < bitSet.size() ? bitSet.next(value, previous + 1) : -1;
 	}
 	
-	private static final class InnerNode implements Node {
+	private static final class Node {
 		
-		private final Map<Argument, Node> trueNodes = new HashMap<>();
+		private static final int[] NO_KEYS = new int[0];
 		
-		private final Map<Argument, Node> falseNodes = new HashMap<>();
+		private static final Node[] NO_CHILDREN = new Node[0];
+
+		/** The sorted literals of the outgoing edges. */
+		private int[] keys = NO_KEYS;
 		
-		public void add(Interpretation interpretation, List<Argument> orderedDecided) {
-			Argument decided = orderedDecided.get(0);
-			if (orderedDecided.size() > 1) {
-				Node next = null;
-				if (interpretation.satisfied(decided)) {
-					next = trueNodes.computeIfAbsent(decided, a -> new InnerNode());
-				} else {
-					next = falseNodes.computeIfAbsent(decided, a -> new InnerNode());
-				}
-				next.add(interpretation, orderedDecided.subList(1, orderedDecided.size()));
-			} else {
-				if (interpretation.satisfied(decided)) {
-					trueNodes.put(decided, LeafNode.INSTANCE);
-				} else {
-					falseNodes.put(decided, LeafNode.INSTANCE);
-				}
-			}
-		}
+		private Node[] children = NO_CHILDREN;
 		
-		public boolean contains(Interpretation interpretation, List<Argument> orderedDecided) {
-			Argument decided = orderedDecided.get(0);
-			Node next = null;
-			if (interpretation.satisfied(decided)) {
-				next = trueNodes.get(decided);
-			} else {
-				next = falseNodes.get(decided);
-			}
-			
-			if (next == null) {
-				return true;
-			} else if (orderedDecided.size() > 1) {
-				return next.contains(interpretation, orderedDecided.subList(1, orderedDecided.size()));
+		/** Whether an added interpretation ends in this node. */
+		private boolean terminal = false;
+		
+		Node child(int literal) {
+			int position = Arrays.binarySearch(keys, literal);
+			if (position >= 0) {
+				return children[position];
 			}
-			return true;
+			position = -position - 1;
+			Node child = new Node();
+			int[] newKeys = new int[keys.length + 1];
+			Node[] newChildren = new Node[children.length + 1];
+			System.arraycopy(keys, 0, newKeys, 0, position);
+			System.arraycopy(children, 0, newChildren, 0, position);
+			newKeys[position] = literal;
+			newChildren[position] = child;
+			System.arraycopy(keys, position, newKeys, position + 1, keys.length - position);
+			System.arraycopy(children, position, newChildren, position + 1, children.length - position);
+			keys = newKeys;
+			children = newChildren;
+			return child;
 		}
-		
-		
-	}
-	
-	private static enum LeafNode implements Node {
-		INSTANCE;
 
-		/* (non-Javadoc)
-		 * @see org.tweetyproject.arg.adf.util.InterpretationTrieSet.Node#add(org.tweetyproject.arg.adf.semantics.interpretation.Interpretation, java.util.List)
+		/**
+		 * @param literals the sorted literals of an interpretation
+		 * @return true iff a path from this node to a terminal node only uses literals of <code>literals</code>
 		 */
-		@Override
-		public void add(Interpretation interpretation, List<Argument> orderedDecided) {}
+		boolean containsSubsetOf(int[] literals) {
+			return containsSubsetOf(literals, 0);
+		}
 
-		/* (non-Javadoc)
-		 * @see org.tweetyproject.arg.adf.util.InterpretationTrieSet.Node#contains(org.tweetyproject.arg.adf.semantics.interpretation.Interpretation, java.util.List)
-		 */
-		@Override
-		public boolean contains(Interpretation interpretation, List<Argument> orderedDecided) {
-			return true;
+		private boolean containsSubsetOf(int[] literals, int from) {
+			if (terminal) {
+				return true;
+			}
+			// both arrays are sorted, so we only have to follow the common literals
+			int i = from;
+			int k = 0;
+			while (i < literals.length && k < keys.length) {
+				if (literals[i] < keys[k]) {
+					i++;
+				} else if (literals[i] > keys[k]) {
+					k++;
+				} else {
+					if (children[k].containsSubsetOf(literals, i + 1)) {
+						return true;
+					}
+					i++;
+					k++;
+				}
+			}
+			return false;
 		}
-		
 	}
 	
 }
@@ -113,6 +113,17 @@ public final class LazyMap<K, V> implements Map<K, V> {
 		return delegate.put(key, value);
 	}
 
+	/*
+	 * The default implementation calls get(), which would compute the value of
+	 * a key which is mapped to null.
+	 * 
+	 * @see java.util.Map#putIfAbsent(java.lang.Object, java.lang.Object)
+	 */
+	@Override
+	public V putIfAbsent(K key, V value) {
+		return delegate.putIfAbsent(key, value);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -18,17 +18,28 @@
  */
 package org.tweetyproject.arg.adf.util;
 
+import java.util.Arrays;
 import java.util.BitSet;
+import java.util.Objects;
 
 /**
  * Inspired by {@link BitSet} but with three values.
+ * <p>
+ * The values are stored in two arrays of words, one for the true and one for
+ * the false positions, a position which is in neither of them is undefined.
+ * Hence comparisons of whole bitsets, e.g. {@link #isSubsetOf(ThreeValuedBitSet)},
+ * only need a few operations per 64 positions.
  *  
  * @author Mathias Hofer
  *
  */
 public final class ThreeValuedBitSet {
 
-	private final Boolean[] bitSet;
+	private final int size;
+
+	private final long[] trues;
+
+	private final long[] falses;
 
 	/**
 	 * Creates a new bitset with the specified size and all values undefined.
@@ -36,10 +47,29 @@ public final class ThreeValuedBitSet {
 	 * @param size the fixed size of the bitset
 	 */
 	public ThreeValuedBitSet(int size) {
-		if (size <= 0) {
-			throw new IllegalArgumentException("size > 0 required!");
+		if (size < 0) {
+			throw new IllegalArgumentException("size >= 0 required!");
 		}
-		this.bitSet = new Boolean[size];
+		this.size = size;
+		this.trues = new long[words(size)];
+		this.falses = new long[words(size)];
+	}
+
+	private ThreeValuedBitSet(int size, long[] trues, long[] falses) {
+		this.size = size;
+		this.trues = trues;
+		this.falses = falses;
+	}
+
+	private static int words(int size) {
+		return (size + 63) >>> 6;
+	}
+
+	/**
+	 * @return an independent copy of this bitset
+	 */
+	public ThreeValuedBitSet copy() {
+		return new ThreeValuedBitSet(size, trues.clone(), falses.clone());
 	}
 
 	/**
@@ -52,32 +82,46 @@ public final class ThreeValuedBitSet {
 	 * @return the new value at position i
 	 */
 	public Boolean increment(int i) {
-		Boolean oldValue = bitSet[i];
-		bitSet[i] = next(oldValue);
-
-		if (oldValue != null && oldValue) {
-			increment(i + 1);
-		}
+		int position = i;
+		Boolean oldValue;
+		do {
+			oldValue = get(position);
+			set(position, next(oldValue));
+			position++;
+		} while (oldValue != null && oldValue);
 		
-		return bitSet[i];
+		return get(i);
 	}
 	
 	public Boolean get(int i) {
-		return bitSet[i];
+		Objects.checkIndex(i, size);
+		long mask = 1L << i;
+		if ((trues[i >>> 6] & mask) != 0) {
+			return true;
+		} else if ((falses[i >>> 6] & mask) != 0) {
+			return false;
+		}
+		return null;
 	}
 	
 	public void set(int i, Boolean value) {
-		bitSet[i] = value;
+		Objects.checkIndex(i, size);
+		long mask = 1L << i;
+		int word = i >>> 6;
+		if (value == null) {
+			trues[word] &= ~mask;
+			falses[word] &= ~mask;
+		} else if (value) {
+			trues[word] |= mask;
+			falses[word] &= ~mask;
+		} else {
+			trues[word] &= ~mask;
+			falses[word] |= mask;
+		}
 	}
 	
 	public boolean allTrue() {
-		// TODO make O(1)
-		for (int i = 0; i < bitSet.length; i++) {
-			if (bitSet[i] == null || !bitSet[i]) {
-				return false;
-			}
-		}
-		return true;
+		return numTrue() == size;
 	}
 	
 	/**
@@ -86,11 +130,118 @@ public final class ThreeValuedBitSet {
 	 * @param index the index of the bit to clear
 	 */
 	public void clear(int index) {
-		bitSet[index] = null;
+		set(index, null);
 	}
 	
 	public int size() {
-		return bitSet.length;
+		return size;
+	}
+
+	/**
+	 * @return the number of positions with value true
+	 */
+	public int numTrue() {
+		return bitCount(trues);
+	}
+
+	/**
+	 * @return the number of positions with value false
+	 */
+	public int numFalse() {
+		return bitCount(falses);
+	}
+
+	/**
+	 * @return the number of positions which are not undefined
+	 */
+	public int numDefined() {
+		return bitCount(trues) + bitCount(falses);
+	}
+
+	private static int bitCount(long[] words) {
+		int count = 0;
+		for (long word : words) {
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the first position greater or equal than <code>from</code> with
+	 * the given value.
+	 * 
+	 * @param value the value to look for, <code>null</code> for undefined
+	 * @param from the position to start from
+	 * @return the position or -1 if there is none
+	 */
+	public int next(Boolean value, int from) {
+		if (from < 0) {
+			throw new IndexOutOfBoundsException(from);
+		}
+		int word = from >>> 6;
+		if (word >= trues.length) {
+			return -1;
+		}
+		long bits = bits(value, word) & (-1L << from);
+		while (true) {
+			if (bits != 0) {
+				int position = (word << 6) + Long.numberOfTrailingZeros(bits);
+				return position < size ? position : -1;
+			}
+			if (++word == trues.length) {
+				return -1;
+			}
+			bits = bits(value, word);
+		}
+	}
+
+	private long bits(Boolean value, int word) {
+		if (value == null) {
+			return ~(trues[word] | falses[word]);
+		}
+		return value ? trues[word] : falses[word];
+	}
+
+	/**
+	 * Checks if every defined position of this bitset has the same value in
+	 * <code>other</code>, i.e. if <code>other</code> refines this bitset.
+	 * 
+	 * @param other a bitset of the same size
+	 * @return true iff all defined values of this bitset are defined in the
+	 *         same way in <code>other</code>
+	 * @throws IllegalArgumentException if the sizes differ
+	 */
+	public boolean isSubsetOf(ThreeValuedBitSet other) {
+		if (other.size != size) {
+			throw new IllegalArgumentException("The bitsets must have the same size!");
+		}
+		for (int i = 0; i < trues.length; i++) {
+			if ((trues[i] & ~other.trues[i]) != 0 || (falses[i] & ~other.falses[i]) != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks if this and <code>other</code> assign the same values to the
+	 * positions which are defined in both of them.
+	 * 
+	 * @param other a bitset of the same size
+	 * @return true iff there is no position which is true in one and false in
+	 *         the other bitset
+	 * @throws IllegalArgumentException if the sizes differ
+	 */
+	public boolean isCompatible(ThreeValuedBitSet other) {
+		if (other.size != size) {
+			throw new IllegalArgumentException("The bitsets must have the same size!");
+		}
+		for (int i = 0; i < trues.length; i++) {
+			if ((trues[i] & other.falses[i]) != 0 || (falses[i] & other.trues[i]) != 0) {
+				return false;
+			}
+		}
+		return true;
 	}
 	
 	private Boolean next(Boolean bool) {
@@ -113,6 +264,33 @@ public final class ThreeValuedBitSet {
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * (31 * size + Arrays.hashCode(trues)) + Arrays.hashCode(falses);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof ThreeValuedBitSet)) {
+			return false;
+		}
+		ThreeValuedBitSet other = (ThreeValuedBitSet) obj;
+		return size == other.size && Arrays.equals(trues, other.trues) && Arrays.equals(falses, other.falses);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -121,10 +299,11 @@ public final class ThreeValuedBitSet {
 	@Override
 	public String toString() {
 		StringBuilder builder = new StringBuilder("[");
-		builder.append(toChar(bitSet[0]));
-		for (int i = 1; i < bitSet.length; i++) {
-			builder.append(",");
-			builder.append(toChar(bitSet[i]));
+		for (int i = 0; i < size; i++) {
+			if (i > 0) {
+				builder.append(",");
+			}
+			builder.append(toChar(get(i)));
 		}
 		builder.append("]");
 		return builder.toString();
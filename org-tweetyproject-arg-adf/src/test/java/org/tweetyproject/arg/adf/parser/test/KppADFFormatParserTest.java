@@ -18,20 +18,37 @@
  */
 package org.tweetyproject.arg.adf.parser.test;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 import org.junit.Test;
 import org.tweetyproject.arg.adf.io.KppADFFormatParser;
 import org.tweetyproject.arg.adf.sat.solver.NativeMinisatSolver;
+import org.tweetyproject.arg.adf.sat.solver.PlSatSolverAdapter;
 import org.tweetyproject.arg.adf.semantics.link.SatLinkStrategy;
+import org.tweetyproject.arg.adf.syntax.Argument;
+import org.tweetyproject.arg.adf.syntax.acc.AcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.ConjunctionAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.DisjunctionAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.NegationAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.adf.AbstractDialecticalFramework;
 
 public class KppADFFormatParserTest {
 
 	public static final int DEFAULT_TIMEOUT = 2000;
 
 	private KppADFFormatParser parser = new KppADFFormatParser(new SatLinkStrategy(new NativeMinisatSolver()), false);
+	
+	// does not compute the links, so the structure of the parsed conditions is tested in isolation
+	private KppADFFormatParser lazyParser = new KppADFFormatParser(new SatLinkStrategy(new PlSatSolverAdapter()), true);
 
 	private void parseAllInDirectory(String dir) throws FileNotFoundException, IOException {
 		File[] instances = new File(dir).listFiles((File f, String name) -> name.endsWith(".adf"));
@@ -91,5 +108,95 @@ public class KppADFFormatParserTest {
 		String input = "s(1). ac(1,and(1,2)).";
 		parser.parse(input);
 	}
+	
+	private static AcceptanceCondition child(AcceptanceCondition acc, Class<?> type) {
+		for (AcceptanceCondition child : acc.getChildren()) {
+			if (type.isInstance(child)) {
+				return child;
+			}
+		}
+		throw new AssertionError("No child of type " + type.getSimpleName() + " in " + acc);
+	}
+	
+	private static Argument argument(AbstractDialecticalFramework adf, String name) {
+		for (Argument argument : adf.getArguments()) {
+			if (argument.getName().equals(name)) {
+				return argument;
+			}
+		}
+		throw new AssertionError("Undefined argument: " + name);
+	}
+	
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void testSharedSubterms() throws IOException {
+		String input = "s(a). s(b). s(c). ac(a,and(or(b,c),neg(a))). ac(b,or(neg(a),or(b,c))).";
+		AbstractDialecticalFramework adf = lazyParser.parse(input);
+		AcceptanceCondition a = adf.getAcceptanceCondition(argument(adf, "a"));
+		AcceptanceCondition b = adf.getAcceptanceCondition(argument(adf, "b"));
+		assertSame(child(a, DisjunctionAcceptanceCondition.class), child(b, DisjunctionAcceptanceCondition.class));
+		assertSame(child(a, NegationAcceptanceCondition.class), child(b, NegationAcceptanceCondition.class));
+		// the argument in the condition is the defined one
+		assertSame(argument(adf, "a"), child(a, NegationAcceptanceCondition.class).getChildren().iterator().next());
+	}
+	
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void testDeepNesting() throws IOException {
+		// deep enough to overflow the stack of a recursive descent parser
+		int depth = 100000;
+		StringBuilder input = new StringBuilder("s(a). s(b). ac(a,");
+		for (int i = 0; i < depth; i++) {
+			input.append("and(b,");
+		}
+		input.append("neg(a)");
+		for (int i = 0; i < depth; i++) {
+			input.append(')');
+		}
+		input.append(").");
+		AbstractDialecticalFramework adf = lazyParser.parse(input.toString());
+		
+		Argument b = argument(adf, "b");
+		AcceptanceCondition acc = adf.getAcceptanceCondition(argument(adf, "a"));
+		int actual = 0;
+		while (acc instanceof ConjunctionAcceptanceCondition) {
+			AcceptanceCondition next = null;
+			for (AcceptanceCondition child : acc.getChildren()) {
+				if (child != b) {
+					next = child;
+				}
+			}
+			acc = next;
+			actual++;
+		}
+		assertEquals(depth, actual);
+		assertTrue(acc instanceof NegationAcceptanceCondition);
+	}
+	
+	private interface Parse {
+		void run() throws IOException;
+	}
+	
+	private static void assertErrorInLine(int line, Parse parse) {
+		try {
+			parse.run();
+			fail("Malformed input was accepted!");
+		} catch (IOException e) {
+			assertTrue(e.getMessage(), e.getMessage().endsWith("(line " + line + ")"));
+		}
+	}
+	
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void testLineOfError() {
+		String input = "s(a).\ns(b).\n\nac(a,and(a b)).\nac(b,c(v)).";
+		assertErrorInLine(4, () -> lazyParser.parse(input));
+		assertErrorInLine(4, () -> lazyParser.parse(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))));
+	}
+	
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void testMissingAcceptanceCondition() throws IOException {
+		String input = "s(a). s(b). ac(a,neg(b)).";
+		AbstractDialecticalFramework adf = lazyParser.parse(input);
+		assertEquals(2, adf.size());
+		assertSame(AcceptanceCondition.TAUTOLOGY, adf.getAcceptanceCondition(argument(adf, "b")));
+	}
 
 }
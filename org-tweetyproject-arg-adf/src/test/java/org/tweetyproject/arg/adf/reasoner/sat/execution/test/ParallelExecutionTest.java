@@ -0,0 +1,248 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.adf.reasoner.sat.execution.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Test;
+import org.tweetyproject.arg.adf.reasoner.query.SemanticsStep;
+import org.tweetyproject.arg.adf.reasoner.sat.execution.BranchMetrics;
+import org.tweetyproject.arg.adf.reasoner.sat.execution.Configuration;
+import org.tweetyproject.arg.adf.reasoner.sat.execution.ExecutionListener;
+import org.tweetyproject.arg.adf.reasoner.sat.query.SatQueryBuilder;
+import org.tweetyproject.arg.adf.sat.solver.PlSatSolverAdapter;
+import org.tweetyproject.arg.adf.semantics.interpretation.Interpretation;
+import org.tweetyproject.arg.adf.semantics.link.SatLinkStrategy;
+import org.tweetyproject.arg.adf.syntax.Argument;
+import org.tweetyproject.arg.adf.syntax.acc.AcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.ConjunctionAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.DisjunctionAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.EquivalenceAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.ExclusiveDisjunctionAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.ImplicationAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.NegationAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.adf.AbstractDialecticalFramework;
+
+public class ParallelExecutionTest {
+
+	public static final int DEFAULT_TIMEOUT = 20000;
+	
+	private final ExecutorService executor = Executors.newFixedThreadPool(2);
+	
+	private final AtomicInteger splits = new AtomicInteger();
+	
+	private final AtomicInteger finished = new AtomicInteger();
+	
+	private final ExecutionListener listener = new ExecutionListener() {
+		
+		@Override
+		public void branchSplit(BranchMetrics metrics, Collection<Interpretation> prefixes) {
+			splits.incrementAndGet();
+		}
+		
+		@Override
+		public void branchFinished(BranchMetrics metrics) {
+			finished.incrementAndGet();
+		}
+		
+	};
+	
+	@After
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+	
+	/**
+	 * Each argument attacks its successor, every other argument is additionally
+	 * supported by its predecessor.
+	 */
+	private static AbstractDialecticalFramework cycle(int size) {
+		Argument[] arguments = new Argument[size];
+		for (int i = 0; i < size; i++) {
+			arguments[i] = new Argument("a" + i);
+		}
+		AbstractDialecticalFramework.Builder builder = AbstractDialecticalFramework.builder();
+		for (int i = 0; i < size; i++) {
+			Argument attacker = arguments[(i + size - 1) % size];
+			Argument other = arguments[(i + 2) % size];
+			if (i % 2 == 0) {
+				builder.add(arguments[i], new NegationAcceptanceCondition(attacker));
+			} else {
+				builder.add(arguments[i], new DisjunctionAcceptanceCondition(new NegationAcceptanceCondition(attacker), new ConjunctionAcceptanceCondition(attacker, other)));
+			}
+		}
+		return builder.eager(new SatLinkStrategy(new PlSatSolverAdapter())).build();
+	}
+	
+	private static AcceptanceCondition randomCondition(Random random, Argument[] arguments, int depth) {
+		if (depth == 0 || random.nextInt(4) == 0) {
+			Argument argument = arguments[random.nextInt(arguments.length)];
+			return random.nextBoolean() ? argument : new NegationAcceptanceCondition(argument);
+		}
+		AcceptanceCondition left = randomCondition(random, arguments, depth - 1);
+		AcceptanceCondition right = randomCondition(random, arguments, depth - 1);
+		if (left.equals(right)) {
+			return left;
+		}
+		switch (random.nextInt(5)) {
+		case 0:
+			return new ConjunctionAcceptanceCondition(left, right);
+		case 1:
+			return new DisjunctionAcceptanceCondition(left, right);
+		case 2:
+			return new ImplicationAcceptanceCondition(left, right);
+		case 3:
+			return new EquivalenceAcceptanceCondition(left, right);
+		default:
+			return new ExclusiveDisjunctionAcceptanceCondition(left, right);
+		}
+	}
+	
+	/**
+	 * Uses all the operators, so the operands of some of them are reduced to
+	 * the same condition by the prefixes of the branches.
+	 */
+	private static AbstractDialecticalFramework random(Random random) {
+		Argument[] arguments = new Argument[3 + random.nextInt(4)];
+		for (int i = 0; i < arguments.length; i++) {
+			arguments[i] = new Argument("a" + i);
+		}
+		AbstractDialecticalFramework.Builder builder = AbstractDialecticalFramework.builder();
+		for (Argument argument : arguments) {
+			builder.add(argument, randomCondition(random, arguments, 3));
+		}
+		return builder.eager(new SatLinkStrategy(new PlSatSolverAdapter())).build();
+	}
+	
+	private Configuration splitting() {
+		return Configuration.builder()
+				.setParallelism(4)
+				.setBufferSize(1)
+				.setSplitThreshold(Duration.ZERO)
+				.setExecutor(executor)
+				.setExecutionListener(listener)
+				.build();
+	}
+	
+	private static Set<Interpretation> sequential(AbstractDialecticalFramework adf, Function<SemanticsStep, Stream<Interpretation>> query) {
+		return query.apply(new SatQueryBuilder(adf).defaultConfiguration()).collect(Collectors.toSet());
+	}
+	
+	private static Set<Interpretation> parallel(AbstractDialecticalFramework adf, Configuration configuration, Function<SemanticsStep, Stream<Interpretation>> query) {
+		return query.apply(new SatQueryBuilder(adf).configure(configuration)).collect(Collectors.toSet());
+	}
+
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void testAdmissible() {
+		AbstractDialecticalFramework adf = cycle(7);
+		Function<SemanticsStep, Stream<Interpretation>> sequential = s -> s.admissible().interpretations().execute();
+		Function<SemanticsStep, Stream<Interpretation>> parallel = s -> s.admissible().interpretations().executeParallel();
+		assertEquals(sequential(adf, sequential), parallel(adf, splitting(), parallel));
+		assertTrue(splits.get() > 0);
+	}
+	
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void testComplete() {
+		AbstractDialecticalFramework adf = cycle(8);
+		Function<SemanticsStep, Stream<Interpretation>> sequential = s -> s.complete().interpretations().execute();
+		Function<SemanticsStep, Stream<Interpretation>> parallel = s -> s.complete().interpretations().executeParallel();
+		assertEquals(sequential(adf, sequential), parallel(adf, splitting(), parallel));
+	}
+	
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void testStable() {
+		AbstractDialecticalFramework adf = cycle(8);
+		Function<SemanticsStep, Stream<Interpretation>> sequential = s -> s.stable().interpretations().execute();
+		Function<SemanticsStep, Stream<Interpretation>> parallel = s -> s.stable().interpretations().executeParallel();
+		assertEquals(sequential(adf, sequential), parallel(adf, splitting(), parallel));
+	}
+	
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void testPreferred() {
+		AbstractDialecticalFramework adf = cycle(8);
+		Function<SemanticsStep, Stream<Interpretation>> sequential = s -> s.preferred().interpretations().execute();
+		Function<SemanticsStep, Stream<Interpretation>> parallel = s -> s.preferred().interpretations().executeParallel();
+		assertEquals(sequential(adf, sequential), parallel(adf, splitting(), parallel));
+		// maximality is a global condition, so the search space is not decomposed
+		assertEquals(0, splits.get());
+		assertEquals(1, finished.get());
+	}
+	
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void testGround() {
+		AbstractDialecticalFramework adf = cycle(8);
+		Function<SemanticsStep, Stream<Interpretation>> sequential = s -> s.ground().interpretations().execute();
+		Function<SemanticsStep, Stream<Interpretation>> parallel = s -> s.ground().interpretations().executeParallel();
+		assertEquals(sequential(adf, sequential), parallel(adf, splitting(), parallel));
+		assertEquals(0, splits.get());
+		assertEquals(1, finished.get());
+	}
+	
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void testRandom() {
+		List<Function<SemanticsStep, Stream<Interpretation>>> sequential = List.of(
+				s -> s.conflictFree().interpretations().execute(),
+				s -> s.naive().interpretations().execute(),
+				s -> s.admissible().interpretations().execute(),
+				s -> s.preferred().interpretations().execute(),
+				s -> s.complete().interpretations().execute(),
+				s -> s.ground().interpretations().execute(),
+				s -> s.model().interpretations().execute(),
+				s -> s.stable().interpretations().execute());
+		List<Function<SemanticsStep, Stream<Interpretation>>> parallel = List.of(
+				s -> s.conflictFree().interpretations().executeParallel(),
+				s -> s.naive().interpretations().executeParallel(),
+				s -> s.admissible().interpretations().executeParallel(),
+				s -> s.preferred().interpretations().executeParallel(),
+				s -> s.complete().interpretations().executeParallel(),
+				s -> s.ground().interpretations().executeParallel(),
+				s -> s.model().interpretations().executeParallel(),
+				s -> s.stable().interpretations().executeParallel());
+		Random random = new Random(0);
+		for (int i = 0; i < 15; i++) {
+			AbstractDialecticalFramework adf = random(random);
+			for (int j = 0; j < sequential.size(); j++) {
+				assertEquals(sequential(adf, sequential.get(j)), parallel(adf, splitting(), parallel.get(j)));
+			}
+		}
+	}
+	
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void testEarlyClose() {
+		AbstractDialecticalFramework adf = cycle(8);
+		assertTrue(new SatQueryBuilder(adf).configure(splitting()).conflictFree().exists().executeParallel());
+		// all the branches are finished, even those which never started
+		assertTrue(finished.get() > 0);
+	}
+	
+}
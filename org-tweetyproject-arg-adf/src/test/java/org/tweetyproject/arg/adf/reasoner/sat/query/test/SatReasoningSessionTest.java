@@ -0,0 +1,168 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.adf.reasoner.sat.query.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Test;
+import org.tweetyproject.arg.adf.reasoner.query.SemanticsStep;
+import org.tweetyproject.arg.adf.reasoner.sat.execution.Configuration;
+import org.tweetyproject.arg.adf.reasoner.sat.query.SatQueryBuilder;
+import org.tweetyproject.arg.adf.reasoner.sat.query.SatReasoningSession;
+import org.tweetyproject.arg.adf.sat.solver.PlSatSolverAdapter;
+import org.tweetyproject.arg.adf.semantics.interpretation.Interpretation;
+import org.tweetyproject.arg.adf.semantics.link.SatLinkStrategy;
+import org.tweetyproject.arg.adf.syntax.Argument;
+import org.tweetyproject.arg.adf.syntax.acc.AcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.ConjunctionAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.DisjunctionAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.NegationAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.adf.AbstractDialecticalFramework;
+
+public class SatReasoningSessionTest {
+
+	public static final int DEFAULT_TIMEOUT = 20000;
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+	private final Argument[] arguments = new Argument[6];
+
+	private final AbstractDialecticalFramework adf = cycle();
+
+	private final Configuration configuration = Configuration.builder().setParallelism(2).build();
+
+	@After
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Each argument attacks its successor, every other argument is additionally
+	 * supported by its predecessor.
+	 */
+	private AbstractDialecticalFramework cycle() {
+		int size = arguments.length;
+		for (int i = 0; i < size; i++) {
+			arguments[i] = new Argument("a" + i);
+		}
+		AbstractDialecticalFramework.Builder builder = AbstractDialecticalFramework.builder();
+		for (int i = 0; i < size; i++) {
+			Argument attacker = arguments[(i + size - 1) % size];
+			Argument other = arguments[(i + 2) % size];
+			if (i % 2 == 0) {
+				builder.add(arguments[i], new NegationAcceptanceCondition(attacker));
+			} else {
+				builder.add(arguments[i], new DisjunctionAcceptanceCondition(new NegationAcceptanceCondition(attacker), new ConjunctionAcceptanceCondition(attacker, other)));
+			}
+		}
+		return builder.eager(new SatLinkStrategy(new PlSatSolverAdapter())).build();
+	}
+
+	/**
+	 * The preferred and stable interpretations of the cycle, i.e. either the
+	 * arguments with an even or the ones with an odd index are satisfied.
+	 */
+	private Interpretation alternating(int parity) {
+		Set<Argument> satisfied = new HashSet<>();
+		Set<Argument> unsatisfied = new HashSet<>();
+		for (int i = 0; i < arguments.length; i++) {
+			(i % 2 == parity ? satisfied : unsatisfied).add(arguments[i]);
+		}
+		return Interpretation.fromSets(satisfied, unsatisfied, adf);
+	}
+
+	private SemanticsStep fresh() {
+		return new SatQueryBuilder(adf).configure(configuration);
+	}
+
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void testInterpretations() {
+		Set<Interpretation> expected = fresh().complete().interpretations().execute().collect(Collectors.toSet());
+		try (SatReasoningSession session = new SatReasoningSession(adf, configuration)) {
+			// the second execution reuses the state of the first one
+			for (int i = 0; i < 2; i++) {
+				assertEquals(expected, session.query().complete().interpretations().execute().collect(Collectors.toSet()));
+			}
+		}
+	}
+
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void testConditionsAreRetracted() {
+		Set<Interpretation> admissible = fresh().admissible().interpretations().execute().collect(Collectors.toSet());
+		try (SatReasoningSession session = new SatReasoningSession(adf, configuration)) {
+			for (int i = 0; i < arguments.length; i++) {
+				Argument argument = arguments[i];
+				Argument successor = arguments[(i + 1) % arguments.length];
+				AcceptanceCondition rejected = new NegationAcceptanceCondition(argument);
+				Set<Interpretation> expected = Set.of(alternating(i % 2));
+				assertEquals(expected, session.query().preferred().where(argument).interpretations().execute().collect(Collectors.toSet()));
+				assertEquals(expected, session.query().stable().where(argument).interpretations().execute().collect(Collectors.toSet()));
+				assertEquals(Set.of(alternating((i + 1) % 2)), session.query().preferred().where(rejected).interpretations().execute().collect(Collectors.toSet()));
+				assertFalse(session.query().admissible().where(new ConjunctionAcceptanceCondition(argument, successor)).exists().execute());
+				assertFalse(session.query().stable().where(rejected).forAll().execute());
+				assertTrue(session.query().stable().where(new DisjunctionAcceptanceCondition(argument, successor)).forAll().execute());
+			}
+			// none of the conditions above remains in the states of the session
+			assertEquals(admissible, session.query().admissible().interpretations().execute().collect(Collectors.toSet()));
+			assertEquals(Set.of(alternating(0), alternating(1)), session.query().preferred().interpretations().execute().collect(Collectors.toSet()));
+		}
+	}
+
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void testConcurrentQueries() throws InterruptedException, ExecutionException {
+		try (SatReasoningSession session = new SatReasoningSession(adf, configuration)) {
+			List<Future<Set<Interpretation>>> credulous = new ArrayList<>();
+			List<Future<Boolean>> conflicting = new ArrayList<>();
+			for (int i = 0; i < 3; i++) {
+				for (int j = 0; j < arguments.length; j++) {
+					Argument argument = arguments[j];
+					Argument successor = arguments[(j + 1) % arguments.length];
+					credulous.add(executor.submit(() -> session.query().preferred().where(argument).interpretations().execute().collect(Collectors.toSet())));
+					conflicting.add(executor.submit(() -> session.query().admissible().where(new ConjunctionAcceptanceCondition(argument, successor)).exists().execute()));
+				}
+			}
+			for (int i = 0; i < credulous.size(); i++) {
+				assertEquals(Set.of(alternating(i % arguments.length % 2)), credulous.get(i).get());
+				assertFalse(conflicting.get(i).get());
+			}
+		}
+	}
+
+	@Test(timeout = DEFAULT_TIMEOUT, expected = IllegalStateException.class)
+	public void testClosed() {
+		SatReasoningSession session = new SatReasoningSession(adf, configuration);
+		assertEquals(fresh().model().exists().execute(), session.query().model().exists().execute());
+		session.close();
+		session.query().model().exists().execute();
+	}
+
+}
@@ -0,0 +1,220 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.adf.sat.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+import org.tweetyproject.arg.adf.reasoner.query.SemanticsStep;
+import org.tweetyproject.arg.adf.reasoner.sat.execution.Configuration;
+import org.tweetyproject.arg.adf.reasoner.sat.query.SatQueryBuilder;
+import org.tweetyproject.arg.adf.sat.IncrementalSatSolver;
+import org.tweetyproject.arg.adf.sat.solver.PlSatSolverAdapter;
+import org.tweetyproject.arg.adf.semantics.interpretation.Interpretation;
+import org.tweetyproject.arg.adf.semantics.link.SatLinkStrategy;
+import org.tweetyproject.arg.adf.syntax.Argument;
+import org.tweetyproject.arg.adf.syntax.acc.AcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.ConjunctionAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.DisjunctionAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.NegationAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.adf.AbstractDialecticalFramework;
+import org.tweetyproject.arg.adf.transform.FixPartialTransformer;
+import org.tweetyproject.logics.pl.sat.CdclSolver;
+
+/**
+ * Compares the results of the Sat4j and the CDCL based adapters with each other
+ * and with a brute-force computation over all interpretations, so no native
+ * solver is required.
+ */
+public class PlSatSolverAdapterTest {
+
+	private static final int SIZE = 5;
+
+	private static final List<Function<SemanticsStep, Stream<Interpretation>>> QUERIES = List.of(
+			s -> s.conflictFree().interpretations().execute(),
+			s -> s.naive().interpretations().execute(),
+			s -> s.admissible().interpretations().execute(),
+			s -> s.complete().interpretations().execute(),
+			s -> s.ground().interpretations().execute(),
+			s -> s.preferred().interpretations().execute(),
+			s -> s.model().interpretations().execute(),
+			s -> s.stable().interpretations().execute());
+
+	private AcceptanceCondition randomCondition(Random random, Argument[] arguments, int depth) {
+		if (depth == 0 || random.nextInt(3) == 0) {
+			Argument a = arguments[random.nextInt(arguments.length)];
+			return random.nextBoolean() ? a : new NegationAcceptanceCondition(a);
+		}
+		AcceptanceCondition left = randomCondition(random, arguments, depth - 1);
+		AcceptanceCondition right = randomCondition(random, arguments, depth - 1);
+		if (left.equals(right)) {
+			return left;
+		}
+		return random.nextBoolean() ? new ConjunctionAcceptanceCondition(left, right)
+				: new DisjunctionAcceptanceCondition(left, right);
+	}
+
+	private AbstractDialecticalFramework randomAdf(Random random, IncrementalSatSolver solver) {
+		Argument[] arguments = new Argument[SIZE];
+		for (int i = 0; i < arguments.length; i++) {
+			arguments[i] = new Argument("a" + i);
+		}
+		Map<Argument, AcceptanceCondition> map = new HashMap<>();
+		for (Argument a : arguments) {
+			map.put(a, randomCondition(random, arguments, 2));
+		}
+		return AbstractDialecticalFramework.fromMap(map).eager(new SatLinkStrategy(solver)).build();
+	}
+
+	private static Set<Interpretation> query(AbstractDialecticalFramework adf, IncrementalSatSolver solver,
+			Function<SemanticsStep, Stream<Interpretation>> query) {
+		Configuration configuration = Configuration.builder().setSatSolver(solver).build();
+		return query.apply(new SatQueryBuilder(adf).configure(configuration)).collect(Collectors.toSet());
+	}
+
+	/**
+	 * @return all the three-valued interpretations of the ADF
+	 */
+	private static List<Interpretation> interpretations(AbstractDialecticalFramework adf) {
+		List<Argument> arguments = new ArrayList<>(adf.getArguments());
+		List<Interpretation> interpretations = new ArrayList<>();
+		int count = (int) Math.pow(3, arguments.size());
+		for (int i = 0; i < count; i++) {
+			Set<Argument> satisfied = new HashSet<>();
+			Set<Argument> unsatisfied = new HashSet<>();
+			int code = i;
+			for (Argument argument : arguments) {
+				if (code % 3 == 1) {
+					satisfied.add(argument);
+				} else if (code % 3 == 2) {
+					unsatisfied.add(argument);
+				}
+				code /= 3;
+			}
+			interpretations.add(Interpretation.fromSets(satisfied, unsatisfied, adf));
+		}
+		return interpretations;
+	}
+
+	/**
+	 * Applies the characteristic operator, i.e. an argument is satisfied
+	 * (unsatisfied) iff its acceptance condition is satisfied (unsatisfied) in
+	 * every two-valued completion of the given interpretation.
+	 */
+	private static Interpretation gamma(AbstractDialecticalFramework adf, Interpretation interpretation) {
+		List<Argument> undecided = new ArrayList<>(interpretation.undecided());
+		List<Interpretation> completions = new ArrayList<>();
+		for (int bits = 0; bits < 1 << undecided.size(); bits++) {
+			Set<Argument> satisfied = new HashSet<>(interpretation.satisfied());
+			Set<Argument> unsatisfied = new HashSet<>(interpretation.unsatisfied());
+			for (int j = 0; j < undecided.size(); j++) {
+				((bits & (1 << j)) != 0 ? satisfied : unsatisfied).add(undecided.get(j));
+			}
+			completions.add(Interpretation.fromSets(satisfied, unsatisfied, adf));
+		}
+		Set<Argument> satisfied = new HashSet<>();
+		Set<Argument> unsatisfied = new HashSet<>();
+		for (Argument argument : adf.getArguments()) {
+			boolean alwaysTrue = true;
+			boolean alwaysFalse = true;
+			for (Interpretation completion : completions) {
+				AcceptanceCondition value = new FixPartialTransformer(completion).transform(adf.getAcceptanceCondition(argument));
+				alwaysTrue &= value == AcceptanceCondition.TAUTOLOGY;
+				alwaysFalse &= value == AcceptanceCondition.CONTRADICTION;
+			}
+			if (alwaysTrue) {
+				satisfied.add(argument);
+			} else if (alwaysFalse) {
+				unsatisfied.add(argument);
+			}
+		}
+		return Interpretation.fromSets(satisfied, unsatisfied, adf);
+	}
+
+	private static Set<Interpretation> bruteForceAdmissible(AbstractDialecticalFramework adf) {
+		return interpretations(adf).stream()
+				.filter(i -> i.isSubsetOf(gamma(adf, i)))
+				.collect(Collectors.toSet());
+	}
+
+	private static Set<Interpretation> bruteForceComplete(AbstractDialecticalFramework adf) {
+		return interpretations(adf).stream()
+				.filter(i -> i.equals(gamma(adf, i)))
+				.collect(Collectors.toSet());
+	}
+
+	private static Set<Interpretation> bruteForceGround(AbstractDialecticalFramework adf) {
+		Interpretation current = Interpretation.empty(adf);
+		Interpretation next = gamma(adf, current);
+		while (!next.equals(current)) {
+			current = next;
+			next = gamma(adf, current);
+		}
+		return Set.of(current);
+	}
+
+	private static Set<Interpretation> bruteForcePreferred(AbstractDialecticalFramework adf) {
+		Set<Interpretation> admissible = bruteForceAdmissible(adf);
+		return admissible.stream()
+				.filter(i -> admissible.stream().noneMatch(j -> j.isStrictSupersetOf(i)))
+				.collect(Collectors.toSet());
+	}
+
+	private static Set<Interpretation> bruteForceModel(AbstractDialecticalFramework adf) {
+		return bruteForceComplete(adf).stream()
+				.filter(i -> i.undecided().isEmpty())
+				.collect(Collectors.toSet());
+	}
+
+	private void compare(IncrementalSatSolver solver, IncrementalSatSolver reference) {
+		Random random = new Random(1);
+		for (int i = 0; i < 20; i++) {
+			AbstractDialecticalFramework adf = randomAdf(random, solver);
+			for (Function<SemanticsStep, Stream<Interpretation>> query : QUERIES) {
+				assertEquals(query(adf, reference, query), query(adf, solver, query));
+			}
+			assertEquals(bruteForceAdmissible(adf), query(adf, solver, s -> s.admissible().interpretations().execute()));
+			assertEquals(bruteForceComplete(adf), query(adf, solver, s -> s.complete().interpretations().execute()));
+			assertEquals(bruteForceGround(adf), query(adf, solver, s -> s.ground().interpretations().execute()));
+			assertEquals(bruteForcePreferred(adf), query(adf, solver, s -> s.preferred().interpretations().execute()));
+			assertEquals(bruteForceModel(adf), query(adf, solver, s -> s.model().interpretations().execute()));
+		}
+	}
+
+	@Test
+	public void sat4jTest() {
+		compare(new PlSatSolverAdapter(), new PlSatSolverAdapter(new CdclSolver()));
+	}
+
+	@Test
+	public void cdclTest() {
+		compare(new PlSatSolverAdapter(new CdclSolver()), new PlSatSolverAdapter());
+	}
+}
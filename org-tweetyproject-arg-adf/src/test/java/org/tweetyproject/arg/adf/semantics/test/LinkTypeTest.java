@@ -1,29 +1,83 @@
 package org.tweetyproject.arg.adf.semantics.test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import org.junit.Test;
-import org.tweetyproject.arg.adf.sat.solver.NativeMinisatSolver;
+import org.tweetyproject.arg.adf.sat.IncrementalSatSolver;
+import org.tweetyproject.arg.adf.sat.solver.PlSatSolverAdapter;
+import org.tweetyproject.arg.adf.semantics.interpretation.Interpretation;
 import org.tweetyproject.arg.adf.semantics.link.Link;
 import org.tweetyproject.arg.adf.semantics.link.LinkStrategy;
 import org.tweetyproject.arg.adf.semantics.link.LinkType;
 import org.tweetyproject.arg.adf.semantics.link.SatLinkStrategy;
 import org.tweetyproject.arg.adf.syntax.Argument;
 import org.tweetyproject.arg.adf.syntax.acc.AcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.ConjunctionAcceptanceCondition;
 import org.tweetyproject.arg.adf.syntax.acc.DisjunctionAcceptanceCondition;
 import org.tweetyproject.arg.adf.syntax.acc.EquivalenceAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.ExclusiveDisjunctionAcceptanceCondition;
 import org.tweetyproject.arg.adf.syntax.acc.ImplicationAcceptanceCondition;
 import org.tweetyproject.arg.adf.syntax.acc.NegationAcceptanceCondition;
 import org.tweetyproject.arg.adf.syntax.adf.AbstractDialecticalFramework;
+import org.tweetyproject.logics.pl.sat.CdclSolver;
 
 public class LinkTypeTest {
 
 	public static final int DEFAULT_TIMEOUT = 2000;
 	
-	private final LinkStrategy linkStrategy = new SatLinkStrategy(new NativeMinisatSolver());
+	private final LinkStrategy linkStrategy = new SatLinkStrategy(new PlSatSolverAdapter());
+	
+	private final AtomicInteger states = new AtomicInteger();
+	
+	/**
+	 * A pure-Java solver which counts the created states.
+	 */
+	private final IncrementalSatSolver countingSolver = () -> {
+		states.incrementAndGet();
+		return new PlSatSolverAdapter(new CdclSolver()).createState();
+	};
+	
+	private static AcceptanceCondition randomCondition(Random random, Argument[] arguments, int depth) {
+		if (depth == 0 || random.nextInt(4) == 0) {
+			return arguments[random.nextInt(arguments.length)];
+		}
+		AcceptanceCondition left = randomCondition(random, arguments, depth - 1);
+		AcceptanceCondition right = randomCondition(random, arguments, depth - 1);
+		if (left.equals(right)) {
+			return new NegationAcceptanceCondition(left);
+		}
+		switch (random.nextInt(5)) {
+		case 0:
+			return new ConjunctionAcceptanceCondition(left, right);
+		case 1:
+			return new DisjunctionAcceptanceCondition(left, right);
+		case 2:
+			return new ImplicationAcceptanceCondition(left, right);
+		case 3:
+			return new EquivalenceAcceptanceCondition(left, right);
+		default:
+			return new ExclusiveDisjunctionAcceptanceCondition(left, right);
+		}
+	}
+	
+	private static Argument[] arguments(int size) {
+		Argument[] arguments = new Argument[size];
+		for (int i = 0; i < size; i++) {
+			arguments[i] = new Argument("a" + i);
+		}
+		return arguments;
+	}
 	
 	@Test(timeout = DEFAULT_TIMEOUT)
 	public void testAttacking() {		
@@ -88,4 +142,99 @@ public class LinkTypeTest {
 		assertTrue(aaLink.getType() == LinkType.REDUNDANT);
 	}
 	
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void testComputeAll() {
+		Argument[] arguments = arguments(4);
+		Random random = new Random(1);
+		// without memoisation, s.t. every call is classified by the solver
+		LinkStrategy bulk = new SatLinkStrategy(countingSolver, 0);
+		LinkStrategy single = new SatLinkStrategy(new PlSatSolverAdapter(new CdclSolver()), 0);
+		for (int i = 0; i < 50; i++) {
+			AcceptanceCondition acc = randomCondition(random, arguments, 3);
+			Set<Argument> parents = acc.arguments().collect(Collectors.toSet());
+			Map<Argument, LinkType> expected = new HashMap<>();
+			for (Argument parent : parents) {
+				expected.put(parent, single.compute(parent, acc));
+			}
+			int before = states.get();
+			assertEquals(acc.toString(), expected, bulk.computeAll(parents, acc));
+			// all the links of the child share one solver state
+			assertEquals(before + 1, states.get());
+			// the default implementation of the interface computes the links one by one
+			LinkStrategy defaultStrategy = new LinkStrategy() {
+				
+				@Override
+				public LinkType compute(Argument parent, AcceptanceCondition childAcc) {
+					return single.compute(parent, childAcc);
+				}
+				
+				@Override
+				public LinkType compute(Argument parent, AcceptanceCondition childAcc, Interpretation assumption) {
+					return single.compute(parent, childAcc, assumption);
+				}
+			};
+			assertEquals(acc.toString(), expected, defaultStrategy.computeAll(parents, acc));
+		}
+	}
+	
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void testMemoisation() {
+		Argument a = new Argument("a");
+		Argument b = new Argument("b");
+		Argument c = new Argument("c");
+		LinkStrategy memoising = new SatLinkStrategy(countingSolver);
+		
+		AcceptanceCondition acc = new ImplicationAcceptanceCondition(new ConjunctionAcceptanceCondition(a, b), c);
+		Map<Argument, LinkType> expected = Map.of(a, LinkType.ATTACKING, b, LinkType.ATTACKING, c, LinkType.SUPPORTING);
+		assertEquals(expected, memoising.computeAll(List.of(a, b, c), acc));
+		assertEquals(1, states.get());
+		
+		// a structurally equal condition with commuted children hits the memo
+		AcceptanceCondition equal = new ImplicationAcceptanceCondition(new ConjunctionAcceptanceCondition(b, a), c);
+		assertEquals(expected, memoising.computeAll(List.of(a, b, c), equal));
+		assertEquals(LinkType.SUPPORTING, memoising.compute(c, equal));
+		assertEquals(1, states.get());
+		
+		// a different structure does not
+		AcceptanceCondition other = new ImplicationAcceptanceCondition(c, new ConjunctionAcceptanceCondition(a, b));
+		assertEquals(LinkType.ATTACKING, memoising.compute(c, other));
+		assertEquals(2, states.get());
+		
+		// the same condition is classified again if memoisation is disabled
+		LinkStrategy uncached = new SatLinkStrategy(countingSolver, 0);
+		uncached.computeAll(List.of(a, b, c), acc);
+		uncached.computeAll(List.of(a, b, c), acc);
+		assertEquals(4, states.get());
+	}
+	
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void testEagerExecutor() {
+		Argument[] arguments = arguments(8);
+		Random random = new Random(2);
+		Map<Argument, AcceptanceCondition> map = new HashMap<>();
+		for (Argument argument : arguments) {
+			map.put(argument, randomCondition(random, arguments, 3));
+		}
+		AbstractDialecticalFramework sequential = AbstractDialecticalFramework.fromMap(map)
+				.eager(new SatLinkStrategy(new PlSatSolverAdapter(new CdclSolver()), 0))
+				.build();
+		
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		AtomicInteger tasks = new AtomicInteger();
+		try {
+			AbstractDialecticalFramework parallel = AbstractDialecticalFramework.fromMap(map)
+					.eager(new SatLinkStrategy(countingSolver, 0), task -> {
+						tasks.incrementAndGet();
+						pool.execute(task);
+					})
+					.build();
+			assertEquals(sequential.links(), parallel.links());
+			// one task and one solver state per child
+			assertEquals(arguments.length, tasks.get());
+			assertEquals(arguments.length, states.get());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+	
 }
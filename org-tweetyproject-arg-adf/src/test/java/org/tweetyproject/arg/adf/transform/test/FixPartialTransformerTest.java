@@ -0,0 +1,86 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.adf.transform.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Set;
+
+import org.junit.Test;
+import org.tweetyproject.arg.adf.semantics.interpretation.Interpretation;
+import org.tweetyproject.arg.adf.syntax.Argument;
+import org.tweetyproject.arg.adf.syntax.acc.AcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.ConjunctionAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.EquivalenceAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.ExclusiveDisjunctionAcceptanceCondition;
+import org.tweetyproject.arg.adf.syntax.acc.ImplicationAcceptanceCondition;
+import org.tweetyproject.arg.adf.transform.FixPartialTransformer;
+import org.tweetyproject.arg.adf.transform.OmegaReductTransformer;
+
+/**
+ * The operands of binary conditions may be rewritten to the same condition,
+ * which must not be used to create a new binary condition.
+ */
+public class FixPartialTransformerTest {
+
+	private final Argument a = new Argument("a");
+	
+	private final Argument b = new Argument("b");
+	
+	private final Argument c = new Argument("c");
+	
+	// and(a,b) and and(a,c) both become a
+	private final Interpretation satisfied = Interpretation.fromSets(Set.of(b, c), Set.of(), Set.of());
+	
+	// and(a,b) and and(a,c) both become and(a,F)
+	private final Interpretation unsatisfied = Interpretation.fromSets(Set.of(), Set.of(b, c), Set.of());
+	
+	private final AcceptanceCondition left = new ConjunctionAcceptanceCondition(a, b);
+	
+	private final AcceptanceCondition right = new ConjunctionAcceptanceCondition(a, c);
+
+	@Test
+	public void testImplication() {
+		AcceptanceCondition acc = new ImplicationAcceptanceCondition(left, right);
+		assertEquals(AcceptanceCondition.TAUTOLOGY, new FixPartialTransformer(satisfied).transform(acc));
+		assertEquals(AcceptanceCondition.TAUTOLOGY, new OmegaReductTransformer(unsatisfied).transform(acc));
+	}
+	
+	@Test
+	public void testEquivalence() {
+		AcceptanceCondition acc = new EquivalenceAcceptanceCondition(left, right);
+		assertEquals(AcceptanceCondition.TAUTOLOGY, new FixPartialTransformer(satisfied).transform(acc));
+		assertEquals(AcceptanceCondition.TAUTOLOGY, new OmegaReductTransformer(unsatisfied).transform(acc));
+	}
+	
+	@Test
+	public void testExclusiveDisjunction() {
+		AcceptanceCondition acc = new ExclusiveDisjunctionAcceptanceCondition(left, right);
+		assertEquals(AcceptanceCondition.CONTRADICTION, new FixPartialTransformer(satisfied).transform(acc));
+		assertEquals(AcceptanceCondition.CONTRADICTION, new OmegaReductTransformer(unsatisfied).transform(acc));
+	}
+	
+	@Test
+	public void testNested() {
+		// the inner implication collapses, hence the outer one is satisfied
+		AcceptanceCondition acc = new ImplicationAcceptanceCondition(a, new ImplicationAcceptanceCondition(left, right));
+		assertEquals(AcceptanceCondition.TAUTOLOGY, new FixPartialTransformer(satisfied).transform(acc));
+	}
+	
+}
@@ -0,0 +1,94 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.adf.util.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+
+import org.junit.Test;
+
+import org.tweetyproject.arg.adf.semantics.interpretation.Interpretation;
+import org.tweetyproject.arg.adf.syntax.Argument;
+import org.tweetyproject.arg.adf.util.ArgumentIndex;
+import org.tweetyproject.arg.adf.util.ThreeValuedBitSet;
+
+/**
+ * @author Sebastian Franke
+ *
+ */
+public class ThreeValuedBitSetTest {
+
+	@Test
+	public void testIncrement() {
+		ThreeValuedBitSet bitSet = new ThreeValuedBitSet(2);
+		int count = 1;
+		while (!bitSet.allTrue()) {
+			bitSet.increment(0);
+			count++;
+		}
+		assertEquals(9, count);
+		assertEquals("[t,t]", bitSet.toString());
+	}
+
+	@Test
+	public void testWords() {
+		ThreeValuedBitSet small = new ThreeValuedBitSet(200);
+		small.set(3, true);
+		small.set(130, false);
+		ThreeValuedBitSet large = small.copy();
+		large.set(64, true);
+		large.set(199, false);
+		assertTrue(small.isSubsetOf(large));
+		assertFalse(large.isSubsetOf(small));
+		assertTrue(large.isCompatible(small));
+		assertEquals(4, large.numDefined());
+		assertEquals(64, large.next(true, 4));
+		assertEquals(199, large.next(false, 131));
+		assertEquals(-1, large.next(true, 65));
+		assertEquals(0, large.next(null, 0));
+		large.clear(3);
+		assertNull(large.get(3));
+		assertFalse(small.isSubsetOf(large));
+	}
+
+	@Test
+	public void testInterpretation() {
+		Argument a = new Argument("a");
+		Argument b = new Argument("b");
+		Argument c = new Argument("c");
+		ArgumentIndex index = ArgumentIndex.of(Set.of(a, b, c));
+		Interpretation i1 = Interpretation.fromSets(Set.of(a), Set.of(), index);
+		Interpretation i2 = Interpretation.fromSets(Set.of(a), Set.of(c), index);
+		Interpretation s2 = Interpretation.fromSets(Set.of(a), Set.of(c), Set.of(b));
+		assertTrue(i1.isSubsetOf(i2));
+		assertTrue(i1.isStrictSubsetOf(s2));
+		assertFalse(i2.isSubsetOf(i1));
+		assertEquals(s2, i2);
+		assertEquals(i2, s2);
+		assertEquals(s2.hashCode(), i2.hashCode());
+		assertEquals(Set.of(b), i2.undecided());
+		assertEquals(2, i2.numDecided());
+		assertEquals(i2, Interpretation.extend(i1, c, false));
+	}
+
+}
@@ -18,7 +18,7 @@
  */
 package org.tweetyproject.arg.dung.analysis;
 
-import java.util.Collection;
+import java.util.stream.Stream;
 
 import org.tweetyproject.arg.dung.reasoner.SimplePreferredReasoner;
 import org.tweetyproject.arg.dung.semantics.Extension;
@@ -32,8 +32,12 @@ public class PreferredCountInconsistencyMeasure<T extends DungTheory> implements
 
 	@Override
 	public Double inconsistencyMeasure(T argumentationFramework) {
-		Collection<Extension> preferredExtensions = new SimplePreferredReasoner().getModels(argumentationFramework);
-		Double preferredCount = (Double) ((double) preferredExtensions.size());
+		// counts the extensions without keeping them
+		long count;
+		try(Stream<Extension> preferredExtensions = new SimplePreferredReasoner().getModelStream(argumentationFramework)) {
+			count = preferredExtensions.count();
+		}
+		Double preferredCount = (Double) ((double) count);
 		return preferredCount - 1.0;
 	}
 
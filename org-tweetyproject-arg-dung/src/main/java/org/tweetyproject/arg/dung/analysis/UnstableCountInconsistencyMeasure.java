@@ -24,7 +24,6 @@ import java.util.Set;
 
 import org.tweetyproject.arg.dung.reasoner.SimplePreferredReasoner;
 import org.tweetyproject.arg.dung.reasoner.SimpleStableReasoner;
-import org.tweetyproject.arg.dung.semantics.Extension;
 import org.tweetyproject.arg.dung.syntax.Argument;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
 import org.tweetyproject.graphs.Graph;
@@ -38,8 +37,7 @@ public class UnstableCountInconsistencyMeasure<T extends DungTheory> implements
 	@Override
 	public Double inconsistencyMeasure(T argumentationFramework) {
 		//Check if there is already a stable extension; if yes then then the inconsistency is measured as 0
-		Collection<Extension> stableExtensions = new SimpleStableReasoner().getModels(argumentationFramework);
-		if(!stableExtensions.isEmpty()) {
+		if(new SimpleStableReasoner().getModelIterator(argumentationFramework).hasNext()) {
 			return 0d;
 		}
 		
@@ -61,8 +59,8 @@ public class UnstableCountInconsistencyMeasure<T extends DungTheory> implements
 			if(maxNumberOfNodes >= subTheory.size())
 				continue;
 			
-			Collection<Extension> subTheoryStableExtensions = new SimpleStableReasoner().getModels(subTheory);
-			if(subTheoryStableExtensions.size() > 0)
+			// the first stable extension suffices
+			if(new SimpleStableReasoner().getModelIterator(subTheory).hasNext())
 				if(maxNumberOfNodes < subTheory.size()) {
 					maxNumberOfNodes = subTheory.size();
 				}
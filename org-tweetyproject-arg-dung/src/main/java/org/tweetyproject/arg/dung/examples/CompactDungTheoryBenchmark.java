@@ -0,0 +1,110 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.dung.examples;
+
+import java.util.Random;
+
+import org.tweetyproject.arg.dung.reasoner.SimpleGroundedReasoner;
+import org.tweetyproject.arg.dung.semantics.Extension;
+import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.CompactDungTheory;
+import org.tweetyproject.arg.dung.syntax.DungTheory;
+
+/**
+ * Compares memory consumption and running times of {@link DungTheory} and
+ * {@link CompactDungTheory} on a large random sparse theory.
+ * Usage: CompactDungTheoryBenchmark [numberOfArguments] [attacksPerArgument]
+ *
+ * @author Sebastian Franke
+ */
+public class CompactDungTheoryBenchmark {
+
+	/**
+	 * Returns the currently used heap memory (after garbage collection).
+	 * @return the used heap memory in bytes
+	 */
+	private static long usedMemory() {
+		Runtime rt = Runtime.getRuntime();
+		for(int i = 0; i < 3; i++)
+			System.gc();
+		return rt.totalMemory() - rt.freeMemory();
+	}
+
+	/**
+	 * Queries all attackers and attack relations of the given theory.
+	 * @param theory some theory
+	 * @param grounded some extension
+	 * @return some checksum
+	 */
+	private static long queryAttacks(DungTheory theory, Extension grounded) {
+		long result = 0;
+		for(Argument a: theory) {
+			result += theory.getAttackers(a).size();
+			if(theory.isAttacked(a, grounded))
+				result++;
+		}
+		return result;
+	}
+
+	/**
+	 * Runs the benchmark.
+	 * @param args optional number of arguments and attacks per argument
+	 */
+	public static void main(String[] args) {
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		int d = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+		Random random = new Random(42);
+
+		long mem0 = usedMemory();
+		DungTheory theory = new DungTheory();
+		Argument[] arguments = new Argument[n];
+		for(int i = 0; i < n; i++) {
+			arguments[i] = new Argument("a" + i);
+			theory.add(arguments[i]);
+		}
+		long mem1 = usedMemory();
+		for(int i = 0; i < n; i++)
+			for(int j = 0; j < d; j++)
+				theory.addAttack(arguments[i], arguments[random.nextInt(n)]);
+		long mem2 = usedMemory();
+		long time = System.currentTimeMillis();
+		CompactDungTheory compact = new CompactDungTheory(theory);
+		long compileTime = System.currentTimeMillis() - time;
+		long mem3 = usedMemory();
+
+		System.out.println("Theory with " + n + " arguments and " + compact.getNumberOfAttacks() + " attacks");
+		System.out.println("Memory for attacks (DungTheory):        " + (mem2 - mem1) / 1024 + " KB");
+		System.out.println("Memory of complete theory (Compact):    " + (mem3 - mem2) / 1024 + " KB");
+		System.out.println("Memory of arguments (shared):           " + (mem1 - mem0) / 1024 + " KB");
+		System.out.println("Compilation time:                       " + compileTime + " ms");
+
+		SimpleGroundedReasoner reasoner = new SimpleGroundedReasoner();
+		for(DungTheory t: new DungTheory[] {theory, compact}) {
+			String name = t.getClass().getSimpleName();
+			time = System.currentTimeMillis();
+			Extension grounded = reasoner.getModel(t);
+			long groundedTime = System.currentTimeMillis() - time;
+			time = System.currentTimeMillis();
+			long checksum = queryAttacks(t, grounded);
+			long queryTime = System.currentTimeMillis() - time;
+			System.out.println(name + ": grounded extension of size " + grounded.size() + " in " + groundedTime + " ms, "
+					+ "attack queries (checksum " + checksum + ") in " + queryTime + " ms");
+		}
+	}
+}
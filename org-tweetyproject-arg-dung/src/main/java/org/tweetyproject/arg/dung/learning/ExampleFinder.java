@@ -20,12 +20,14 @@
 package org.tweetyproject.arg.dung.learning;
 
 import org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner;
+import org.tweetyproject.arg.dung.reasoner.BatchReasoner;
 import org.tweetyproject.arg.dung.semantics.Extension;
 import org.tweetyproject.arg.dung.semantics.Semantics;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
 import org.tweetyproject.arg.dung.util.EnumeratingDungTheoryGenerator;
 
 import java.util.*;
+import java.util.stream.Stream;
 
 /**
  * This class can be used to find example dung theories that produce the same set of extensions wrt to one semantics,
@@ -40,6 +42,9 @@ public class ExampleFinder {
     // map object to store examples
     private Map<Collection<Extension>, Map<Collection<Extension>, Collection<DungTheory>>> examples;
 
+    // theories with more extensions are skipped
+    private long maxExtensions = Long.MAX_VALUE;
+
     /**
      * initialize with two semantics and automatically find reasoners for them (if they exist)
      * @param semantics1 a semantics
@@ -61,6 +66,15 @@ public class ExampleFinder {
         this.examples = new HashMap<>();
     }
 
+    /**
+     * set the maximal number of extensions wrt. either semantics; theories with more extensions are skipped
+     * and their extensions are only enumerated until the limit is exceeded
+     * @param maxExtensions the maximal number of extensions
+     */
+    public void setMaximalNumberOfExtensions(long maxExtensions) {
+        this.maxExtensions = maxExtensions;
+    }
+
     /**
      * compute a tree like structure of examples. The first layer is the set of extensions wrt. the first semantics.
      * The second layer are all possibilities of extensions wrt the second semantics that can occur given the extensions of the first semantics
@@ -84,18 +98,104 @@ public class ExampleFinder {
             }
 
             // get extensions
-            Collection<Extension> extensions1 = this.reasoner1.getModels(theory);
-            Collection<Extension> extensions2 = this.reasoner2.getModels(theory);
-
-            //categorize theories
-            Map<Collection<Extension>, Collection<DungTheory>> subExamples = examples.getOrDefault(extensions1, new HashMap<>());
-            Collection<DungTheory> exampleTheories = subExamples.getOrDefault(extensions2, new HashSet<>());
-            exampleTheories.add(theory);
-            subExamples.put(extensions2, exampleTheories);
-            examples.put(extensions1, subExamples);
+            Collection<Extension> extensions1 = this.getExtensions(this.reasoner1, theory);
+            if (extensions1 == null) {
+                continue;
+            }
+            Collection<Extension> extensions2 = this.getExtensions(this.reasoner2, theory);
+            if (extensions2 == null) {
+                continue;
+            }
+
+            this.addExample(examples, theory, extensions1, extensions2);
         }
 
-        // filter out cases where there is only one set of extensions wrt the second semantics
+        return this.filterExamples(examples);
+    }
+
+    /**
+     * compute the examples as in getExamples(int, int), but evaluate the theories in parallel with the given batch reasoner.
+     * Theories whose evaluation did not finish (e.g. because of a timeout) are skipped, as well as theories with more
+     * than the maximal number of extensions, which are only enumerated until the limit is exceeded
+     *
+     * @param minArgs minimum number of arguments for the theories
+     * @param maxArgs maximum number of arguments for the theories
+     * @param batch a batch reasoner
+     * @return a map with examples
+     */
+    public Map<Collection<Extension>, Map<Collection<Extension>, Collection<DungTheory>>> getExamples(int minArgs, int maxArgs, BatchReasoner batch) {
+        EnumeratingDungTheoryGenerator theoryGenerator = new EnumeratingDungTheoryGenerator();
+        // all theories with the given numbers of arguments
+        Iterator<DungTheory> theories = new Iterator<>() {
+            private DungTheory next = null;
+
+            @Override
+            public boolean hasNext() {
+                while (this.next == null && theoryGenerator.hasNext()) {
+                    DungTheory theory = theoryGenerator.next();
+                    if (theory.size() > maxArgs) {
+                        return false;
+                    }
+                    if (theory.size() >= minArgs) {
+                        this.next = theory;
+                    }
+                }
+                return this.next != null;
+            }
+
+            @Override
+            public DungTheory next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                DungTheory theory = this.next;
+                this.next = null;
+                return theory;
+            }
+        };
+        Map<Collection<Extension>, Map<Collection<Extension>, Collection<DungTheory>>> examples = new HashMap<>();
+
+        // results arrive in the order of the theories and, for every theory, in the order of the reasoners
+        BatchReasoner.Result[] first = new BatchReasoner.Result[1];
+        batch.run(theories, Long.MAX_VALUE, Arrays.asList(this.reasoner1, this.reasoner2), this.maxExtensions, result -> {
+            if (first[0] == null) {
+                first[0] = result;
+                return;
+            }
+            Collection<Extension> extensions1 = first[0].getExtensions();
+            Collection<Extension> extensions2 = result.getExtensions();
+            first[0] = null;
+            if (extensions1 == null || extensions2 == null) {
+                return;
+            }
+            this.addExample(examples, result.getTheory(), extensions1, extensions2);
+        });
+
+        return this.filterExamples(examples);
+    }
+
+    /**
+     * categorize the given theory wrt. its extensions
+     * @param examples the examples found so far
+     * @param theory a theory
+     * @param extensions1 the extensions of the theory wrt. the first semantics
+     * @param extensions2 the extensions of the theory wrt. the second semantics
+     */
+    private void addExample(Map<Collection<Extension>, Map<Collection<Extension>, Collection<DungTheory>>> examples, DungTheory theory,
+                            Collection<Extension> extensions1, Collection<Extension> extensions2) {
+        Map<Collection<Extension>, Collection<DungTheory>> subExamples = examples.getOrDefault(extensions1, new HashMap<>());
+        Collection<DungTheory> exampleTheories = subExamples.getOrDefault(extensions2, new HashSet<>());
+        exampleTheories.add(theory);
+        subExamples.put(extensions2, exampleTheories);
+        examples.put(extensions1, subExamples);
+    }
+
+    /**
+     * filter out cases where there is only one set of extensions wrt the second semantics and store the result
+     * @param examples all examples
+     * @return the remaining examples
+     */
+    private Map<Collection<Extension>, Map<Collection<Extension>, Collection<DungTheory>>> filterExamples(Map<Collection<Extension>, Map<Collection<Extension>, Collection<DungTheory>>> examples) {
         Map<Collection<Extension>, Map<Collection<Extension>, Collection<DungTheory>>> result = new HashMap<>();
         for (Collection<Extension> exts1: examples.keySet()) {
             Map<Collection<Extension>, Collection<DungTheory>> subExamples = examples.get(exts1);
@@ -108,6 +208,23 @@ public class ExampleFinder {
         return result;
     }
 
+    /**
+     * compute the extensions of the given theory, stopping as soon as the maximal number of extensions is exceeded
+     * @param reasoner a reasoner
+     * @param theory a theory
+     * @return the extensions of the theory or null if there are more than the maximal number of extensions
+     */
+    private Collection<Extension> getExtensions(AbstractExtensionReasoner reasoner, DungTheory theory) {
+        if (this.maxExtensions == Long.MAX_VALUE) {
+            return reasoner.getModels(theory);
+        }
+        Collection<Extension> extensions = new HashSet<>();
+        try (Stream<Extension> stream = reasoner.getModelStream(theory)) {
+            stream.limit(this.maxExtensions + 1).forEach(extensions::add);
+        }
+        return extensions.size() > this.maxExtensions ? null : extensions;
+    }
+
     /**
      * prints an overview over all found examples
      */
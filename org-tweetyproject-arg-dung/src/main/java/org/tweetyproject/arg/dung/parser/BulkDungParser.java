@@ -0,0 +1,460 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.dung.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.CompactDungTheory;
+
+/**
+ * Parses large abstract argumentation frameworks in the APX format (see {@link ApxParser}) or
+ * the TGF format (see {@link TgfParser}) into a {@link CompactDungTheory}. Files are
+ * memory-mapped and tokenised on the level of bytes; argument names are interned into dense
+ * ids without creating intermediate strings, so that a string and an {@link Argument} is
+ * created only once for every argument, and the attack index of the theory is built in a single
+ * pass over the parsed attacks.
+ * <br>
+ * <br>Files are expected to be encoded in UTF-8 (or ASCII). Arguments may be declared after
+ * the attacks referring to them, but every argument of an attack has to be declared somewhere
+ * in the file. As the resulting theory cannot be modified, this parser is meant for loading
+ * large instances for reasoning; use {@link ApxParser} or {@link TgfParser} for theories to
+ * be modified afterwards.
+ *
+ * @author Sebastian Franke
+ */
+public class BulkDungParser extends AbstractDungParser {
+
+	/** The default maximal size of a mapped region of a file. */
+	private static final int REGION = 1 << 30;
+
+	/** The maximal size of the buffers used for reading from a {@link Reader}. */
+	private static final int BUFFER = 1 << 16;
+
+	/** The file format. */
+	private FileFormat format;
+
+	/** The maximal size of a mapped region of a file, no line may be longer. */
+	private int region;
+
+	/**
+	 * Creates a new parser for the given file format.
+	 * @param format either {@link FileFormat#APX} or {@link FileFormat#TGF}.
+	 */
+	public BulkDungParser(FileFormat format) {
+		this(format, BulkDungParser.REGION);
+	}
+
+	/**
+	 * Creates a new parser for the given file format which maps regions of the given
+	 * size, so that lines crossing the boundaries of regions can be tested.
+	 * @param format either {@link FileFormat#APX} or {@link FileFormat#TGF}.
+	 * @param region the maximal size of a mapped region (and of the buffers used
+	 * 	for reading from a {@link Reader}).
+	 */
+	BulkDungParser(FileFormat format, int region) {
+		if(!format.equals(FileFormat.APX) && !format.equals(FileFormat.TGF))
+			throw new IllegalArgumentException("Unsupported file format: " + format.description());
+		if(region <= 0)
+			throw new IllegalArgumentException("The region size must be positive.");
+		this.format = format;
+		this.region = region;
+	}
+
+	/**
+	 * Parses the given file into an abstract argumentation framework.
+	 * @param path the path of some file
+	 * @return an abstract argumentation framework
+	 * @throws IOException for all errors concerning file reading and syntax errors.
+	 */
+	public CompactDungTheory parse(Path path) throws IOException {
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			Loader loader = new Loader(this.format);
+			long size = channel.size();
+			long position = 0;
+			while(position < size) {
+				long length = Math.min(size - position, this.region);
+				boolean last = position + length == size;
+				int consumed = loader.parse(channel.map(MapMode.READ_ONLY, position, length), last);
+				if(consumed == 0)
+					throw new IOException("Line " + (loader.line + 1) + " exceeds " + this.region + " bytes.");
+				position += consumed;
+			}
+			return loader.build();
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.commons.Parser#parseBeliefBaseFromFile(java.lang.String)
+	 */
+	@Override
+	public CompactDungTheory parseBeliefBaseFromFile(String filename) throws IOException {
+		return this.parse(Paths.get(filename));
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.parser.AbstractDungParser#parse(java.io.Reader)
+	 */
+	@Override
+	public CompactDungTheory parse(Reader reader) throws IOException {
+		// the characters are encoded chunk-wise, so that only the current (incomplete) line is kept
+		CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		int size = Math.min(this.region, BulkDungParser.BUFFER);
+		// a surrogate pair is encoded at once into (at most) four bytes
+		CharBuffer chars = CharBuffer.allocate(Math.max(size, 2));
+		ByteBuffer bytes = ByteBuffer.allocate(Math.max(size, 4));
+		Loader loader = new Loader(this.format);
+		boolean eof = false;
+		boolean done = false;
+		try {
+			while(!done) {
+				if(!eof && chars.hasRemaining())
+					eof = reader.read(chars) == -1;
+				chars.flip();
+				CoderResult result = encoder.encode(chars, bytes, eof);
+				chars.compact();
+				done = eof && result.isUnderflow() && encoder.flush(bytes).isUnderflow();
+				if(!done && !result.isOverflow())
+					continue;
+				bytes.flip();
+				int consumed = loader.parse(bytes, done);
+				if(consumed == 0 && !done) {
+					// the current line does not fit into the buffer
+					bytes = ByteBuffer.allocate(2 * bytes.capacity()).put(bytes);
+					continue;
+				}
+				bytes.position(consumed);
+				bytes.compact();
+			}
+		} finally {
+			reader.close();
+		}
+		return loader.build();
+	}
+
+	/**
+	 * Tokenises lines of bytes and collects arguments and attacks.
+	 */
+	private static class Loader {
+		/** The file format. */
+		private FileFormat format;
+		/** The number of lines parsed so far. */
+		private int line = 0;
+		/** Whether the attack section of a TGF file has been reached. */
+		private boolean attackSection = false;
+		/** The bytes of all argument names; the name of argument i is pool[offsets[i]],...,pool[offsets[i+1]-1]. */
+		private byte[] pool = new byte[1 << 12];
+		private int[] offsets = new int[257];
+		/** The hash codes of the argument names. */
+		private int[] hashes = new int[256];
+		/** Whether an argument has been declared. */
+		private boolean[] declared = new boolean[256];
+		/** The line in which an argument is used first. */
+		private int[] lines = new int[256];
+		/** The number of arguments. */
+		private int count = 0;
+		/** Open addressing hash table from names to ids; entries are ids plus one, zero marks empty slots. */
+		private int[] table = new int[512];
+		/** The attacks, the i-th attack is from[i] -> to[i]. */
+		private int[] from = new int[1 << 10];
+		private int[] to = new int[1 << 10];
+		/** The number of attacks. */
+		private int m = 0;
+
+		/**
+		 * Creates a new loader.
+		 * @param format the file format
+		 */
+		private Loader(FileFormat format) {
+			this.format = format;
+		}
+
+		/**
+		 * Parses all complete lines of the given buffer.
+		 * @param buffer some buffer
+		 * @param last whether the buffer ends with the end of the file, i.e., whether the last
+		 * 	line is complete even without line break.
+		 * @return the number of bytes consumed, i.e., the position after the last complete line.
+		 * @throws IOException for syntax errors.
+		 */
+		private int parse(ByteBuffer buffer, boolean last) throws IOException {
+			int limit = buffer.limit();
+			int start = 0;
+			while(start < limit) {
+				int end = start;
+				while(end < limit && buffer.get(end) != '\n')
+					end++;
+				if(end == limit && !last)
+					break;
+				this.line++;
+				this.parseLine(buffer, start, end);
+				start = end + 1;
+			}
+			return Math.min(start, limit);
+		}
+
+		/**
+		 * Parses a single line.
+		 * @param buffer some buffer
+		 * @param start the first byte of the line
+		 * @param end the position after the last byte of the line
+		 * @throws IOException for syntax errors.
+		 */
+		private void parseLine(ByteBuffer buffer, int start, int end) throws IOException {
+			start = Loader.skip(buffer, start, end);
+			end = Loader.trim(buffer, start, end);
+			if(start == end)
+				return;
+			if(this.format.equals(FileFormat.TGF)) {
+				if(end - start == 1 && buffer.get(start) == '#') {
+					this.attackSection = true;
+					return;
+				}
+				if(!this.attackSection) {
+					this.intern(buffer, start, end, true);
+					return;
+				}
+				int split = start;
+				while(split < end && !Loader.isWhitespace(buffer.get(split)))
+					split++;
+				if(split == end)
+					throw this.error(buffer, start, end, "ARGUMENT ARGUMENT");
+				this.addAttack(this.intern(buffer, start, split, false), this.intern(buffer, Loader.skip(buffer, split, end), end, false));
+				return;
+			}
+			boolean argument = Loader.startsWith(buffer, start, end, "arg");
+			if(!argument && !Loader.startsWith(buffer, start, end, "att"))
+				throw this.error(buffer, start, end, null);
+			String expected = argument ? "arg(ARGUMENT)." : "att(ARGUMENT,ARGUMENT).";
+			// the part between the parentheses
+			int open = Loader.skip(buffer, start + 3, end);
+			int close = Loader.trim(buffer, open, end - 1);
+			if(buffer.get(end - 1) != '.' || open >= close || buffer.get(open) != '(' || buffer.get(close - 1) != ')')
+				throw this.error(buffer, start, end, expected);
+			open++;
+			close--;
+			if(argument) {
+				this.intern(buffer, Loader.skip(buffer, open, close), Loader.trim(buffer, open, close), true);
+				return;
+			}
+			int comma = open;
+			while(comma < close && buffer.get(comma) != ',')
+				comma++;
+			if(comma == close)
+				throw this.error(buffer, start, end, expected);
+			int attacker = this.intern(buffer, Loader.skip(buffer, open, comma), Loader.trim(buffer, open, comma), false);
+			this.addAttack(attacker, this.intern(buffer, Loader.skip(buffer, comma + 1, close), Loader.trim(buffer, comma + 1, close), false));
+		}
+
+		/**
+		 * Returns the theory parsed so far.
+		 * @return the theory parsed so far.
+		 * @throws IOException if some argument has not been declared, the first use of the
+		 * 	first such argument is reported.
+		 */
+		private CompactDungTheory build() throws IOException {
+			Argument[] arguments = new Argument[this.count];
+			for(int i = 0; i < this.count; i++) {
+				String name = new String(this.pool, this.offsets[i], this.offsets[i+1] - this.offsets[i], StandardCharsets.UTF_8);
+				if(!this.declared[i])
+					throw new IOException("Line " + this.lines[i] + ": argument " + name + " is used in an attack but not declared.");
+				arguments[i] = new Argument(name);
+			}
+			return new CompactDungTheory(arguments, this.from, this.to, this.m);
+		}
+
+		/**
+		 * Adds the given attack.
+		 * @param attacker the id of the attacker
+		 * @param attacked the id of the attacked argument
+		 */
+		private void addAttack(int attacker, int attacked) {
+			if(this.m == this.from.length) {
+				this.from = Arrays.copyOf(this.from, 2 * this.m);
+				this.to = Arrays.copyOf(this.to, 2 * this.m);
+			}
+			this.from[this.m] = attacker;
+			this.to[this.m++] = attacked;
+		}
+
+		/**
+		 * Returns the id of the argument with the given name, adding it if necessary.
+		 * @param buffer some buffer
+		 * @param start the first byte of the name
+		 * @param end the position after the last byte of the name
+		 * @param declaration whether the argument is declared here
+		 * @return the id of the argument.
+		 * @throws IOException if the name is empty.
+		 */
+		private int intern(ByteBuffer buffer, int start, int end, boolean declaration) throws IOException {
+			if(start >= end)
+				throw new IOException("Line " + this.line + ": empty argument name.");
+			int hash = 0;
+			for(int i = start; i < end; i++)
+				hash = 31 * hash + buffer.get(i);
+			int mask = this.table.length - 1;
+			int slot = (hash ^ (hash >>> 16)) & mask;
+			while(this.table[slot] != 0) {
+				int id = this.table[slot] - 1;
+				if(this.hashes[id] == hash && this.equals(id, buffer, start, end)) {
+					this.declared[id] |= declaration;
+					return id;
+				}
+				slot = (slot + 1) & mask;
+			}
+			int id = this.count++;
+			if(id == this.hashes.length) {
+				this.hashes = Arrays.copyOf(this.hashes, 2 * id);
+				this.declared = Arrays.copyOf(this.declared, 2 * id);
+				this.lines = Arrays.copyOf(this.lines, 2 * id);
+				this.offsets = Arrays.copyOf(this.offsets, 2 * id + 1);
+			}
+			int offset = this.offsets[id];
+			if(offset + end - start > this.pool.length)
+				this.pool = Arrays.copyOf(this.pool, Math.max(2 * this.pool.length, offset + end - start));
+			for(int i = start; i < end; i++)
+				this.pool[offset++] = buffer.get(i);
+			this.offsets[id+1] = offset;
+			this.hashes[id] = hash;
+			this.declared[id] = declaration;
+			this.lines[id] = this.line;
+			this.table[slot] = id + 1;
+			if(2 * this.count > this.table.length)
+				this.rehash();
+			return id;
+		}
+
+		/**
+		 * Checks whether the name of the given argument equals the given bytes.
+		 * @param id some argument
+		 * @param buffer some buffer
+		 * @param start the first byte of the name
+		 * @param end the position after the last byte of the name
+		 * @return "true" iff the names are equal.
+		 */
+		private boolean equals(int id, ByteBuffer buffer, int start, int end) {
+			int offset = this.offsets[id];
+			if(this.offsets[id+1] - offset != end - start)
+				return false;
+			for(int i = start; i < end; i++)
+				if(this.pool[offset++] != buffer.get(i))
+					return false;
+			return true;
+		}
+
+		/**
+		 * Doubles the size of the hash table.
+		 */
+		private void rehash() {
+			this.table = new int[2 * this.table.length];
+			int mask = this.table.length - 1;
+			for(int id = 0; id < this.count; id++) {
+				int slot = (this.hashes[id] ^ (this.hashes[id] >>> 16)) & mask;
+				while(this.table[slot] != 0)
+					slot = (slot + 1) & mask;
+				this.table[slot] = id + 1;
+			}
+		}
+
+		/**
+		 * Creates an exception for a syntax error in the given line.
+		 * @param buffer some buffer
+		 * @param start the first byte of the line
+		 * @param end the position after the last byte of the line
+		 * @param expected the expected syntax or null if a declaration is expected
+		 * @return an exception
+		 */
+		private IOException error(ByteBuffer buffer, int start, int end, String expected) {
+			byte[] bytes = new byte[end - start];
+			for(int i = start; i < end; i++)
+				bytes[i - start] = buffer.get(i);
+			String row = new String(bytes, StandardCharsets.UTF_8);
+			if(expected == null)
+				return new IOException("Line " + this.line + ": argument or attack declaration expected, found " + row);
+			return new IOException("Line " + this.line + ": \"" + expected + "\" expected, found " + row);
+		}
+
+		/**
+		 * Returns the position of the first non-whitespace byte in the given range.
+		 * @param buffer some buffer
+		 * @param start the start of the range
+		 * @param end the end of the range (exclusive)
+		 * @return the position of the first non-whitespace byte or end.
+		 */
+		private static int skip(ByteBuffer buffer, int start, int end) {
+			while(start < end && Loader.isWhitespace(buffer.get(start)))
+				start++;
+			return start;
+		}
+
+		/**
+		 * Returns the position after the last non-whitespace byte in the given range.
+		 * @param buffer some buffer
+		 * @param start the start of the range
+		 * @param end the end of the range (exclusive)
+		 * @return the position after the last non-whitespace byte or start.
+		 */
+		private static int trim(ByteBuffer buffer, int start, int end) {
+			while(end > start && Loader.isWhitespace(buffer.get(end - 1)))
+				end--;
+			return end;
+		}
+
+		/**
+		 * Checks whether the given byte is an ASCII whitespace or control character.
+		 * @param b some byte
+		 * @return "true" iff the byte is whitespace.
+		 */
+		private static boolean isWhitespace(byte b) {
+			return b >= 0 && b <= ' ';
+		}
+
+		/**
+		 * Checks whether the given range starts with the given ASCII keyword.
+		 * @param buffer some buffer
+		 * @param start the start of the range
+		 * @param end the end of the range (exclusive)
+		 * @param keyword some keyword
+		 * @return "true" iff the range starts with the keyword.
+		 */
+		private static boolean startsWith(ByteBuffer buffer, int start, int end, String keyword) {
+			if(end - start < keyword.length())
+				return false;
+			for(int i = 0; i < keyword.length(); i++)
+				if(buffer.get(start + i) != keyword.charAt(i))
+					return false;
+			return true;
+		}
+	}
+}
@@ -25,6 +25,7 @@ import org.tweetyproject.arg.dung.syntax.Argument;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
 
 import java.util.Collection;
+import java.util.stream.Stream;
 
 /**
  * Admissibility Principle
@@ -50,13 +51,9 @@ public class AdmissibilityPrinciple extends Principle {
     @Override
     public boolean isSatisfied(Collection<Argument> kb, AbstractExtensionReasoner ev) {
         DungTheory theory = (DungTheory) kb;
-        Collection<Extension> exts = ev.getModels(theory);
-
-        for (Extension ext: exts) {
-            if (!ext.isAdmissable(theory)) {
-                return false;
-            }
+        // extensions are enumerated lazily until the first violation
+        try (Stream<Extension> exts = ev.getModelStream(theory)) {
+            return exts.allMatch(ext -> ext.isAdmissable(theory));
         }
-        return true;
     }
 }
@@ -25,6 +25,7 @@ import org.tweetyproject.arg.dung.syntax.Argument;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
 
 import java.util.Collection;
+import java.util.stream.Stream;
 
 /**
  * CF-Reinstatement Principle
@@ -50,19 +51,21 @@ public class CFReinstatementPrinciple extends Principle {
     @Override
     public boolean isSatisfied(Collection<Argument> kb, AbstractExtensionReasoner ev) {
         DungTheory theory = (DungTheory) kb;
-        Collection<Extension> exts = ev.getModels(theory);
 
-        for (Extension ext: exts) {
-            for (Argument a: theory) {
-                if (ext.contains(a)) {
-                    continue;
-                }
+        // extensions are enumerated lazily until the first violation
+        try (Stream<Extension> exts = ev.getModelStream(theory)) {
+            for (Extension ext: (Iterable<Extension>) exts::iterator) {
+                for (Argument a: theory) {
+                    if (ext.contains(a)) {
+                        continue;
+                    }
 
-                // for all arguments a in theory \ E, iff E u {a} is conflict-free and E defends a, then cf-reinstatement is violated
-                Extension extWithA = new Extension(ext);
-                extWithA.add(a);
-                if (extWithA.isConflictFree(theory) && ext.isAcceptable(a, theory)) {
-                    return false;
+                    // for all arguments a in theory \ E, iff E u {a} is conflict-free and E defends a, then cf-reinstatement is violated
+                    Extension extWithA = new Extension(ext);
+                    extWithA.add(a);
+                    if (extWithA.isConflictFree(theory) && ext.isAcceptable(a, theory)) {
+                        return false;
+                    }
                 }
             }
         }
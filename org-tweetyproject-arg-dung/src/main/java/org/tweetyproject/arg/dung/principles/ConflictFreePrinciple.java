@@ -25,6 +25,7 @@ import org.tweetyproject.arg.dung.syntax.Argument;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
 
 import java.util.Collection;
+import java.util.stream.Stream;
 
 /**
  * Conflict-free Principle
@@ -52,12 +53,9 @@ public class ConflictFreePrinciple extends Principle {
     @Override
     public boolean isSatisfied(Collection<Argument> kb, AbstractExtensionReasoner ev) {
         DungTheory theory = (DungTheory) kb;
-        Collection<Extension> exts = ev.getModels(theory);
-
-        for (Extension ext: exts) {
-            if (!ext.isConflictFree(theory))
-                return false;
+        // extensions are enumerated lazily until the first violation
+        try (Stream<Extension> exts = ev.getModelStream(theory)) {
+            return exts.allMatch(ext -> ext.isConflictFree(theory));
         }
-        return true;
     }
 }
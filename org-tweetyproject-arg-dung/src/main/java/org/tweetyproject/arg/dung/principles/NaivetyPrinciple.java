@@ -26,6 +26,7 @@ import org.tweetyproject.arg.dung.syntax.Argument;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
 
 import java.util.Collection;
+import java.util.stream.Stream;
 
 /**
  * Naivety Principle
@@ -52,10 +53,10 @@ public class NaivetyPrinciple extends Principle {
     @Override
     public boolean isSatisfied(Collection<Argument> kb, AbstractExtensionReasoner ev) {
         DungTheory theory = (DungTheory) kb;
-        Collection<Extension> exts = ev.getModels(theory);
-
         Collection<Extension> naiveExts = AbstractExtensionReasoner.getSimpleReasonerForSemantics(Semantics.NAIVE_SEMANTICS).getModels(theory);
 
-        return naiveExts.containsAll(exts);
+        try (Stream<Extension> exts = ev.getModelStream(theory)) {
+            return exts.allMatch(naiveExts::contains);
+        }
     }
 }
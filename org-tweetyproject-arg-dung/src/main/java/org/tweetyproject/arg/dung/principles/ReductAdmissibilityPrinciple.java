@@ -27,6 +27,7 @@ import org.tweetyproject.arg.dung.syntax.DungTheory;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.stream.Stream;
 
 /**
  * Reduct-Admissibility Principle
@@ -51,22 +52,24 @@ public class ReductAdmissibilityPrinciple extends Principle {
     @Override
     public boolean isSatisfied(Collection<Argument> kb, AbstractExtensionReasoner ev) {
         DungTheory theory = (DungTheory) kb;
-        Collection<Extension> exts = ev.getModels(theory);
 
-        for (Extension ext: exts) {
-            // get union of all extensions of the E-reduct
-            DungTheory reduct = new WeaklyAdmissibleReasoner().getReduct(theory, ext);
-            Collection<Extension> exts_reduct = ev.getModels(reduct);
-            Collection<Argument> union = new HashSet<>();
-            for (Extension ext_r: exts_reduct) {
-                union.addAll(ext_r);
-            }
-            for (Argument a: ext) {
-                Collection<Argument> attackers = theory.getAttackers(a);
-                // if any attacker
-                for (Argument b: attackers) {
-                    if (union.contains(b)) {
-                        return false;
+        // extensions are enumerated lazily until the first violation
+        try (Stream<Extension> exts = ev.getModelStream(theory)) {
+            for (Extension ext: (Iterable<Extension>) exts::iterator) {
+                // get union of all extensions of the E-reduct
+                DungTheory reduct = new WeaklyAdmissibleReasoner().getReduct(theory, ext);
+                Collection<Extension> exts_reduct = ev.getModels(reduct);
+                Collection<Argument> union = new HashSet<>();
+                for (Extension ext_r: exts_reduct) {
+                    union.addAll(ext_r);
+                }
+                for (Argument a: ext) {
+                    Collection<Argument> attackers = theory.getAttackers(a);
+                    // if any attacker
+                    for (Argument b: attackers) {
+                        if (union.contains(b)) {
+                            return false;
+                        }
                     }
                 }
             }
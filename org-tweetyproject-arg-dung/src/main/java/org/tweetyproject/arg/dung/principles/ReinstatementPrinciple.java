@@ -25,6 +25,7 @@ import org.tweetyproject.arg.dung.syntax.Argument;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
 
 import java.util.Collection;
+import java.util.stream.Stream;
 
 /**
  * Reinstatement Principle
@@ -51,17 +52,9 @@ public class ReinstatementPrinciple extends Principle {
     @Override
     public boolean isSatisfied(Collection<Argument> kb, AbstractExtensionReasoner ev) {
         DungTheory theory = (DungTheory) kb;
-        Collection<Extension> exts = ev.getModels(theory);
-
-        for (Extension ext: exts) {
-            // if the characteristic function of ext does not return ext(or a subset of ext), reinstatement is not satisfied i.e. ext defends some argument not in ext
-            if (!ext.containsAll(theory.faf(ext))) {
-                return false;
-            }
+        // if the characteristic function of ext does not return ext(or a subset of ext), reinstatement is not satisfied i.e. ext defends some argument not in ext
+        try (Stream<Extension> exts = ev.getModelStream(theory)) {
+            return exts.allMatch(ext -> ext.containsAll(theory.faf(ext)));
         }
-
-
-
-        return true;
     }
 }
@@ -28,6 +28,7 @@ import org.tweetyproject.graphs.DefaultGraph;
 import java.util.Collection;
 import java.util.Set;
 import java.util.Stack;
+import java.util.stream.Stream;
 
 /**
  * Strong Complete Completeness Outside Odd Cycles Principle (SCOOC)
@@ -52,37 +53,39 @@ public class SCOOCPrinciple extends Principle {
     @Override
     public boolean isSatisfied(Collection<Argument> kb, AbstractExtensionReasoner ev) {
         DungTheory theory = (DungTheory) kb;
-        Collection<Extension> exts = ev.getModels(theory);
 
         Set<Stack<Argument>> cycles = DefaultGraph.getCyclesIncludingSelfLoops(theory);
 
-        for (Extension ext: exts) {
-            for (Argument a: theory) {
-                // if a is in ext or ext attacks a, we can ignore it since the premise is violated
-                if (ext.contains(a) || theory.isAttacked(a, ext)) {
-                    continue;
-                }
-                for (Stack<Argument> cycle: cycles) {
-                    // if the number of arguments in the cycle is even, skip
-                    // the cycle contains the "starting" node twice, so even number of arguments means odd cycle
-                    if (cycle.size() % 2 != 0) {
+        // extensions are enumerated lazily until the first violation
+        try (Stream<Extension> exts = ev.getModelStream(theory)) {
+            for (Extension ext: (Iterable<Extension>) exts::iterator) {
+                for (Argument a: theory) {
+                    // if a is in ext or ext attacks a, we can ignore it since the premise is violated
+                    if (ext.contains(a) || theory.isAttacked(a, ext)) {
                         continue;
                     }
+                    for (Stack<Argument> cycle: cycles) {
+                        // if the number of arguments in the cycle is even, skip
+                        // the cycle contains the "starting" node twice, so even number of arguments means odd cycle
+                        if (cycle.size() % 2 != 0) {
+                            continue;
+                        }
 
-                    boolean outsideOddCycle = true;
-                    if (cycle.contains(a)) {
-                        outsideOddCycle = false;
-                    }
-                    for (Argument b: theory.getAttackers(a)) {
-                        if (cycle.contains(b)) {
+                        boolean outsideOddCycle = true;
+                        if (cycle.contains(a)) {
                             outsideOddCycle = false;
                         }
+                        for (Argument b: theory.getAttackers(a)) {
+                            if (cycle.contains(b)) {
+                                outsideOddCycle = false;
+                            }
+                        }
+                        if (outsideOddCycle) {
+                            return false;
+                        }
                     }
-                    if (outsideOddCycle) {
-                        return false;
-                    }
-                }
 
+                }
             }
         }
         return true;
@@ -25,6 +25,7 @@ import org.tweetyproject.arg.dung.syntax.Argument;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
 
 import java.util.Collection;
+import java.util.stream.Stream;
 
 /**
  * Principle of Strong Admissibility
@@ -51,17 +52,19 @@ public class StrongAdmissibilityPrinciple extends Principle {
     @Override
     public boolean isSatisfied(Collection<Argument> kb, AbstractExtensionReasoner ev) {
         DungTheory theory = (DungTheory) kb;
-        Collection<Extension> exts = ev.getModels(theory);
 
         // check all extensions
-        for (Extension ext: exts) {
-            for (Argument a: ext) {
-                Extension extWithoutArg = new Extension(ext);
-                extWithoutArg.remove(a);
-                for (Argument c: theory.getAttackers(a)) {
-                    if (!theory.isAttacked(c, extWithoutArg)) {
-                        // if an argument a is not defended by E \ {a} the principle is not satisfied
-                        return false;
+        // extensions are enumerated lazily until the first violation
+        try (Stream<Extension> exts = ev.getModelStream(theory)) {
+            for (Extension ext: (Iterable<Extension>) exts::iterator) {
+                for (Argument a: ext) {
+                    Extension extWithoutArg = new Extension(ext);
+                    extWithoutArg.remove(a);
+                    for (Argument c: theory.getAttackers(a)) {
+                        if (!theory.isAttacked(c, extWithoutArg)) {
+                            // if an argument a is not defended by E \ {a} the principle is not satisfied
+                            return false;
+                        }
                     }
                 }
             }
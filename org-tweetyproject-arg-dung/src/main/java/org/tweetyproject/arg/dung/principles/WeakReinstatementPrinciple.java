@@ -25,6 +25,7 @@ import org.tweetyproject.arg.dung.syntax.Argument;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
 
 import java.util.Collection;
+import java.util.stream.Stream;
 
 /**
  * Weak Reinstatement Principle
@@ -51,25 +52,27 @@ public class WeakReinstatementPrinciple extends Principle {
     @Override
     public boolean isSatisfied(Collection<Argument> kb, AbstractExtensionReasoner ev) {
         DungTheory theory = (DungTheory) kb;
-        Collection<Extension> exts = ev.getModels(theory);
 
-        for (Extension ext: exts) {
-            for (Argument a: theory) {
-                if (ext.contains(a))
-                    continue;
-                boolean stronglyDefended = true;
-                for (Argument b: theory.getAttackers(a)) {
-                    if (!theory.isAttacked(b, ext)) {
-                        stronglyDefended = false;
-                        break;
+        // extensions are enumerated lazily until the first violation
+        try (Stream<Extension> exts = ev.getModelStream(theory)) {
+            for (Extension ext: (Iterable<Extension>) exts::iterator) {
+                for (Argument a: theory) {
+                    if (ext.contains(a))
+                        continue;
+                    boolean stronglyDefended = true;
+                    for (Argument b: theory.getAttackers(a)) {
+                        if (!theory.isAttacked(b, ext)) {
+                            stronglyDefended = false;
+                            break;
+                        }
                     }
+                    if (stronglyDefended)
+                        return false;
                 }
-                if (stronglyDefended)
-                    return false;
             }
-        }
 
 
+        }
         return true;
     }
 }
@@ -19,6 +19,14 @@
 package org.tweetyproject.arg.dung.reasoner;
 
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.tweetyproject.arg.dung.semantics.Extension;
 import org.tweetyproject.arg.dung.semantics.Semantics;
@@ -52,21 +60,126 @@ public abstract class AbstractExtensionReasoner extends AbstractDungReasoner imp
 	 * @return "true" if the argument is accepted
 	 */
 	public Boolean query(DungTheory beliefbase, Argument formula, InferenceMode inferenceMode) {
-		Collection<Extension> extensions = this.getModels(beliefbase);
-		if(inferenceMode.equals(InferenceMode.SKEPTICAL)){
-			for(Extension e: extensions)
-				if(!e.contains(formula))
-					return false;
-			return true;
-		}
+		Extension witness = this.getAcceptanceWitness(beliefbase, formula, inferenceMode);
+		if(inferenceMode.equals(InferenceMode.SKEPTICAL))
+			return witness == null;
 		// so its credulous semantics
-		for(Extension e: extensions){
-			if(e.contains(formula))
-				return true;			
-		}			
-		return false;
+		return witness != null;
+	}
+
+	/**
+	 * Returns an extension that decides the query for the given argument using the given
+	 * inference type. For credulous inference this is an extension containing the argument
+	 * (a witness of its acceptance), for skeptical inference this is an extension not
+	 * containing the argument (a counterexample to its acceptance).
+	 * <br>
+	 * <br>This default implementation searches the extensions given by <code>getModels(.)</code>,
+	 * subclasses should override it if the query can be decided without enumerating
+	 * all extensions.
+	 * @param beliefbase an AAF
+	 * @param formula a single argument
+	 * @param inferenceMode either InferenceMode.SKEPTICAL or InferenceMode.CREDULOUS
+	 * @return a witness (credulous) or counterexample (skeptical) extension, or null if there is none, i.e.,
+	 * 	if the argument is not credulously accepted or skeptically accepted, respectively.
+	 */
+	public Extension getAcceptanceWitness(DungTheory beliefbase, Argument formula, InferenceMode inferenceMode) {
+		boolean skeptical = inferenceMode.equals(InferenceMode.SKEPTICAL);
+		for(Extension e: this.getModels(beliefbase))
+			if(e.contains(formula) != skeptical)
+				return e;
+		return null;
 	}
 	
+	/**
+	 * Returns an iterator over the extensions of the given theory. Reasoners that are able to
+	 * compute extensions one after the other do so on demand, so that consumers can stop
+	 * as soon as they have found what they need; this default implementation iterates over
+	 * the result of <code>getModels(.)</code>. Iterators that are not consumed completely
+	 * should be closed if they are instances of {@link ExtensionIterator}.
+	 * @param bbase some Dung theory
+	 * @return an iterator over the extensions of the theory
+	 */
+	public Iterator<Extension> getModelIterator(DungTheory bbase) {
+		return this.getModels(bbase).iterator();
+	}
+
+	/**
+	 * Returns an iterator over at most the given number of extensions of the given theory
+	 * that stops after the given timeout. The deadline is checked before every extension
+	 * is computed, i.e., the computation of a single extension is not interrupted.
+	 * @param bbase some Dung theory
+	 * @param limit the maximal number of extensions
+	 * @param timeout the timeout
+	 * @param unit the unit of the timeout
+	 * @return an iterator over extensions of the theory
+	 */
+	public ExtensionIterator getModelIterator(DungTheory bbase, long limit, long timeout, TimeUnit unit) {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		Iterator<Extension> it = this.getModelIterator(bbase);
+		return new ExtensionIterator() {
+			private long count = 0;
+			@Override
+			protected Extension computeNext() {
+				if(this.count >= limit || System.nanoTime() - deadline >= 0 || !it.hasNext())
+					return null;
+				this.count++;
+				return it.next();
+			}
+			@Override
+			public void close() {
+				if(it instanceof ExtensionIterator)
+					((ExtensionIterator) it).close();
+			}
+		};
+	}
+
+	/**
+	 * Returns a sequential stream of the extensions of the given theory, see <code>getModelIterator(.)</code>.
+	 * Streams that are not consumed completely should be closed.
+	 * @param bbase some Dung theory
+	 * @return a stream of the extensions of the theory
+	 */
+	public Stream<Extension> getModelStream(DungTheory bbase) {
+		return AbstractExtensionReasoner.toStream(this.getModelIterator(bbase));
+	}
+
+	/**
+	 * Returns a sequential stream of at most the given number of extensions of the given theory
+	 * that ends after the given timeout, see <code>getModelIterator(.,.,.,.)</code>.
+	 * @param bbase some Dung theory
+	 * @param limit the maximal number of extensions
+	 * @param timeout the timeout
+	 * @param unit the unit of the timeout
+	 * @return a stream of extensions of the theory
+	 */
+	public Stream<Extension> getModelStream(DungTheory bbase, long limit, long timeout, TimeUnit unit) {
+		return AbstractExtensionReasoner.toStream(this.getModelIterator(bbase, limit, timeout, unit));
+	}
+
+	/**
+	 * Returns a stream of the given extensions that closes the iterator when it is closed.
+	 * @param it an iterator over extensions
+	 * @return a stream
+	 */
+	private static Stream<Extension> toStream(Iterator<Extension> it) {
+		Stream<Extension> stream = StreamSupport.stream(Spliterators.spliteratorUnknownSize(it, Spliterator.DISTINCT | Spliterator.NONNULL), false);
+		if(it instanceof ExtensionIterator)
+			stream = stream.onClose(((ExtensionIterator) it)::close);
+		return stream;
+	}
+
+	/**
+	 * Collects the extensions given by the iterator.
+	 * @param it an iterator over extensions
+	 * @return the set of extensions
+	 */
+	static Collection<Extension> collect(Iterator<Extension> it) {
+		Set<Extension> result = new HashSet<Extension>();
+		while(it.hasNext())
+			result.add(it.next());
+		return result;
+	}
+
 	/**
 	 * Creates a reasoner for the given semantics.
 	 * @param semantics a semantics
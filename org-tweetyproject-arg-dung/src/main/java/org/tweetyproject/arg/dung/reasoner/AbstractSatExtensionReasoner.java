@@ -18,22 +18,25 @@
  */
 package org.tweetyproject.arg.dung.reasoner;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 
 import org.tweetyproject.arg.dung.semantics.Extension;
 import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.CompactDungTheory;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
+import org.tweetyproject.commons.InferenceMode;
 import org.tweetyproject.logics.pl.sat.SatSolver;
-import org.tweetyproject.logics.pl.semantics.PossibleWorld;
-import org.tweetyproject.logics.pl.syntax.Conjunction;
+import org.tweetyproject.logics.pl.sat.SatSolverSession;
+import org.tweetyproject.logics.pl.syntax.Contradiction;
+import org.tweetyproject.logics.pl.syntax.Disjunction;
 import org.tweetyproject.logics.pl.syntax.Negation;
 import org.tweetyproject.logics.pl.syntax.PlBeliefSet;
 import org.tweetyproject.logics.pl.syntax.Proposition;
 import org.tweetyproject.logics.pl.syntax.PlFormula;
+import org.tweetyproject.logics.pl.syntax.Tautology;
 
 /**
  * Uses a provided SAT solver to solve reasoning problems in AAFs.
@@ -58,32 +61,147 @@ public abstract class AbstractSatExtensionReasoner extends AbstractExtensionReas
 	 * @see org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner#getModels(org.tweetyproject.arg.dung.syntax.DungTheory)
 	 */
 	@Override
-	public Collection<Extension> getModels(DungTheory bbase) {		
-		PlBeliefSet prop = this.getPropositionalCharacterisation(bbase);
-		// get some labeling from the solver, then add the negation of this to the program and repeat
-		// to obtain all labelings
-		Set<Extension> result = new HashSet<Extension>();
-		Extension ext;
-		do{
-			PossibleWorld w = (PossibleWorld) this.solver.getWitness(prop);
-			if(w == null)
-				break;
-			ext = new Extension();
-			for(Proposition p: w){
-				if(p.getName().startsWith("in_"))
-					ext.add(new Argument(p.getName().substring(3)));				
+	public Collection<Extension> getModels(DungTheory bbase) {
+		return AbstractExtensionReasoner.collect(this.getModelIterator(bbase));
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner#getModelIterator(org.tweetyproject.arg.dung.syntax.DungTheory)
+	 */
+	@Override
+	public ExtensionIterator getModelIterator(DungTheory bbase) {
+		CompactDungTheory aaf = CompactDungTheory.compile(bbase);
+		// the framework is encoded once; after each model a blocking clause on the
+		// "in" variables is added to the same session so the next model yields a new extension
+		SatSolverSession session = this.solver.createSession();
+		this.encode(aaf, session);
+		return new ExtensionIterator() {
+			private boolean blocked = false;
+			@Override
+			protected Extension computeNext() {
+				if(this.blocked || !session.solve())
+					return null;
+				Extension ext = AbstractSatExtensionReasoner.this.getExtension(aaf, session);
+				if(aaf.getNumberOfArguments() == 0)
+					this.blocked = true;
+				else {
+					int[] blockingClause = new int[aaf.getNumberOfArguments()];
+					for(int i = 0; i < blockingClause.length; i++)
+						blockingClause[i] = session.getValue(AbstractSatExtensionReasoner.in(i)) ? -AbstractSatExtensionReasoner.in(i) : AbstractSatExtensionReasoner.in(i);
+					session.addClause(blockingClause);
+				}
+				return ext;
+			}
+			@Override
+			public void close() {
+				session.close();
 			}
-			result.add(ext);
-			// add the newly found extension in negative form to prop
-			// so the next witness cannot be the same
-			Collection<PlFormula> f = new HashSet<PlFormula>();
-			for(Proposition p: w)
-				f.add(p);
-			prop.add(new Negation(new Conjunction(f)));
-		}while(true);
-		return result;
+		};
 	}
-	
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner#getAcceptanceWitness(org.tweetyproject.arg.dung.syntax.DungTheory, org.tweetyproject.arg.dung.syntax.Argument, org.tweetyproject.commons.InferenceMode)
+	 */
+	@Override
+	public Extension getAcceptanceWitness(DungTheory beliefbase, Argument formula, InferenceMode inferenceMode) {
+		CompactDungTheory aaf = CompactDungTheory.compile(beliefbase);
+		int id = aaf.getId(formula);
+		boolean skeptical = inferenceMode.equals(InferenceMode.SKEPTICAL);
+		// a single call: is there an extension with (credulous) or without (skeptical) the argument?
+		try(SatSolverSession session = this.solver.createSession()){
+			this.encode(aaf, session);
+			boolean sat;
+			if(id == -1)
+				sat = skeptical && session.solve();
+			else sat = session.solve(skeptical ? -AbstractSatExtensionReasoner.in(id) : AbstractSatExtensionReasoner.in(id));
+			return sat ? this.getExtension(aaf, session) : null;
+		}
+	}
+
+	/**
+	 * Returns the Dimacs variable representing that the argument with the given id is "in".
+	 * @param id the id of some argument in a compact Dung theory
+	 * @return the variable representing "in"
+	 */
+	protected static int in(int id) {
+		return 3 * id + 1;
+	}
+
+	/**
+	 * Returns the Dimacs variable representing that the argument with the given id is "out".
+	 * @param id the id of some argument in a compact Dung theory
+	 * @return the variable representing "out"
+	 */
+	protected static int out(int id) {
+		return 3 * id + 2;
+	}
+
+	/**
+	 * Returns the Dimacs variable representing that the argument with the given id is "undecided".
+	 * @param id the id of some argument in a compact Dung theory
+	 * @return the variable representing "undecided"
+	 */
+	protected static int undec(int id) {
+		return 3 * id + 3;
+	}
+
+	/**
+	 * Reads off the extension (the arguments labeled "in") of the last model of the given session.
+	 * @param aaf a compact Dung theory
+	 * @param session a session after a successful call to <code>solve(.)</code>
+	 * @return the extension of the last model
+	 */
+	protected Extension getExtension(CompactDungTheory aaf, SatSolverSession session) {
+		Extension ext = new Extension();
+		for(int i = 0; i < aaf.getNumberOfArguments(); i++)
+			if(session.getValue(AbstractSatExtensionReasoner.in(i)))
+				ext.add(aaf.getArgument(i));
+		return ext;
+	}
+
+	/**
+	 * Adds clauses to the given session whose models are exactly the labelings of the given
+	 * theory wrt. the semantics of this reasoner. The argument with id i is represented by
+	 * the variables <code>in(i)</code>, <code>out(i)</code>, and <code>undec(i)</code>; further
+	 * variables may be used starting from <code>3*|A|+1</code>.
+	 * <br>
+	 * <br>This default implementation converts the result of <code>getPropositionalCharacterisation(.)</code>
+	 * to conjunctive normal form. Subclasses should override this method with a direct clausal encoding.
+	 * @param aaf a compact Dung theory
+	 * @param session some solver session
+	 */
+	protected void encode(CompactDungTheory aaf, SatSolverSession session) {
+		Map<Proposition,Integer> vars = new HashMap<Proposition,Integer>();
+		for(int i = 0; i < aaf.getNumberOfArguments(); i++) {
+			String name = aaf.getArgument(i).getName();
+			vars.put(new Proposition("in_" + name), AbstractSatExtensionReasoner.in(i));
+			vars.put(new Proposition("out_" + name), AbstractSatExtensionReasoner.out(i));
+			vars.put(new Proposition("undec_" + name), AbstractSatExtensionReasoner.undec(i));
+		}
+		for(PlFormula f: this.getPropositionalCharacterisation(aaf)) {
+			for(PlFormula c: f.toCnf()) {
+				Disjunction disj = (Disjunction) c;
+				int[] clause = new int[disj.size()];
+				int k = 0;
+				boolean taut = false;
+				for(PlFormula lit: disj) {
+					if(lit instanceof Tautology) {
+						taut = true;
+						break;
+					}
+					if(lit instanceof Contradiction)
+						continue;
+					Proposition p = lit instanceof Negation ? (Proposition)((Negation)lit).getFormula() : (Proposition) lit;
+					if(!vars.containsKey(p))
+						vars.put(p, 3 * aaf.getNumberOfArguments() + vars.size() + 1);
+					clause[k++] = lit instanceof Negation ? -vars.get(p) : vars.get(p);
+				}
+				if(!taut)
+					session.addClause(k == clause.length ? clause : Arrays.copyOf(clause, k));
+			}
+		}
+	}
+
 	/**
 	 * Creates a propositional representation of the set of labelings of the given
 	 * Dung theory that are consistent with the given semantics. This means that
@@ -133,15 +251,12 @@ public abstract class AbstractSatExtensionReasoner extends AbstractExtensionReas
 	@Override
 	public Extension getModel(DungTheory bbase) {
 		// returns the first found model
-		PlBeliefSet prop = this.getPropositionalCharacterisation(bbase);
-		PossibleWorld w = (PossibleWorld) this.solver.getWitness(prop);
-		if(w == null)
-			return null;
-		Extension ext = new Extension();
-		for(Proposition p: w){
-			if(p.getName().startsWith("in_"))
-				ext.add(new Argument(p.getName().substring(3)));				
+		CompactDungTheory aaf = CompactDungTheory.compile(bbase);
+		try(SatSolverSession session = this.solver.createSession()){
+			this.encode(aaf, session);
+			if(!session.solve())
+				return null;
+			return this.getExtension(aaf, session);
 		}
-		return ext;
 	}
 }
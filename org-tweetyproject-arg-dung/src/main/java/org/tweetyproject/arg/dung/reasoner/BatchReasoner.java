@@ -0,0 +1,397 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.dung.reasoner;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import org.tweetyproject.arg.dung.semantics.Extension;
+import org.tweetyproject.arg.dung.syntax.DungTheory;
+import org.tweetyproject.arg.dung.util.DungTheoryGenerator;
+
+/**
+ * Evaluates many Dung theories wrt. one or more reasoners in parallel. For every theory
+ * and every reasoner, the extensions are computed by a separate task on an executor;
+ * the theories are taken from an iterator (e.g. a {@link DungTheoryGenerator}) on the calling
+ * thread only as long as the number of pending tasks is below a given capacity, so that
+ * at most that many theories are kept in memory.
+ * <br>
+ * <br>The results are passed to a sink on the calling thread in the order of the
+ * theories (and, for every theory, in the order of the reasoners), such that the sequence
+ * of results for a generator with a given seed does not depend on the number of threads
+ * or on scheduling. Every task has a timeout measured from its start; reasoners that
+ * compute their extensions lazily (see {@link AbstractExtensionReasoner#getModelIterator(DungTheory)})
+ * stop at the next extension after the timeout, other tasks are interrupted but may
+ * keep their thread busy until the reasoner finishes.
+ * <br>
+ * <br>Reasoners are shared between threads and have to be thread-safe.
+ *
+ * @author Sebastian Franke
+ */
+public class BatchReasoner implements AutoCloseable {
+
+	/**
+	 * The status of a single evaluation.
+	 */
+	public enum Status {
+		/** All extensions have been computed. */
+		DONE,
+		/** The computation did not finish within the timeout. */
+		TIMEOUT,
+		/** The reasoner threw an exception. */
+		FAILED,
+		/** The reasoner found more extensions than the given limit, it has been stopped after exceeding it. */
+		EXCEEDED
+	}
+
+	/**
+	 * The result of evaluating a single theory wrt. a single reasoner.
+	 */
+	public static class Result {
+		/** The position of the theory in the input. */
+		private long index;
+		/** The theory. */
+		private DungTheory theory;
+		/** The reasoner. */
+		private AbstractExtensionReasoner reasoner;
+		/** The status of the evaluation. */
+		private Status status;
+		/** The extensions or null if the evaluation did not finish. */
+		private Collection<Extension> extensions;
+		/** The exception thrown by the reasoner or null. */
+		private Throwable error;
+		/** The time of the computation in nanoseconds. */
+		private long time;
+
+		/**
+		 * Returns the position of the theory in the input (starting at 0).
+		 * @return the position of the theory in the input.
+		 */
+		public long getIndex() {
+			return this.index;
+		}
+
+		/**
+		 * Returns the theory.
+		 * @return the theory.
+		 */
+		public DungTheory getTheory() {
+			return this.theory;
+		}
+
+		/**
+		 * Returns the reasoner.
+		 * @return the reasoner.
+		 */
+		public AbstractExtensionReasoner getReasoner() {
+			return this.reasoner;
+		}
+
+		/**
+		 * Returns the status of the evaluation.
+		 * @return the status of the evaluation.
+		 */
+		public Status getStatus() {
+			return this.status;
+		}
+
+		/**
+		 * Returns the extensions of the theory.
+		 * @return the extensions of the theory or null if the status is not {@link Status#DONE}.
+		 */
+		public Collection<Extension> getExtensions() {
+			return this.extensions;
+		}
+
+		/**
+		 * Returns the exception thrown by the reasoner.
+		 * @return the exception thrown by the reasoner or null if the status is not {@link Status#FAILED}.
+		 */
+		public Throwable getError() {
+			return this.error;
+		}
+
+		/**
+		 * Returns the time of the computation.
+		 * @return the time of the computation in nanoseconds (zero if the computation has not started).
+		 */
+		public long getTime() {
+			return this.time;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return this.index + ": " + this.reasoner.getClass().getSimpleName() + " " + this.status + (this.status == Status.DONE ? " " + this.extensions : "");
+		}
+	}
+
+	/** The executor running the tasks. */
+	private ExecutorService executor;
+	/** Whether the executor has been created by this object. */
+	private boolean ownExecutor;
+	/** The maximal number of pending tasks. */
+	private int capacity;
+	/** The timeout of every task in nanoseconds. */
+	private long timeout;
+
+	/**
+	 * Creates a new batch reasoner running tasks on the given executor.
+	 * @param executor some executor
+	 * @param capacity the maximal number of pending tasks
+	 * @param timeout the timeout of every task
+	 * @param unit the unit of the timeout
+	 */
+	public BatchReasoner(ExecutorService executor, int capacity, long timeout, TimeUnit unit) {
+		if(capacity < 1)
+			throw new IllegalArgumentException("The capacity has to be positive.");
+		this.executor = executor;
+		this.capacity = capacity;
+		this.timeout = unit.toNanos(timeout);
+	}
+
+	/**
+	 * Creates a new batch reasoner with its own pool of the given number of threads;
+	 * the capacity is four times the number of threads.
+	 * @param threads the number of threads
+	 * @param timeout the timeout of every task
+	 * @param unit the unit of the timeout
+	 */
+	public BatchReasoner(int threads, long timeout, TimeUnit unit) {
+		this(Executors.newFixedThreadPool(threads, r -> {
+			Thread thread = new Thread(r, "BatchReasoner");
+			thread.setDaemon(true);
+			return thread;
+		}), 4 * threads, timeout, unit);
+		this.ownExecutor = true;
+	}
+
+	/**
+	 * Creates a new batch reasoner with its own pool with one thread per available processor
+	 * and without timeout.
+	 */
+	public BatchReasoner() {
+		this(Runtime.getRuntime().availableProcessors(), Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Evaluates the given number of theories of the given generator wrt. the given reasoners;
+	 * the generator is initialised with the given seed.
+	 * @param generator some generator
+	 * @param seed the seed of the generator
+	 * @param numberOfTheories the maximal number of theories
+	 * @param reasoners some reasoners
+	 * @param sink receives the results in the order of the theories
+	 */
+	public void run(DungTheoryGenerator generator, long seed, long numberOfTheories, List<? extends AbstractExtensionReasoner> reasoners, Consumer<Result> sink) {
+		generator.setSeed(seed);
+		this.run(generator, numberOfTheories, reasoners, sink);
+	}
+
+	/**
+	 * Evaluates the given theories wrt. the given reasoners.
+	 * @param theories some theories
+	 * @param reasoners some reasoners
+	 * @return the results in the order of the theories
+	 */
+	public List<Result> run(Collection<? extends DungTheory> theories, List<? extends AbstractExtensionReasoner> reasoners) {
+		List<Result> results = new ArrayList<Result>();
+		this.run(theories.iterator(), Long.MAX_VALUE, reasoners, results::add);
+		return results;
+	}
+
+	/**
+	 * Evaluates at most the given number of theories of the given iterator wrt. the given
+	 * reasoners. If the calling thread is interrupted, all pending tasks are cancelled and
+	 * this method returns with the interrupt status set; the same holds for exceptions thrown
+	 * by the sink, which are passed on.
+	 * @param theories some theories
+	 * @param numberOfTheories the maximal number of theories
+	 * @param reasoners some reasoners
+	 * @param sink receives the results in the order of the theories
+	 */
+	public void run(Iterator<? extends DungTheory> theories, long numberOfTheories, List<? extends AbstractExtensionReasoner> reasoners, Consumer<Result> sink) {
+		this.run(theories, numberOfTheories, reasoners, Long.MAX_VALUE, sink);
+	}
+
+	/**
+	 * Evaluates at most the given number of theories of the given iterator wrt. the given
+	 * reasoners as in {@link #run(Iterator, long, List, Consumer)}, but every task stops as soon
+	 * as the given number of extensions is exceeded; its result then has the status
+	 * {@link Status#EXCEEDED}.
+	 * @param theories some theories
+	 * @param numberOfTheories the maximal number of theories
+	 * @param reasoners some reasoners
+	 * @param maxExtensions the maximal number of extensions of every task
+	 * @param sink receives the results in the order of the theories
+	 */
+	public void run(Iterator<? extends DungTheory> theories, long numberOfTheories, List<? extends AbstractExtensionReasoner> reasoners, long maxExtensions, Consumer<Result> sink) {
+		Deque<Task> pending = new ArrayDeque<Task>();
+		long index = 0;
+		try {
+			while(true) {
+				// fill the window of pending tasks
+				while(index < numberOfTheories && pending.size() + reasoners.size() <= Math.max(this.capacity, reasoners.size()) && theories.hasNext()) {
+					DungTheory theory = theories.next();
+					for(AbstractExtensionReasoner reasoner: reasoners) {
+						Task task = new Task(index, theory, reasoner, maxExtensions);
+						task.future = this.executor.submit(task);
+						pending.add(task);
+					}
+					index++;
+				}
+				if(pending.isEmpty())
+					return;
+				sink.accept(this.await(pending.poll()));
+			}
+		}catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}finally {
+			// only non-empty if interrupted or the sink failed
+			for(Task task: pending)
+				task.future.cancel(true);
+		}
+	}
+
+	/**
+	 * Waits for the given task until it is finished or its timeout expired.
+	 * @param task some task
+	 * @return the result of the task
+	 * @throws InterruptedException if the calling thread is interrupted while waiting.
+	 */
+	private Result await(Task task) throws InterruptedException {
+		Result result = task.result;
+		long wait = this.timeout;
+		while(true) {
+			try {
+				result.extensions = task.future.get(wait, TimeUnit.NANOSECONDS);
+				// the task returns null if the limit of extensions has been exceeded
+				result.status = result.extensions != null ? Status.DONE : Status.EXCEEDED;
+				break;
+			}catch(TimeoutException e) {
+				long start = task.start;
+				if(start == 0)
+					continue;
+				wait = this.timeout - (System.nanoTime() - start);
+				if(wait <= 0) {
+					task.future.cancel(true);
+					result.status = Status.TIMEOUT;
+					break;
+				}
+			}catch(ExecutionException e) {
+				if(e.getCause() instanceof TimeoutException)
+					result.status = Status.TIMEOUT;
+				else {
+					result.status = Status.FAILED;
+					result.error = e.getCause();
+				}
+				break;
+			}catch(CancellationException e) {
+				result.status = Status.TIMEOUT;
+				break;
+			}
+		}
+		long start = task.start, end = task.end;
+		if(start != 0)
+			result.time = (end != 0 ? end : System.nanoTime()) - start;
+		return result;
+	}
+
+	/**
+	 * Shuts down the executor if it has been created by this object.
+	 * @see java.lang.AutoCloseable#close()
+	 */
+	@Override
+	public void close() {
+		if(this.ownExecutor)
+			this.executor.shutdownNow();
+	}
+
+	/**
+	 * The evaluation of a single theory wrt. a single reasoner.
+	 */
+	private class Task implements Callable<Collection<Extension>> {
+		/** The result. */
+		private Result result = new Result();
+		/** The maximal number of extensions. */
+		private long maxExtensions;
+		/** The future of the task. */
+		private Future<Collection<Extension>> future;
+		/** The start and end of the computation (zero if not started or finished yet). */
+		private volatile long start = 0;
+		private volatile long end = 0;
+
+		/**
+		 * Creates a new task.
+		 * @param index the position of the theory
+		 * @param theory some theory
+		 * @param reasoner some reasoner
+		 * @param maxExtensions the maximal number of extensions
+		 */
+		private Task(long index, DungTheory theory, AbstractExtensionReasoner reasoner, long maxExtensions) {
+			this.maxExtensions = maxExtensions;
+			this.result.index = index;
+			this.result.theory = theory;
+			this.result.reasoner = reasoner;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.util.concurrent.Callable#call()
+		 */
+		@Override
+		public Collection<Extension> call() throws TimeoutException {
+			// returns null if there are more than the maximal number of extensions
+			long start = System.nanoTime();
+			this.start = start;
+			Set<Extension> extensions = new HashSet<Extension>();
+			Iterator<Extension> it = this.result.reasoner.getModelIterator(this.result.theory);
+			try {
+				while(it.hasNext()) {
+					if(System.nanoTime() - start >= BatchReasoner.this.timeout || Thread.currentThread().isInterrupted())
+						throw new TimeoutException();
+					extensions.add(it.next());
+					if(extensions.size() > this.maxExtensions)
+						return null;
+				}
+			}finally {
+				this.end = System.nanoTime();
+				if(it instanceof ExtensionIterator)
+					((ExtensionIterator) it).close();
+			}
+			return extensions;
+		}
+	}
+}
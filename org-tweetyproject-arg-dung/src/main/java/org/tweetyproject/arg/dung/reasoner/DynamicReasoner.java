@@ -0,0 +1,330 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.dung.reasoner;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.tweetyproject.arg.dung.semantics.ArgumentStatus;
+import org.tweetyproject.arg.dung.semantics.Extension;
+import org.tweetyproject.arg.dung.semantics.Labeling;
+import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.Attack;
+import org.tweetyproject.arg.dung.syntax.DungTheory;
+import org.tweetyproject.arg.dung.syntax.DungTheoryListener;
+
+/**
+ * Maintains the grounded labeling and the complete and preferred extensions of a
+ * Dung theory that changes over time. The reasoner registers itself as a listener of
+ * the theory (see {@link DungTheoryListener}) and only records which arguments are
+ * directly affected by a change; the results are updated when they are requested next.
+ * <br>
+ * <br>The update follows the division-based method: the arguments reachable from the
+ * affected arguments (the influenced set) are recomputed, while the remaining arguments
+ * are not attacked by the influenced set, so their labels and the restrictions of the
+ * extensions to them do not change (directionality). The grounded labeling of the influenced set is
+ * propagated from the unchanged labels of its attackers; for complete and preferred semantics, the influenced set
+ * is evaluated once for every distinct restriction of the previous extensions, conditioned
+ * on the arguments "in" and "undecided" in that restriction (as for a single SCC in
+ * {@link SimpleSccCompleteReasoner}).
+ * <br>
+ * <br>Results are only maintained for semantics that have been requested before. Changes
+ * that are not reported by the theory (e.g. via {@link DungTheory#clear()}) require a call
+ * to {@link #reset()}. This class is not thread-safe.
+ *
+ * @author Sebastian Franke
+ */
+public class DynamicReasoner implements DungTheoryListener, AutoCloseable {
+
+	/** The observed theory. */
+	private DungTheory theory;
+	/** The arguments directly affected by the changes since the last update. */
+	private Set<Argument> affected = new HashSet<Argument>();
+	/** Whether the theory has changed since the last update. */
+	private boolean changed = false;
+	/** The grounded labeling or null if it has not been computed yet. */
+	private Map<Argument,ArgumentStatus> grounded = null;
+	/** The complete extensions or null if they have not been computed yet. */
+	private Collection<Extension> complete = null;
+	/** The preferred extensions or null if they have not been computed yet. */
+	private Collection<Extension> preferred = null;
+
+	/**
+	 * Creates a new reasoner for the given theory and registers it as a listener of the theory.
+	 * @param theory some Dung theory
+	 */
+	public DynamicReasoner(DungTheory theory) {
+		this.theory = theory;
+		theory.addListener(this);
+	}
+
+	/**
+	 * Returns the observed theory.
+	 * @return the observed theory.
+	 */
+	public DungTheory getTheory() {
+		return this.theory;
+	}
+
+	/**
+	 * Returns the grounded labeling of the current theory.
+	 * @return the grounded labeling.
+	 */
+	public Labeling getGroundedLabeling() {
+		this.update();
+		if(this.grounded == null)
+			this.grounded = new HashMap<Argument,ArgumentStatus>(new SimpleGroundedReasoner().getLabeling(this.theory));
+		Labeling labeling = new Labeling();
+		labeling.putAll(this.grounded);
+		return labeling;
+	}
+
+	/**
+	 * Returns the grounded extension of the current theory.
+	 * @return the grounded extension.
+	 */
+	public Extension getGroundedExtension() {
+		return this.getGroundedLabeling().getArgumentsOfStatus(ArgumentStatus.IN);
+	}
+
+	/**
+	 * Returns the complete extensions of the current theory.
+	 * @return the complete extensions.
+	 */
+	public Collection<Extension> getCompleteExtensions() {
+		this.update();
+		if(this.complete == null)
+			this.complete = new SimpleSccCompleteReasoner().getModels(this.theory);
+		return DynamicReasoner.copy(this.complete);
+	}
+
+	/**
+	 * Returns the preferred extensions of the current theory.
+	 * @return the preferred extensions.
+	 */
+	public Collection<Extension> getPreferredExtensions() {
+		this.update();
+		if(this.preferred == null)
+			this.preferred = new SimplePreferredReasoner().getModels(this.theory);
+		return DynamicReasoner.copy(this.preferred);
+	}
+
+	/**
+	 * Discards all results, they are recomputed from scratch when they are requested next.
+	 */
+	public void reset() {
+		this.grounded = null;
+		this.complete = null;
+		this.preferred = null;
+		this.affected.clear();
+		this.changed = false;
+	}
+
+	/**
+	 * Unregisters this reasoner from the theory.
+	 */
+	@Override
+	public void close() {
+		this.theory.removeListener(this);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.syntax.DungTheoryListener#argumentAdded(org.tweetyproject.arg.dung.syntax.DungTheory, org.tweetyproject.arg.dung.syntax.Argument)
+	 */
+	@Override
+	public void argumentAdded(DungTheory theory, Argument argument) {
+		this.affected.add(argument);
+		this.changed = true;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.syntax.DungTheoryListener#argumentRemoved(org.tweetyproject.arg.dung.syntax.DungTheory, org.tweetyproject.arg.dung.syntax.Argument)
+	 */
+	@Override
+	public void argumentRemoved(DungTheory theory, Argument argument) {
+		// the arguments attacked by the removed argument have already been reported
+		this.affected.remove(argument);
+		this.changed = true;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.syntax.DungTheoryListener#attackAdded(org.tweetyproject.arg.dung.syntax.DungTheory, org.tweetyproject.arg.dung.syntax.Attack)
+	 */
+	@Override
+	public void attackAdded(DungTheory theory, Attack attack) {
+		this.affected.add(attack.getAttacked());
+		this.changed = true;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.syntax.DungTheoryListener#attackRemoved(org.tweetyproject.arg.dung.syntax.DungTheory, org.tweetyproject.arg.dung.syntax.Attack)
+	 */
+	@Override
+	public void attackRemoved(DungTheory theory, Attack attack) {
+		this.affected.add(attack.getAttacked());
+		this.changed = true;
+	}
+
+	/**
+	 * Updates all computed results wrt. the changes since the last update.
+	 */
+	private void update() {
+		if(!this.changed)
+			return;
+		// the influenced set: all arguments reachable from an affected argument
+		Set<Argument> influenced = new HashSet<Argument>();
+		Deque<Argument> queue = new ArrayDeque<Argument>();
+		for(Argument a: this.affected)
+			if(this.theory.contains(a) && influenced.add(a))
+				queue.add(a);
+		while(!queue.isEmpty())
+			for(Argument b: this.theory.getAttacked(queue.poll()))
+				if(this.theory.contains(b) && influenced.add(b))
+					queue.add(b);
+		if(this.grounded != null)
+			this.updateGrounded(influenced);
+		if(this.complete != null)
+			this.complete = this.update(this.complete, influenced, new SimpleSccCompleteReasoner()::getModels);
+		if(this.preferred != null)
+			this.preferred = this.update(this.preferred, influenced, new SimplePreferredReasoner()::getModels);
+		this.affected.clear();
+		this.changed = false;
+	}
+
+	/**
+	 * Recomputes the grounded labels of the given influenced set.
+	 * @param influenced some set of arguments that is not attacked by any other argument
+	 */
+	private void updateGrounded(Set<Argument> influenced) {
+		this.grounded.keySet().retainAll(this.theory);
+		this.grounded.keySet().removeAll(influenced);
+		// number of attackers that are not labeled "out"
+		Map<Argument,Integer> counter = new HashMap<Argument,Integer>();
+		Deque<Argument> in = new ArrayDeque<Argument>();
+		Set<Argument> out = new HashSet<Argument>();
+		for(Argument a: influenced) {
+			int count = 0;
+			boolean defeated = false;
+			for(Argument b: this.theory.getAttackers(a)) {
+				if(!this.theory.contains(b))
+					continue;
+				ArgumentStatus status = this.grounded.get(b);
+				if(status == ArgumentStatus.IN)
+					defeated = true;
+				else if(status != ArgumentStatus.OUT)
+					count++;
+			}
+			if(defeated)
+				out.add(a);
+			else if(count == 0)
+				in.add(a);
+			counter.put(a, count);
+		}
+		for(Argument a: in)
+			this.grounded.put(a, ArgumentStatus.IN);
+		Deque<Argument> defeated = new ArrayDeque<Argument>(out);
+		for(Argument a: out)
+			this.grounded.put(a, ArgumentStatus.OUT);
+		while(!in.isEmpty() || !defeated.isEmpty()) {
+			while(!in.isEmpty())
+				for(Argument b: this.theory.getAttacked(in.poll()))
+					if(influenced.contains(b) && !this.grounded.containsKey(b)) {
+						this.grounded.put(b, ArgumentStatus.OUT);
+						defeated.add(b);
+					}
+			while(!defeated.isEmpty())
+				for(Argument b: this.theory.getAttacked(defeated.poll()))
+					if(influenced.contains(b)) {
+						int count = counter.get(b) - 1;
+						counter.put(b, count);
+						if(count == 0 && !this.grounded.containsKey(b)) {
+							this.grounded.put(b, ArgumentStatus.IN);
+							in.add(b);
+						}
+					}
+		}
+		for(Argument a: influenced)
+			if(!this.grounded.containsKey(a))
+				this.grounded.put(a, ArgumentStatus.UNDECIDED);
+	}
+
+	/**
+	 * Recomputes the given extensions on the given influenced set.
+	 * @param extensions the extensions before the changes
+	 * @param influenced some set of arguments that is not attacked by any other argument
+	 * @param reasoner computes the extensions of some theory
+	 * @return the extensions after the changes
+	 */
+	private Collection<Extension> update(Collection<Extension> extensions, Set<Argument> influenced, Function<DungTheory,Collection<Extension>> reasoner) {
+		// the restrictions of the extensions to the unchanged arguments
+		Set<Extension> restrictions = new HashSet<Extension>();
+		for(Extension ext: extensions) {
+			Extension restriction = new Extension();
+			for(Argument a: ext)
+				if(this.theory.contains(a) && !influenced.contains(a))
+					restriction.add(a);
+			restrictions.add(restriction);
+		}
+		Collection<Extension> result = new HashSet<Extension>();
+		if(influenced.isEmpty()) {
+			result.addAll(restrictions);
+			return result;
+		}
+		DungTheory theory = (DungTheory) this.theory.getRestriction(influenced);
+		for(Extension restriction: restrictions) {
+			Set<Argument> out = new HashSet<Argument>();
+			Set<Argument> undec = new HashSet<Argument>();
+			for(Argument a: influenced)
+				for(Argument b: this.theory.getAttackers(a)) {
+					if(!this.theory.contains(b) || influenced.contains(b))
+						continue;
+					if(restriction.contains(b)) {
+						out.add(a);
+						break;
+					}
+					if(!this.theory.isAttacked(b, restriction))
+						undec.add(a);
+				}
+			undec.removeAll(out);
+			for(Extension ext: SimpleSccCompleteReasoner.getLocalModels(reasoner, new DungTheory(theory), out, undec)) {
+				ext.addAll(restriction);
+				result.add(ext);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Copies the given extensions.
+	 * @param extensions some extensions
+	 * @return a copy of the extensions
+	 */
+	private static Collection<Extension> copy(Collection<Extension> extensions) {
+		Collection<Extension> result = new HashSet<Extension>();
+		for(Extension ext: extensions)
+			result.add(new Extension(ext));
+		return result;
+	}
+}
@@ -0,0 +1,211 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.dung.reasoner;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.tweetyproject.arg.dung.semantics.Extension;
+import org.tweetyproject.arg.dung.semantics.Semantics;
+import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.DungTheory;
+import org.tweetyproject.arg.dung.util.CanonicalForm;
+
+/**
+ * A cache for the extensions of Dung theories that is keyed by the certificate of the
+ * canonical form of a theory (see {@link CanonicalForm}) and the semantics. Extensions are
+ * stored as sets of canonical positions, so that the extensions of a theory are also
+ * returned for every isomorphic theory, mapped to the arguments of the given theory.
+ * <br>
+ * <br>The cache keeps at most a given number of entries and evicts the least recently used ones.
+ * Reasoners given for some semantics have to compute the extensions of that semantics;
+ * the cache does not distinguish between different reasoners for the same semantics.
+ * <br>
+ * <br>This class is thread-safe; the extensions of a theory that is not cached yet may be computed
+ * more than once if it is requested by several threads at the same time.
+ *
+ * @author Sebastian Franke
+ */
+public class ExtensionCache {
+
+	/** Default value for the maximal number of cached entries. */
+	private static final int CAPACITY = 10000;
+
+	/** The cached extensions (as sets of canonical positions) in access order. */
+	private LinkedHashMap<Key,int[][]> entries;
+	/** The number of requests answered from the cache. */
+	private long hits = 0;
+	/** The number of requests that had to be computed. */
+	private long misses = 0;
+
+	/**
+	 * Creates a new cache with the given capacity.
+	 * @param capacity the maximal number of cached entries.
+	 */
+	public ExtensionCache(int capacity) {
+		this.entries = new LinkedHashMap<Key,int[][]>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key,int[][]> eldest) {
+				return this.size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * Creates a new cache with the default capacity (10000).
+	 */
+	public ExtensionCache() {
+		this(ExtensionCache.CAPACITY);
+	}
+
+	/**
+	 * Returns the extensions of the given theory wrt. the given semantics, computed by the simple
+	 * reasoner for the semantics (see {@link AbstractExtensionReasoner#getSimpleReasonerForSemantics(Semantics)})
+	 * if they are not cached.
+	 * @param theory some theory
+	 * @param semantics some semantics
+	 * @return the extensions of the theory
+	 */
+	public Collection<Extension> getModels(DungTheory theory, Semantics semantics) {
+		return this.getModels(theory, semantics, null);
+	}
+
+	/**
+	 * Returns the extensions of the given theory wrt. the given semantics, computed by the given
+	 * reasoner if they are not cached.
+	 * @param theory some theory
+	 * @param semantics some semantics
+	 * @param reasoner a reasoner for the semantics or null for the simple reasoner of the semantics
+	 * @return the extensions of the theory
+	 */
+	public Collection<Extension> getModels(DungTheory theory, Semantics semantics, AbstractExtensionReasoner reasoner) {
+		CanonicalForm form = CanonicalForm.of(theory);
+		Key key = new Key(form.getCertificate(), semantics);
+		int[][] extensions;
+		synchronized(this) {
+			extensions = this.entries.get(key);
+			if(extensions != null)
+				this.hits++;
+			else
+				this.misses++;
+		}
+		if(extensions == null) {
+			if(reasoner == null)
+				reasoner = AbstractExtensionReasoner.getSimpleReasonerForSemantics(semantics);
+			Collection<Extension> result = reasoner.getModels(theory);
+			extensions = new int[result.size()][];
+			int i = 0;
+			for(Extension ext: result) {
+				int[] positions = new int[ext.size()];
+				int k = 0;
+				for(Argument a: ext)
+					positions[k++] = form.getPosition(a);
+				Arrays.sort(positions);
+				extensions[i++] = positions;
+			}
+			synchronized(this) {
+				this.entries.put(key, extensions);
+			}
+			return result;
+		}
+		Set<Extension> result = new HashSet<Extension>();
+		for(int[] positions: extensions) {
+			Extension ext = new Extension();
+			for(int p: positions)
+				ext.add(form.getArgument(p));
+			result.add(ext);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the number of requests answered from this cache.
+	 * @return the number of cache hits.
+	 */
+	public synchronized long getHits() {
+		return this.hits;
+	}
+
+	/**
+	 * Returns the number of requests whose extensions had to be computed.
+	 * @return the number of cache misses.
+	 */
+	public synchronized long getMisses() {
+		return this.misses;
+	}
+
+	/**
+	 * Returns the number of cached entries.
+	 * @return the number of cached entries.
+	 */
+	public synchronized int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Removes all entries from this cache.
+	 */
+	public synchronized void clear() {
+		this.entries.clear();
+	}
+
+	/**
+	 * The key of a cache entry.
+	 */
+	private static class Key {
+		/** The certificate of the theory. */
+		private long[] certificate;
+		/** The semantics. */
+		private Semantics semantics;
+
+		/**
+		 * Creates a new key.
+		 * @param certificate the certificate of some theory
+		 * @param semantics some semantics
+		 */
+		private Key(long[] certificate, Semantics semantics) {
+			this.certificate = certificate;
+			this.semantics = semantics;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return 31 * Arrays.hashCode(this.certificate) + this.semantics.hashCode();
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if(!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return this.semantics == other.semantics && Arrays.equals(this.certificate, other.certificate);
+		}
+	}
+}
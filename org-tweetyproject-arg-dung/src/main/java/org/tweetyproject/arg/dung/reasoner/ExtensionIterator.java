@@ -0,0 +1,81 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.dung.reasoner;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.tweetyproject.arg.dung.semantics.Extension;
+
+/**
+ * An iterator over extensions that are computed on demand, see
+ * {@link AbstractExtensionReasoner#getModelIterator(org.tweetyproject.arg.dung.syntax.DungTheory)}.
+ * Iterators holding resources (e.g. solver sessions) release them when they are
+ * exhausted or closed; iterators that are not consumed completely should be closed.
+ *
+ * @author Sebastian Franke
+ */
+public abstract class ExtensionIterator implements Iterator<Extension>, AutoCloseable {
+
+	/** The next extension, if already computed. */
+	private Extension next = null;
+	/** Whether all extensions have been computed. */
+	private boolean exhausted = false;
+
+	/**
+	 * Computes the next extension.
+	 * @return the next extension or null if there are no more extensions.
+	 */
+	protected abstract Extension computeNext();
+
+	/* (non-Javadoc)
+	 * @see java.util.Iterator#hasNext()
+	 */
+	@Override
+	public boolean hasNext() {
+		if(this.next == null && !this.exhausted) {
+			this.next = this.computeNext();
+			if(this.next == null) {
+				this.exhausted = true;
+				this.close();
+			}
+		}
+		return this.next != null;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.Iterator#next()
+	 */
+	@Override
+	public Extension next() {
+		if(!this.hasNext())
+			throw new NoSuchElementException();
+		Extension ext = this.next;
+		this.next = null;
+		return ext;
+	}
+
+	/**
+	 * Releases the resources of this iterator; this default implementation does nothing.
+	 * @see java.lang.AutoCloseable#close()
+	 */
+	@Override
+	public void close() {
+	}
+}
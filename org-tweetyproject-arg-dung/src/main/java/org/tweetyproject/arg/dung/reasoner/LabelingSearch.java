@@ -0,0 +1,321 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.dung.reasoner;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.tweetyproject.arg.dung.semantics.Extension;
+import org.tweetyproject.arg.dung.syntax.CompactDungTheory;
+
+/**
+ * A backtracking search for admissible or stable labelings of a Dung theory, in the style of
+ * the labeling algorithms of Nofal, Atkinson and Dunne. Every search state is a partial labeling
+ * where arguments are "in", "out" (attacked by an argument labeled "in"), "must out" (not "in" and
+ * still to be attacked by an argument labeled "in"), "undecided" (not "in") or blank. In every
+ * state some blank argument is labeled "in" in the first branch and excluded in the second
+ * one, followed by propagation:
+ * <ul>
+ * <li>arguments attacked by an argument labeled "in" are "out", blank or undecided attackers of
+ * 	an argument labeled "in" are "must out",</li>
+ * <li>a state is a dead end if some argument is "must out" but has no blank attacker left; if there is
+ *  exactly one blank attacker left, that attacker is labeled "in",</li>
+ * <li>blank arguments that are defended by the arguments labeled "in" (for stable labelings: blank arguments
+ * 	without blank attackers) are labeled "in", as they are contained in every complete extension extending
+ * 	the state; for admissible labelings, an undecided argument that is defended is a dead end, as
+ * 	all admissible sets found in that branch are not maximal.</li>
+ * </ul>
+ * When searching for stable labelings, excluded arguments are "must out" and every labeling without
+ * blank arguments yields a stable extension. When searching for admissible labelings, excluded arguments
+ * are undecided and every labeling without blank arguments yields an admissible set; all preferred
+ * extensions are among these sets. Subclasses can prune states by <code>isPruned(.)</code>, e.g. wrt. the
+ * maximal sets found so far.
+ * <br>
+ * <br>The search is depth-first, such that the number of states kept is bounded by the number of
+ * arguments, and the sets are computed on demand.
+ *
+ * @author Sebastian Franke
+ */
+class LabelingSearch extends ExtensionIterator {
+
+	/** Labels of arguments in partial labelings. */
+	private static final byte BLANK = 0;
+	private static final byte IN = 1;
+	private static final byte OUT = 2;
+	private static final byte UNDEC = 3;
+	private static final byte MUST_OUT = 4;
+
+	/** The theory. */
+	private CompactDungTheory aaf;
+	/** Whether stable labelings are searched for (otherwise admissible ones). */
+	private boolean stable;
+	/** The open states of the search. */
+	private Deque<byte[]> states = new ArrayDeque<byte[]>();
+	/** The arguments to be checked by the propagation. */
+	private int[] queue;
+	/** The number of arguments to be checked. */
+	private int size = 0;
+	/** Whether an argument is to be checked. */
+	private boolean[] queued;
+
+	/**
+	 * Creates a new search.
+	 * @param aaf some theory
+	 * @param stable whether stable labelings are searched for (otherwise admissible ones)
+	 */
+	LabelingSearch(CompactDungTheory aaf, boolean stable) {
+		this.aaf = aaf;
+		this.stable = stable;
+		int n = aaf.getNumberOfArguments();
+		this.queue = new int[n];
+		this.queued = new boolean[n];
+		byte[] labels = new byte[n];
+		for(int a = 0; a < n; a++) {
+			if(aaf.isAttackedBy(a, a))
+				labels[a] = this.stable ? MUST_OUT : UNDEC;
+			this.enqueue(a);
+		}
+		if(this.propagate(labels))
+			this.states.push(labels);
+	}
+
+	/**
+	 * Restricts the search to labelings where the given argument is labeled "in" (or excluded);
+	 * has to be called before the first set is computed.
+	 * @param a the id of some argument
+	 * @param in whether the argument is labeled "in"
+	 */
+	void assume(int a, boolean in) {
+		byte[] labels = this.states.poll();
+		if(labels == null)
+			return;
+		if(labels[a] == BLANK ? (in ? this.include(labels, a) : this.exclude(labels, a)) : (labels[a] == IN) == in)
+			this.states.push(labels);
+	}
+
+	/**
+	 * Computes the next set, i.e., the arguments labeled "in" in the next labeling without blank arguments.
+	 * @return the next set as a bitset or null if there are no more sets.
+	 */
+	long[] nextSet() {
+		while(!this.states.isEmpty()) {
+			byte[] labels = this.states.pop();
+			if(this.isPruned(labels))
+				continue;
+			int a = this.select(labels);
+			if(a == -1) {
+				long[] set = this.aaf.newBitSet();
+				for(int b = 0; b < labels.length; b++)
+					if(labels[b] == IN)
+						set[b >>> 6] |= 1L << b;
+				return set;
+			}
+			byte[] excluded = labels.clone();
+			if(this.exclude(excluded, a))
+				this.states.push(excluded);
+			if(this.include(labels, a))
+				this.states.push(labels);
+		}
+		return null;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.reasoner.ExtensionIterator#computeNext()
+	 */
+	@Override
+	protected Extension computeNext() {
+		long[] set = this.nextSet();
+		return set == null ? null : this.aaf.toExtension(set);
+	}
+
+	/**
+	 * Checks whether the search below the given state is to be skipped; this default
+	 * implementation prunes nothing.
+	 * @param labels some partial labeling
+	 * @return "true" iff the state is to be skipped.
+	 */
+	protected boolean isPruned(byte[] labels) {
+		return false;
+	}
+
+	/**
+	 * Returns the arguments that may be labeled "in" in some labeling below the given state, i.e.,
+	 * all arguments labeled "in" or blank.
+	 * @param labels some partial labeling
+	 * @return a bitset of the arguments labeled "in" or blank
+	 */
+	long[] getCandidates(byte[] labels) {
+		long[] set = this.aaf.newBitSet();
+		for(int a = 0; a < labels.length; a++)
+			if(labels[a] == IN || labels[a] == BLANK)
+				set[a >>> 6] |= 1L << a;
+		return set;
+	}
+
+	/**
+	 * Checks whether the first bitset is a subset of the second one.
+	 * @param set1 some bitset
+	 * @param set2 some bitset of the same length
+	 * @return "true" iff every element of set1 is contained in set2.
+	 */
+	static boolean isSubset(long[] set1, long[] set2) {
+		for(int w = 0; w < set1.length; w++)
+			if((set1[w] & ~set2[w]) != 0)
+				return false;
+		return true;
+	}
+
+	/**
+	 * Selects the blank argument to branch on, i.e., the one attacking most arguments not yet "out".
+	 * @param labels some partial labeling
+	 * @return the id of some blank argument or -1 if there is no blank argument.
+	 */
+	private int select(byte[] labels) {
+		int best = -1, max = -1;
+		for(int a = 0; a < labels.length; a++) {
+			if(labels[a] != BLANK)
+				continue;
+			int count = 0;
+			for(int k = 0; k < this.aaf.getNumberOfAttacked(a); k++)
+				if(labels[this.aaf.getAttacked(a, k)] != OUT)
+					count++;
+			if(count > max) {
+				best = a;
+				max = count;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Labels the given blank argument "in" and propagates.
+	 * @param labels some partial labeling (modified)
+	 * @param a some blank argument
+	 * @return "false" iff the resulting state is a dead end.
+	 */
+	private boolean include(byte[] labels, int a) {
+		this.setIn(labels, a);
+		return this.propagate(labels);
+	}
+
+	/**
+	 * Excludes the given blank argument and propagates.
+	 * @param labels some partial labeling (modified)
+	 * @param a some blank argument
+	 * @return "false" iff the resulting state is a dead end.
+	 */
+	private boolean exclude(byte[] labels, int a) {
+		labels[a] = this.stable ? MUST_OUT : UNDEC;
+		this.enqueue(a);
+		this.enqueueAttacked(a);
+		return this.propagate(labels);
+	}
+
+	/**
+	 * Labels the given blank argument "in" and updates its attackers and the arguments it attacks.
+	 * @param labels some partial labeling (modified)
+	 * @param a some blank argument
+	 */
+	private void setIn(byte[] labels, int a) {
+		labels[a] = IN;
+		for(int k = 0; k < this.aaf.getNumberOfAttacked(a); k++) {
+			int b = this.aaf.getAttacked(a, k);
+			if(labels[b] != OUT) {
+				labels[b] = OUT;
+				this.enqueueAttacked(b);
+			}
+		}
+		for(int k = 0; k < this.aaf.getNumberOfAttackers(a); k++) {
+			int b = this.aaf.getAttacker(a, k);
+			if(labels[b] == BLANK || labels[b] == UNDEC) {
+				labels[b] = MUST_OUT;
+				this.enqueue(b);
+				this.enqueueAttacked(b);
+			}
+		}
+	}
+
+	/**
+	 * Applies the propagation rules to all queued arguments until a fixpoint is reached.
+	 * @param labels some partial labeling (modified)
+	 * @return "false" iff the resulting state is a dead end.
+	 */
+	private boolean propagate(byte[] labels) {
+		while(this.size > 0) {
+			int a = this.queue[--this.size];
+			this.queued[a] = false;
+			if(labels[a] == MUST_OUT) {
+				int blank = -1, count = 0;
+				for(int k = 0; k < this.aaf.getNumberOfAttackers(a) && count < 2; k++)
+					if(labels[this.aaf.getAttacker(a, k)] == BLANK) {
+						blank = this.aaf.getAttacker(a, k);
+						count++;
+					}
+				if(count == 0) {
+					this.clearQueue();
+					return false;
+				}
+				if(count == 1)
+					this.setIn(labels, blank);
+			}else if(labels[a] == BLANK || labels[a] == UNDEC) {
+				boolean defended = true;
+				for(int k = 0; k < this.aaf.getNumberOfAttackers(a) && defended; k++) {
+					byte label = labels[this.aaf.getAttacker(a, k)];
+					defended = this.stable ? label != BLANK : label == OUT;
+				}
+				if(!defended)
+					continue;
+				if(labels[a] == UNDEC) {
+					this.clearQueue();
+					return false;
+				}
+				this.setIn(labels, a);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Queues the given argument for propagation.
+	 * @param a some argument
+	 */
+	private void enqueue(int a) {
+		if(!this.queued[a]) {
+			this.queued[a] = true;
+			this.queue[this.size++] = a;
+		}
+	}
+
+	/**
+	 * Queues all arguments attacked by the given one for propagation.
+	 * @param a some argument
+	 */
+	private void enqueueAttacked(int a) {
+		for(int k = 0; k < this.aaf.getNumberOfAttacked(a); k++)
+			this.enqueue(this.aaf.getAttacked(a, k));
+	}
+
+	/**
+	 * Removes all arguments from the queue.
+	 */
+	private void clearQueue() {
+		while(this.size > 0)
+			this.queued[this.queue[--this.size]] = false;
+	}
+}
@@ -23,13 +23,12 @@ import java.util.HashSet;
 import java.util.Map;
 
 import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.CompactDungTheory;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
-import org.tweetyproject.commons.InferenceMode;
 import org.tweetyproject.logics.pl.sat.SatSolver;
-import org.tweetyproject.logics.pl.semantics.PossibleWorld;
+import org.tweetyproject.logics.pl.sat.SatSolverSession;
 import org.tweetyproject.logics.pl.syntax.Conjunction;
 import org.tweetyproject.logics.pl.syntax.Disjunction;
-import org.tweetyproject.logics.pl.syntax.Negation;
 import org.tweetyproject.logics.pl.syntax.PlBeliefSet;
 import org.tweetyproject.logics.pl.syntax.Proposition;
 import org.tweetyproject.logics.pl.syntax.PlFormula;
@@ -81,24 +80,35 @@ public class SatCompleteReasoner  extends AbstractSatExtensionReasoner {
 	}
 	
 	/* (non-Javadoc)
-	 * @see org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner#query(org.tweetyproject.arg.dung.syntax.DungTheory,org.tweetyproject.arg.dung.syntax.Argument,org.tweetyproject.commons.InferenceMode)
+	 * @see org.tweetyproject.arg.dung.reasoner.AbstractSatExtensionReasoner#encode(org.tweetyproject.arg.dung.syntax.CompactDungTheory, org.tweetyproject.logics.pl.sat.SatSolverSession)
 	 */
 	@Override
-	public Boolean query(DungTheory beliefbase, Argument formula, InferenceMode inferenceMode) {
-		if(inferenceMode.equals(InferenceMode.SKEPTICAL)){
-			PlBeliefSet prop = this.getPropositionalCharacterisation(beliefbase);
-			prop.add(new Negation(new Proposition("in_" + formula.getName())));
-			PossibleWorld w = (PossibleWorld) super.solver.getWitness(prop);
-			if(w == null)
-				return true;
-			return false;
+	protected void encode(CompactDungTheory aaf, SatSolverSession session) {
+		for(int a = 0; a < aaf.getNumberOfArguments(); a++) {
+			// for every argument exactly one of in/out/undec is true
+			session.addClause(in(a), out(a), undec(a));
+			session.addClause(-in(a), -out(a));
+			session.addClause(-in(a), -undec(a));
+			session.addClause(-out(a), -undec(a));
+			int n = aaf.getNumberOfAttackers(a);
+			if(n == 0) {
+				session.addClause(in(a));
+				continue;
+			}
+			// out iff some attacker is in, in iff all attackers are out
+			int[] outClause = new int[n+1];
+			int[] undecClause = new int[n+1];
+			outClause[0] = -out(a);
+			undecClause[0] = -undec(a);
+			for(int k = 0; k < n; k++) {
+				int b = aaf.getAttacker(a, k);
+				outClause[k+1] = in(b);
+				undecClause[k+1] = -out(b);
+				session.addClause(-in(a), out(b));
+				session.addClause(-undec(a), -in(b));
+			}
+			session.addClause(outClause);
+			session.addClause(undecClause);
 		}
-		// so its credulous semantics
-		PlBeliefSet prop = this.getPropositionalCharacterisation(beliefbase);
-		prop.add(new Proposition("in_" + formula.getName()));
-		PossibleWorld w = (PossibleWorld) super.solver.getWitness(prop);
-		if(w == null)
-			return false;
-		return true;
 	}
 }
@@ -0,0 +1,247 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.dung.reasoner;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.tweetyproject.arg.dung.semantics.Extension;
+import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.CompactDungTheory;
+import org.tweetyproject.arg.dung.syntax.DungTheory;
+import org.tweetyproject.commons.InferenceMode;
+import org.tweetyproject.logics.pl.sat.SatSolver;
+import org.tweetyproject.logics.pl.sat.SatSolverSession;
+import org.tweetyproject.logics.pl.syntax.PlBeliefSet;
+import org.tweetyproject.logics.pl.syntax.Proposition;
+
+/**
+ * Uses a SAT solver to determine preferred extensions, i.e., the maximal complete
+ * extensions. Preferred extensions are found by repeatedly asking the solver for
+ * complete extensions that strictly extend the last one. Acceptance queries are answered
+ * by counterexample guided abstraction refinement (CEGAR): credulous acceptance needs a
+ * single call (an argument is credulously accepted wrt. preferred semantics iff it is
+ * credulously accepted wrt. complete semantics), skeptical acceptance iterates over
+ * candidate counterexamples and refines the search space after each spurious one, so
+ * neither requires the enumeration of all preferred extensions.
+ *
+ * @author Sebastian Franke
+ */
+public class SatPreferredReasoner extends AbstractSatExtensionReasoner {
+
+	/** The reasoner providing the encoding of complete labelings. */
+	private SatCompleteReasoner complete;
+
+	/**
+	 * Constructs a new preferred reasoner.
+	 * @param solver the SAT solver this reasoner uses.
+	 */
+	public SatPreferredReasoner(SatSolver solver) {
+		super(solver);
+		this.complete = new SatCompleteReasoner(solver);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.reasoner.AbstractSatExtensionReasoner#getModels(org.tweetyproject.arg.dung.syntax.DungTheory)
+	 */
+	@Override
+	public Collection<Extension> getModels(DungTheory bbase) {
+		return AbstractExtensionReasoner.collect(this.getModelIterator(bbase));
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.reasoner.AbstractSatExtensionReasoner#getModelIterator(org.tweetyproject.arg.dung.syntax.DungTheory)
+	 */
+	@Override
+	public ExtensionIterator getModelIterator(DungTheory bbase) {
+		CompactDungTheory aaf = CompactDungTheory.compile(bbase);
+		SatSolverSession session = this.solver.createSession();
+		this.encode(aaf, session);
+		return new ExtensionIterator() {
+			private boolean blocked = false;
+			@Override
+			protected Extension computeNext() {
+				// every complete extension that is no subset of a preferred extension found
+				// so far extends to a new preferred extension
+				if(this.blocked || !session.solve())
+					return null;
+				boolean[] ext = SatPreferredReasoner.this.getValues(aaf, session);
+				session.push();
+				SatPreferredReasoner.this.maximise(aaf, session, ext);
+				session.pop();
+				int[] clause = SatPreferredReasoner.this.getSupersetClause(ext);
+				if(clause.length == 0)
+					this.blocked = true;
+				else session.addClause(clause);
+				return SatPreferredReasoner.this.toExtension(aaf, ext);
+			}
+			@Override
+			public void close() {
+				session.close();
+			}
+		};
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.reasoner.AbstractSatExtensionReasoner#getModel(org.tweetyproject.arg.dung.syntax.DungTheory)
+	 */
+	@Override
+	public Extension getModel(DungTheory bbase) {
+		CompactDungTheory aaf = CompactDungTheory.compile(bbase);
+		try(SatSolverSession session = this.solver.createSession()){
+			this.encode(aaf, session);
+			// there is always a complete extension
+			session.solve();
+			boolean[] ext = this.getValues(aaf, session);
+			session.push();
+			this.maximise(aaf, session, ext);
+			session.pop();
+			return this.toExtension(aaf, ext);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.reasoner.AbstractSatExtensionReasoner#getAcceptanceWitness(org.tweetyproject.arg.dung.syntax.DungTheory, org.tweetyproject.arg.dung.syntax.Argument, org.tweetyproject.commons.InferenceMode)
+	 */
+	@Override
+	public Extension getAcceptanceWitness(DungTheory beliefbase, Argument formula, InferenceMode inferenceMode) {
+		CompactDungTheory aaf = CompactDungTheory.compile(beliefbase);
+		int id = aaf.getId(formula);
+		if(id == -1)
+			return inferenceMode.equals(InferenceMode.SKEPTICAL) ? this.getModel(beliefbase) : null;
+		try(SatSolverSession session = this.solver.createSession()){
+			this.encode(aaf, session);
+			if(inferenceMode.equals(InferenceMode.CREDULOUS)) {
+				// every complete extension containing the argument extends to a preferred one
+				if(!session.solve(AbstractSatExtensionReasoner.in(id)))
+					return null;
+				boolean[] ext = this.getValues(aaf, session);
+				session.push();
+				this.maximise(aaf, session, ext);
+				session.pop();
+				return this.toExtension(aaf, ext);
+			}
+			// skeptical: look for a preferred extension without the argument
+			while(session.solve(-AbstractSatExtensionReasoner.in(id))) {
+				// extend the candidate to a maximal complete extension without the argument...
+				boolean[] ext = this.getValues(aaf, session);
+				session.push();
+				this.maximise(aaf, session, ext, -AbstractSatExtensionReasoner.in(id));
+				// ...which is a counterexample iff no complete extension strictly extends it
+				boolean preferred = !session.solve();
+				session.pop();
+				if(preferred)
+					return this.toExtension(aaf, ext);
+				// refinement: neither the candidate nor any of its subsets is preferred
+				session.addClause(this.getSupersetClause(ext));
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Extends the given complete extension to a maximal complete extension (under the given
+	 * assumptions) by adding clauses to the current group of clauses of the session.
+	 * @param aaf a compact Dung theory
+	 * @param session a session with an open group of clauses
+	 * @param ext the arguments of a complete extension, the array is modified to represent the result.
+	 * @param assumptions some assumptions
+	 */
+	private void maximise(CompactDungTheory aaf, SatSolverSession session, boolean[] ext, int... assumptions) {
+		boolean[] fixed = new boolean[ext.length];
+		while(true) {
+			for(int i = 0; i < ext.length; i++)
+				if(ext[i] && !fixed[i]) {
+					session.addClause(AbstractSatExtensionReasoner.in(i));
+					fixed[i] = true;
+				}
+			int[] clause = this.getSupersetClause(ext);
+			if(clause.length == 0)
+				return;
+			session.addClause(clause);
+			if(!session.solve(assumptions))
+				return;
+			for(int i = 0; i < ext.length; i++)
+				ext[i] = session.getValue(AbstractSatExtensionReasoner.in(i));
+		}
+	}
+
+	/**
+	 * Returns the clause stating that some argument not in the given set is "in".
+	 * @param ext a set of arguments
+	 * @return a clause in Dimacs representation
+	 */
+	private int[] getSupersetClause(boolean[] ext) {
+		int n = 0;
+		for(boolean b: ext)
+			if(!b)
+				n++;
+		int[] clause = new int[n];
+		for(int i = 0, k = 0; i < ext.length; i++)
+			if(!ext[i])
+				clause[k++] = AbstractSatExtensionReasoner.in(i);
+		return clause;
+	}
+
+	/**
+	 * Returns the arguments labeled "in" in the last model of the given session.
+	 * @param aaf a compact Dung theory
+	 * @param session a session after a successful call to <code>solve(.)</code>
+	 * @return the arguments labeled "in", indexed by id.
+	 */
+	private boolean[] getValues(CompactDungTheory aaf, SatSolverSession session) {
+		boolean[] ext = new boolean[aaf.getNumberOfArguments()];
+		for(int i = 0; i < ext.length; i++)
+			ext[i] = session.getValue(AbstractSatExtensionReasoner.in(i));
+		return ext;
+	}
+
+	/**
+	 * Returns the extension of the given set of arguments.
+	 * @param aaf a compact Dung theory
+	 * @param ext a set of arguments, indexed by id
+	 * @return an extension
+	 */
+	private Extension toExtension(CompactDungTheory aaf, boolean[] ext) {
+		Extension result = new Extension();
+		for(int i = 0; i < ext.length; i++)
+			if(ext[i])
+				result.add(aaf.getArgument(i));
+		return result;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.reasoner.AbstractSatExtensionReasoner#encode(org.tweetyproject.arg.dung.syntax.CompactDungTheory, org.tweetyproject.logics.pl.sat.SatSolverSession)
+	 */
+	@Override
+	protected void encode(CompactDungTheory aaf, SatSolverSession session) {
+		this.complete.encode(aaf, session);
+	}
+
+	/**
+	 * Returns the characterisation of complete labelings (see {@link SatCompleteReasoner}); the
+	 * preferred labelings are those whose "in" arguments are maximal among its models.
+	 * Preferred semantics has no polynomial propositional characterisation in general.
+	 * @see org.tweetyproject.arg.dung.reasoner.AbstractSatExtensionReasoner#getPropositionalCharacterisationBySemantics(org.tweetyproject.arg.dung.syntax.DungTheory, java.util.Map, java.util.Map, java.util.Map)
+	 */
+	@Override
+	protected PlBeliefSet getPropositionalCharacterisationBySemantics(DungTheory aaf, Map<Argument, Proposition> in, Map<Argument, Proposition> out, Map<Argument, Proposition> undec) {
+		return this.complete.getPropositionalCharacterisationBySemantics(aaf, in, out, undec);
+	}
+}
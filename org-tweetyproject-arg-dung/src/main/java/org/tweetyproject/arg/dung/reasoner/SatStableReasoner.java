@@ -21,8 +21,10 @@ package org.tweetyproject.arg.dung.reasoner;
 import java.util.Map;
 
 import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.CompactDungTheory;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
 import org.tweetyproject.logics.pl.sat.SatSolver;
+import org.tweetyproject.logics.pl.sat.SatSolverSession;
 import org.tweetyproject.logics.pl.syntax.Contradiction;
 import org.tweetyproject.logics.pl.syntax.PlBeliefSet;
 import org.tweetyproject.logics.pl.syntax.Proposition;
@@ -71,4 +73,27 @@ public class SatStableReasoner extends AbstractSatExtensionReasoner{
 		}
 		return beliefSet;
 	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.reasoner.AbstractSatExtensionReasoner#encode(org.tweetyproject.arg.dung.syntax.CompactDungTheory, org.tweetyproject.logics.pl.sat.SatSolverSession)
+	 */
+	@Override
+	protected void encode(CompactDungTheory aaf, SatSolverSession session) {
+		for(int a = 0; a < aaf.getNumberOfArguments(); a++) {
+			// every argument is either in or out, but not undecided
+			session.addClause(in(a), out(a));
+			session.addClause(-in(a), -out(a));
+			session.addClause(-undec(a));
+			// out iff some attacker is in, in iff all attackers are out
+			int n = aaf.getNumberOfAttackers(a);
+			int[] outClause = new int[n+1];
+			outClause[0] = -out(a);
+			for(int k = 0; k < n; k++) {
+				int b = aaf.getAttacker(a, k);
+				outClause[k+1] = in(b);
+				session.addClause(-in(a), out(b));
+			}
+			session.addClause(outClause);
+		}
+	}
 }
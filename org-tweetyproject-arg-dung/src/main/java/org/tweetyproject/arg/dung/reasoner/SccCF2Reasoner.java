@@ -24,6 +24,7 @@ import org.tweetyproject.arg.dung.syntax.Argument;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Reasoner for CF2 extensions using scc-recursiveness.
@@ -34,96 +35,54 @@ import java.util.*;
  * @author Lars Bengel
  */
 public class SccCF2Reasoner extends AbstractExtensionReasoner {
+
+    /** The scheduler evaluating the SCCs */
+    private SccScheduler scheduler;
+
+    /**
+     * Creates a new reasoner that evaluates SCCs on the common pool.
+     */
+    public SccCF2Reasoner() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new reasoner that evaluates SCCs on the given pool.
+     * @param pool some fork/join pool
+     */
+    public SccCF2Reasoner(ForkJoinPool pool) {
+        this.scheduler = new SccScheduler(pool);
+    }
+
     @Override
     public Collection<Extension> getModels(DungTheory bbase) {
-        List<Collection<Argument>> sccs = new ArrayList<Collection<Argument>>(bbase.getStronglyConnectedComponents());
-        // order SCCs in a DAG
-        boolean[][] dag = new boolean[sccs.size()][sccs.size()];
-        for(int i = 0; i < sccs.size(); i++){
-            dag[i] = new boolean[sccs.size()];
-            Arrays.fill(dag[i], false);
-        }
-        for(int i = 0; i < sccs.size(); i++)
-            for(int j = 0; j < sccs.size(); j++)
-                if(i != j)
-                    if(bbase.isAttacked(new Extension(sccs.get(i)), new Extension(sccs.get(j))))
-                        dag[i][j] = true;
-        // order SCCs topologically
-        List<Collection<Argument>> sccs_ordered = new ArrayList<Collection<Argument>>();
-        while(sccs_ordered.size() < sccs.size()){
-            for(int i = 0; i < sccs.size();i++){
-                if(sccs_ordered.contains(sccs.get(i)))
-                    continue;
-                boolean isNull = true;
-                for(int j = 0; j < sccs.size(); j++)
-                    if(dag[i][j]){
-                        isNull = false;
-                        break;
-                    }
-                if(isNull){
-                    sccs_ordered.add(sccs.get(i));
-                    for(int j = 0; j < sccs.size(); j++)
-                        dag[j][i] = false;
-                }
-            }
-        }
-        return this.computeExtensionsViaSccs(bbase, sccs_ordered, 0, new HashSet<Argument>(), new HashSet<Argument>(), new HashSet<Argument>());
+        return this.scheduler.getModels(bbase, this::getLocalModels);
     }
 
     @Override
-    public Extension getModel(DungTheory bbase) {
-        Collection<Extension> extensions = this.getModels(bbase);
-        return extensions.iterator().next();
+    public ExtensionIterator getModelIterator(DungTheory bbase) {
+        return this.scheduler.getModelIterator(bbase, this::getLocalModels);
     }
 
     /**
-     * Computes extensions recursively following the SCC structure.
-     * @param theory the theory
-     * @param sccs all SCCs topologically sorted
-     * @param idx the current SCC to be processed
-     * @param in all arguments currently in
-     * @param out all arguments currently out
-     * @param undec all arguments currently undecided
-     * @return the set of extensions
+     * Computes the CF2 extensions of a single SCC.
+     * @param scc the theory of some SCC
+     * @param out the arguments of the SCC attacked by arguments labeled "in"
+     * @param undec the remaining arguments of the SCC attacked by arguments labeled "undecided"
+     * @return the extensions of the SCC
      */
-    private Set<Extension> computeExtensionsViaSccs(DungTheory theory, List<Collection<Argument>> sccs, int idx, Collection<Argument> in, Collection<Argument> out, Collection<Argument> undec) {
-        if (idx >= sccs.size()) {
-            Set<Extension> result = new HashSet<Extension>();
-            result.add(new Extension(in));
-            return result;
-        }
-
-        // construct theory
-        DungTheory subTheory = (DungTheory) theory.getRestriction(sccs.get(idx));
+    private Collection<Extension> getLocalModels(DungTheory scc, Collection<Argument> out, Collection<Argument> undec) {
         // remove all out arguments
-        subTheory.removeAll(out);
-
-        Collection<Collection<Argument>> subSccs = subTheory.getStronglyConnectedComponents();
-        Collection<Extension> subExts;
-        if (!out.isEmpty() && subSccs.size() > 1) {
-            subExts = this.getModels(subTheory);
-        } else {
-            // compute naive extensions of sub theory(scc)
-            subExts = new SimpleNaiveReasoner().getModels(subTheory);
-        }
-
-        Set<Extension> result = new HashSet<Extension>();
-        Collection<Argument> new_in, new_out, new_undec, attacked;
-        for(Extension ext: subExts){
-            new_in = new HashSet<Argument>(in);
-            new_out = new HashSet<Argument>(out);
-            new_undec = new HashSet<Argument>(undec);
-            attacked= new HashSet<Argument>();
-            new_in.addAll(ext);
-            for(Argument a: ext)
-                attacked.addAll(theory.getAttacked(a));
-            new_out.addAll(attacked);
-            for(Argument a: subTheory)
-                if(!ext.contains(a) && !attacked.contains(a))
-                    new_undec.add(a);
+        scc.removeAll(out);
+        if (!out.isEmpty() && scc.getStronglyConnectedComponents().size() > 1)
+            return this.getModels(scc);
+        // compute naive extensions of sub theory(scc)
+        return new SimpleNaiveReasoner().getModels(scc);
+    }
 
-            result.addAll(this.computeExtensionsViaSccs(theory, sccs, idx+1, new_in, new_out, new_undec));
-        }
-        return result;
+    @Override
+    public Extension getModel(DungTheory bbase) {
+        Collection<Extension> extensions = this.getModels(bbase);
+        return extensions.iterator().next();
     }
 }
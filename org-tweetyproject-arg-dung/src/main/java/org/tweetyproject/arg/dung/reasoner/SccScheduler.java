@@ -0,0 +1,498 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.dung.reasoner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import org.tweetyproject.arg.dung.semantics.Extension;
+import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.Attack;
+import org.tweetyproject.arg.dung.syntax.CompactDungTheory;
+import org.tweetyproject.arg.dung.syntax.DungTheory;
+
+/**
+ * Evaluates SCC-recursive semantics along the DAG of strongly connected components (SCCs)
+ * of a Dung theory. The condensation of the theory is computed in linear time and the SCCs
+ * are processed in topological order, where the labelings of every SCC are determined by
+ * a local reasoner given the labels of the arguments attacking it from outside.
+ * <br>
+ * <br>Local labelings are computed at most once for every SCC and every labeling of its
+ * outside attackers and are shared between all partial labelings of the theory; in particular,
+ * the local labelings of independent SCCs are not recomputed for every combination of
+ * the labelings of other SCCs. Whenever an SCC has more than one local labeling, the
+ * alternatives are evaluated in parallel on a {@link ForkJoinPool}; partial labelings are
+ * copied only at these branching points. The SCCs without outside attackers are
+ * evaluated in parallel upfront.
+ * <br>
+ * <br>Local reasoners are called concurrently and have to be thread-safe.
+ *
+ * @author Sebastian Franke
+ */
+public class SccScheduler {
+
+	/** Labels of arguments in partial labelings. */
+	private static final byte IN = 1;
+	private static final byte OUT = 2;
+	private static final byte UNDEC = 3;
+
+	/**
+	 * Computes the local extensions of a single SCC.
+	 */
+	public interface LocalReasoner {
+		/**
+		 * Returns the extensions of the given SCC wrt. the given labels of its outside attackers.
+		 * @param scc the restriction of the theory to the arguments of some SCC (may be modified)
+		 * @param out the arguments of the SCC that are attacked by some argument labeled "in"
+		 * @param undecided the remaining arguments of the SCC that are attacked by some argument
+		 * 	labeled "undecided"
+		 * @return the extensions of the SCC, i.e., sets of arguments of the SCC labeled "in".
+		 */
+		Collection<Extension> getModels(DungTheory scc, Collection<Argument> out, Collection<Argument> undecided);
+	}
+
+	/** The pool evaluating the SCCs. */
+	private ForkJoinPool pool;
+
+	/**
+	 * Creates a new scheduler using the common pool.
+	 */
+	public SccScheduler() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a new scheduler using the given pool.
+	 * @param pool some fork/join pool
+	 */
+	public SccScheduler(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Computes the extensions of the given theory where the extensions of every SCC
+	 * are given by the local reasoner.
+	 * @param theory some Dung theory
+	 * @param local a reasoner for single SCCs
+	 * @return the set of extensions
+	 */
+	public Collection<Extension> getModels(DungTheory theory, LocalReasoner local) {
+		Evaluation eval = new Evaluation(CompactDungTheory.compile(theory), local);
+		this.pool.invoke(eval);
+		return new HashSet<Extension>(eval.extensions);
+	}
+
+	/**
+	 * Returns an iterator over the extensions of the given theory where the extensions of every
+	 * SCC are given by the local reasoner. Extensions are computed on demand by a sequential
+	 * depth-first search over the local labelings; local labelings are memoised as in
+	 * <code>getModels(.,.)</code>.
+	 * @param theory some Dung theory
+	 * @param local a reasoner for single SCCs
+	 * @return an iterator over the extensions
+	 */
+	public ExtensionIterator getModelIterator(DungTheory theory, LocalReasoner local) {
+		Evaluation eval = new Evaluation(CompactDungTheory.compile(theory), local);
+		int k = eval.members.length;
+		return new ExtensionIterator() {
+			/** The partial labeling. */
+			private byte[] labels = new byte[eval.aaf.getNumberOfArguments()];
+			/** The local labelings of the SCCs labeled so far. */
+			private byte[][][] options = new byte[k][][];
+			/** The index of the next local labeling of every SCC labeled so far. */
+			private int[] choices = new int[k];
+			/** The next SCC to be labeled. */
+			private int depth = 0;
+			@Override
+			protected Extension computeNext() {
+				while(this.depth >= 0) {
+					if(this.depth == k) {
+						// continue with the next local labeling of the last SCC
+						this.depth--;
+						return eval.toExtension(this.labels);
+					}
+					if(this.options[this.depth] == null) {
+						this.options[this.depth] = eval.getLabelings(this.depth, this.labels);
+						this.choices[this.depth] = 0;
+					}
+					if(this.choices[this.depth] < this.options[this.depth].length) {
+						eval.apply(this.labels, this.depth, this.options[this.depth][this.choices[this.depth]++]);
+						this.depth++;
+					}else {
+						this.options[this.depth] = null;
+						this.depth--;
+					}
+				}
+				return null;
+			}
+		};
+	}
+
+	/**
+	 * Returns the SCCs of the given theory in topological order, i.e., every SCC
+	 * precedes all SCCs it attacks.
+	 * @param theory some Dung theory
+	 * @return the SCCs of the theory in topological order
+	 */
+	public static List<Collection<Argument>> getOrderedComponents(DungTheory theory) {
+		CompactDungTheory aaf = CompactDungTheory.compile(theory);
+		int[][] sccs = SccScheduler.getMembers(SccScheduler.getComponents(aaf));
+		List<Collection<Argument>> result = new ArrayList<Collection<Argument>>(sccs.length);
+		for(int[] scc: sccs) {
+			Collection<Argument> c = new HashSet<Argument>();
+			for(int a: scc)
+				c.add(aaf.getArgument(a));
+			result.add(c);
+		}
+		return result;
+	}
+
+	/**
+	 * Computes the SCCs of the given theory in linear time (Tarjan's algorithm without recursion).
+	 * @param aaf a compact Dung theory
+	 * @return the SCC of every argument (indexed by id); SCCs are numbered in topological
+	 * 	order, i.e., if a attacks b then the SCC of a is smaller than or equal to the SCC of b.
+	 */
+	public static int[] getComponents(CompactDungTheory aaf) {
+		int n = aaf.getNumberOfArguments();
+		int[] index = new int[n];
+		int[] low = new int[n];
+		int[] next = new int[n];
+		int[] component = new int[n];
+		boolean[] onStack = new boolean[n];
+		int[] stack = new int[n];
+		int[] calls = new int[n];
+		Arrays.fill(index, -1);
+		int sp = 0, counter = 0, components = 0;
+		for(int s = 0; s < n; s++) {
+			if(index[s] != -1)
+				continue;
+			int cp = 0;
+			calls[cp++] = s;
+			index[s] = low[s] = counter++;
+			stack[sp++] = s;
+			onStack[s] = true;
+			while(cp > 0) {
+				int v = calls[cp - 1];
+				if(next[v] < aaf.getNumberOfAttacked(v)) {
+					int w = aaf.getAttacked(v, next[v]++);
+					if(index[w] == -1) {
+						index[w] = low[w] = counter++;
+						stack[sp++] = w;
+						onStack[w] = true;
+						calls[cp++] = w;
+					}else if(onStack[w])
+						low[v] = Math.min(low[v], index[w]);
+					continue;
+				}
+				cp--;
+				if(cp > 0)
+					low[calls[cp - 1]] = Math.min(low[calls[cp - 1]], low[v]);
+				if(low[v] == index[v]) {
+					int w;
+					do {
+						w = stack[--sp];
+						onStack[w] = false;
+						component[w] = components;
+					}while(w != v);
+					components++;
+				}
+			}
+		}
+		// SCCs are completed after all SCCs reachable from them
+		for(int i = 0; i < n; i++)
+			component[i] = components - 1 - component[i];
+		return component;
+	}
+
+	/**
+	 * Returns the members of every SCC.
+	 * @param component the SCC of every argument
+	 * @return the ids of the arguments of every SCC
+	 */
+	private static int[][] getMembers(int[] component) {
+		int k = 0;
+		for(int c: component)
+			k = Math.max(k, c + 1);
+		int[] sizes = new int[k];
+		for(int c: component)
+			sizes[c]++;
+		int[][] members = new int[k][];
+		for(int c = 0; c < k; c++)
+			members[c] = new int[sizes[c]];
+		Arrays.fill(sizes, 0);
+		for(int a = 0; a < component.length; a++)
+			members[component[a]][sizes[component[a]]++] = a;
+		return members;
+	}
+
+	/**
+	 * The evaluation of a single theory.
+	 */
+	private static class Evaluation extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		/** The theory. */
+		private CompactDungTheory aaf;
+		/** The local reasoner. */
+		private LocalReasoner local;
+		/** The SCC of every argument. */
+		private int[] component;
+		/** The members of every SCC in topological order. */
+		private int[][] members;
+		/** The local labelings of every SCC by the labels of its outside attackers. */
+		private List<Map<Context,byte[][]>> labelings;
+		/** The extensions found so far. */
+		private Queue<Extension> extensions = new ConcurrentLinkedQueue<Extension>();
+
+		/**
+		 * Creates a new evaluation.
+		 * @param aaf some theory
+		 * @param local a local reasoner
+		 */
+		private Evaluation(CompactDungTheory aaf, LocalReasoner local) {
+			this.aaf = aaf;
+			this.local = local;
+			this.component = SccScheduler.getComponents(aaf);
+			this.members = SccScheduler.getMembers(this.component);
+			this.labelings = new ArrayList<Map<Context,byte[][]>>(this.members.length);
+			for(int i = 0; i < this.members.length; i++)
+				this.labelings.add(new ConcurrentHashMap<Context,byte[][]>());
+		}
+
+		/* (non-Javadoc)
+		 * @see java.util.concurrent.RecursiveAction#compute()
+		 */
+		@Override
+		protected void compute() {
+			byte[] labels = new byte[this.aaf.getNumberOfArguments()];
+			// the labelings of SCCs without outside attackers do not depend on other SCCs
+			List<ForkJoinTask<?>> sources = new ArrayList<ForkJoinTask<?>>();
+			for(int i = 0; i < this.members.length; i++) {
+				boolean source = true;
+				for(int a: this.members[i])
+					for(int k = 0; k < this.aaf.getNumberOfAttackers(a) && source; k++)
+						source = this.component[this.aaf.getAttacker(a, k)] == i;
+				if(source) {
+					int scc = i;
+					sources.add(ForkJoinTask.adapt(() -> this.getLabelings(scc, labels)));
+				}
+			}
+			if(sources.size() > 1)
+				ForkJoinTask.invokeAll(sources);
+			new Branch(this, labels, 0).compute();
+		}
+
+		/**
+		 * Returns the local labelings of the given SCC wrt. the given partial labeling.
+		 * @param scc some SCC
+		 * @param labels a partial labeling where all SCCs attacking the given one are labeled
+		 * @return the local labelings of the arguments of the SCC (in the order of its members)
+		 */
+		private byte[][] getLabelings(int scc, byte[] labels) {
+			int[] members = this.members[scc];
+			byte[] context = new byte[members.length];
+			for(int i = 0; i < members.length; i++)
+				for(int k = 0; k < this.aaf.getNumberOfAttackers(members[i]); k++) {
+					int b = this.aaf.getAttacker(members[i], k);
+					if(this.component[b] == scc)
+						continue;
+					if(labels[b] == IN) {
+						context[i] = OUT;
+						break;
+					}
+					if(labels[b] == UNDEC)
+						context[i] = UNDEC;
+				}
+			Context key = new Context(context);
+			byte[][] result = this.labelings.get(scc).get(key);
+			if(result != null)
+				return result;
+			result = this.computeLabelings(scc, context);
+			byte[][] previous = this.labelings.get(scc).putIfAbsent(key, result);
+			return previous == null ? result : previous;
+		}
+
+		/**
+		 * Computes the local labelings of the given SCC by the local reasoner.
+		 * @param scc some SCC
+		 * @param context the labels of the arguments of the SCC induced by the outside attackers
+		 * @return the local labelings of the arguments of the SCC (in the order of its members)
+		 */
+		private byte[][] computeLabelings(int scc, byte[] context) {
+			int[] members = this.members[scc];
+			DungTheory theory = new DungTheory();
+			Collection<Argument> out = new HashSet<Argument>();
+			Collection<Argument> undecided = new HashSet<Argument>();
+			for(int i = 0; i < members.length; i++) {
+				Argument a = this.aaf.getArgument(members[i]);
+				theory.add(a);
+				if(context[i] == OUT)
+					out.add(a);
+				else if(context[i] == UNDEC)
+					undecided.add(a);
+			}
+			for(int a: members)
+				for(int k = 0; k < this.aaf.getNumberOfAttacked(a); k++) {
+					int b = this.aaf.getAttacked(a, k);
+					if(this.component[b] == scc)
+						theory.add(new Attack(this.aaf.getArgument(a), this.aaf.getArgument(b)));
+				}
+			Collection<Extension> exts = this.local.getModels(theory, out, undecided);
+			byte[][] result = new byte[exts.size()][];
+			int j = 0;
+			for(Extension ext: exts) {
+				byte[] labeling = new byte[members.length];
+				for(int i = 0; i < members.length; i++)
+					if(ext.contains(this.aaf.getArgument(members[i])))
+						labeling[i] = IN;
+				// arguments attacked by an argument labeled "in" are out, the remaining ones undecided
+				for(int i = 0; i < members.length; i++) {
+					if(labeling[i] == IN)
+						continue;
+					labeling[i] = context[i] == OUT ? OUT : UNDEC;
+					for(int k = 0; k < this.aaf.getNumberOfAttackers(members[i]) && labeling[i] == UNDEC; k++) {
+						int b = this.aaf.getAttacker(members[i], k);
+						if(this.component[b] == scc && ext.contains(this.aaf.getArgument(b)))
+							labeling[i] = OUT;
+					}
+				}
+				result[j++] = labeling;
+			}
+			return result;
+		}
+
+		/**
+		 * Applies the given local labeling of the given SCC to the given partial labeling.
+		 * @param labels a partial labeling
+		 * @param scc some SCC
+		 * @param labeling a local labeling of the SCC
+		 */
+		private void apply(byte[] labels, int scc, byte[] labeling) {
+			int[] members = this.members[scc];
+			for(int i = 0; i < members.length; i++)
+				labels[members[i]] = labeling[i];
+		}
+
+		/**
+		 * Returns the extension of the given labeling.
+		 * @param labels some labeling
+		 * @return the arguments labeled "in"
+		 */
+		private Extension toExtension(byte[] labels) {
+			Extension ext = new Extension();
+			for(int a = 0; a < labels.length; a++)
+				if(labels[a] == IN)
+					ext.add(this.aaf.getArgument(a));
+			return ext;
+		}
+	}
+
+	/**
+	 * Extends a partial labeling, in which all SCCs before some SCC are labeled, in all possible ways.
+	 */
+	private static class Branch extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		/** The evaluation. */
+		private Evaluation eval;
+		/** The partial labeling, owned by this branch. */
+		private byte[] labels;
+		/** The next SCC to be labeled. */
+		private int scc;
+
+		/**
+		 * Creates a new branch.
+		 * @param eval the evaluation
+		 * @param labels a partial labeling
+		 * @param scc the next SCC to be labeled
+		 */
+		private Branch(Evaluation eval, byte[] labels, int scc) {
+			this.eval = eval;
+			this.labels = labels;
+			this.scc = scc;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.util.concurrent.RecursiveAction#compute()
+		 */
+		@Override
+		protected void compute() {
+			List<Branch> forked = new ArrayList<Branch>();
+			for(; this.scc < this.eval.members.length; this.scc++) {
+				byte[][] labelings = this.eval.getLabelings(this.scc, this.labels);
+				if(labelings.length == 0)
+					break;
+				// alternatives are continued by new branches on copies of the partial labeling
+				for(int j = 1; j < labelings.length; j++) {
+					Branch b = new Branch(this.eval, Arrays.copyOf(this.labels, this.labels.length), this.scc + 1);
+					this.eval.apply(b.labels, this.scc, labelings[j]);
+					b.fork();
+					forked.add(b);
+				}
+				this.eval.apply(this.labels, this.scc, labelings[0]);
+			}
+			if(this.scc == this.eval.members.length)
+				this.eval.extensions.add(this.eval.toExtension(this.labels));
+			for(Branch b: forked)
+				b.join();
+		}
+	}
+
+	/**
+	 * The labels of the arguments of an SCC induced by its outside attackers.
+	 */
+	private static class Context {
+		/** The labels. */
+		private byte[] labels;
+
+		/**
+		 * Creates a new context.
+		 * @param labels some labels
+		 */
+		private Context(byte[] labels) {
+			this.labels = labels;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(this.labels);
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Context && Arrays.equals(((Context) obj).labels, this.labels);
+		}
+	}
+}
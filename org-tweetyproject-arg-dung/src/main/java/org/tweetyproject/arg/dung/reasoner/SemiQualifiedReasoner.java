@@ -47,37 +47,8 @@ public class SemiQualifiedReasoner extends AbstractExtensionReasoner {
 
     @Override
     public Collection<Extension> getModels(DungTheory bbase) {
-        List<Collection<Argument>> sccs = new ArrayList<Collection<Argument>>(bbase.getStronglyConnectedComponents());
-        // order SCCs in a DAG
-        boolean[][] dag = new boolean[sccs.size()][sccs.size()];
-        for(int i = 0; i < sccs.size(); i++){
-            dag[i] = new boolean[sccs.size()];
-            Arrays.fill(dag[i], false);
-        }
-        for(int i = 0; i < sccs.size(); i++)
-            for(int j = 0; j < sccs.size(); j++)
-                if(i != j)
-                    if(bbase.isAttacked(new Extension(sccs.get(i)), new Extension(sccs.get(j))))
-                        dag[i][j] = true;
         // order SCCs topologically
-        List<Collection<Argument>> sccs_ordered = new ArrayList<Collection<Argument>>();
-        while(sccs_ordered.size() < sccs.size()){
-            for(int i = 0; i < sccs.size();i++){
-                if(sccs_ordered.contains(sccs.get(i)))
-                    continue;
-                boolean isNull = true;
-                for(int j = 0; j < sccs.size(); j++)
-                    if(dag[i][j]){
-                        isNull = false;
-                        break;
-                    }
-                if(isNull){
-                    sccs_ordered.add(sccs.get(i));
-                    for(int j = 0; j < sccs.size(); j++)
-                        dag[j][i] = false;
-                }
-            }
-        }
+        List<Collection<Argument>> sccs_ordered = SccScheduler.getOrderedComponents(bbase);
         return this.computeExtensionsViaSccs(bbase, sccs_ordered, 0, new HashSet<Argument>(), new HashSet<Argument>(), new HashSet<Argument>());
     }
 
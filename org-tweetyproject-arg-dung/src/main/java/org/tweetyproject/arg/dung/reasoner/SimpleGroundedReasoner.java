@@ -21,12 +21,17 @@ package org.tweetyproject.arg.dung.reasoner;
 import java.util.*;
 
 import org.tweetyproject.arg.dung.semantics.*;
+import org.tweetyproject.arg.dung.syntax.CompactDungTheory;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
 
 
 /**
  * This reasoner for Dung theories performs inference on the grounded extension.
  * Computes the (unique) grounded extension, i.e., the least fixpoint of the characteristic function faf.
+ * <br>
+ * <br>The fixpoint is computed with a worklist algorithm in time O(|A|+|R|): for every argument
+ * the number of attackers that are not yet defeated is maintained; an argument is accepted as soon
+ * as this number drops to zero and every argument attacked by an accepted argument is defeated.
  * 
  * @author Matthias Thimm
  *
@@ -49,12 +54,69 @@ public class SimpleGroundedReasoner extends AbstractExtensionReasoner {
 	 */
 	@Override
 	public Extension getModel(DungTheory bbase) {
+		CompactDungTheory theory = CompactDungTheory.compile(bbase);
+		ArgumentStatus[] status = this.label(theory);
 		Extension ext = new Extension();
-		int size;
-		do{
-			size = ext.size();			
-			ext = bbase.faf(ext);			
-		}while(size!=ext.size());		
+		for(int i = 0; i < status.length; i++)
+			if(status[i] == ArgumentStatus.IN)
+				ext.add(theory.getArgument(i));
 		return ext;
-	}	
+	}
+
+	/**
+	 * Computes the grounded labeling of the given theory, i.e., the labeling
+	 * where the grounded extension is labeled "in", every argument attacked by
+	 * the grounded extension is labeled "out", and all other arguments are labeled "undecided".
+	 * @param bbase some Dung theory
+	 * @return the grounded labeling of the theory
+	 */
+	public Labeling getLabeling(DungTheory bbase) {
+		CompactDungTheory theory = CompactDungTheory.compile(bbase);
+		ArgumentStatus[] status = this.label(theory);
+		Labeling labeling = new Labeling();
+		for(int i = 0; i < status.length; i++)
+			labeling.put(theory.getArgument(i), status[i]);
+		return labeling;
+	}
+
+	/**
+	 * Computes the grounded labeling on the argument ids of the given theory.
+	 * @param theory some compact Dung theory
+	 * @return the status of each argument, indexed by argument ids
+	 */
+	private ArgumentStatus[] label(CompactDungTheory theory) {
+		int n = theory.getNumberOfArguments();
+		ArgumentStatus[] status = new ArgumentStatus[n];
+		// number of attackers not (yet) labeled "out"
+		int[] counter = new int[n];
+		int[] queue = new int[n];
+		int head = 0, tail = 0;
+		for(int i = 0; i < n; i++) {
+			counter[i] = theory.getNumberOfAttackers(i);
+			if(counter[i] == 0) {
+				status[i] = ArgumentStatus.IN;
+				queue[tail++] = i;
+			}
+		}
+		while(head < tail) {
+			int in = queue[head++];
+			for(int k = 0; k < theory.getNumberOfAttacked(in); k++) {
+				int out = theory.getAttacked(in, k);
+				if(status[out] != null)
+					continue;
+				status[out] = ArgumentStatus.OUT;
+				for(int l = 0; l < theory.getNumberOfAttacked(out); l++) {
+					int b = theory.getAttacked(out, l);
+					if(--counter[b] == 0 && status[b] == null) {
+						status[b] = ArgumentStatus.IN;
+						queue[tail++] = b;
+					}
+				}
+			}
+		}
+		for(int i = 0; i < n; i++)
+			if(status[i] == null)
+				status[i] = ArgumentStatus.UNDECIDED;
+		return status;
+	}
 }
@@ -19,41 +19,59 @@
 package org.tweetyproject.arg.dung.reasoner;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 import org.tweetyproject.arg.dung.semantics.*;
 import org.tweetyproject.arg.dung.syntax.*;
+import org.tweetyproject.commons.InferenceMode;
 
 
 /**
  * This reasoner for Dung theories performs inference on the preferred extensions.
  * Computes the set of all preferred extensions, i.e., all maximal admissable sets.
- * It does so by first computing all complete extensions and then check for
- * set maximality.
+ * As the preferred semantics is SCC-recursive, the strongly connected components are
+ * evaluated along their topological order (see {@link SccScheduler}); the preferred extensions
+ * of every component are determined by a backtracking search over labelings (see {@link LabelingSearch})
+ * that is pruned by the maximal sets found so far, i.e., without computing all complete
+ * extensions first.
  * 
  * @author Matthias Thimm
  *
  */
 public class SimplePreferredReasoner extends AbstractExtensionReasoner {	
 
+	/** The scheduler evaluating the SCCs. */
+	private SccScheduler scheduler;
+
+	/**
+	 * Creates a new reasoner that evaluates SCCs on the common pool.
+	 */
+	public SimplePreferredReasoner() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a new reasoner that evaluates SCCs on the given pool.
+	 * @param pool some fork/join pool
+	 */
+	public SimplePreferredReasoner(ForkJoinPool pool) {
+		this.scheduler = new SccScheduler(pool);
+	}
+
 	/* (non-Javadoc)
 	 * @see org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner#getModels(org.tweetyproject.arg.dung.syntax.DungTheory)
 	 */
 	@Override
 	public Collection<Extension> getModels(DungTheory bbase) {
-		Collection<Extension> completeExtensions = new SimpleSccCompleteReasoner().getModels(bbase);
-		Set<Extension> result = new HashSet<Extension>();
-		boolean maximal;
-		for(Extension e1: completeExtensions){
-			maximal = true;
-			for(Extension e2: completeExtensions)
-				if(e1 != e2 && e2.containsAll(e1)){
-					maximal = false;
-					break;
-				}
-			if(maximal)
-				result.add(e1);			
-		}		
-		return result;
+		return this.scheduler.getModels(bbase, SimplePreferredReasoner::getLocalModels);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner#getModelIterator(org.tweetyproject.arg.dung.syntax.DungTheory)
+	 */
+	@Override
+	public ExtensionIterator getModelIterator(DungTheory bbase) {
+		return this.scheduler.getModelIterator(bbase, SimplePreferredReasoner::getLocalModels);
 	}
 
 	/* (non-Javadoc)
@@ -61,20 +79,94 @@ public class SimplePreferredReasoner extends AbstractExtensionReasoner {
 	 */
 	@Override
 	public Extension getModel(DungTheory bbase) {
-		// just return the first found preferred extension
-		Collection<Extension> completeExtensions = new SimpleSccCompleteReasoner().getModels(bbase);
-		boolean maximal;
-		for(Extension e1: completeExtensions){
-			maximal = true;
-			for(Extension e2: completeExtensions)
-				if(e1 != e2 && e2.containsAll(e1)){
-					maximal = false;
-					break;
-				}
-			if(maximal)
-				return e1;			
-		}		
-		// this should not happen
-		throw new RuntimeException("Hmm, did not find a maximal set in a finite number of sets. Should not happen.");
+		CompactDungTheory aaf = CompactDungTheory.compile(bbase);
+		return aaf.toExtension(SimplePreferredReasoner.getMaximalSet(aaf, -1));
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner#getAcceptanceWitness(org.tweetyproject.arg.dung.syntax.DungTheory, org.tweetyproject.arg.dung.syntax.Argument, org.tweetyproject.commons.InferenceMode)
+	 */
+	@Override
+	public Extension getAcceptanceWitness(DungTheory beliefbase, Argument formula, InferenceMode inferenceMode) {
+		if(inferenceMode.equals(InferenceMode.SKEPTICAL))
+			return super.getAcceptanceWitness(beliefbase, formula, inferenceMode);
+		// every admissible set containing the argument extends to a preferred one containing it
+		CompactDungTheory aaf = CompactDungTheory.compile(beliefbase);
+		int id = aaf.getId(formula);
+		if(id == -1)
+			return null;
+		long[] set = SimplePreferredReasoner.getMaximalSet(aaf, id);
+		return set == null ? null : aaf.toExtension(set);
+	}
+
+	/**
+	 * Computes the preferred extensions of a single SCC.
+	 * @param scc the theory of some SCC
+	 * @param out the arguments of the SCC attacked by arguments labeled "in"
+	 * @param undec the remaining arguments of the SCC attacked by arguments labeled "undecided"
+	 * @return the preferred extensions of the SCC
+	 */
+	private static Collection<Extension> getLocalModels(DungTheory scc, Collection<Argument> out, Collection<Argument> undec) {
+		return SimpleSccCompleteReasoner.getLocalModels(SimplePreferredReasoner::getMaximalSets, scc, out, undec);
+	}
+
+	/**
+	 * Computes the preferred extensions of the given theory by a search for admissible labelings
+	 * that is pruned by the maximal sets found so far.
+	 * @param theory some theory
+	 * @return the preferred extensions of the theory
+	 */
+	private static Collection<Extension> getMaximalSets(DungTheory theory) {
+		CompactDungTheory aaf = CompactDungTheory.compile(theory);
+		List<long[]> maximal = new LinkedList<long[]>();
+		LabelingSearch search = new LabelingSearch(aaf, false) {
+			@Override
+			protected boolean isPruned(byte[] labels) {
+				// all sets below are subsets of a set found so far
+				long[] candidates = this.getCandidates(labels);
+				for(long[] set: maximal)
+					if(LabelingSearch.isSubset(candidates, set))
+						return true;
+				return false;
+			}
+		};
+		long[] set;
+		while((set = search.nextSet()) != null) {
+			Iterator<long[]> it = maximal.iterator();
+			while(it.hasNext())
+				if(LabelingSearch.isSubset(it.next(), set))
+					it.remove();
+			maximal.add(set);
+		}
+		Set<Extension> result = new HashSet<Extension>();
+		for(long[] ext: maximal)
+			result.add(aaf.toExtension(ext));
+		return result;
+	}
+
+	/**
+	 * Returns a maximal admissible set by a search where every set found is a strict superset
+	 * of the previous one and states that do not allow for a strict superset are pruned.
+	 * @param aaf some theory
+	 * @param id the id of an argument contained in the set or -1
+	 * @return a maximal admissible set (containing the given argument) or null if there is none.
+	 */
+	private static long[] getMaximalSet(CompactDungTheory aaf, int id) {
+		long[][] best = new long[1][];
+		LabelingSearch search = new LabelingSearch(aaf, false) {
+			@Override
+			protected boolean isPruned(byte[] labels) {
+				if(best[0] == null)
+					return false;
+				long[] candidates = this.getCandidates(labels);
+				return !LabelingSearch.isSubset(best[0], candidates) || LabelingSearch.isSubset(candidates, best[0]);
+			}
+		};
+		if(id != -1)
+			search.assume(id, true);
+		long[] set;
+		while((set = search.nextSet()) != null)
+			best[0] = set;
+		return best[0];
 	}
 }
@@ -19,6 +19,8 @@
 package org.tweetyproject.arg.dung.reasoner;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 
 import org.tweetyproject.arg.dung.semantics.*;
 import org.tweetyproject.arg.dung.syntax.*;
@@ -26,49 +28,37 @@ import org.tweetyproject.arg.dung.syntax.*;
 /**
  * This reasoner for Dung theories performs inference on the complete extensions.
  * Computes the set of all complete extensions, i.e., all admissible sets that contain all their acceptable arguments.
- * Exploits the structure of the strongly-connected components (SCCs) to determine extensions.
+ * Exploits the structure of the strongly-connected components (SCCs) to determine extensions,
+ * independent SCCs are evaluated in parallel (see {@link SccScheduler}).
  * @author Matthias Thimm
  *
  */
 public class SimpleSccCompleteReasoner extends AbstractExtensionReasoner {
 
+	/** The scheduler evaluating the SCCs. */
+	private SccScheduler scheduler;
+
+	/**
+	 * Creates a new reasoner that evaluates SCCs on the common pool.
+	 */
+	public SimpleSccCompleteReasoner() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a new reasoner that evaluates SCCs on the given pool.
+	 * @param pool some fork/join pool
+	 */
+	public SimpleSccCompleteReasoner(ForkJoinPool pool) {
+		this.scheduler = new SccScheduler(pool);
+	}
+
 	/* (non-Javadoc)
 	 * @see org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner#getModels(org.tweetyproject.arg.dung.syntax.DungTheory)
 	 */
 	@Override
 	public Collection<Extension> getModels(DungTheory bbase) {
-		List<Collection<Argument>> sccs = new ArrayList<Collection<Argument>>(bbase.getStronglyConnectedComponents());		
-		// order SCCs in a DAG
-		boolean[][] dag = new boolean[sccs.size()][sccs.size()];
-		for(int i = 0; i < sccs.size(); i++){
-			dag[i] = new boolean[sccs.size()];
-			Arrays.fill(dag[i], false);
-		}		
-		for(int i = 0; i < sccs.size(); i++)
-			for(int j = 0; j < sccs.size(); j++)
-				if(i != j)
-					if(bbase.isAttacked(new Extension(sccs.get(i)), new Extension(sccs.get(j))))
-						dag[i][j] = true;						
-		// order SCCs topologically
-		List<Collection<Argument>> sccs_ordered = new ArrayList<Collection<Argument>>();
-		while(sccs_ordered.size() < sccs.size()){
-			for(int i = 0; i < sccs.size();i++){
-				if(sccs_ordered.contains(sccs.get(i)))
-					continue;
-				boolean isNull = true;
-				for(int j = 0; j < sccs.size(); j++)
-					if(dag[i][j]){
-						isNull = false;
-						break;
-					}
-				if(isNull){
-					sccs_ordered.add(sccs.get(i));
-					for(int j = 0; j < sccs.size(); j++)
-						dag[j][i] = false;
-				}
-			}
-		}		
-		return this.computeExtensionsViaSccs(bbase, sccs_ordered, 0, new HashSet<Argument>(), new HashSet<Argument>(), new HashSet<Argument>());
+		return this.scheduler.getModels(bbase, SimpleSccCompleteReasoner::getLocalModels);
 	}
 
 	/* (non-Javadoc)
@@ -77,58 +67,54 @@ public class SimpleSccCompleteReasoner extends AbstractExtensionReasoner {
 	@Override
 	public Extension getModel(DungTheory bbase) {
 		// Returns the first found complete extension
-		Collection<Extension> exts = this.getModels(bbase);
-		if(exts.isEmpty())
+		Iterator<Extension> it = this.getModelIterator(bbase);
+		if(!it.hasNext())
 			return null;
-		return exts.iterator().next();
+		return it.next();
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner#getModelIterator(org.tweetyproject.arg.dung.syntax.DungTheory)
+	 */
+	@Override
+	public ExtensionIterator getModelIterator(DungTheory bbase) {
+		return this.scheduler.getModelIterator(bbase, SimpleSccCompleteReasoner::getLocalModels);
 	}
 
 	/**
-	 * Computes extensions recursively following the SCC structure.
-	 * @param theory the theory
-	 * @param sccs all SCCs topologically sorted
-	 * @param idx the current SCC to be processed
-	 * @param in all arguments currently in
-	 * @param out all arguments currently out
-	 * @param undec all arguments currently undecided
-	 * @return the set of extensions
+	 * Computes the complete extensions of a single SCC.
+	 * @param scc the theory of some SCC
+	 * @param out the arguments of the SCC attacked by arguments labeled "in"
+	 * @param undec the remaining arguments of the SCC attacked by arguments labeled "undecided"
+	 * @return the complete extensions of the SCC
 	 */
-	private Set<Extension> computeExtensionsViaSccs(DungTheory theory, List<Collection<Argument>> sccs, int idx, Collection<Argument> in, Collection<Argument> out, Collection<Argument> undec){
-		if(idx >= sccs.size()){
-			Set<Extension> result = new HashSet<Extension>();
-			result.add(new Extension(in));
-			return result;
-		}
-		// construct theory
-		DungTheory subTheory = (DungTheory) theory.getRestriction(sccs.get(idx));
+	static Collection<Extension> getLocalModels(DungTheory scc, Collection<Argument> out, Collection<Argument> undec) {
+		return SimpleSccCompleteReasoner.getLocalModels(new SimpleCompleteReasoner()::getModels, scc, out, undec);
+	}
+
+	/**
+	 * Computes the extensions of a single SCC using the given reasoner.
+	 * @param reasoner computes the extensions of some theory
+	 * @param scc the theory of some SCC
+	 * @param out the arguments of the SCC attacked by arguments labeled "in"
+	 * @param undec the remaining arguments of the SCC attacked by arguments labeled "undecided"
+	 * @return the extensions of the SCC
+	 */
+	static Collection<Extension> getLocalModels(Function<DungTheory,Collection<Extension>> reasoner, DungTheory scc, Collection<Argument> out, Collection<Argument> undec) {
 		// remove all out arguments
-		subTheory.removeAll(out);
+		scc.removeAll(out);
+		if(undec.isEmpty())
+			return reasoner.apply(scc);
 		// for all arguments that are attacked by an already undecided argument outside the scc, add attack
 		// from an auxiliary self-attacking argument
-		Argument aux = new Argument("_aux_argument8937");
-		subTheory.add(aux);
-		subTheory.add(new Attack(aux,aux));
-		for(Argument a: subTheory)
-			if(theory.isAttacked(a, new Extension(undec)))				
-				subTheory.add(new Attack(aux,a));
-		// compute complete extensions of sub theory
-		Collection<Extension> subExt = new SimpleCompleteReasoner().getModels(subTheory);
-		Set<Extension> result = new HashSet<Extension>();
-		Collection<Argument> new_in, new_out, new_undec, attacked;
-		for(Extension ext: subExt){
-			new_in = new HashSet<Argument>(in);
-			new_out = new HashSet<Argument>(out);
-			new_undec = new HashSet<Argument>(undec);
-			attacked= new HashSet<Argument>();
-			new_in.addAll(ext);			
-			for(Argument a: ext)
-				attacked.addAll(theory.getAttacked(a));
-			new_out.addAll(attacked);
-			for(Argument a: subTheory)
-				if(a != aux && !ext.contains(a) && !attacked.contains(a))
-					new_undec.add(a);			
-			result.addAll(this.computeExtensionsViaSccs(theory, sccs, idx+1, new_in, new_out, new_undec));
-		}		
-		return result;
-	}	
+		String name = "_aux";
+		while(scc.contains(new Argument(name)))
+			name = "_" + name;
+		Argument aux = new Argument(name);
+		scc.add(aux);
+		scc.add(new Attack(aux,aux));
+		for(Argument a: undec)
+			scc.add(new Attack(aux,a));
+		return reasoner.apply(scc);
+	}
 }
@@ -21,14 +21,15 @@ package org.tweetyproject.arg.dung.reasoner;
 
 import org.tweetyproject.arg.dung.semantics.Extension;
 import org.tweetyproject.arg.dung.syntax.Argument;
-import org.tweetyproject.arg.dung.syntax.Attack;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Universal scc-recursive reasoner
- * initialize with any reasoner for a scc-recursive semantics
+ * initialize with any reasoner for a scc-recursive semantics,
+ * independent SCCs are evaluated in parallel (see {@link SccScheduler})
  *
  * @author Lars Bengel
  */
@@ -37,12 +38,26 @@ public class SimpleSccRecursiveReasoner extends AbstractExtensionReasoner {
     /** The base reasoner applied on each SCC individually*/
     private AbstractExtensionReasoner baseReasoner;
 
+    /** The scheduler evaluating the SCCs */
+    private SccScheduler scheduler;
+
     /**
      * initialize the scc-recursive reasoner with the given reasoner as base function
      * @param reasoner a reasoner for any scc-recursive semantics
      */
     public SimpleSccRecursiveReasoner(AbstractExtensionReasoner reasoner) {
+        this(reasoner, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * initialize the scc-recursive reasoner with the given reasoner as base function,
+     * SCCs are evaluated on the given pool
+     * @param reasoner a thread-safe reasoner for any scc-recursive semantics
+     * @param pool some fork/join pool
+     */
+    public SimpleSccRecursiveReasoner(AbstractExtensionReasoner reasoner, ForkJoinPool pool) {
         this.baseReasoner = reasoner;
+        this.scheduler = new SccScheduler(pool);
     }
 
     /* (non-Javadoc)
@@ -50,94 +65,33 @@ public class SimpleSccRecursiveReasoner extends AbstractExtensionReasoner {
      */
     @Override
     public Collection<Extension> getModels(DungTheory bbase) {
-        List<Collection<Argument>> sccs = new ArrayList<Collection<Argument>>(bbase.getStronglyConnectedComponents());
-        // order SCCs in a DAG
-        boolean[][] dag = new boolean[sccs.size()][sccs.size()];
-        for(int i = 0; i < sccs.size(); i++){
-            dag[i] = new boolean[sccs.size()];
-            Arrays.fill(dag[i], false);
-        }
-        for(int i = 0; i < sccs.size(); i++)
-            for(int j = 0; j < sccs.size(); j++)
-                if(i != j)
-                    if(bbase.isAttacked(new Extension(sccs.get(i)), new Extension(sccs.get(j))))
-                        dag[i][j] = true;
-        // order SCCs topologically
-        List<Collection<Argument>> sccs_ordered = new ArrayList<Collection<Argument>>();
-        while(sccs_ordered.size() < sccs.size()){
-            for(int i = 0; i < sccs.size();i++){
-                if(sccs_ordered.contains(sccs.get(i)))
-                    continue;
-                boolean isNull = true;
-                for(int j = 0; j < sccs.size(); j++)
-                    if(dag[i][j]){
-                        isNull = false;
-                        break;
-                    }
-                if(isNull){
-                    sccs_ordered.add(sccs.get(i));
-                    for(int j = 0; j < sccs.size(); j++)
-                        dag[j][i] = false;
-                }
-            }
-        }
-        return this.computeExtensionsViaSccs(bbase, sccs_ordered, 0, new HashSet<Argument>(), new HashSet<Argument>(), new HashSet<Argument>());
+        return this.scheduler.getModels(bbase, this::getLocalModels);
     }
 
     /* (non-Javadoc)
-     * @see org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner#getModel(org.tweetyproject.arg.dung.syntax.DungTheory)
+     * @see org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner#getModelIterator(org.tweetyproject.arg.dung.syntax.DungTheory)
      */
     @Override
-    public Extension getModel(DungTheory bbase) {
-        return this.getModels(bbase).iterator().next();
+    public ExtensionIterator getModelIterator(DungTheory bbase) {
+        return this.scheduler.getModelIterator(bbase, this::getLocalModels);
     }
 
     /**
-     * Computes extensions recursively following the SCC structure.
-     * @param theory the theory
-     * @param sccs all SCCs topologically sorted
-     * @param idx the current SCC to be processed
-     * @param in all arguments currently in
-     * @param out all arguments currently out
-     * @param undec all arguments currently undecided
-     * @return the set of extensions
+     * Computes the extensions of a single SCC using the base reasoner.
+     * @param scc the theory of some SCC
+     * @param out the arguments of the SCC attacked by arguments labeled "in"
+     * @param undec the remaining arguments of the SCC attacked by arguments labeled "undecided"
+     * @return the extensions of the SCC
      */
-    private Set<Extension> computeExtensionsViaSccs(DungTheory theory, List<Collection<Argument>> sccs, int idx, Collection<Argument> in, Collection<Argument> out, Collection<Argument> undec){
-        if(idx >= sccs.size()){
-            Set<Extension> result = new HashSet<Extension>();
-            result.add(new Extension(in));
-            return result;
-        }
-        // construct theory
-        DungTheory subTheory = (DungTheory) theory.getRestriction(sccs.get(idx));
-        // remove all out arguments
-        subTheory.removeAll(out);
-        // for all arguments that are attacked by an already undecided argument outside the scc, add attack
-        // from an auxiliary self-attacking argument
-        Argument aux = new Argument("_aux_argument8937");
-        subTheory.add(aux);
-        subTheory.add(new Attack(aux,aux));
-        for(Argument a: subTheory)
-            if(theory.isAttacked(a, new Extension(undec)))
-                subTheory.add(new Attack(aux,a));
-        // compute complete extensions of sub theory
-        Collection<Extension> subExt = baseReasoner.getModels(subTheory);
-        Set<Extension> result = new HashSet<Extension>();
-        Collection<Argument> new_in, new_out, new_undec, attacked;
-        for(Extension ext: subExt){
-            new_in = new HashSet<Argument>(in);
-            new_out = new HashSet<Argument>(out);
-            new_undec = new HashSet<Argument>(undec);
-            attacked= new HashSet<Argument>();
-            new_in.addAll(ext);
-            for(Argument a: ext)
-                attacked.addAll(theory.getAttacked(a));
-            new_out.addAll(attacked);
-            for(Argument a: subTheory)
-                if(a != aux && !ext.contains(a) && !attacked.contains(a))
-                    new_undec.add(a);
-            result.addAll(this.computeExtensionsViaSccs(theory, sccs, idx+1, new_in, new_out, new_undec));
-        }
-        return result;
+    private Collection<Extension> getLocalModels(DungTheory scc, Collection<Argument> out, Collection<Argument> undec) {
+        return SimpleSccCompleteReasoner.getLocalModels(this.baseReasoner::getModels, scc, out, undec);
+    }
+
+    /* (non-Javadoc)
+     * @see org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner#getModel(org.tweetyproject.arg.dung.syntax.DungTheory)
+     */
+    @Override
+    public Extension getModel(DungTheory bbase) {
+        return this.getModels(bbase).iterator().next();
     }
 }
@@ -22,12 +22,13 @@ import java.util.*;
 
 import org.tweetyproject.arg.dung.semantics.*;
 import org.tweetyproject.arg.dung.syntax.*;
+import org.tweetyproject.commons.InferenceMode;
 
 /**
  * This reasoner for Dung theories performs inference on the stable extensions.
  * Computes the set of all stable extensions, i.e., all conflict-free sets that attack each other argument.
- * For that, it uses the SimpleSccCompleteReasoner to first compute all complete extensions, and
- * then filters out the non-stable ones.
+ * For that, it searches directly for stable labelings by backtracking (see {@link LabelingSearch}),
+ * i.e., without computing all complete extensions first.
  * @author Matthias Thimm
  *
  */
@@ -39,12 +40,31 @@ public class SimpleStableReasoner extends AbstractExtensionReasoner {
 	 */
 	@Override
 	public Collection<Extension> getModels(DungTheory bbase) {
-		Collection<Extension> completeExtensions = new SimpleSccCompleteReasoner().getModels(bbase);
-		Set<Extension> result = new HashSet<Extension>();
-		for(Extension e: completeExtensions)
-			if(bbase.isAttackingAllOtherArguments(e))
-				result.add(e);
-		return result;	
+		return AbstractExtensionReasoner.collect(this.getModelIterator(bbase));
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner#getModelIterator(org.tweetyproject.arg.dung.syntax.DungTheory)
+	 */
+	@Override
+	public ExtensionIterator getModelIterator(DungTheory bbase) {
+		return new LabelingSearch(CompactDungTheory.compile(bbase), true);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner#getAcceptanceWitness(org.tweetyproject.arg.dung.syntax.DungTheory, org.tweetyproject.arg.dung.syntax.Argument, org.tweetyproject.commons.InferenceMode)
+	 */
+	@Override
+	public Extension getAcceptanceWitness(DungTheory beliefbase, Argument formula, InferenceMode inferenceMode) {
+		CompactDungTheory aaf = CompactDungTheory.compile(beliefbase);
+		LabelingSearch search = new LabelingSearch(aaf, true);
+		int id = aaf.getId(formula);
+		if(id != -1)
+			// search only for stable extensions deciding the query
+			search.assume(id, inferenceMode.equals(InferenceMode.CREDULOUS));
+		else if(inferenceMode.equals(InferenceMode.CREDULOUS))
+			return null;
+		return search.hasNext() ? search.next() : null;
 	}
 
 	/* (non-Javadoc)
@@ -53,10 +73,7 @@ public class SimpleStableReasoner extends AbstractExtensionReasoner {
 	@Override
 	public Extension getModel(DungTheory bbase) {
 		// returns the first found stable extension
-		Collection<Extension> completeExtensions = new SimpleSccCompleteReasoner().getModels(bbase);
-		for(Extension e: completeExtensions)
-			if(bbase.isAttackingAllOtherArguments(e))
-				return e;
-		return null;	
+		Iterator<Extension> stableExtensions = this.getModelIterator(bbase);
+		return stableExtensions.hasNext() ? stableExtensions.next() : null;
 	}		
 }
@@ -0,0 +1,613 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.dung.syntax;
+
+import java.util.*;
+
+import org.tweetyproject.arg.dung.semantics.Extension;
+
+/**
+ * An immutable, compiled representation of an abstract argumentation theory. Every
+ * argument is assigned a dense integer id (0,...,n-1) and the attack relation
+ * is stored in compressed sparse row (CSR) form, once indexed by the attacked
+ * argument (attackers) and once by the attacking argument (attacked arguments).
+ * Sets of arguments can be represented as bitsets (<code>long[]</code>) over these ids.
+ * <br>
+ * <br>As this class is a {@link DungTheory}, it can be given to every reasoner
+ * without further changes; all attack queries of {@link DungTheory} are answered
+ * using the compact index. Any attempt to modify the theory, also via its iterator,
+ * results in an {@link UnsupportedOperationException}.
+ * <br>
+ * <br>For compatibility with {@link org.tweetyproject.commons.BeliefSet}, whose methods
+ * (e.g. <code>contains</code> and <code>size</code>) rely on it, the inherited set of
+ * arguments is kept as well. Hence every argument is referenced three times (by that
+ * set, by the id map and by the array of arguments); the memory saved by this class
+ * concerns the attack relation only.
+ *
+ * @author Sebastian Franke
+ */
+public class CompactDungTheory extends DungTheory {
+
+	/** The arguments, indexed by their ids. */
+	private Argument[] arguments;
+	/** The ids of the arguments. */
+	private Map<Argument,Integer> ids;
+	/** attackers[attackerOffsets[i]],...,attackers[attackerOffsets[i+1]-1] are the (sorted) attackers of argument i. */
+	private int[] attackerOffsets;
+	private int[] attackers;
+	/** attacked[attackedOffsets[i]],...,attacked[attackedOffsets[i+1]-1] are the (sorted) arguments attacked by argument i. */
+	private int[] attackedOffsets;
+	private int[] attacked;
+
+	/**
+	 * Creates a compact version of the given theory.
+	 * @param theory some Dung theory
+	 */
+	public CompactDungTheory(DungTheory theory) {
+		super();
+		this.index(theory.toArray(new Argument[theory.size()]));
+		int[] from = new int[16];
+		int[] to = new int[16];
+		int m = 0;
+		for(int i = 0; i < this.arguments.length; i++)
+			for(Argument b: theory.getAttacked(this.arguments[i])) {
+				Integer j = this.ids.get(b);
+				if(j == null)
+					continue;
+				if(m == from.length) {
+					from = Arrays.copyOf(from, 2*m);
+					to = Arrays.copyOf(to, 2*m);
+				}
+				from[m] = i;
+				to[m++] = j;
+			}
+		this.index(from, to, m);
+	}
+
+	/**
+	 * Creates a new compact theory from the given arguments and attacks. The
+	 * i-th attack is given by an attack from <code>arguments[from[i]]</code> on
+	 * <code>arguments[to[i]]</code>. Duplicate attacks are ignored.
+	 * @param arguments some arguments (the position of an argument in this array will be its id)
+	 * @param from the ids of the attackers
+	 * @param to the ids of the attacked arguments
+	 * @param numberOfAttacks the number of attacks, i.e., the number of used entries in <code>from</code> and <code>to</code>.
+	 */
+	public CompactDungTheory(Argument[] arguments, int[] from, int[] to, int numberOfAttacks) {
+		super();
+		this.index(arguments);
+		for(int i = 0; i < numberOfAttacks; i++)
+			if(from[i] < 0 || from[i] >= arguments.length || to[i] < 0 || to[i] >= arguments.length)
+				throw new IllegalArgumentException("Attack " + from[i] + " -> " + to[i] + " refers to unknown argument ids.");
+		this.index(from, to, numberOfAttacks);
+	}
+
+	/**
+	 * Assigns ids to the given arguments.
+	 * @param arguments some arguments
+	 */
+	private void index(Argument[] arguments) {
+		this.arguments = arguments;
+		this.ids = new HashMap<Argument,Integer>((int)(arguments.length / 0.75f) + 1);
+		for(int i = 0; i < arguments.length; i++) {
+			if(this.ids.put(arguments[i], i) != null)
+				throw new IllegalArgumentException("Argument '" + arguments[i] + "' occurs more than once.");
+			super.add(arguments[i]);
+		}
+	}
+
+	/**
+	 * Builds the attacker and attacked index from the given attacks.
+	 * @param from the ids of the attackers
+	 * @param to the ids of the attacked arguments
+	 * @param m the number of attacks
+	 */
+	private void index(int[] from, int[] to, int m) {
+		int[][] rows = CompactDungTheory.buildRows(this.arguments.length, to, from, m);
+		this.attackerOffsets = rows[0];
+		this.attackers = rows[1];
+		rows = CompactDungTheory.buildRows(this.arguments.length, from, to, m);
+		this.attackedOffsets = rows[0];
+		this.attacked = rows[1];
+	}
+
+	/**
+	 * Returns a compact version of the given theory; if the theory is
+	 * already compact it is returned unchanged.
+	 * @param theory some Dung theory
+	 * @return a compact version of the given theory
+	 */
+	public static CompactDungTheory compile(DungTheory theory) {
+		if(theory instanceof CompactDungTheory)
+			return (CompactDungTheory) theory;
+		return new CompactDungTheory(theory);
+	}
+
+	/**
+	 * Builds a CSR index, i.e., for every row r the sorted and duplicate-free set
+	 * of columns c such that (rows[i],cols[i]) = (r,c) for some i.
+	 * @param n the number of rows
+	 * @param rows row indices
+	 * @param cols column indices
+	 * @param m the number of entries
+	 * @return an array {offsets, columns}
+	 */
+	private static int[][] buildRows(int n, int[] rows, int[] cols, int m) {
+		int[] offsets = new int[n+1];
+		for(int i = 0; i < m; i++)
+			offsets[rows[i]+1]++;
+		for(int i = 0; i < n; i++)
+			offsets[i+1] += offsets[i];
+		int[] fill = Arrays.copyOf(offsets, n);
+		int[] columns = new int[m];
+		for(int i = 0; i < m; i++)
+			columns[fill[rows[i]]++] = cols[i];
+		// sort each row and remove duplicates
+		int k = 0;
+		int start = 0;
+		for(int r = 0; r < n; r++) {
+			int end = offsets[r+1];
+			Arrays.sort(columns, start, end);
+			offsets[r] = k;
+			for(int i = start; i < end; i++)
+				if(i == start || columns[i] != columns[i-1])
+					columns[k++] = columns[i];
+			start = end;
+		}
+		offsets[n] = k;
+		return new int[][] {offsets, k == m ? columns : Arrays.copyOf(columns, k)};
+	}
+
+	// Id-based access
+
+	/**
+	 * Returns the number of arguments of this theory.
+	 * @return the number of arguments of this theory.
+	 */
+	public int getNumberOfArguments() {
+		return this.arguments.length;
+	}
+
+	/**
+	 * Returns the number of attacks of this theory.
+	 * @return the number of attacks of this theory.
+	 */
+	public int getNumberOfAttacks() {
+		return this.attackers.length;
+	}
+
+	/**
+	 * Returns the argument with the given id.
+	 * @param id some id
+	 * @return the argument with the given id.
+	 */
+	public Argument getArgument(int id) {
+		return this.arguments[id];
+	}
+
+	/**
+	 * Returns the id of the given argument.
+	 * @param argument some argument
+	 * @return the id of the given argument or -1 if the argument is not part of this theory.
+	 */
+	public int getId(Argument argument) {
+		Integer id = this.ids.get(argument);
+		return id == null ? -1 : id;
+	}
+
+	/**
+	 * Returns the number of attackers of the argument with the given id.
+	 * @param id the id of some argument
+	 * @return the number of attackers
+	 */
+	public int getNumberOfAttackers(int id) {
+		return this.attackerOffsets[id+1] - this.attackerOffsets[id];
+	}
+
+	/**
+	 * Returns the id of the k-th attacker of the argument with the given id
+	 * (attackers are sorted by their ids).
+	 * @param id the id of some argument
+	 * @param k some index with 0 &lt;= k &lt; getNumberOfAttackers(id)
+	 * @return the id of the k-th attacker
+	 */
+	public int getAttacker(int id, int k) {
+		return this.attackers[this.attackerOffsets[id] + k];
+	}
+
+	/**
+	 * Returns the number of arguments attacked by the argument with the given id.
+	 * @param id the id of some argument
+	 * @return the number of attacked arguments
+	 */
+	public int getNumberOfAttacked(int id) {
+		return this.attackedOffsets[id+1] - this.attackedOffsets[id];
+	}
+
+	/**
+	 * Returns the id of the k-th argument attacked by the argument with the given id
+	 * (attacked arguments are sorted by their ids).
+	 * @param id the id of some argument
+	 * @param k some index with 0 &lt;= k &lt; getNumberOfAttacked(id)
+	 * @return the id of the k-th attacked argument
+	 */
+	public int getAttacked(int id, int k) {
+		return this.attacked[this.attackedOffsets[id] + k];
+	}
+
+	/**
+	 * Checks whether the argument with id <code>attacked</code> is attacked by the argument
+	 * with id <code>attacker</code>.
+	 * @param attacked the id of some argument
+	 * @param attacker the id of some argument
+	 * @return "true" iff there is an attack from <code>attacker</code> on <code>attacked</code>.
+	 */
+	public boolean isAttackedBy(int attacked, int attacker) {
+		return Arrays.binarySearch(this.attackers, this.attackerOffsets[attacked], this.attackerOffsets[attacked+1], attacker) >= 0;
+	}
+
+	/**
+	 * Creates a new empty bitset over the arguments of this theory.
+	 * @return a new empty bitset.
+	 */
+	public long[] newBitSet() {
+		return new long[(this.arguments.length + 63) >>> 6];
+	}
+
+	/**
+	 * Converts the given set of arguments to a bitset; arguments that are not part of this theory
+	 * are ignored.
+	 * @param arguments a set of arguments
+	 * @return the corresponding bitset.
+	 */
+	public long[] toBitSet(Collection<? extends Argument> arguments) {
+		long[] set = this.newBitSet();
+		for(Argument a: arguments) {
+			Integer id = this.ids.get(a);
+			if(id != null)
+				set[id >>> 6] |= 1L << id;
+		}
+		return set;
+	}
+
+	/**
+	 * Converts the given bitset to an extension.
+	 * @param set some bitset over the arguments of this theory
+	 * @return the corresponding extension.
+	 */
+	public Extension toExtension(long[] set) {
+		Extension ext = new Extension();
+		for(int w = 0; w < set.length; w++) {
+			long word = set[w];
+			while(word != 0) {
+				ext.add(this.arguments[(w << 6) + Long.numberOfTrailingZeros(word)]);
+				word &= word - 1;
+			}
+		}
+		return ext;
+	}
+
+	/**
+	 * Checks whether the argument with the given id is contained in the given bitset.
+	 * @param set some bitset
+	 * @param id the id of some argument
+	 * @return "true" iff the argument is contained in the set.
+	 */
+	public static boolean contains(long[] set, int id) {
+		return (set[id >>> 6] & (1L << id)) != 0;
+	}
+
+	/**
+	 * Checks whether the argument with the given id is attacked by some argument of the given set.
+	 * @param id the id of some argument
+	 * @param set some bitset
+	 * @return "true" iff some argument of <code>set</code> attacks the argument.
+	 */
+	public boolean isAttacked(int id, long[] set) {
+		for(int k = this.attackerOffsets[id]; k < this.attackerOffsets[id+1]; k++)
+			if(CompactDungTheory.contains(set, this.attackers[k]))
+				return true;
+		return false;
+	}
+
+	/**
+	 * Computes the set of all arguments attacked by some argument of the given set.
+	 * @param set some bitset
+	 * @return the bitset of all arguments attacked by <code>set</code>.
+	 */
+	public long[] getAttacked(long[] set) {
+		long[] result = this.newBitSet();
+		for(int w = 0; w < set.length; w++) {
+			long word = set[w];
+			while(word != 0) {
+				int i = (w << 6) + Long.numberOfTrailingZeros(word);
+				for(int k = this.attackedOffsets[i]; k < this.attackedOffsets[i+1]; k++)
+					result[this.attacked[k] >>> 6] |= 1L << this.attacked[k];
+				word &= word - 1;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * The characteristic function on bitsets, i.e., computes the set of all arguments
+	 * defended by the given set.
+	 * @param set some bitset
+	 * @return the bitset of all arguments that are acceptable wrt. <code>set</code>.
+	 */
+	public long[] faf(long[] set) {
+		long[] defeated = this.getAttacked(set);
+		long[] result = this.newBitSet();
+		for(int i = 0; i < this.arguments.length; i++) {
+			boolean acceptable = true;
+			for(int k = this.attackerOffsets[i]; k < this.attackerOffsets[i+1]; k++)
+				if(!CompactDungTheory.contains(defeated, this.attackers[k])) {
+					acceptable = false;
+					break;
+				}
+			if(acceptable)
+				result[i >>> 6] |= 1L << i;
+		}
+		return result;
+	}
+
+	// DungTheory methods answered by the compact index
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.syntax.DungTheory#getAttackers(org.tweetyproject.arg.dung.syntax.Argument)
+	 */
+	@Override
+	public Set<Argument> getAttackers(Argument argument){
+		Set<Argument> result = new HashSet<Argument>();
+		Integer id = this.ids.get(argument);
+		if(id != null)
+			for(int k = this.attackerOffsets[id]; k < this.attackerOffsets[id+1]; k++)
+				result.add(this.arguments[this.attackers[k]]);
+		return result;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.syntax.DungTheory#getAttacked(org.tweetyproject.arg.dung.syntax.Argument)
+	 */
+	@Override
+	public Set<Argument> getAttacked(Argument argument){
+		Set<Argument> result = new HashSet<Argument>();
+		Integer id = this.ids.get(argument);
+		if(id != null)
+			for(int k = this.attackedOffsets[id]; k < this.attackedOffsets[id+1]; k++)
+				result.add(this.arguments[this.attacked[k]]);
+		return result;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.syntax.DungTheory#isAttacked(org.tweetyproject.arg.dung.syntax.Argument, org.tweetyproject.arg.dung.semantics.Extension)
+	 */
+	@Override
+	public boolean isAttacked(Argument argument, Extension ext){
+		Integer id = this.ids.get(argument);
+		if(id == null)
+			return false;
+		for(int k = this.attackerOffsets[id]; k < this.attackerOffsets[id+1]; k++)
+			if(ext.contains(this.arguments[this.attackers[k]]))
+				return true;
+		return false;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.syntax.DungTheory#isAttackedBy(org.tweetyproject.arg.dung.syntax.Argument, java.util.Collection)
+	 */
+	@Override
+	public boolean isAttackedBy(Argument argument, Collection<Argument> ext){
+		Integer id = this.ids.get(argument);
+		if(id == null)
+			return false;
+		for(int k = this.attackedOffsets[id]; k < this.attackedOffsets[id+1]; k++)
+			if(ext.contains(this.arguments[this.attacked[k]]))
+				return true;
+		return false;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.syntax.DungTheory#isAttackedBy(org.tweetyproject.arg.dung.syntax.Argument, org.tweetyproject.arg.dung.syntax.Argument)
+	 */
+	@Override
+	public boolean isAttackedBy(Argument arg1, Argument arg2){
+		Integer id1 = this.ids.get(arg1);
+		Integer id2 = this.ids.get(arg2);
+		if(id1 == null || id2 == null)
+			return false;
+		return this.isAttackedBy(id1, id2);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.syntax.DungTheory#isStable(org.tweetyproject.arg.dung.semantics.Extension)
+	 */
+	@Override
+	public boolean isStable(Extension e) {
+		long[] set = this.toBitSet(e);
+		long[] defeated = this.getAttacked(set);
+		for(int w = 0; w < set.length; w++) {
+			// no argument is both in and defeated, and every argument is either in or defeated
+			if((set[w] & defeated[w]) != 0)
+				return false;
+			long all = (w == set.length-1 && (this.arguments.length & 63) != 0) ? (1L << this.arguments.length) - 1 : -1L;
+			if((set[w] | defeated[w]) != all)
+				return false;
+		}
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.syntax.DungTheory#isAttackingAllOtherArguments(org.tweetyproject.arg.dung.semantics.Extension)
+	 */
+	@Override
+	public boolean isAttackingAllOtherArguments(Extension ext){
+		long[] set = this.toBitSet(ext);
+		long[] defeated = this.getAttacked(set);
+		for(int i = 0; i < this.arguments.length; i++)
+			if(!CompactDungTheory.contains(set, i) && !CompactDungTheory.contains(defeated, i))
+				return false;
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.syntax.DungTheory#faf(org.tweetyproject.arg.dung.semantics.Extension)
+	 */
+	@Override
+	public Extension faf(Extension extension){
+		return this.toExtension(this.faf(this.toBitSet(extension)));
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.syntax.DungTheory#containsAttack(org.tweetyproject.arg.dung.syntax.Attack)
+	 */
+	@Override
+	public boolean containsAttack(Attack att) {
+		return this.isAttackedBy(att.getAttacked(), att.getAttacker());
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.syntax.DungTheory#getAttacks()
+	 */
+	@Override
+	public Set<Attack> getAttacks(){
+		Set<Attack> attacks = new HashSet<Attack>();
+		for(int i = 0; i < this.arguments.length; i++)
+			for(int k = this.attackedOffsets[i]; k < this.attackedOffsets[i+1]; k++)
+				attacks.add(new Attack(this.arguments[i], this.arguments[this.attacked[k]]));
+		return attacks;
+	}
+
+	// Modifications are not supported
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.commons.BeliefSet#iterator()
+	 */
+	@Override
+	public Iterator<Argument> iterator(){
+		Iterator<Argument> it = super.iterator();
+		// the default implementation of remove() throws an UnsupportedOperationException
+		return new Iterator<Argument>() {
+			@Override
+			public boolean hasNext() {
+				return it.hasNext();
+			}
+
+			@Override
+			public Argument next() {
+				return it.next();
+			}
+		};
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.syntax.DungTheory#add(org.tweetyproject.arg.dung.syntax.Argument)
+	 */
+	@Override
+	public boolean add(Argument argument) {
+		throw new UnsupportedOperationException("A compact Dung theory cannot be modified.");
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.syntax.DungTheory#addAttack(org.tweetyproject.arg.dung.syntax.Argument, org.tweetyproject.arg.dung.syntax.Argument)
+	 */
+	@Override
+	public boolean addAttack(Argument attacker, Argument attacked){
+		throw new UnsupportedOperationException("A compact Dung theory cannot be modified.");
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.syntax.DungTheory#remove(org.tweetyproject.arg.dung.syntax.Attack)
+	 */
+	@Override
+	public boolean remove(Attack attack){
+		throw new UnsupportedOperationException("A compact Dung theory cannot be modified.");
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.syntax.DungTheory#remove(org.tweetyproject.arg.dung.syntax.Argument)
+	 */
+	@Override
+	public boolean remove(Argument a){
+		throw new UnsupportedOperationException("A compact Dung theory cannot be modified.");
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.commons.BeliefSet#remove(java.lang.Object)
+	 */
+	@Override
+	public boolean remove(Object o){
+		throw new UnsupportedOperationException("A compact Dung theory cannot be modified.");
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.commons.BeliefSet#retainAll(java.util.Collection)
+	 */
+	@Override
+	public boolean retainAll(Collection<?> c){
+		throw new UnsupportedOperationException("A compact Dung theory cannot be modified.");
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.commons.BeliefSet#clear()
+	 */
+	@Override
+	public void clear(){
+		throw new UnsupportedOperationException("A compact Dung theory cannot be modified.");
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.syntax.DungTheory#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = super.hashCode();
+		for(int i = 0; i < this.arguments.length; i++) {
+			int h = 0;
+			for(int k = this.attackerOffsets[i]; k < this.attackerOffsets[i+1]; k++)
+				h += this.arguments[this.attackers[k]].hashCode();
+			result += this.arguments[i].hashCode() ^ (prime * h);
+		}
+		return result;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.syntax.DungTheory#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!super.equals(obj))
+			return false;
+		CompactDungTheory other = (CompactDungTheory) obj;
+		if (this.getNumberOfAttacks() != other.getNumberOfAttacks())
+			return false;
+		for(int i = 0; i < this.arguments.length; i++) {
+			int j = other.getId(this.arguments[i]);
+			if(this.getNumberOfAttackers(i) != other.getNumberOfAttackers(j))
+				return false;
+			for(int k = this.attackerOffsets[i]; k < this.attackerOffsets[i+1]; k++)
+				if(!other.isAttackedBy(j, other.getId(this.arguments[this.attackers[k]])))
+					return false;
+		}
+		return true;
+	}
+}
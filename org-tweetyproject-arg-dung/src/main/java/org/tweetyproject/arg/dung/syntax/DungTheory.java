@@ -54,6 +54,11 @@ public class DungTheory extends BeliefSet<Argument,DungSignature> implements Gra
 	 */
 	private Map<Argument,Set<Argument>> parents = new HashMap<Argument,Set<Argument>>();
 	private Map<Argument,Set<Argument>> children= new HashMap<Argument,Set<Argument>>();
+
+	/**
+	 * The listeners that are notified about changes of this theory (null if there are none).
+	 */
+	private List<DungTheoryListener> listeners = null;
 	
 	/**
 	 * Default constructor; initializes empty sets of arguments and attacks
@@ -468,6 +473,9 @@ public class DungTheory extends BeliefSet<Argument,DungSignature> implements Gra
 		if(!children.containsKey(attacker))
 			children.put(attacker, new HashSet<Argument>());
 		result |= children.get(attacker).add(attacked);		
+		if(result && this.listeners != null)
+			for(DungTheoryListener listener: new ArrayList<DungTheoryListener>(this.listeners))
+				listener.attackAdded(this, new Attack(attacker, attacked));
 		return result; 
 	}
 	
@@ -482,6 +490,9 @@ public class DungTheory extends BeliefSet<Argument,DungSignature> implements Gra
 			result |= parents.get(attack.getAttacked()).remove(attack.getAttacker());
 		if(children.containsKey(attack.getAttacker()))
 			result |= children.get(attack.getAttacker()).remove(attack.getAttacked());
+		if(result && this.listeners != null)
+			for(DungTheoryListener listener: new ArrayList<DungTheoryListener>(this.listeners))
+				listener.attackRemoved(this, attack);
 		return result; 
 	}
 	
@@ -491,17 +502,31 @@ public class DungTheory extends BeliefSet<Argument,DungSignature> implements Gra
 	 * @return true if this structure has been changed
 	 */
 	public boolean remove(Argument a){
+		// a self-attack is both an incoming and an outgoing attack, so it is only collected once
+		Collection<Attack> attacks = new LinkedHashSet<Attack>();
 		if(this.parents.get(a) != null){
-			for(Argument b: this.parents.get(a))
+			for(Argument b: this.parents.get(a)) {
 				this.children.get(b).remove(a);
+				attacks.add(new Attack(b,a));
+			}
 			this.parents.remove(a);
 		}
 		if(this.children.get(a) != null){
-			for(Argument b: this.children.get(a))
+			for(Argument b: this.children.get(a)) {
 				this.parents.get(b).remove(a);
+				attacks.add(new Attack(a,b));
+			}
 			this.children.remove(a);
 		}		
-		return super.remove(a);
+		boolean result = super.remove(a);
+		if(this.listeners != null)
+			for(DungTheoryListener listener: new ArrayList<DungTheoryListener>(this.listeners)) {
+				for(Attack attack: attacks)
+					listener.attackRemoved(this, attack);
+				if(result)
+					listener.argumentRemoved(this, a);
+			}
+		return result;
 	}
 	
 	/* (non-Javadoc)
@@ -576,7 +601,35 @@ public class DungTheory extends BeliefSet<Argument,DungSignature> implements Gra
 	}
 	
 	public boolean add(Argument argument) {
-		return super.add(argument);
+		boolean result = super.add(argument);
+		if(result && this.listeners != null)
+			for(DungTheoryListener listener: new ArrayList<DungTheoryListener>(this.listeners))
+				listener.argumentAdded(this, argument);
+		return result;
+	}
+
+	/**
+	 * Registers the given listener, which will be notified about all subsequent
+	 * changes of this theory (see {@link DungTheoryListener}).
+	 * @param listener some listener
+	 */
+	public void addListener(DungTheoryListener listener) {
+		if(this.listeners == null)
+			this.listeners = new ArrayList<DungTheoryListener>();
+		this.listeners.add(listener);
+	}
+
+	/**
+	 * Removes the given listener from this theory.
+	 * @param listener some listener
+	 * @return "true" iff the listener was registered for this theory.
+	 */
+	public boolean removeListener(DungTheoryListener listener) {
+		if(this.listeners == null || !this.listeners.remove(listener))
+			return false;
+		if(this.listeners.isEmpty())
+			this.listeners = null;
+		return true;
 	}
 	
 	/**
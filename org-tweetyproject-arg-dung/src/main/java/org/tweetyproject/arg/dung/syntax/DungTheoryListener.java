@@ -0,0 +1,61 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.dung.syntax;
+
+/**
+ * A listener that is notified about changes of a {@link DungTheory}. Listeners
+ * are registered via {@link DungTheory#addListener(DungTheoryListener)} and are notified
+ * after a change has been made by one of {@link DungTheory#add(Argument)},
+ * {@link DungTheory#addAttack(Argument, Argument)}, {@link DungTheory#remove(Attack)},
+ * {@link DungTheory#remove(Argument)} or the methods based on them. If an argument
+ * is removed, the removal of each of its attacks is reported before the removal of the argument.
+ * Calls that do not change the theory are not reported.
+ *
+ * @author Sebastian Franke
+ */
+public interface DungTheoryListener {
+
+	/**
+	 * This method is called when an argument has been added to the given theory.
+	 * @param theory some Dung theory
+	 * @param argument the added argument
+	 */
+	public void argumentAdded(DungTheory theory, Argument argument);
+
+	/**
+	 * This method is called when an argument has been removed from the given theory.
+	 * @param theory some Dung theory
+	 * @param argument the removed argument
+	 */
+	public void argumentRemoved(DungTheory theory, Argument argument);
+
+	/**
+	 * This method is called when an attack has been added to the given theory.
+	 * @param theory some Dung theory
+	 * @param attack the added attack
+	 */
+	public void attackAdded(DungTheory theory, Attack attack);
+
+	/**
+	 * This method is called when an attack has been removed from the given theory.
+	 * @param theory some Dung theory
+	 * @param attack the removed attack
+	 */
+	public void attackRemoved(DungTheory theory, Attack attack);
+}
@@ -0,0 +1,385 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.dung.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.CompactDungTheory;
+import org.tweetyproject.arg.dung.syntax.DungTheory;
+
+/**
+ * The canonical form of a Dung theory, i.e., a numbering of its arguments such that two
+ * theories are isomorphic if and only if their attack relations coincide under their canonical
+ * numberings. The canonical attack relation (together with the number of arguments) is
+ * the certificate of the theory; isomorphism of theories can thus be decided by comparing
+ * certificates, which can also be used as hash keys.
+ * <br>
+ * <br>The canonical numbering is computed by individualisation and refinement in the style of nauty:
+ * starting with the arguments partitioned wrt. self-attacks, the ordered partition is refined
+ * (Weisfeiler-Lehman colour refinement) until every argument in a cell attacks and is attacked by the same
+ * number of arguments of every cell. If some cell has more than one argument, each of its
+ * arguments is individualised in turn and the search continues on the refined partitions; every
+ * discrete partition yields a numbering and the one with the lexicographically smallest attack relation is canonical.
+ * Automorphisms found on the way are used to skip equivalent branches. Although the search
+ * is exponential in the worst case, refinement alone is discrete for most theories.
+ *
+ * @author Sebastian Franke
+ */
+public class CanonicalForm {
+
+	/** The theory. */
+	private CompactDungTheory aaf;
+	/** The number of arguments. */
+	private int n;
+	/** The canonical position of every argument (by id). */
+	private int[] positions;
+	/** The argument (id) at every canonical position. */
+	private int[] ids;
+	/** The number of arguments followed by the sorted attacks (i,j) encoded as i*n+j in canonical positions. */
+	private long[] certificate;
+
+	// state of the search
+
+	/** The individualised arguments on the current path. */
+	private int[] path;
+	/** The first leaf, i.e., its numbering, certificate and path. */
+	private int[] firstLeaf;
+	private long[] firstCertificate;
+	private int[] firstPath;
+	/** The best leaf so far, i.e., its numbering and path. */
+	private int[] bestPath;
+	/** The automorphisms found so far. */
+	private List<int[]> automorphisms = new ArrayList<int[]>();
+
+	/**
+	 * Computes the canonical form of the given theory.
+	 * @param theory some theory
+	 */
+	private CanonicalForm(DungTheory theory) {
+		this.aaf = CompactDungTheory.compile(theory);
+		this.n = this.aaf.getNumberOfArguments();
+		// initial partition: arguments without self-attack first
+		int[] colors = new int[this.n];
+		int loops = 0;
+		for(int a = 0; a < this.n; a++)
+			if(this.aaf.isAttackedBy(a, a))
+				loops++;
+		for(int a = 0; a < this.n; a++)
+			if(this.aaf.isAttackedBy(a, a))
+				colors[a] = this.n - loops;
+		this.path = new int[this.n];
+		this.search(this.refine(colors), 0);
+		this.ids = new int[this.n];
+		for(int a = 0; a < this.n; a++)
+			this.ids[this.positions[a]] = a;
+		// release the state of the search
+		this.path = this.firstLeaf = this.firstPath = this.bestPath = null;
+		this.firstCertificate = null;
+		this.automorphisms = null;
+	}
+
+	/**
+	 * Computes the canonical form of the given theory.
+	 * @param theory some theory
+	 * @return the canonical form of the theory
+	 */
+	public static CanonicalForm of(DungTheory theory) {
+		return new CanonicalForm(theory);
+	}
+
+	/**
+	 * Checks whether the given theories are isomorphic.
+	 * @param theory1 some theory
+	 * @param theory2 some theory
+	 * @return "true" iff the theories are isomorphic.
+	 */
+	public static boolean isIsomorphic(DungTheory theory1, DungTheory theory2) {
+		if(theory1.size() != theory2.size())
+			return false;
+		return CanonicalForm.of(theory1).equals(CanonicalForm.of(theory2));
+	}
+
+	/**
+	 * Returns the number of arguments.
+	 * @return the number of arguments.
+	 */
+	public int size() {
+		return this.n;
+	}
+
+	/**
+	 * Returns the canonical position of the given argument.
+	 * @param argument some argument
+	 * @return the canonical position of the argument or -1 if it is not part of the theory.
+	 */
+	public int getPosition(Argument argument) {
+		int id = this.aaf.getId(argument);
+		return id == -1 ? -1 : this.positions[id];
+	}
+
+	/**
+	 * Returns the argument at the given canonical position.
+	 * @param position some position between 0 and size()-1
+	 * @return the argument at the position.
+	 */
+	public Argument getArgument(int position) {
+		return this.aaf.getArgument(this.ids[position]);
+	}
+
+	/**
+	 * Returns the certificate of the theory, i.e., the number of arguments followed by the sorted
+	 * attacks (i,j) between canonical positions encoded as i*size()+j.
+	 * @return the certificate of the theory.
+	 */
+	public long[] getCertificate() {
+		return this.certificate.clone();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(this.certificate);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj)
+			return true;
+		if(!(obj instanceof CanonicalForm))
+			return false;
+		return Arrays.equals(this.certificate, ((CanonicalForm) obj).certificate);
+	}
+
+	/**
+	 * Searches the tree of refined partitions below the given one.
+	 * @param colors an equitable ordered partition, i.e., the cell of every argument given by its first position
+	 * @param depth the number of individualised arguments
+	 * @return the depth the search continues at; smaller than the given depth if the search
+	 * 	jumps back because the remaining subtree is equivalent to an explored one.
+	 */
+	private int search(int[] colors, int depth) {
+		// the first non-singleton cell
+		int cell = -1;
+		int[] sizes = new int[this.n];
+		for(int a = 0; a < this.n; a++)
+			sizes[colors[a]]++;
+		for(int c = 0; c < this.n && cell == -1; c++)
+			if(sizes[c] > 1)
+				cell = c;
+		if(cell == -1)
+			return this.leaf(colors, depth);
+		for(int a = 0; a < this.n; a++) {
+			if(colors[a] != cell || this.getOrbit(a, depth) != a)
+				continue;
+			this.path[depth] = a;
+			int[] child = colors.clone();
+			for(int b = 0; b < this.n; b++)
+				if(b != a && child[b] == cell)
+					child[b] = cell + 1;
+			int jump = this.search(this.refine(child), depth + 1);
+			if(jump < depth)
+				return jump;
+		}
+		return depth;
+	}
+
+	/**
+	 * Returns the smallest argument in the orbit of the given one under the automorphisms found
+	 * so far that fix the first arguments of the current path.
+	 * @param a some argument
+	 * @param depth the number of arguments of the path to be fixed
+	 * @return the smallest argument equivalent to a.
+	 */
+	private int getOrbit(int a, int depth) {
+		int[] parent = null;
+		for(int[] automorphism: this.automorphisms) {
+			boolean fixing = true;
+			for(int i = 0; i < depth && fixing; i++)
+				fixing = automorphism[this.path[i]] == this.path[i];
+			if(!fixing)
+				continue;
+			if(parent == null) {
+				parent = new int[this.n];
+				for(int b = 0; b < this.n; b++)
+					parent[b] = b;
+			}
+			for(int b = 0; b < this.n; b++) {
+				int r1 = CanonicalForm.find(parent, b), r2 = CanonicalForm.find(parent, automorphism[b]);
+				if(r1 < r2)
+					parent[r2] = r1;
+				else if(r2 < r1)
+					parent[r1] = r2;
+			}
+		}
+		return parent == null ? a : CanonicalForm.find(parent, a);
+	}
+
+	/**
+	 * Returns the root of the given element in the given union-find structure, i.e., the smallest
+	 * element of its set.
+	 * @param parent some union-find structure
+	 * @param a some element
+	 * @return the root of a.
+	 */
+	private static int find(int[] parent, int a) {
+		while(parent[a] != a) {
+			parent[a] = parent[parent[a]];
+			a = parent[a];
+		}
+		return a;
+	}
+
+	/**
+	 * Processes a leaf of the search, i.e., a numbering of the arguments.
+	 * @param numbering a discrete partition, i.e., the position of every argument
+	 * @param depth the number of individualised arguments
+	 * @return the depth the search continues at.
+	 */
+	private int leaf(int[] numbering, int depth) {
+		long[] certificate = this.getCertificate(numbering);
+		int[] path = Arrays.copyOf(this.path, depth);
+		if(this.firstLeaf == null) {
+			this.firstLeaf = this.positions = numbering;
+			this.firstCertificate = this.certificate = certificate;
+			this.firstPath = this.bestPath = path;
+			return depth;
+		}
+		if(Arrays.equals(certificate, this.firstCertificate))
+			return this.addAutomorphism(this.firstLeaf, numbering, this.firstPath, path);
+		int cmp = Arrays.compare(certificate, this.certificate);
+		if(cmp == 0)
+			return this.addAutomorphism(this.positions, numbering, this.bestPath, path);
+		if(cmp < 0) {
+			this.positions = numbering;
+			this.certificate = certificate;
+			this.bestPath = path;
+		}
+		return depth;
+	}
+
+	/**
+	 * Adds the automorphism given by two numberings with equal certificates; as the subtree
+	 * of the second numbering below the point where the paths diverge is the image of an
+	 * explored subtree, the search jumps back to that point.
+	 * @param numbering1 an explored numbering
+	 * @param numbering2 the current numbering
+	 * @param path1 the path of the first numbering
+	 * @param path2 the path of the current numbering
+	 * @return the length of the common prefix of both paths.
+	 */
+	private int addAutomorphism(int[] numbering1, int[] numbering2, int[] path1, int[] path2) {
+		int[] inverse = new int[this.n];
+		for(int a = 0; a < this.n; a++)
+			inverse[numbering1[a]] = a;
+		int[] automorphism = new int[this.n];
+		for(int a = 0; a < this.n; a++)
+			automorphism[a] = inverse[numbering2[a]];
+		this.automorphisms.add(automorphism);
+		int d = 0;
+		while(d < path1.length && d < path2.length && path1[d] == path2[d])
+			d++;
+		return d;
+	}
+
+	/**
+	 * Returns the certificate of the given numbering.
+	 * @param numbering the position of every argument
+	 * @return the number of arguments followed by the sorted encoded attacks.
+	 */
+	private long[] getCertificate(int[] numbering) {
+		long[] certificate = new long[this.aaf.getNumberOfAttacks() + 1];
+		certificate[0] = this.n;
+		int k = 1;
+		for(int a = 0; a < this.n; a++)
+			for(int i = 0; i < this.aaf.getNumberOfAttacked(a); i++)
+				certificate[k++] = (long) numbering[a] * this.n + numbering[this.aaf.getAttacked(a, i)];
+		Arrays.sort(certificate, 1, k);
+		return certificate;
+	}
+
+	/**
+	 * Refines the given ordered partition until it is equitable. In every round, the arguments
+	 * are sorted by their cell and the sorted cells of the arguments they attack and are attacked by;
+	 * the new cell of an argument is the first position of its signature in this order.
+	 * @param colors an ordered partition, i.e., the cell of every argument given by its first position (modified)
+	 * @return the refined partition.
+	 */
+	private int[] refine(int[] colors) {
+		int cells = CanonicalForm.countCells(colors);
+		Integer[] order = new Integer[this.n];
+		int[][] signatures = new int[this.n][];
+		while(true) {
+			for(int a = 0; a < this.n; a++) {
+				int out = this.aaf.getNumberOfAttacked(a), in = this.aaf.getNumberOfAttackers(a);
+				int[] signature = new int[3 + out + in];
+				signature[0] = colors[a];
+				signature[1] = out;
+				for(int i = 0; i < out; i++)
+					signature[2 + i] = colors[this.aaf.getAttacked(a, i)];
+				Arrays.sort(signature, 2, 2 + out);
+				signature[2 + out] = in;
+				for(int i = 0; i < in; i++)
+					signature[3 + out + i] = colors[this.aaf.getAttacker(a, i)];
+				Arrays.sort(signature, 3 + out, signature.length);
+				signatures[a] = signature;
+				order[a] = a;
+			}
+			Arrays.sort(order, (a, b) -> Arrays.compare(signatures[a], signatures[b]));
+			int[] refined = new int[this.n];
+			int count = 0;
+			for(int i = 0; i < this.n; i++) {
+				int a = order[i];
+				if(i > 0 && Arrays.equals(signatures[a], signatures[order[i-1]]))
+					refined[a] = refined[order[i-1]];
+				else {
+					refined[a] = i;
+					count++;
+				}
+			}
+			colors = refined;
+			if(count == cells)
+				return colors;
+			cells = count;
+		}
+	}
+
+	/**
+	 * Returns the number of cells of the given partition.
+	 * @param colors a partition
+	 * @return the number of distinct colors.
+	 */
+	private static int countCells(int[] colors) {
+		boolean[] used = new boolean[colors.length];
+		int count = 0;
+		for(int c: colors)
+			if(!used[c]) {
+				used[c] = true;
+				count++;
+			}
+		return count;
+	}
+}
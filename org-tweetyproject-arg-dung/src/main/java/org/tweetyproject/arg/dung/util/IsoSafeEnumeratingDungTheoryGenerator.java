@@ -21,11 +21,11 @@ package org.tweetyproject.arg.dung.util;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Set;
 
 import org.tweetyproject.arg.dung.syntax.Argument;
 import org.tweetyproject.arg.dung.syntax.Attack;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
-import org.tweetyproject.graphs.util.GraphUtil;
 
 /**
  * This generator generators all possible Dung argumentation theories
@@ -55,18 +55,15 @@ public class IsoSafeEnumeratingDungTheoryGenerator implements DungTheoryGenerato
 		this.iterator = this.currentTheories.iterator();
 	}
 	
-	/** Checks whether the first theory is isomorphic to some theory
-	 * in "theories".
+	/** Adds the canonical form of the given theory to the given forms, unless
+	 * the theory is isomorphic to some theory with one of these forms.
 	 * @param theory a Dung theory
-	 * @param theories a collection of Dung theories.
-	 * @return "true" if the first theory is isomorphic to some theory
-	 * in "theories".
+	 * @param forms the canonical forms of a collection of Dung theories, modified by this method.
+	 * @return "true" if the canonical form has been added, i.e. the theory is not
+	 * isomorphic to any theory with one of the given canonical forms.
 	 */
-	private boolean isIsomorphic(DungTheory theory, Collection<DungTheory> theories){
-		for(DungTheory other: theories)
-			if(GraphUtil.isIsomorphic(theory, other))
-				return true;
-		return false;
+	private boolean addIfNew(DungTheory theory, Set<CanonicalForm> forms){
+		return forms.add(CanonicalForm.of(theory));
 	}
 	
 	/* (non-Javadoc)
@@ -79,6 +76,7 @@ public class IsoSafeEnumeratingDungTheoryGenerator implements DungTheoryGenerato
 		if(this.cntAttacks < this.cntArguments * this.cntArguments){
 			this.cntAttacks++;
 			Collection<DungTheory> newTheories = new HashSet<DungTheory>();
+			Set<CanonicalForm> forms = new HashSet<CanonicalForm>();
 			for(DungTheory theory: this.currentTheories){
 				for(Argument a: theory){
 					for(Argument b: theory){
@@ -87,7 +85,7 @@ public class IsoSafeEnumeratingDungTheoryGenerator implements DungTheoryGenerato
 							newTheory.addAll(theory);
 							newTheory.addAllAttacks(theory.getAttacks());
 							newTheory.add(new Attack(a,b));
-							if(!this.isIsomorphic(newTheory, newTheories))
+							if(this.addIfNew(newTheory, forms))
 								newTheories.add(newTheory);
 						}
 					}
@@ -0,0 +1,115 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.dung.writer;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.tweetyproject.arg.dung.parser.FileFormat;
+import org.tweetyproject.arg.dung.syntax.CompactDungTheory;
+import org.tweetyproject.arg.dung.syntax.DungTheory;
+
+/**
+ * Writes large abstract argumentation frameworks into files of the APX
+ * or TGF format. The theory is compiled into a {@link CompactDungTheory} (if
+ * it is not compact already), every argument name is encoded only once and
+ * attacks are written from the attack index of the compact theory, i.e.,
+ * without creating an {@link org.tweetyproject.arg.dung.syntax.Attack} or
+ * a string for every attack. Files are written in UTF-8 with "\n" as line separator
+ * and can be read by {@link org.tweetyproject.arg.dung.parser.BulkDungParser}.
+ *
+ * @author Sebastian Franke
+ */
+public class BulkDungWriter extends AbstractDungWriter {
+
+	/** The size of the output buffer. */
+	private static final int BUFFER = 1 << 16;
+	/** Fixed parts of APX declarations. */
+	private static final byte[] ARG = {'a', 'r', 'g', '('};
+	private static final byte[] ATT = {'a', 't', 't', '('};
+	private static final byte[] END = {')', '.'};
+
+	/** The file format. */
+	private FileFormat format;
+
+	/**
+	 * Creates a new writer for the given file format.
+	 * @param format either {@link FileFormat#APX} or {@link FileFormat#TGF}.
+	 */
+	public BulkDungWriter(FileFormat format) {
+		if(!format.equals(FileFormat.APX) && !format.equals(FileFormat.TGF))
+			throw new IllegalArgumentException("Unsupported file format: " + format.description());
+		this.format = format;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.writer.AbstractDungWriter#write(org.tweetyproject.arg.dung.syntax.DungTheory, java.io.File)
+	 */
+	@Override
+	public void write(DungTheory aaf, File f) throws IOException {
+		try(OutputStream out = new FileOutputStream(f)) {
+			this.write(aaf, out);
+		}
+	}
+
+	/**
+	 * Writes the given abstract argumentation framework to the given stream;
+	 * the stream is flushed but not closed.
+	 * @param aaf an abstract argumentation framework
+	 * @param out some output stream
+	 * @throws IOException for all errors concerning writing.
+	 */
+	public void write(DungTheory aaf, OutputStream out) throws IOException {
+		CompactDungTheory theory = CompactDungTheory.compile(aaf);
+		int n = theory.getNumberOfArguments();
+		byte[][] names = new byte[n][];
+		for(int i = 0; i < n; i++)
+			names[i] = theory.getArgument(i).getName().getBytes(StandardCharsets.UTF_8);
+		boolean apx = this.format.equals(FileFormat.APX);
+		OutputStream writer = new BufferedOutputStream(out, BulkDungWriter.BUFFER);
+		for(int i = 0; i < n; i++) {
+			if(apx)
+				writer.write(BulkDungWriter.ARG);
+			writer.write(names[i]);
+			if(apx)
+				writer.write(BulkDungWriter.END);
+			writer.write('\n');
+		}
+		if(!apx) {
+			writer.write('#');
+			writer.write('\n');
+		}
+		for(int i = 0; i < n; i++)
+			for(int k = 0; k < theory.getNumberOfAttacked(i); k++) {
+				if(apx)
+					writer.write(BulkDungWriter.ATT);
+				writer.write(names[i]);
+				writer.write(apx ? ',' : ' ');
+				writer.write(names[theory.getAttacked(i, k)]);
+				if(apx)
+					writer.write(BulkDungWriter.END);
+				writer.write('\n');
+			}
+		writer.flush();
+	}
+}
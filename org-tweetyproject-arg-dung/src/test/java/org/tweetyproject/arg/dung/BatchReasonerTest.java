@@ -0,0 +1,132 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.dung;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.tweetyproject.arg.dung.learning.ExampleFinder;
+import org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner;
+import org.tweetyproject.arg.dung.reasoner.BatchReasoner;
+import org.tweetyproject.arg.dung.reasoner.SimpleAdmissibleReasoner;
+import org.tweetyproject.arg.dung.reasoner.SimpleGroundedReasoner;
+import org.tweetyproject.arg.dung.reasoner.SimplePreferredReasoner;
+import org.tweetyproject.arg.dung.reasoner.SimpleStableReasoner;
+import org.tweetyproject.arg.dung.semantics.Extension;
+import org.tweetyproject.arg.dung.semantics.Semantics;
+import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.DungTheory;
+import org.tweetyproject.arg.dung.util.DefaultDungTheoryGenerator;
+import org.tweetyproject.arg.dung.util.DungTheoryGenerationParameters;
+
+public class BatchReasonerTest {
+
+	@Test
+	public void orderTest() {
+		DungTheoryGenerationParameters params = new DungTheoryGenerationParameters();
+		params.numberOfArguments = 10;
+		params.attackProbability = 0.2;
+		List<AbstractExtensionReasoner> reasoners = Arrays.asList(new SimpleGroundedReasoner(), new SimplePreferredReasoner(), new SimpleStableReasoner());
+		List<BatchReasoner.Result> results = new ArrayList<BatchReasoner.Result>();
+		try(BatchReasoner batch = new BatchReasoner(4, 1, TimeUnit.MINUTES)) {
+			batch.run(new DefaultDungTheoryGenerator(params), 3, 50, reasoners, results::add);
+		}
+		assertEquals(150, results.size());
+		DefaultDungTheoryGenerator gen = new DefaultDungTheoryGenerator(params);
+		gen.setSeed(3);
+		for(int i = 0; i < 50; i++) {
+			DungTheory theory = gen.next();
+			for(int j = 0; j < reasoners.size(); j++) {
+				BatchReasoner.Result result = results.get(3 * i + j);
+				assertEquals(i, result.getIndex());
+				assertEquals(BatchReasoner.Status.DONE, result.getStatus());
+				assertEquals(theory, result.getTheory());
+				assertEquals(reasoners.get(j).getModels(theory), result.getExtensions());
+			}
+		}
+	}
+
+	@Test
+	public void timeoutTest() {
+		AbstractExtensionReasoner slow = new SimpleGroundedReasoner() {
+			@Override
+			public Collection<Extension> getModels(DungTheory bbase) {
+				try {
+					Thread.sleep(10000);
+				}catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return super.getModels(bbase);
+			}
+		};
+		AbstractExtensionReasoner failing = new SimpleGroundedReasoner() {
+			@Override
+			public Collection<Extension> getModels(DungTheory bbase) {
+				throw new IllegalStateException();
+			}
+		};
+		try(BatchReasoner batch = new BatchReasoner(2, 100, TimeUnit.MILLISECONDS)) {
+			List<BatchReasoner.Result> results = batch.run(Arrays.asList(new DungTheory()), Arrays.asList(slow, failing, new SimpleGroundedReasoner()));
+			assertEquals(BatchReasoner.Status.TIMEOUT, results.get(0).getStatus());
+			assertEquals(BatchReasoner.Status.FAILED, results.get(1).getStatus());
+			assertEquals(IllegalStateException.class, results.get(1).getError().getClass());
+			assertEquals(BatchReasoner.Status.DONE, results.get(2).getStatus());
+		}
+	}
+
+	@Test
+	public void exampleFinderTest() {
+		try(BatchReasoner batch = new BatchReasoner()) {
+			assertEquals(new ExampleFinder(Semantics.ADM, Semantics.CO).getExamples(1, 3),
+					new ExampleFinder(Semantics.ADM, Semantics.CO).getExamples(1, 3, batch));
+			for(long maxExtensions = 1; maxExtensions <= 4; maxExtensions++) {
+				ExampleFinder sequential = new ExampleFinder(Semantics.ADM, Semantics.CO);
+				ExampleFinder parallel = new ExampleFinder(Semantics.ADM, Semantics.CO);
+				sequential.setMaximalNumberOfExtensions(maxExtensions);
+				parallel.setMaximalNumberOfExtensions(maxExtensions);
+				assertEquals(sequential.getExamples(1, 3), parallel.getExamples(1, 3, batch));
+			}
+		}
+	}
+
+	@Test
+	public void limitTest() {
+		// all 64 subsets of six unattacked arguments are admissible
+		DungTheory theory = new DungTheory();
+		for(int i = 0; i < 6; i++)
+			theory.add(new Argument("a" + i));
+		List<AbstractExtensionReasoner> reasoners = Arrays.asList(new SimpleAdmissibleReasoner());
+		List<BatchReasoner.Result> results = new ArrayList<BatchReasoner.Result>();
+		try(BatchReasoner batch = new BatchReasoner(2, 1, TimeUnit.MINUTES)) {
+			batch.run(Arrays.asList(theory).iterator(), 1, reasoners, 63, results::add);
+			batch.run(Arrays.asList(theory).iterator(), 1, reasoners, 64, results::add);
+		}
+		assertEquals(BatchReasoner.Status.EXCEEDED, results.get(0).getStatus());
+		assertNull(results.get(0).getExtensions());
+		assertEquals(BatchReasoner.Status.DONE, results.get(1).getStatus());
+		assertEquals(64, results.get(1).getExtensions().size());
+	}
+}
@@ -0,0 +1,169 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.dung;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+import org.tweetyproject.arg.dung.reasoner.ExtensionCache;
+import org.tweetyproject.arg.dung.reasoner.SimplePreferredReasoner;
+import org.tweetyproject.arg.dung.semantics.Semantics;
+import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.Attack;
+import org.tweetyproject.arg.dung.syntax.DungTheory;
+import org.tweetyproject.arg.dung.util.CanonicalForm;
+import org.tweetyproject.arg.dung.util.DefaultDungTheoryGenerator;
+import org.tweetyproject.arg.dung.util.DungTheoryGenerationParameters;
+import org.tweetyproject.arg.dung.util.IsoSafeEnumeratingDungTheoryGenerator;
+
+public class CanonicalFormTest {
+
+	/**
+	 * Returns a copy of the given theory with randomly renamed arguments.
+	 * @param theory some theory
+	 * @param random some random number generator
+	 * @return an isomorphic theory
+	 */
+	private DungTheory rename(DungTheory theory, Random random) {
+		List<Argument> args = new ArrayList<Argument>(theory);
+		List<Argument> names = new ArrayList<Argument>();
+		for(int i = 0; i < args.size(); i++)
+			names.add(new Argument("b" + i));
+		Collections.shuffle(names, random);
+		Map<Argument,Argument> map = new HashMap<Argument,Argument>();
+		DungTheory result = new DungTheory();
+		for(int i = 0; i < args.size(); i++) {
+			map.put(args.get(i), names.get(i));
+			result.add(names.get(i));
+		}
+		for(Attack att: theory.getAttacks())
+			result.addAttack(map.get(att.getAttacker()), map.get(att.getAttacked()));
+		return result;
+	}
+
+	/**
+	 * Checks whether the given theories are isomorphic by trying all bijections.
+	 * @param args1 the arguments of the first theory
+	 * @param theory1 some theory
+	 * @param args2 the remaining arguments of the second theory
+	 * @param theory2 some theory
+	 * @param map a partial bijection
+	 * @return "true" iff the partial bijection extends to an isomorphism.
+	 */
+	private boolean isIsomorphic(List<Argument> args1, DungTheory theory1, List<Argument> args2, DungTheory theory2, Map<Argument,Argument> map) {
+		if(map.size() == args1.size()) {
+			for(Argument a: args1)
+				for(Argument b: args1)
+					if(theory1.isAttackedBy(b, a) != theory2.isAttackedBy(map.get(b), map.get(a)))
+						return false;
+			return true;
+		}
+		Argument a = args1.get(map.size());
+		for(Argument b: new ArrayList<Argument>(args2)) {
+			map.put(a, b);
+			args2.remove(b);
+			boolean iso = this.isIsomorphic(args1, theory1, args2, theory2, map);
+			args2.add(b);
+			map.remove(a);
+			if(iso)
+				return true;
+		}
+		return false;
+	}
+
+	@Test
+	public void randomTest() {
+		DungTheoryGenerationParameters params = new DungTheoryGenerationParameters();
+		params.numberOfArguments = 5;
+		params.attackProbability = 0.3;
+		params.avoidSelfAttacks = false;
+		DefaultDungTheoryGenerator gen = new DefaultDungTheoryGenerator(params);
+		gen.setSeed(1);
+		Random random = new Random(1);
+		for(int i = 0; i < 200; i++) {
+			DungTheory theory1 = gen.next(), theory2 = gen.next();
+			assertEquals(CanonicalForm.of(theory1), CanonicalForm.of(this.rename(theory1, random)));
+			assertEquals(this.isIsomorphic(new ArrayList<Argument>(theory1), theory1, new ArrayList<Argument>(theory2), theory2, new HashMap<Argument,Argument>()),
+					CanonicalForm.isIsomorphic(theory1, theory2));
+		}
+	}
+
+	@Test
+	public void symmetricTest() {
+		// many automorphisms: isolated arguments, disjoint cycles, a complete theory
+		Random random = new Random(2);
+		DungTheory isolated = new DungTheory(), cycles = new DungTheory(), complete = new DungTheory();
+		for(int i = 0; i < 40; i++) {
+			isolated.add(new Argument("a" + i));
+			cycles.add(new Argument("a" + i));
+			complete.add(new Argument("a" + i));
+		}
+		for(int i = 0; i < 40; i++) {
+			cycles.addAttack(new Argument("a" + i), new Argument("a" + (i % 4 == 3 ? i - 3 : i + 1)));
+			for(int j = 0; j < 40; j++)
+				if(i != j)
+					complete.addAttack(new Argument("a" + i), new Argument("a" + j));
+		}
+		for(DungTheory theory: new DungTheory[] {isolated, cycles, complete})
+			assertEquals(CanonicalForm.of(theory), CanonicalForm.of(this.rename(theory, random)));
+		// ten 4-cycles are not isomorphic to five 8-cycles
+		DungTheory cycles8 = new DungTheory();
+		for(int i = 0; i < 40; i++)
+			cycles8.add(new Argument("a" + i));
+		for(int i = 0; i < 40; i++)
+			cycles8.addAttack(new Argument("a" + i), new Argument("a" + (i % 8 == 7 ? i - 7 : i + 1)));
+		assertFalse(CanonicalForm.of(cycles).equals(CanonicalForm.of(cycles8)));
+	}
+
+	@Test
+	public void enumerationTest() {
+		// there are 2 directed graphs with loops on one and 10 on two vertices (up to isomorphism)
+		IsoSafeEnumeratingDungTheoryGenerator gen = new IsoSafeEnumeratingDungTheoryGenerator();
+		int count = 0;
+		while(gen.next().size() < 3)
+			count++;
+		assertEquals(2 + 10, count);
+	}
+
+	@Test
+	public void cacheTest() {
+		DungTheoryGenerationParameters params = new DungTheoryGenerationParameters();
+		params.numberOfArguments = 8;
+		params.attackProbability = 0.2;
+		DefaultDungTheoryGenerator gen = new DefaultDungTheoryGenerator(params);
+		gen.setSeed(3);
+		Random random = new Random(3);
+		ExtensionCache cache = new ExtensionCache();
+		for(int i = 0; i < 20; i++) {
+			DungTheory theory = gen.next();
+			DungTheory renamed = this.rename(theory, random);
+			assertEquals(new SimplePreferredReasoner().getModels(theory), cache.getModels(theory, Semantics.PR));
+			assertEquals(new SimplePreferredReasoner().getModels(renamed), cache.getModels(renamed, Semantics.PR));
+		}
+		assertEquals(20, cache.getHits());
+	}
+}
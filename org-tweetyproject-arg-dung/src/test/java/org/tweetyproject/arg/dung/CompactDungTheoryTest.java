@@ -0,0 +1,111 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.dung;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Iterator;
+
+import org.junit.Test;
+import org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner;
+import org.tweetyproject.arg.dung.semantics.Extension;
+import org.tweetyproject.arg.dung.semantics.Semantics;
+import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.Attack;
+import org.tweetyproject.arg.dung.syntax.CompactDungTheory;
+import org.tweetyproject.arg.dung.syntax.DungTheory;
+import org.tweetyproject.arg.dung.util.DefaultDungTheoryGenerator;
+import org.tweetyproject.arg.dung.util.DungTheoryGenerationParameters;
+
+public class CompactDungTheoryTest {
+
+	@Test
+	public void attacksTest() {
+		DungTheoryGenerationParameters params = new DungTheoryGenerationParameters();
+		params.numberOfArguments = 12;
+		params.attackProbability = 0.2;
+		DefaultDungTheoryGenerator gen = new DefaultDungTheoryGenerator(params);
+		gen.setSeed(1);
+		for(int i = 0; i < 20; i++) {
+			DungTheory theory = gen.next();
+			CompactDungTheory compact = new CompactDungTheory(theory);
+			assertEquals(theory.getAttacks(), compact.getAttacks());
+			assertEquals(theory.size(), compact.getNumberOfArguments());
+			Extension ext = new Extension();
+			for(Argument a: theory) {
+				assertEquals(theory.getAttackers(a), compact.getAttackers(a));
+				assertEquals(theory.getAttacked(a), compact.getAttacked(a));
+				assertEquals(theory.isAttacked(a, ext), compact.isAttacked(a, ext));
+				assertEquals(theory.faf(ext), compact.faf(ext));
+				assertEquals(theory.isStable(ext), compact.isStable(ext));
+				ext.add(a);
+			}
+			assertEquals(compact, new CompactDungTheory(theory));
+			assertEquals(compact.hashCode(), new CompactDungTheory(theory).hashCode());
+		}
+	}
+
+	@Test
+	public void reasonerTest() {
+		DungTheoryGenerationParameters params = new DungTheoryGenerationParameters();
+		params.numberOfArguments = 8;
+		params.attackProbability = 0.25;
+		DefaultDungTheoryGenerator gen = new DefaultDungTheoryGenerator(params);
+		gen.setSeed(2);
+		Semantics[] semantics = {Semantics.GR, Semantics.CO, Semantics.PR, Semantics.ST, Semantics.ADM, Semantics.SST};
+		for(int i = 0; i < 10; i++) {
+			DungTheory theory = gen.next();
+			CompactDungTheory compact = CompactDungTheory.compile(theory);
+			for(Semantics s: semantics) {
+				AbstractExtensionReasoner reasoner = AbstractExtensionReasoner.getSimpleReasonerForSemantics(s);
+				assertEquals(reasoner.getModels(theory), reasoner.getModels(compact));
+			}
+		}
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void immutableTest() {
+		DungTheory theory = new DungTheory();
+		Argument a = new Argument("a");
+		theory.add(a);
+		CompactDungTheory compact = new CompactDungTheory(theory);
+		assertTrue(compact.contains(a));
+		compact.add(new Attack(a, a));
+	}
+
+	@Test
+	public void immutableIteratorTest() {
+		DungTheory theory = new DungTheory();
+		Argument a = new Argument("a");
+		theory.add(a);
+		CompactDungTheory compact = new CompactDungTheory(theory);
+		Iterator<Argument> it = compact.iterator();
+		assertEquals(a, it.next());
+		try {
+			it.remove();
+			fail();
+		}catch(UnsupportedOperationException e) {
+			// expected
+		}
+		assertEquals(1, compact.size());
+		assertEquals(0, compact.getId(a));
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.dung;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+import org.tweetyproject.arg.dung.reasoner.DynamicReasoner;
+import org.tweetyproject.arg.dung.reasoner.SimpleCompleteReasoner;
+import org.tweetyproject.arg.dung.reasoner.SimpleGroundedReasoner;
+import org.tweetyproject.arg.dung.reasoner.SimplePreferredReasoner;
+import org.tweetyproject.arg.dung.semantics.ArgumentStatus;
+import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.Attack;
+import org.tweetyproject.arg.dung.syntax.DungTheory;
+import org.tweetyproject.arg.dung.syntax.DungTheoryListener;
+import org.tweetyproject.arg.dung.util.DefaultDungTheoryGenerator;
+import org.tweetyproject.arg.dung.util.DungTheoryGenerationParameters;
+
+public class DynamicReasonerTest {
+
+	@Test
+	public void randomUpdateTest() {
+		DungTheoryGenerationParameters params = new DungTheoryGenerationParameters();
+		params.numberOfArguments = 10;
+		params.attackProbability = 0.15;
+		params.avoidSelfAttacks = false;
+		DefaultDungTheoryGenerator gen = new DefaultDungTheoryGenerator(params);
+		gen.setSeed(7);
+		Random random = new Random(7);
+		for(int i = 0; i < 10; i++) {
+			DungTheory theory = gen.next();
+			List<Argument> arguments = new ArrayList<Argument>(theory);
+			DynamicReasoner reasoner = new DynamicReasoner(theory);
+			for(int j = 0; j < 40; j++) {
+				// only some steps query the reasoner, such that changes accumulate
+				if(j % 3 != 1) {
+					assertEquals(new SimpleGroundedReasoner().getLabeling(theory), reasoner.getGroundedLabeling());
+					assertEquals(new SimpleCompleteReasoner().getModels(theory), reasoner.getCompleteExtensions());
+					assertEquals(new SimplePreferredReasoner().getModels(theory), reasoner.getPreferredExtensions());
+				}
+				Argument a = arguments.get(random.nextInt(arguments.size()));
+				Argument b = arguments.get(random.nextInt(arguments.size()));
+				switch(random.nextInt(6)) {
+				case 0:
+				case 1:
+					theory.addAttack(a, b);
+					break;
+				case 2:
+				case 3:
+					theory.remove(new Attack(a, b));
+					break;
+				case 4:
+					theory.remove(a);
+					break;
+				default:
+					Argument c = new Argument("b" + i + "_" + j);
+					theory.add(c);
+					arguments.add(c);
+					theory.addAttack(c, a);
+				}
+				if(!theory.contains(a))
+					arguments.remove(a);
+				if(arguments.isEmpty())
+					arguments.add(a);
+			}
+			reasoner.close();
+		}
+	}
+
+	@Test
+	public void chainTest() {
+		DungTheory theory = new DungTheory();
+		Argument[] args = new Argument[1000];
+		for(int i = 0; i < args.length; i++) {
+			args[i] = new Argument("a" + i);
+			theory.add(args[i]);
+			if(i > 0)
+				theory.addAttack(args[i-1], args[i]);
+		}
+		DynamicReasoner reasoner = new DynamicReasoner(theory);
+		assertEquals(500, reasoner.getGroundedExtension().size());
+		assertEquals(1, reasoner.getPreferredExtensions().size());
+		// a self-attacking attacker of the middle argument leaves the second half undecided
+		Argument loop = new Argument("loop");
+		theory.add(loop);
+		theory.addAttack(loop, loop);
+		theory.addAttack(loop, args[500]);
+		assertEquals(250, reasoner.getGroundedExtension().size());
+		assertEquals(ArgumentStatus.UNDECIDED, reasoner.getGroundedLabeling().get(args[999]));
+		assertEquals(1, reasoner.getCompleteExtensions().size());
+		assertTrue(reasoner.getPreferredExtensions().contains(reasoner.getGroundedExtension()));
+		theory.remove(loop);
+		assertEquals(500, reasoner.getGroundedExtension().size());
+		reasoner.close();
+		// no further updates
+		theory.remove(args[0]);
+		assertEquals(500, reasoner.getGroundedExtension().size());
+	}
+
+	@Test
+	public void listenerTest() {
+		DungTheory theory = new DungTheory();
+		Argument a = new Argument("a"), b = new Argument("b"), c = new Argument("c");
+		theory.add(a);
+		theory.add(b);
+		theory.add(c);
+		theory.addAttack(a, a);
+		theory.addAttack(a, b);
+		theory.addAttack(c, a);
+		List<Attack> removedAttacks = new ArrayList<Attack>();
+		List<Argument> removedArguments = new ArrayList<Argument>();
+		theory.addListener(new DungTheoryListener() {
+			@Override
+			public void argumentAdded(DungTheory theory, Argument argument) {}
+			@Override
+			public void argumentRemoved(DungTheory theory, Argument argument) {
+				removedArguments.add(argument);
+			}
+			@Override
+			public void attackAdded(DungTheory theory, Attack attack) {}
+			@Override
+			public void attackRemoved(DungTheory theory, Attack attack) {
+				removedAttacks.add(attack);
+			}
+		});
+		theory.remove(a);
+		// the self-attack is reported exactly once
+		assertEquals(3, removedAttacks.size());
+		assertEquals(Set.of(new Attack(a, a), new Attack(a, b), new Attack(c, a)), new HashSet<Attack>(removedAttacks));
+		assertEquals(List.of(a), removedArguments);
+		assertTrue(theory.getAttacks().isEmpty());
+	}
+}
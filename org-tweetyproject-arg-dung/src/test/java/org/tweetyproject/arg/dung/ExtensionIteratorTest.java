@@ -0,0 +1,88 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.dung;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner;
+import org.tweetyproject.arg.dung.reasoner.SatCompleteReasoner;
+import org.tweetyproject.arg.dung.reasoner.SatPreferredReasoner;
+import org.tweetyproject.arg.dung.reasoner.SccCF2Reasoner;
+import org.tweetyproject.arg.dung.reasoner.SimpleSccCompleteReasoner;
+import org.tweetyproject.arg.dung.reasoner.SimpleStableReasoner;
+import org.tweetyproject.arg.dung.semantics.Extension;
+import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.DungTheory;
+import org.tweetyproject.arg.dung.util.DefaultDungTheoryGenerator;
+import org.tweetyproject.arg.dung.util.DungTheoryGenerationParameters;
+import org.tweetyproject.logics.pl.sat.Sat4jSolver;
+
+public class ExtensionIteratorTest {
+
+	@Test
+	public void iteratorTest() {
+		DungTheoryGenerationParameters params = new DungTheoryGenerationParameters();
+		params.numberOfArguments = 10;
+		params.attackProbability = 0.15;
+		params.avoidSelfAttacks = false;
+		DefaultDungTheoryGenerator gen = new DefaultDungTheoryGenerator(params);
+		gen.setSeed(1);
+		AbstractExtensionReasoner[] reasoners = { new SimpleSccCompleteReasoner(), new SimpleStableReasoner(), new SccCF2Reasoner(),
+				new SatCompleteReasoner(new Sat4jSolver()), new SatPreferredReasoner(new Sat4jSolver()) };
+		for(int i = 0; i < 20; i++) {
+			DungTheory theory = gen.next();
+			for(AbstractExtensionReasoner reasoner: reasoners) {
+				Set<Extension> exts = new HashSet<Extension>();
+				Iterator<Extension> it = reasoner.getModelIterator(theory);
+				while(it.hasNext())
+					// every extension is returned exactly once
+					assertTrue(exts.add(it.next()));
+				assertEquals(reasoner.getModels(theory), exts);
+			}
+		}
+	}
+
+	@Test
+	public void limitTest() {
+		// 2^40 stable extensions
+		DungTheory theory = new DungTheory();
+		for(int i = 0; i < 40; i++) {
+			Argument a = new Argument("a" + i), b = new Argument("b" + i);
+			theory.add(a);
+			theory.add(b);
+			theory.addAttack(a, b);
+			theory.addAttack(b, a);
+		}
+		AbstractExtensionReasoner[] reasoners = { new SimpleSccCompleteReasoner(), new SimpleStableReasoner(), new SatPreferredReasoner(new Sat4jSolver()) };
+		for(AbstractExtensionReasoner reasoner: reasoners) {
+			Set<Extension> exts = reasoner.getModelStream(theory, 5, 1, TimeUnit.MINUTES).collect(Collectors.toSet());
+			assertEquals(5, exts.size());
+			assertFalse(reasoner.getModelIterator(theory, 10, 0, TimeUnit.SECONDS).hasNext());
+		}
+	}
+}
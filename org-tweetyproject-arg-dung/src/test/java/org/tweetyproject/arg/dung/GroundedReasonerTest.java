@@ -0,0 +1,79 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.dung;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.tweetyproject.arg.dung.reasoner.SimpleGroundedReasoner;
+import org.tweetyproject.arg.dung.semantics.ArgumentStatus;
+import org.tweetyproject.arg.dung.semantics.Extension;
+import org.tweetyproject.arg.dung.semantics.Labeling;
+import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.Attack;
+import org.tweetyproject.arg.dung.syntax.DungTheory;
+import org.tweetyproject.arg.dung.util.DefaultDungTheoryGenerator;
+import org.tweetyproject.arg.dung.util.DungTheoryGenerationParameters;
+
+public class GroundedReasonerTest {
+
+	@Test
+	public void chainTest() {
+		DungTheory theory = new DungTheory();
+		Argument[] args = new Argument[1000];
+		for(int i = 0; i < args.length; i++) {
+			args[i] = new Argument("a" + i);
+			theory.add(args[i]);
+			if(i > 0)
+				theory.addAttack(args[i-1], args[i]);
+		}
+		Argument loop = new Argument("loop");
+		theory.add(loop);
+		theory.addAttack(loop, loop);
+		theory.addAttack(loop, args[0]);
+		Labeling lab = new SimpleGroundedReasoner().getLabeling(theory);
+		assertEquals(ArgumentStatus.UNDECIDED, lab.get(loop));
+		assertEquals(ArgumentStatus.UNDECIDED, lab.get(args[999]));
+		theory.remove(new Attack(loop, args[0]));
+		lab = new SimpleGroundedReasoner().getLabeling(theory);
+		for(int i = 0; i < args.length; i++)
+			assertEquals(i % 2 == 0 ? ArgumentStatus.IN : ArgumentStatus.OUT, lab.get(args[i]));
+	}
+
+	@Test
+	public void fixpointTest() {
+		DungTheoryGenerationParameters params = new DungTheoryGenerationParameters();
+		params.numberOfArguments = 15;
+		params.attackProbability = 0.1;
+		params.avoidSelfAttacks = false;
+		DefaultDungTheoryGenerator gen = new DefaultDungTheoryGenerator(params);
+		gen.setSeed(3);
+		for(int i = 0; i < 50; i++) {
+			DungTheory theory = gen.next();
+			Extension ext = new Extension();
+			int size;
+			do {
+				size = ext.size();
+				ext = theory.faf(ext);
+			} while(size != ext.size());
+			assertEquals(ext, new SimpleGroundedReasoner().getModel(theory));
+			assertEquals(new Labeling(theory, ext), new SimpleGroundedReasoner().getLabeling(theory));
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.dung;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.tweetyproject.arg.dung.reasoner.SimpleCompleteReasoner;
+import org.tweetyproject.arg.dung.reasoner.SimplePreferredReasoner;
+import org.tweetyproject.arg.dung.reasoner.SimpleStableReasoner;
+import org.tweetyproject.arg.dung.semantics.Extension;
+import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.DungTheory;
+import org.tweetyproject.arg.dung.util.DefaultDungTheoryGenerator;
+import org.tweetyproject.arg.dung.util.DungTheoryGenerationParameters;
+import org.tweetyproject.commons.InferenceMode;
+
+public class LabelingSearchTest {
+
+	@Test
+	public void completeTest() {
+		DungTheoryGenerationParameters params = new DungTheoryGenerationParameters();
+		params.numberOfArguments = 12;
+		params.attackProbability = 0.15;
+		params.avoidSelfAttacks = false;
+		DefaultDungTheoryGenerator gen = new DefaultDungTheoryGenerator(params);
+		gen.setSeed(7);
+		for(int i = 0; i < 50; i++) {
+			DungTheory theory = gen.next();
+			// preferred and stable extensions by definition
+			Collection<Extension> complete = new SimpleCompleteReasoner().getModels(theory);
+			Set<Extension> preferred = new HashSet<Extension>();
+			Set<Extension> stable = new HashSet<Extension>();
+			for(Extension e1: complete) {
+				boolean maximal = true;
+				for(Extension e2: complete)
+					maximal &= e1.equals(e2) || !e2.containsAll(e1);
+				if(maximal)
+					preferred.add(e1);
+				if(theory.isAttackingAllOtherArguments(e1))
+					stable.add(e1);
+			}
+			assertEquals(preferred, new SimplePreferredReasoner().getModels(theory));
+			assertEquals(stable, new SimpleStableReasoner().getModels(theory));
+			assertTrue(preferred.contains(new SimplePreferredReasoner().getModel(theory)));
+			for(Argument a: theory) {
+				boolean credulous = false, skeptical = true;
+				for(Extension e: preferred) {
+					credulous |= e.contains(a);
+					skeptical &= e.contains(a);
+				}
+				assertEquals(credulous, new SimplePreferredReasoner().query(theory, a, InferenceMode.CREDULOUS));
+				assertEquals(skeptical, new SimplePreferredReasoner().query(theory, a, InferenceMode.SKEPTICAL));
+				credulous = false;
+				skeptical = true;
+				for(Extension e: stable) {
+					credulous |= e.contains(a);
+					skeptical &= e.contains(a);
+				}
+				assertEquals(credulous, new SimpleStableReasoner().query(theory, a, InferenceMode.CREDULOUS));
+				assertEquals(skeptical, new SimpleStableReasoner().query(theory, a, InferenceMode.SKEPTICAL));
+			}
+		}
+	}
+
+	@Test
+	public void cycleTest() {
+		// 3^12 complete but only 2^12 preferred and stable extensions
+		DungTheory theory = new DungTheory();
+		for(int i = 0; i < 12; i++) {
+			Argument a = new Argument("a" + i), b = new Argument("b" + i);
+			theory.add(a);
+			theory.add(b);
+			theory.addAttack(a, b);
+			theory.addAttack(b, a);
+		}
+		assertEquals(1 << 12, new SimplePreferredReasoner().getModels(theory).size());
+		assertEquals(1 << 12, new SimpleStableReasoner().getModels(theory).size());
+	}
+}
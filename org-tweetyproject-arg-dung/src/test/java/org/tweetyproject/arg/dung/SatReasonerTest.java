@@ -0,0 +1,139 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.dung;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collection;
+
+import org.junit.Test;
+import org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner;
+import org.tweetyproject.arg.dung.reasoner.SatCompleteReasoner;
+import org.tweetyproject.arg.dung.reasoner.SatPreferredReasoner;
+import org.tweetyproject.arg.dung.reasoner.SatStableReasoner;
+import org.tweetyproject.arg.dung.reasoner.SimpleCompleteReasoner;
+import org.tweetyproject.arg.dung.reasoner.SimplePreferredReasoner;
+import org.tweetyproject.arg.dung.reasoner.SimpleStableReasoner;
+import org.tweetyproject.arg.dung.semantics.Extension;
+import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.DungTheory;
+import org.tweetyproject.arg.dung.util.DefaultDungTheoryGenerator;
+import org.tweetyproject.arg.dung.util.DungTheoryGenerationParameters;
+import org.tweetyproject.commons.InferenceMode;
+import org.tweetyproject.commons.Interpretation;
+import org.tweetyproject.logics.pl.sat.Sat4jSolver;
+import org.tweetyproject.logics.pl.sat.SatSolver;
+import org.tweetyproject.logics.pl.syntax.PlBeliefSet;
+import org.tweetyproject.logics.pl.syntax.PlFormula;
+
+public class SatReasonerTest {
+
+	/**
+	 * Compares the SAT-based reasoners using the given solver with the simple reasoners.
+	 * @param solver some SAT solver
+	 * @param seed some seed
+	 */
+	private void compare(SatSolver solver, long seed) {
+		DungTheoryGenerationParameters params = new DungTheoryGenerationParameters();
+		params.numberOfArguments = 8;
+		params.attackProbability = 0.2;
+		params.avoidSelfAttacks = false;
+		DefaultDungTheoryGenerator gen = new DefaultDungTheoryGenerator(params);
+		gen.setSeed(seed);
+		for(int i = 0; i < 20; i++) {
+			DungTheory theory = gen.next();
+			assertEquals(new SimpleCompleteReasoner().getModels(theory), new SatCompleteReasoner(solver).getModels(theory));
+			assertEquals(new SimpleStableReasoner().getModels(theory), new SatStableReasoner(solver).getModels(theory));
+			assertEquals(new SimplePreferredReasoner().getModels(theory), new SatPreferredReasoner(solver).getModels(theory));
+		}
+	}
+
+	/**
+	 * Compares the acceptance queries of the given reasoners.
+	 * @param expected a reasoner enumerating all extensions
+	 * @param actual a reasoner deciding queries directly
+	 * @param theory some theory
+	 */
+	private void compareQueries(AbstractExtensionReasoner expected, AbstractExtensionReasoner actual, DungTheory theory) {
+		Collection<Extension> extensions = expected.getModels(theory);
+		for(Argument a: theory) {
+			for(InferenceMode mode: InferenceMode.values()) {
+				assertEquals(expected.query(theory, a, mode), actual.query(theory, a, mode));
+				Extension witness = actual.getAcceptanceWitness(theory, a, mode);
+				if(witness != null) {
+					assertTrue(extensions.contains(witness));
+					assertEquals(mode.equals(InferenceMode.CREDULOUS), witness.contains(a));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void queryTest() {
+		DungTheoryGenerationParameters params = new DungTheoryGenerationParameters();
+		params.numberOfArguments = 8;
+		params.attackProbability = 0.25;
+		params.avoidSelfAttacks = false;
+		DefaultDungTheoryGenerator gen = new DefaultDungTheoryGenerator(params);
+		gen.setSeed(6);
+		SatSolver solver = new Sat4jSolver();
+		for(int i = 0; i < 20; i++) {
+			DungTheory theory = gen.next();
+			this.compareQueries(new SimpleCompleteReasoner(), new SatCompleteReasoner(solver), theory);
+			this.compareQueries(new SimpleStableReasoner(), new SatStableReasoner(solver), theory);
+			this.compareQueries(new SimplePreferredReasoner(), new SatPreferredReasoner(solver), theory);
+		}
+		// an argument that is not part of the theory
+		DungTheory theory = gen.next();
+		assertFalse(new SatPreferredReasoner(solver).query(theory, new Argument("x"), InferenceMode.SKEPTICAL));
+		assertFalse(new SatPreferredReasoner(solver).query(theory, new Argument("x"), InferenceMode.CREDULOUS));
+	}
+
+	@Test
+	public void sat4jTest() {
+		this.compare(new Sat4jSolver(), 4);
+	}
+
+	@Test
+	public void nonIncrementalSessionTest() {
+		// a solver that does not support incremental sessions
+		SatSolver solver = new SatSolver() {
+			private SatSolver sat4j = new Sat4jSolver();
+			@Override
+			public Interpretation<PlBeliefSet, PlFormula> getWitness(Collection<PlFormula> formulas) {
+				return this.sat4j.getWitness(formulas);
+			}
+			@Override
+			public boolean isSatisfiable(Collection<PlFormula> formulas) {
+				return this.sat4j.isSatisfiable(formulas);
+			}
+		};
+		this.compare(solver, 5);
+	}
+
+	@Test
+	public void emptyTheoryTest() {
+		DungTheory theory = new DungTheory();
+		assertEquals(1, new SatCompleteReasoner(new Sat4jSolver()).getModels(theory).size());
+		assertEquals(1, new SatStableReasoner(new Sat4jSolver()).getModels(theory).size());
+		assertEquals(1, new SatPreferredReasoner(new Sat4jSolver()).getModels(theory).size());
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.dung;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+import org.tweetyproject.arg.dung.reasoner.SccCF2Reasoner;
+import org.tweetyproject.arg.dung.reasoner.SccScheduler;
+import org.tweetyproject.arg.dung.reasoner.SemiQualifiedReasoner;
+import org.tweetyproject.arg.dung.reasoner.SimpleCompleteReasoner;
+import org.tweetyproject.arg.dung.reasoner.SimpleSccCompleteReasoner;
+import org.tweetyproject.arg.dung.reasoner.SimpleSccRecursiveReasoner;
+import org.tweetyproject.arg.dung.semantics.Extension;
+import org.tweetyproject.arg.dung.semantics.Semantics;
+import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.Attack;
+import org.tweetyproject.arg.dung.syntax.DungTheory;
+import org.tweetyproject.arg.dung.util.DefaultDungTheoryGenerator;
+import org.tweetyproject.arg.dung.util.DungTheoryGenerationParameters;
+
+public class SccSchedulerTest {
+
+	@Test
+	public void orderTest() {
+		DungTheoryGenerationParameters params = new DungTheoryGenerationParameters();
+		params.numberOfArguments = 30;
+		params.attackProbability = 0.05;
+		params.avoidSelfAttacks = false;
+		DefaultDungTheoryGenerator gen = new DefaultDungTheoryGenerator(params);
+		gen.setSeed(1);
+		for(int i = 0; i < 20; i++) {
+			DungTheory theory = gen.next();
+			List<Collection<Argument>> sccs = SccScheduler.getOrderedComponents(theory);
+			Set<Collection<Argument>> expected = new HashSet<Collection<Argument>>();
+			for(Collection<Argument> scc: theory.getStronglyConnectedComponents())
+				expected.add(new HashSet<Argument>(scc));
+			assertEquals(expected, new HashSet<Collection<Argument>>(sccs));
+			// attackers precede the attacked arguments
+			for(Attack att: theory.getAttacks()) {
+				int from = -1, to = -1;
+				for(int j = 0; j < sccs.size(); j++) {
+					if(sccs.get(j).contains(att.getAttacker()))
+						from = j;
+					if(sccs.get(j).contains(att.getAttacked()))
+						to = j;
+				}
+				assertTrue(from <= to);
+			}
+		}
+	}
+
+	@Test
+	public void completeTest() {
+		DungTheoryGenerationParameters params = new DungTheoryGenerationParameters();
+		params.numberOfArguments = 14;
+		params.attackProbability = 0.1;
+		params.avoidSelfAttacks = false;
+		DefaultDungTheoryGenerator gen = new DefaultDungTheoryGenerator(params);
+		gen.setSeed(2);
+		ForkJoinPool pool = new ForkJoinPool(4);
+		for(int i = 0; i < 30; i++) {
+			DungTheory theory = gen.next();
+			Collection<Extension> expected = new SimpleCompleteReasoner().getModels(theory);
+			assertEquals(expected, new SimpleSccCompleteReasoner().getModels(theory));
+			assertEquals(expected, new SimpleSccCompleteReasoner(pool).getModels(theory));
+			assertEquals(expected, new SimpleSccRecursiveReasoner(new SimpleCompleteReasoner(), pool).getModels(theory));
+		}
+		pool.shutdown();
+	}
+
+	@Test
+	public void cf2Test() {
+		// an odd cycle a -> b -> c -> a attacking a chain d -> e
+		DungTheory theory = new DungTheory();
+		Argument a = new Argument("a"), b = new Argument("b"), c = new Argument("c"), d = new Argument("d"), e = new Argument("e");
+		theory.add(a);
+		theory.add(b);
+		theory.add(c);
+		theory.add(d);
+		theory.add(e);
+		theory.addAttack(a, b);
+		theory.addAttack(b, c);
+		theory.addAttack(c, a);
+		theory.addAttack(c, d);
+		theory.addAttack(d, e);
+		Set<Extension> expected = new HashSet<Extension>();
+		expected.add(new Extension(Set.of(a, d)));
+		expected.add(new Extension(Set.of(b, d)));
+		expected.add(new Extension(Set.of(c, e)));
+		assertEquals(expected, new SccCF2Reasoner().getModels(theory));
+	}
+
+	@Test
+	public void semiQualifiedTest() {
+		// a0 attacks a4, which is also attacked by the even cycle a1 <-> a2;
+		// the pairwise SCC order used before returned the conflicting {a0,a3,a4}
+		DungTheory theory = new DungTheory();
+		Argument[] args = new Argument[5];
+		for(int i = 0; i < args.length; i++) {
+			args[i] = new Argument("a" + i);
+			theory.add(args[i]);
+		}
+		theory.addAttack(args[1], args[2]);
+		theory.addAttack(args[2], args[1]);
+		theory.addAttack(args[2], args[4]);
+		theory.addAttack(args[0], args[4]);
+		Set<Extension> expected = new HashSet<Extension>();
+		expected.add(new Extension(Set.of(args[0], args[3])));
+		expected.add(new Extension(Set.of(args[0], args[1], args[3])));
+		expected.add(new Extension(Set.of(args[0], args[2], args[3])));
+		Collection<Extension> exts = new SemiQualifiedReasoner(Semantics.CO).getModels(theory);
+		assertEquals(expected, new HashSet<Extension>(exts));
+		for(Extension ext: exts)
+			assertTrue(ext.isConflictFree(theory));
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.dung.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Test;
+import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.CompactDungTheory;
+import org.tweetyproject.arg.dung.syntax.DungTheory;
+import org.tweetyproject.arg.dung.util.DefaultDungTheoryGenerator;
+import org.tweetyproject.arg.dung.util.DungTheoryGenerationParameters;
+import org.tweetyproject.arg.dung.writer.AbstractDungWriter;
+import org.tweetyproject.arg.dung.writer.BulkDungWriter;
+
+public class BulkParserTest {
+
+	@Test
+	public void roundTripTest() throws IOException {
+		DungTheoryGenerationParameters params = new DungTheoryGenerationParameters();
+		params.numberOfArguments = 200;
+		params.attackProbability = 0.05;
+		params.avoidSelfAttacks = false;
+		DefaultDungTheoryGenerator gen = new DefaultDungTheoryGenerator(params);
+		gen.setSeed(2);
+		File file = File.createTempFile("bulk", ".txt");
+		file.deleteOnExit();
+		for(FileFormat format: new FileFormat[] {FileFormat.APX, FileFormat.TGF}) {
+			DungTheory theory = gen.next();
+			CompactDungTheory expected = CompactDungTheory.compile(theory);
+			// bulk parser on files of the existing writers
+			AbstractDungWriter.getWriter(format).write(theory, file);
+			assertEquals(expected, new BulkDungParser(format).parseBeliefBaseFromFile(file.getPath()));
+			// existing parsers on files of the bulk writer
+			new BulkDungWriter(format).write(theory, file);
+			assertEquals(expected, CompactDungTheory.compile(AbstractDungParser.getParser(format).parseBeliefBaseFromFile(file.getPath())));
+			assertEquals(expected, new BulkDungParser(format).parseBeliefBaseFromFile(file.getPath()));
+		}
+	}
+
+	@Test
+	public void syntaxTest() throws IOException {
+		String apx = "att( a , b ).\r\n\r\n  arg(a).\narg( b ) .\narg(ä)\t.\natt(ä,ä).";
+		DungTheory theory = new BulkDungParser(FileFormat.APX).parse(new StringReader(apx));
+		assertEquals(3, theory.size());
+		assertTrue(theory.isAttackedBy(new Argument("b"), new Argument("a")));
+		assertTrue(theory.isAttackedBy(new Argument("ä"), new Argument("ä")));
+		assertEquals(2, theory.getAttacks().size());
+		String tgf = "a\r\nb \n#\na  b\r\n";
+		assertEquals(theory.getAttacks().size() - 1, new BulkDungParser(FileFormat.TGF).parse(new StringReader(tgf)).getAttacks().size());
+	}
+
+	@Test
+	public void regionBoundaryTest() throws IOException {
+		DungTheoryGenerationParameters params = new DungTheoryGenerationParameters();
+		params.numberOfArguments = 30;
+		params.attackProbability = 0.2;
+		params.avoidSelfAttacks = false;
+		DefaultDungTheoryGenerator gen = new DefaultDungTheoryGenerator(params);
+		gen.setSeed(3);
+		File file = File.createTempFile("bulk", ".txt");
+		file.deleteOnExit();
+		for(FileFormat format: new FileFormat[] {FileFormat.APX, FileFormat.TGF}) {
+			DungTheory theory = gen.next();
+			CompactDungTheory expected = CompactDungTheory.compile(theory);
+			new BulkDungWriter(format).write(theory, file);
+			String text = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+			// lines are at most 14 bytes long, so that most of them cross the boundary of a region
+			for(int region: new int[] {14, 15, 16, 17, 23}) {
+				assertEquals(expected, new BulkDungParser(format, region).parseBeliefBaseFromFile(file.getPath()));
+				assertEquals(expected, new BulkDungParser(format, region).parse(new StringReader(text)));
+			}
+			// lines longer than the buffers of a reader
+			assertEquals(expected, new BulkDungParser(format, 1).parse(new StringReader(text)));
+			assertEquals(expected, new BulkDungParser(format, 3).parse(new StringReader(text)));
+		}
+		// multi-byte characters crossing the boundary of a buffer
+		String apx = "arg(\u00e4\u00f6\u00fc).\narg(\ud83d\ude00).\natt(\u00e4\u00f6\u00fc,\ud83d\ude00).\n";
+		for(int region = 1; region < 8; region++) {
+			DungTheory theory = new BulkDungParser(FileFormat.APX, region).parse(new StringReader(apx));
+			assertTrue(theory.isAttackedBy(new Argument("\ud83d\ude00"), new Argument("\u00e4\u00f6\u00fc")));
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void longLineTest() throws IOException {
+		File file = File.createTempFile("bulk", ".txt");
+		file.deleteOnExit();
+		Files.write(file.toPath(), "arg(a).\narg(abcdefghij).\n".getBytes(StandardCharsets.UTF_8));
+		new BulkDungParser(FileFormat.APX, 8).parseBeliefBaseFromFile(file.getPath());
+	}
+
+	@Test
+	public void undeclaredTest() throws IOException {
+		try {
+			new BulkDungParser(FileFormat.APX).parse(new StringReader("arg(a).\natt(a,a).\n\natt(c,a).\natt(a,b).\narg(c)."));
+			fail();
+		} catch(IOException e) {
+			assertTrue(e.getMessage(), e.getMessage().startsWith("Line 5: argument b "));
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void malformedTest() throws IOException {
+		new BulkDungParser(FileFormat.APX).parse(new StringReader("arg(a)\n"));
+	}
+}
@@ -19,12 +19,9 @@
 package org.tweetyproject.arg.rankings.reasoner;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
 
-import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.CompactDungTheory;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
 import org.tweetyproject.arg.rankings.semantics.LatticeArgumentRanking;
 import org.tweetyproject.arg.rankings.util.LexicographicDoubleTupleComparator;
@@ -33,11 +30,36 @@ import org.tweetyproject.arg.rankings.util.LexicographicDoubleTupleComparator;
  * This class implements the "Burden-based" argument semantics approach as
  * proposed by [Amgoud, Ben-Naim. Ranking-based semantics for argumentation
  * frameworks. 2013]. It assigns a "Burden number" to every argument.
+ * The burden numbers of all arguments are computed step by step on the compact
+ * attack index, i.e., the burden numbers of step i are computed once from the 
+ * burden numbers of step i-1.
  * 
  * @author Anna Gessler
  */
 public class BurdenBasedRankingReasoner extends AbstractRankingReasoner<LatticeArgumentRanking> {
 
+	/**
+	 * The number of steps.
+	 */
+	private int i_max;
+
+	/**
+	 * Creates a new reasoner that computes burden numbers for 6 steps.
+	 */
+	public BurdenBasedRankingReasoner() {
+		this(6);
+	}
+
+	/**
+	 * Creates a new reasoner that computes burden numbers for the given number of steps.
+	 * @param i_max the number of steps
+	 */
+	public BurdenBasedRankingReasoner(int i_max) {
+		if (i_max < 0)
+			throw new IllegalArgumentException("The number of steps must not be negative.");
+		this.i_max = i_max;
+	}
+
 	@Override
 	public Collection<LatticeArgumentRanking> getModels(DungTheory bbase) {
 		Collection<LatticeArgumentRanking> ranks = new HashSet<LatticeArgumentRanking>();
@@ -47,52 +69,51 @@ public class BurdenBasedRankingReasoner extends AbstractRankingReasoner<LatticeA
 
 	@Override
 	public LatticeArgumentRanking getModel(DungTheory base) {
-		// Number of steps
-		int i_max = 6;
-		// Map for storing burden numbers of previous steps
-		Map<Argument, double[]> burdenNumbers = new HashMap<Argument, double[]>();
-
-		// Initialize burden numbers array
-		for (Argument a : base) {
-			double[] initial_numbers = new double[i_max + 1];
-			initial_numbers[0] = 1.0; // burden number for step 0 is 1.0 for all arguments
-			burdenNumbers.put(a, initial_numbers);
-		}
-
-		// Compute burden numbers for all steps i
-		for (int i = 1; i <= i_max; i++) {
-			for (Argument a : base) {
-				Set<Argument> attackers = base.getAttackers(a);
-				double new_burden = 1.0;
-				for (Argument b : attackers) {
-					double[] attacker_burden_numbers = burdenNumbers.get(b);
-					new_burden += 1.0 / (attacker_burden_numbers[i - 1]);
-				}
-				double[] burden_numbers = burdenNumbers.get(a);
-				burden_numbers[i] = new_burden;
-				burdenNumbers.put(a, burden_numbers);
-			}
-		}
+		CompactDungTheory theory = CompactDungTheory.compile(base);
+		double[][] burdenNumbers = this.getBurdenNumbers(theory);
+		int n = theory.getNumberOfArguments();
 
 		// Use the lexicographical order of the burden numbers as ranking
 		LatticeArgumentRanking ranking = new LatticeArgumentRanking(base.getNodes());
 		LexicographicDoubleTupleComparator c = new LexicographicDoubleTupleComparator();
-		for (Argument a : base) {
-			for (Argument b : base) {
-				double[] burdens_a = burdenNumbers.get(a);
-				double[] burdens_b = burdenNumbers.get(b);
-				int res = c.compare(burdens_a, burdens_b);
+		for (int a = 0; a < n; a++) {
+			for (int b = 0; b < n; b++) {
+				int res = c.compare(burdenNumbers[a], burdenNumbers[b]);
 				if (res < 0)
-					ranking.setStrictlyLessOrEquallyAcceptableThan(b, a);
+					ranking.setStrictlyLessOrEquallyAcceptableThan(theory.getArgument(b), theory.getArgument(a));
 				else if (res > 0)
-					ranking.setStrictlyLessOrEquallyAcceptableThan(a, b);
+					ranking.setStrictlyLessOrEquallyAcceptableThan(theory.getArgument(a), theory.getArgument(b));
 				else {
-					ranking.setStrictlyLessOrEquallyAcceptableThan(a, b);
-					ranking.setStrictlyLessOrEquallyAcceptableThan(b, a);
+					ranking.setStrictlyLessOrEquallyAcceptableThan(theory.getArgument(a), theory.getArgument(b));
+					ranking.setStrictlyLessOrEquallyAcceptableThan(theory.getArgument(b), theory.getArgument(a));
 				}
 			}
 		}
 		return ranking;
 	}
 
+	/**
+	 * Computes the burden numbers of all arguments for all steps.
+	 * @param theory some compact Dung theory
+	 * @return the burden numbers, indexed by the argument ids and the step
+	 */
+	public double[][] getBurdenNumbers(CompactDungTheory theory) {
+		int n = theory.getNumberOfArguments();
+		double[][] burdenNumbers = new double[n][this.i_max + 1];
+		// burden number for step 0 is 1.0 for all arguments
+		for (int a = 0; a < n; a++)
+			burdenNumbers[a][0] = 1.0;
+
+		// Compute burden numbers for all steps i
+		for (int i = 1; i <= this.i_max; i++) {
+			for (int a = 0; a < n; a++) {
+				double new_burden = 1.0;
+				for (int k = 0; k < theory.getNumberOfAttackers(a); k++)
+					new_burden += 1.0 / burdenNumbers[theory.getAttacker(a, k)][i - 1];
+				burdenNumbers[a][i] = new_burden;
+			}
+		}
+		return burdenNumbers;
+	}
+
 }
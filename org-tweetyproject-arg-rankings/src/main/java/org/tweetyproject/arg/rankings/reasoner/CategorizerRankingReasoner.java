@@ -22,16 +22,18 @@ import java.util.Collection;
 import java.util.HashSet;
 
 import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.CompactDungTheory;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
 import org.tweetyproject.arg.rankings.semantics.NumericalArgumentRanking;
-import org.tweetyproject.math.matrix.Matrix;
+import org.tweetyproject.arg.rankings.util.FixpointSolver;
 
 /**
  * This class implements the "h-categorizer" argument ranking approach that was 
  * originally proposed by [Besnard, Hunter. A logic-based theory of deductive arguments. 2001]
  * for deductive logics. It uses the Fixed-point algorithm of 
  * [Pu, Zhang, Luo, Luo. Argument Ranking with Categoriser Function. KSEM 2014]
- * which allows for cycles in argumentation graphs.
+ * which allows for cycles in argumentation graphs. The fixpoint is computed on
+ * primitive arrays by a {@link FixpointSolver}.
  * 
  * @see org.tweetyproject.arg.deductive.categorizer.HCategorizer
  * 
@@ -39,24 +41,35 @@ import org.tweetyproject.math.matrix.Matrix;
  */
 public class CategorizerRankingReasoner extends AbstractRankingReasoner<NumericalArgumentRanking> {
 	
-	private double epsilon;
+	private FixpointSolver solver;
 	
 	/**
 	 * Create a new CountingRankingReasoner with default
 	 * parameters.
 	 */
 	public CategorizerRankingReasoner() {
-		this.epsilon = 0.001;
+		this(0.001);
 	}
 	
 	/**
 	 * Create a new CategorizerRankingReasoner with the given
 	 * parameters.
 	 * 
-	 * @param epsilon TODO add description
+	 * @param epsilon the iteration stops when the Euclidean distance between the
+	 * 	valuations of two consecutive iterations is at most epsilon
 	 */
 	public CategorizerRankingReasoner(double epsilon) {
-		this.epsilon = epsilon;
+		this(new FixpointSolver(epsilon));
+	}
+	
+	/**
+	 * Create a new CategorizerRankingReasoner that uses the given
+	 * solver (e.g. with Gauss-Seidel or parallel updates).
+	 * 
+	 * @param solver some solver
+	 */
+	public CategorizerRankingReasoner(FixpointSolver solver) {
+		this.solver = solver;
 	}
 	
 	@Override
@@ -68,56 +81,24 @@ public class CategorizerRankingReasoner extends AbstractRankingReasoner<Numerica
 
 	@Override
 	public NumericalArgumentRanking getModel(DungTheory base) {
-		Matrix directAttackMatrix = base.getAdjacencyMatrix().transpose(); //The matrix of direct attackers
-		int n = directAttackMatrix.getXDimension();
-		double valuations[] = new double[n];	 //Stores valuations of the current iteration
-		double valuations_old[] = new double[n]; //Stores valuations of the last iteration
-		
-		//Keep computing valuations until the values stop changing much or converge 
-		do {
-			valuations_old = valuations.clone();
-			for (int i = 0; i < n; i++) 
-				valuations[i] = calculateCategorizerFunction(valuations_old,directAttackMatrix,i);
-		} while (getDistance(valuations_old, valuations) > this.epsilon);
-	
+		FixpointSolver.Result result = this.solve(base);
 		//Use computed valuations as values for argument ranking
-		//Note: The order of valuations v[i] is the same as the order of DungTheory.iterator()
 		NumericalArgumentRanking ranking = new NumericalArgumentRanking();
 		ranking.setSortingType(NumericalArgumentRanking.SortingType.DESCENDING);
-		int i = 0;
 		for (Argument a : base) 
-			ranking.put(a, valuations[i++]);
+			ranking.put(a, result.getValue(a));
 		return ranking;
 	}
 
 	/**
-	 * Computes the h-Categorizer function.
-	 * @param v_old array of double valuations that were computed in the previous iteration
-	 * @param directAttackMatrix complete matrix of direct attacks
-	 * @param i row of the attack matrix that will be used in the calculation
-	 * @return categorizer valuation
-	 */
-	private double calculateCategorizerFunction(double[] v_old, Matrix directAttackMatrix, int i) {
-		double c = 1.0;
-		for (int j = 0; j < directAttackMatrix.getXDimension(); j++) {
-			c += v_old[j] * directAttackMatrix.getEntry(i,j).doubleValue();
-		}
-		return (1.0 / c);
-		
-	}
-
-	/**
-	 * Computes the Euclidean distance between to the given arrays.
-	 * @param v_old first array
-	 * @param v second array
-	 * @return distance between v and v_old
+	 * Computes the valuations of the h-Categorizer function, i.e., the fixpoint of
+	 * v(a) = 1 / (1 + sum of v(b) for all attackers b of a), starting with v(a)=0 
+	 * for all arguments a.
+	 * @param base some Dung theory
+	 * @return the valuations together with statistics about the convergence
 	 */
-	private double getDistance(double[] v_old, double[] v) {
-		double sum = 0.0;
-		for (int i = 0; i < v.length; i++) {
-			sum += Math.pow(v[i]-v_old[i],2.0);
-		}
-		return Math.sqrt(sum);
+	public FixpointSolver.Result solve(DungTheory base) {
+		return this.solver.solve(CompactDungTheory.compile(base), (i, sum) -> 1.0 / (1.0 + sum), 0.0);
 	}
 
 }
@@ -22,10 +22,10 @@ import java.util.Collection;
 import java.util.HashSet;
 
 import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.CompactDungTheory;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
 import org.tweetyproject.arg.rankings.semantics.NumericalArgumentRanking;
-import org.tweetyproject.math.matrix.Matrix;
-import org.tweetyproject.math.term.FloatConstant;
+import org.tweetyproject.arg.rankings.util.FixpointSolver;
 
 /**
  * This class implements the argument ranking approach of [Pu, Zhang, G.Luo,
@@ -34,7 +34,8 @@ import org.tweetyproject.math.term.FloatConstant;
  * 
  * This approach ranks arguments by counting the number of their attackers and
  * defenders in form of a dialogue game where proponents are defenders and
- * opponents are attackers.
+ * opponents are attackers. The fixpoint is computed on primitive arrays by
+ * a {@link FixpointSolver}.
  * 
  * @author Anna Gessler
  */
@@ -54,23 +55,40 @@ public class CountingRankingReasoner extends AbstractRankingReasoner<NumericalAr
 	 */
 	double epsilon;
 
+	/**
+	 * The solver computing the fixpoint.
+	 */
+	private FixpointSolver solver;
+
 	/**
 	 * Create a new CountingRankingReasoner with default parameters.
 	 */
 	public CountingRankingReasoner() {
-		this.damping_factor = 0.9;
-		this.epsilon = 0.001;
+		this(0.9, 0.001);
 	}
 
 	/**
 	 * Create a new CountingRankingReasoner with the given parameters.
 	 * 
 	 * @param damping_factor must be in (0,1)
-	 * @param epsilon TODO add description
+	 * @param epsilon the algorithm terminates when the Euclidean distance between the
+	 * 	valuations of two consecutive iterations is at most epsilon
 	 */
 	public CountingRankingReasoner(double damping_factor, double epsilon) {
+		this(damping_factor, new FixpointSolver(epsilon));
+	}
+
+	/**
+	 * Create a new CountingRankingReasoner that uses the given solver (e.g. with 
+	 * Gauss-Seidel or parallel updates).
+	 * 
+	 * @param damping_factor must be in (0,1)
+	 * @param solver some solver
+	 */
+	public CountingRankingReasoner(double damping_factor, FixpointSolver solver) {
 		this.damping_factor = damping_factor;
-		this.epsilon = epsilon;
+		this.epsilon = solver.getEpsilon();
+		this.solver = solver;
 	}
 	
 	/**
@@ -79,8 +97,7 @@ public class CountingRankingReasoner extends AbstractRankingReasoner<NumericalAr
 	 * @param damping_factor must be in (0,1)
 	 */
 	public CountingRankingReasoner(double damping_factor) {
-		this.damping_factor = damping_factor;
-		this.epsilon = 0.001;
+		this(damping_factor, 0.001);
 	}
 
 
@@ -93,71 +110,30 @@ public class CountingRankingReasoner extends AbstractRankingReasoner<NumericalAr
 
 	@Override
 	public NumericalArgumentRanking getModel(DungTheory kb) {
-		Matrix adjacency_matrix = kb.getAdjacencyMatrix();
-		
-		// Apply matrix norm to guarantee that the argument strength scale is bounded
-		adjacency_matrix = adjacency_matrix.mult((1.0 / getInfiniteNormalizationFactor(adjacency_matrix)));
-
-		// Apply damping factor
-		adjacency_matrix = adjacency_matrix.mult(this.damping_factor).simplify();
-		
-		int n = kb.getNumberOfNodes();
-		Matrix valuations = new Matrix(1, n); // Stores values of the current iteration
-		Matrix valuations_old = new Matrix(1, n); // Stores values of the last iteration
-		
-		Matrix e = new Matrix(1, n); // column vector of all ones
-		for (int i = 0; i < n; i++) {
-			e.setEntry(0, i, new FloatConstant(1.0)); 
-		}
-		// the ranking for step 0 is 1.0 for all arguments
-		valuations = e; 
-		
-		do {
-			valuations_old = valuations;
-			valuations = e.minus(adjacency_matrix.mult(valuations_old)).simplify();
-		} while (getDistance(valuations_old, valuations) > epsilon);
-		
+		FixpointSolver.Result result = this.solve(kb);
 		NumericalArgumentRanking ranking = new NumericalArgumentRanking();
 		ranking.setSortingType(NumericalArgumentRanking.SortingType.DESCENDING);
-		int i = 0;
 		for (Argument a : kb) 
-			ranking.put(a, valuations.getEntry(0, i++).doubleValue());
-
+			ranking.put(a, result.getValue(a));
 		return ranking;
 	}
 
 	/**
-	 * Calculates the infinite matrix norm of the given matrix (i.e. the maximum
-	 * absolute row sum).
-	 * 
-	 * @param matrix
-	 * @return infinite matrix norm of the matrix
-	 */
-	private double getInfiniteNormalizationFactor(Matrix matrix) {
-		double max_sum = 0.0;
-		for (int y = 0; y < matrix.getXDimension(); y++) {
-			double sum = 0.0;
-			for (int x = 0; x < matrix.getYDimension(); x++)
-				sum += matrix.getEntry(x, y).doubleValue();
-			if (sum > max_sum)
-				max_sum = sum;
-		}
-		return max_sum;
-	}
-
-	/**
-	 * Computes the Euclidean distance between to the given column vectors.
-	 * 
-	 * @param v_old first column vector
-	 * @param v     second column vector
-	 * @return distance between v and v_old
+	 * Computes the valuations of the counting semantics, i.e., the fixpoint of
+	 * v(a) = 1 - (damping_factor / N) * (sum of v(b) for all attackers b of a), starting
+	 * with v(a)=1 for all arguments a, where N is the infinite matrix norm of the 
+	 * attack matrix (i.e. the maximal number of attackers of an argument).
+	 * @param kb some Dung theory
+	 * @return the valuations together with statistics about the convergence
 	 */
-	private double getDistance(Matrix v_old, Matrix v) {
-		double sum = 0.0;
-		for (int i = 0; i < v.getYDimension(); i++) {
-			sum += Math.pow(v.getEntry(0, i).doubleValue() - v_old.getEntry(0, i).doubleValue(), 2.0);
-		}
-		return Math.sqrt(sum);
+	public FixpointSolver.Result solve(DungTheory kb) {
+		CompactDungTheory theory = CompactDungTheory.compile(kb);
+		// Apply matrix norm to guarantee that the argument strength scale is bounded
+		int norm = 0;
+		for (int i = 0; i < theory.getNumberOfArguments(); i++)
+			norm = Math.max(norm, theory.getNumberOfAttackers(i));
+		double factor = norm == 0 ? 0.0 : this.damping_factor / norm;
+		return this.solver.solve(theory, (i, sum) -> 1.0 - factor * sum, 1.0);
 	}
 
-}
\ No newline at end of file
+}
@@ -18,14 +18,14 @@
  */
 package org.tweetyproject.arg.rankings.reasoner;
 
-import java.awt.Point;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
+import java.util.function.ObjLongConsumer;
 
 import org.tweetyproject.arg.dung.semantics.Extension;
 import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.CompactDungTheory;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
 import org.tweetyproject.arg.rankings.semantics.LatticeArgumentRanking;
 import org.tweetyproject.commons.util.SetTools;
@@ -34,7 +34,10 @@ import org.tweetyproject.commons.util.SetTools;
  * This class implements the argument ranking approach of
  * [Grossi, Modgil. On the Graded Acceptability of Arguments. IJCAI 2015]
  * 
- * The used algorithms are simple brute force search algorithms.
+ * The used algorithms are simple brute force search algorithms. The mn-complete
+ * extensions are enumerated on the compact attack index: all subsets are visited in
+ * Gray code order while the number of attackers of every argument within the current subset
+ * is kept in an int array, so that neutrality and defense can be checked for all m and n at once.
  *  
  * @author Matthias Thimm
  */
@@ -193,12 +196,91 @@ public class IteratedGradedDefenseReasoner extends AbstractRankingReasoner<Latti
 	 */
 	public Collection<Extension> getAllMNCompleteExtensions(DungTheory theory, int m, int n){
 		Collection<Extension> result = new HashSet<>();
-		for(Collection<Argument> set : new SetTools<Argument>().subsets(theory)){
-			if(this.isMNComplete(theory, set, m, n))
-				result.add(new Extension(set));
-		}
+		CompactDungTheory compact = CompactDungTheory.compile(theory);
+		int[] num = new int[compact.getNumberOfArguments()];
+		this.forAllSubsets(compact, (count, set) -> {
+			if(this.isMNComplete(compact, set, count, num, m, n))
+				result.add(this.toExtension(compact, set));
+		});
 		return result;
 	}
+
+	/**
+	 * Checks whether the given set is mn-complete.
+	 * @param theory a compact Dung theory
+	 * @param set some set of argument ids
+	 * @param count the number of attackers within the set of every argument
+	 * @param num an array for storing the number of attackers that are not n-defeated
+	 * @param m some integer
+	 * @param n some integer
+	 * @return "true" iff the set is mn-complete
+	 */
+	private boolean isMNComplete(CompactDungTheory theory, long set, int[] count, int[] num, int m, int n) {
+		for(int x = 0; x < count.length; x++)
+			if(((set >>> x) & 1L) != 0 && count[x] >= m)
+				return false;
+		this.countUndefeatedAttackers(theory, count, num, n);
+		for(int x = 0; x < count.length; x++)
+			if((num[x] < m) != (((set >>> x) & 1L) != 0))
+				return false;
+		return true;
+	}
+
+	/**
+	 * Determines for every argument the number of its attackers that have less than n attackers
+	 * in some set.
+	 * @param theory a compact Dung theory
+	 * @param count the number of attackers within the set of every argument
+	 * @param num the array the numbers are stored in
+	 * @param n some integer
+	 */
+	private void countUndefeatedAttackers(CompactDungTheory theory, int[] count, int[] num, int n) {
+		for(int x = 0; x < count.length; x++) {
+			num[x] = 0;
+			for(int k = 0; k < theory.getNumberOfAttackers(x); k++)
+				if(count[theory.getAttacker(x, k)] < n)
+					num[x]++;
+		}
+	}
+
+	/**
+	 * Passes all subsets of arguments of the given theory (in Gray code order) to the given 
+	 * consumer, together with the number of attackers within the subset of every argument. The
+	 * arrays passed to the consumer must not be modified.
+	 * @param theory a compact Dung theory
+	 * @param consumer some consumer of the number of attackers and the set of argument ids
+	 */
+	private void forAllSubsets(CompactDungTheory theory, ObjLongConsumer<int[]> consumer) {
+		int size = theory.getNumberOfArguments();
+		if(size > 62)
+			throw new IllegalArgumentException("Enumerating all subsets is not supported for more than 62 arguments.");
+		int[] count = new int[size];
+		long set = 0;
+		consumer.accept(count, set);
+		for(long i = 1; i < (1L << size); i++) {
+			// exactly one argument is added or removed
+			int a = Long.numberOfTrailingZeros(i);
+			set ^= 1L << a;
+			int delta = ((set >>> a) & 1L) != 0 ? 1 : -1;
+			for(int k = 0; k < theory.getNumberOfAttacked(a); k++)
+				count[theory.getAttacked(a, k)] += delta;
+			consumer.accept(count, set);
+		}
+	}
+
+	/**
+	 * Converts the given set of ids to an extension.
+	 * @param theory a compact Dung theory
+	 * @param set some set of argument ids
+	 * @return the extension of the arguments
+	 */
+	private Extension toExtension(CompactDungTheory theory, long set) {
+		Extension ext = new Extension();
+		for(int x = 0; x < theory.getNumberOfArguments(); x++)
+			if(((set >>> x) & 1L) != 0)
+				ext.add(theory.getArgument(x));
+		return ext;
+	}
 	
 	/**
 	 * Returns all mn-preferred extensions.
@@ -265,20 +347,6 @@ public class IteratedGradedDefenseReasoner extends AbstractRankingReasoner<Latti
 		return result;
 	}
 	
-	/**
-	 * Checks whether the given argument "y" is contained in all sets of arguments
-	 * in "args". 
-	 * @param y some argument
-	 * @param exts some set of sets of arguments
-	 * @return "true" iff the given argument "y" is contained in all sets of arguments
-	 * in "args". 
-	 */
-	private boolean isContainedInAll(Argument y, Collection<Extension> exts){
-		for(Collection<Argument> set: exts)
-			if(!set.contains(y))
-				return false;
-		return true;
-	}
 
 	/* (non-Javadoc)
 	 * @see org.tweetyproject.commons.ModelProvider#getModels(org.tweetyproject.commons.BeliefBase)
@@ -295,25 +363,50 @@ public class IteratedGradedDefenseReasoner extends AbstractRankingReasoner<Latti
 	 */
 	@Override
 	public LatticeArgumentRanking getModel(DungTheory bbase) {
-		// compute all mn-complete extensions for all m,n
-		Map<Point,Collection<Extension>> allExt = new HashMap<>();
-		for(int m = 1; m < bbase.size(); m++)
-			for(int n=1; n < bbase.size(); n++)
-				allExt.put(new Point(m,n), this.getAllMNCompleteExtensions(bbase, m, n));
+		// compute the intersection of all mn-complete extensions for all m,n
+		// (the intersection of no extensions contains all arguments)
+		CompactDungTheory theory = CompactDungTheory.compile(bbase);
+		int size = theory.getNumberOfArguments();
+		long[][] inAll = new long[size][size];
+		for(long[] row: inAll)
+			Arrays.fill(row, -1L);
+		int[] num = new int[size];
+		this.forAllSubsets(theory, (count, set) -> {
+			// set is m-conflict-free iff m > maxCount 
+			int maxCount = 0;
+			for(int x = 0; x < size; x++)
+				if(((set >>> x) & 1L) != 0)
+					maxCount = Math.max(maxCount, count[x]);
+			for(int n = 1; n < size; n++) {
+				// set equals the mn-defended arguments iff max(num of set) < m <= min(num of other arguments)
+				this.countUndefeatedAttackers(theory, count, num, n);
+				int lower = maxCount, upper = Integer.MAX_VALUE;
+				for(int x = 0; x < size; x++)
+					if(((set >>> x) & 1L) != 0)
+						lower = Math.max(lower, num[x]);
+					else
+						upper = Math.min(upper, num[x]);
+				for(int m = lower + 1; m < size && m <= upper; m++)
+					inAll[m][n] &= set;
+			}
+		});
 		LatticeArgumentRanking ranking = new LatticeArgumentRanking(bbase);
 		for(Argument a: bbase)
 			for(Argument b: bbase)
 				if(a != b){
 					boolean a_implies_b = true;
 					boolean b_implies_a = true;
-					for(Collection<Extension> exts: allExt.values()){
-						if(this.isContainedInAll(a, exts) && !this.isContainedInAll(b, exts))
-							a_implies_b = false;
-						if(this.isContainedInAll(b, exts) && !this.isContainedInAll(a, exts))
-							b_implies_a = false;
-						if(!a_implies_b && !b_implies_a)
-							break;
-					}
+					long bitA = 1L << theory.getId(a);
+					long bitB = 1L << theory.getId(b);
+					for(int m = 1; m < size && (a_implies_b || b_implies_a); m++)
+						for(int n = 1; n < size; n++){
+							if((inAll[m][n] & bitA) != 0 && (inAll[m][n] & bitB) == 0)
+								a_implies_b = false;
+							if((inAll[m][n] & bitB) != 0 && (inAll[m][n] & bitA) == 0)
+								b_implies_a = false;
+							if(!a_implies_b && !b_implies_a)
+								break;
+						}
 					if(a_implies_b)
 						ranking.setStrictlyLessOrEquallyAcceptableThan(a, b);
 					if(b_implies_a)
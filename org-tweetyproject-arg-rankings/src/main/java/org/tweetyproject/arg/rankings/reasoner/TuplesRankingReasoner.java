@@ -18,16 +18,15 @@
  */
 package org.tweetyproject.arg.rankings.reasoner;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
 import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.CompactDungTheory;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
 import org.tweetyproject.arg.rankings.semantics.LatticeArgumentRanking;
 import org.tweetyproject.arg.rankings.util.LexicographicIntTupleComparator;
@@ -42,8 +41,20 @@ import org.tweetyproject.commons.util.Pair;
  * 
  * <br>
  * <br>
- * Note: This implementation only works for acyclic argument graphs. For cyclic
- * graphs <b>null</b> is returned. 
+ * The tupled values are not expanded branch by branch; instead, the number of
+ * branches of every length is computed for all arguments at once by dynamic 
+ * programming over the branch length (the branches of length l+1 ending in an argument
+ * are the branches of length l ending in its attackers), so the effort is polynomial 
+ * even if the number of branches is exponential. Tuples are compared in this compact form,
+ * numbers of branches beyond Long.MAX_VALUE are saturated. Only the explicit tuples
+ * returned by {@link #computeTupledValue(Argument, DungTheory)} and {@link #getTupledValues()}
+ * are limited to Integer.MAX_VALUE branches.
+ * 
+ * <br>
+ * <br>
+ * Note: By default, this implementation only works for acyclic argument graphs. For cyclic
+ * graphs <b>null</b> is returned. If a maximal branch length is given, only branches
+ * up to this length are considered, i.e., cycles are unrolled up to this length.
  * 
  * @author Anna Gessler
  */
@@ -54,6 +65,42 @@ public class TuplesRankingReasoner extends AbstractRankingReasoner<LatticeArgume
 	 */
 	private Map<Argument, Pair<int[], int[]>> tupled_values = new HashMap<Argument, Pair<int[], int[]>>();
 
+	/**
+	 * The maximal length of considered branches or -1 if all branches are considered.
+	 */
+	private int maxLength;
+
+	/**
+	 * The theory of the last call of getModel.
+	 */
+	private CompactDungTheory theory = null;
+
+	/**
+	 * The numbers of branches computed by the last call of getModel, i.e., 
+	 * counts[0][a][k] is the number of branches of length 2k (defense branches) 
+	 * and counts[1][a][k] the number of branches of length 2k+1 (attack branches) 
+	 * ending in the argument with id a.
+	 */
+	private long[][][] counts = null;
+
+	/**
+	 * Creates a new reasoner that considers all branches and only works for 
+	 * acyclic graphs.
+	 */
+	public TuplesRankingReasoner() {
+		this.maxLength = -1;
+	}
+
+	/**
+	 * Creates a new reasoner that only considers branches up to the given
+	 * length and also works for cyclic graphs.
+	 * @param maxLength the maximal length of considered branches
+	 */
+	public TuplesRankingReasoner(int maxLength) {
+		if (maxLength < 0)
+			throw new IllegalArgumentException("The maximal branch length must not be negative.");
+		this.maxLength = maxLength;
+	}
 
 	@Override
 	public Collection<LatticeArgumentRanking> getModels(DungTheory bbase) {
@@ -65,51 +112,51 @@ public class TuplesRankingReasoner extends AbstractRankingReasoner<LatticeArgume
 	@Override
 	public LatticeArgumentRanking getModel(DungTheory kb) {
 		LatticeArgumentRanking ranking = new LatticeArgumentRanking(kb.getNodes());
+		CompactDungTheory theory = CompactDungTheory.compile(kb);
 
 		// Check if kb is acyclic
-		if (kb.containsCycle())
+		if (this.maxLength < 0 && !TuplesRankingReasoner.isAcyclic(theory))
 			return null;
 
 		// Compute lookup table for tupled values
-		this.tupled_values = new HashMap<Argument, Pair<int[], int[]>>();
-		for (Argument a : kb)
-			this.tupled_values.put(a, computeTupledValue(a, kb));
+		this.theory = theory;
+		this.counts = this.computeCounts(theory);
+		this.tupled_values = null;
 
 		// Tuples* Algorithm
 		// Compare lengths of attack/defense branches
 		// In case of a tie, compare values inside tuples
 		LexicographicIntTupleComparator c = new LexicographicIntTupleComparator();
+		int n = theory.getNumberOfArguments();
+		double[] defense_size = new double[n];
+		double[] attack_size = new double[n];
+		for (int i = 0; i < n; i++) {
+			defense_size[i] = this.getTrueTupleSize(this.counts[0][i], true);
+			attack_size[i] = this.getTrueTupleSize(this.counts[1][i], false);
+		}
 
-		for (Argument a : kb) {
-			Pair<int[], int[]> tv_a = this.tupled_values.get(a);
-			int[] a_defense_tuple = tv_a.getFirst();
-			int[] a_attack_tuple = tv_a.getSecond();
-			double a_defense_tuple_size = getTrueTupleSize(a_defense_tuple);
-			double a_attack_tuple_size = getTrueTupleSize(a_attack_tuple);
-			for (Argument b : kb) {
-				Pair<int[], int[]> tv_b = this.tupled_values.get(b);
-				if (tv_a.equals(tv_b)) {
+		for (int i = 0; i < n; i++) {
+			Argument a = theory.getArgument(i);
+			for (int j = 0; j < n; j++) {
+				Argument b = theory.getArgument(j);
+				if (i == j) {
 					ranking.setStrictlyLessOrEquallyAcceptableThan(a, b);
-					ranking.setStrictlyLessOrEquallyAcceptableThan(b, a);
 					continue;
 				}
-				int[] b_defense_tuple = tv_b.getFirst();
-				int[] b_attack_tuple = tv_b.getSecond();
-				double b_defense_tuple_size = getTrueTupleSize(b_defense_tuple);
-				double b_attack_tuple_size = getTrueTupleSize(b_attack_tuple);
-				
-				if (a_attack_tuple_size == b_attack_tuple_size && a_defense_tuple_size == b_defense_tuple_size) {
-					if ((c.compare(a_defense_tuple, b_defense_tuple) <= 0) && (c.compare(a_attack_tuple, b_attack_tuple) >= 0)) {
+				if (attack_size[i] == attack_size[j] && defense_size[i] == defense_size[j]) {
+					int defense = c.compare(this.counts[0][i], this.counts[0][j]);
+					int attack = c.compare(this.counts[1][i], this.counts[1][j]);
+					if (defense <= 0 && attack >= 0) {
 						ranking.setStrictlyLessOrEquallyAcceptableThan(b, a);
-					} else if ((c.compare(a_defense_tuple, b_defense_tuple) >= 0) && (c.compare(a_attack_tuple, b_attack_tuple) <= 0)) {
+					} else if (defense >= 0 && attack <= 0) {
 						ranking.setStrictlyLessOrEquallyAcceptableThan(a, b);
 					}
 					// else: incomparable
 
 				} else {
-					if (a_attack_tuple_size >= b_attack_tuple_size && a_defense_tuple_size <= b_defense_tuple_size) {
+					if (attack_size[i] >= attack_size[j] && defense_size[i] <= defense_size[j]) {
 						ranking.setStrictlyLessOrEquallyAcceptableThan(a, b);
-					} else if (a_attack_tuple_size <= b_attack_tuple_size && a_defense_tuple_size >= b_defense_tuple_size) {
+					} else if (attack_size[i] <= attack_size[j] && defense_size[i] >= defense_size[j]) {
 						ranking.setStrictlyLessOrEquallyAcceptableThan(b, a);
 					}
 					// else: incomparable
@@ -124,15 +171,115 @@ public class TuplesRankingReasoner extends AbstractRankingReasoner<LatticeArgume
 	 * Returns the true tuple size, i.e. infinity iff the tuple 
 	 * contains only 0 (a placeholder 
 	 * for an infinite number of zeroes in this implementation), 
-	 * or the length of the array in all other cases.
-	 * @param l tuple represented by an array of integers
+	 * or the number of branches in all other cases.
+	 * @param c the numbers of branches of every length of the tuple
+	 * @param defense whether the tuple is a defense tuple (and may contain 0)
 	 * @return true size of the tuple
 	 */
-	private double getTrueTupleSize(int[] l) {
-		if (l.length==1 && l[0]==0)
+	private double getTrueTupleSize(long[] c, boolean defense) {
+		if (defense && c.length > 0 && c[0] > 0)
 			return Double.POSITIVE_INFINITY;
-		else 
-			return (double) l.length;
+		long size = 0;
+		for (long k : c)
+			size = LexicographicIntTupleComparator.add(size, k);
+		return (double) size;
+	}
+
+	/**
+	 * Checks whether the given theory is acyclic.
+	 * @param theory some compact Dung theory
+	 * @return "true" iff the theory does not contain a cycle.
+	 */
+	private static boolean isAcyclic(CompactDungTheory theory) {
+		int n = theory.getNumberOfArguments();
+		int[] indegree = new int[n];
+		int[] queue = new int[n];
+		int tail = 0;
+		for (int i = 0; i < n; i++) {
+			indegree[i] = theory.getNumberOfAttackers(i);
+			if (indegree[i] == 0)
+				queue[tail++] = i;
+		}
+		for (int head = 0; head < tail; head++)
+			for (int k = 0; k < theory.getNumberOfAttacked(queue[head]); k++) {
+				int b = theory.getAttacked(queue[head], k);
+				if (--indegree[b] == 0)
+					queue[tail++] = b;
+			}
+		return tail == n;
+	}
+
+	/**
+	 * Computes the number of branches of every length for all arguments of the given theory.
+	 * @param theory some compact Dung theory
+	 * @return the numbers of defense branches (first index 0) and attack branches (first index 1), 
+	 * 	indexed by argument ids and half the branch length
+	 */
+	private long[][][] computeCounts(CompactDungTheory theory) {
+		int n = theory.getNumberOfArguments();
+		long[][][] counts = new long[2][n][];
+		int[][] sizes = new int[2][n];
+		for (int p = 0; p < 2; p++)
+			Arrays.fill(counts[p], new long[0]);
+		// branches in acyclic graphs are shorter than the number of arguments
+		int bound = this.maxLength < 0 ? n : this.maxLength;
+		// the number of branches of the current length ending in every argument
+		long[] current = new long[n];
+		long[] next = new long[n];
+		for (int i = 0; i < n; i++)
+			if (theory.getNumberOfAttackers(i) == 0)
+				current[i] = 1;
+		for (int length = 0; length <= bound; length++) {
+			boolean found = false;
+			int p = length & 1, k = length >> 1;
+			for (int i = 0; i < n; i++)
+				if (current[i] != 0) {
+					found = true;
+					if (counts[p][i].length <= k)
+						counts[p][i] = Arrays.copyOf(counts[p][i], Math.max(k + 1, 2 * counts[p][i].length));
+					counts[p][i][k] = current[i];
+					sizes[p][i] = k + 1;
+				}
+			if (!found)
+				break;
+			for (int i = 0; i < n; i++) {
+				long sum = 0;
+				for (int j = 0; j < theory.getNumberOfAttackers(i); j++)
+					sum = LexicographicIntTupleComparator.add(sum, current[theory.getAttacker(i, j)]);
+				next[i] = sum;
+			}
+			long[] tmp = current;
+			current = next;
+			next = tmp;
+		}
+		for (int p = 0; p < 2; p++)
+			for (int i = 0; i < n; i++)
+				if (counts[p][i].length != sizes[p][i])
+					counts[p][i] = Arrays.copyOf(counts[p][i], sizes[p][i]);
+		return counts;
+	}
+
+	/**
+	 * Expands the given numbers of branches to a tuple.
+	 * @param a the argument of the tuple
+	 * @param c the numbers of branches of every length of the tuple
+	 * @param offset 0 for defense and 1 for attack tuples
+	 * @return the sorted tuple of branch lengths
+	 * @throws IllegalStateException if the tuple has more than Integer.MAX_VALUE entries.
+	 */
+	private static int[] expand(Argument a, long[] c, int offset) {
+		long size = 0;
+		for (long k : c)
+			size = LexicographicIntTupleComparator.add(size, k);
+		if (size > Integer.MAX_VALUE)
+			throw new IllegalStateException("The " + (offset == 0 ? "defense" : "attack") + " tuple of argument " + a + " has "
+					+ (size == Long.MAX_VALUE ? "at least " : "") + size + " branches, which exceeds the maximal size of an array.");
+		int[] tuple = new int[(int) size];
+		int pos = 0;
+		for (int k = 0; k < c.length; k++)
+			for (long l = 0; l < c[k]; l++)
+				tuple[pos++] = 2 * k + offset;
+		return tuple;
 	}
 
 	/**
@@ -142,41 +289,29 @@ public class TuplesRankingReasoner extends AbstractRankingReasoner<LatticeArgume
 	 * @param kb DungTheory
 	 * @return a pair that consists of the two tuples that represent the defense
 	 *         (first tuple) and attack (second tuple) branches of a.
+	 * @throws IllegalStateException if a has more than Integer.MAX_VALUE defense or attack branches.
 	 */
 	public Pair<int[], int[]> computeTupledValue(Argument a, DungTheory kb) {
-		ArrayList<Integer> defense = new ArrayList<Integer>();
-		ArrayList<Integer> attack = new ArrayList<Integer>();
-
-		Set<Argument> attackers = kb.getAttackers(a);
-		if (attackers.isEmpty())
-			defense.add(0); //technically, this would be an infinite number of zeroes
-		else {
-			for (Argument b : attackers) {
-				for (Integer i : computeTupledValue(b, kb).getSecond()) {
-					i++;
-					defense.add(i);
-					if (defense.contains(0))
-						defense.remove(defense.indexOf(0));
-				}
-				Collections.sort(defense);
-				for (Integer i : computeTupledValue(b, kb).getFirst()) {
-					i++;
-					attack.add(i);
-					if (attack.contains(0))
-						attack.remove(defense.indexOf(0));
-				}
-				Collections.sort(attack);
-			}
-		}
-		return new Pair<int[], int[]>(defense.stream().mapToInt(i -> i).toArray(),
-				attack.stream().mapToInt(i -> i).toArray());
+		CompactDungTheory theory = CompactDungTheory.compile(kb);
+		long[][][] counts = this.computeCounts(theory);
+		int i = theory.getId(a);
+		return new Pair<int[], int[]>(TuplesRankingReasoner.expand(a, counts[0][i], 0), TuplesRankingReasoner.expand(a, counts[1][i], 1));
 	}
 
 	/**
 	 * @return the tupled values computed by previous calls of getModel oder
 	 *         getModels
+	 * @throws IllegalStateException if some argument has more than Integer.MAX_VALUE 
+	 *         defense or attack branches.
 	 */
 	public Map<Argument, Pair<int[], int[]>> getTupledValues() {
+		if (this.tupled_values == null) {
+			this.tupled_values = new HashMap<Argument, Pair<int[], int[]>>();
+			for (int i = 0; i < this.theory.getNumberOfArguments(); i++)
+				this.tupled_values.put(this.theory.getArgument(i), new Pair<int[], int[]>(
+						TuplesRankingReasoner.expand(this.theory.getArgument(i), this.counts[0][i], 0),
+						TuplesRankingReasoner.expand(this.theory.getArgument(i), this.counts[1][i], 1)));
+		}
 		return this.tupled_values;
 	}
 
@@ -184,9 +319,12 @@ public class TuplesRankingReasoner extends AbstractRankingReasoner<LatticeArgume
 	 * Prints the tupled values computed by previous calls of getModel oder getModels in a 
 	 * human-readable way.
 	 * @return a string representation of the tuples
+	 * @throws IllegalStateException if some argument has more than Integer.MAX_VALUE 
+	 *         defense or attack branches.
 	 */
 	public String prettyPrintTupledValues() {
-		Set<Argument> args = this.tupled_values.keySet();
+		Map<Argument, Pair<int[], int[]>> tupled_values = this.getTupledValues();
+		Set<Argument> args = tupled_values.keySet();
 		String tv = "";
 		for (Argument a : args)
 			tv += ", v(" + a + ") = [" + Arrays.toString(tupled_values.get(a).getFirst()) + ","
@@ -0,0 +1,324 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.rankings.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.CompactDungTheory;
+
+/**
+ * Computes the fixpoint of a gradual valuation of the form v(a) = f(a, sum of v(b) for all
+ * attackers b of a), as used e.g. by the h-categorizer and the counting semantics. Valuations are
+ * stored in primitive arrays indexed by the argument ids of a {@link CompactDungTheory} and
+ * attackers are looked up in its compact attack index.
+ * <br>
+ * <br>Two update schemes are supported:
+ * <ul>
+ * <li>{@link Update#JACOBI}: every sweep computes all new values from the values of the previous sweep.</li>
+ * <li>{@link Update#GAUSS_SEIDEL}: new values are used as soon as they have been computed
+ * in the same sweep, which usually needs fewer sweeps.</li>
+ * </ul>
+ * If a pool is given, the arguments are split into blocks of consecutive ids that are
+ * evaluated in parallel. With Gauss-Seidel updates, new values are then only used within
+ * the same block, i.e., blocks are updated asynchronously wrt. each other. The block size does not depend
+ * on the pool, so the result does not depend on the number of threads.
+ * <br>
+ * <br>The iteration stops as soon as the Euclidean distance between the values of two
+ * consecutive sweeps is at most epsilon or after the maximal number of sweeps.
+ *
+ * @author Sebastian Franke
+ */
+public class FixpointSolver {
+
+	/**
+	 * The update scheme of a sweep.
+	 */
+	public enum Update {
+		/** All values are computed from the values of the previous sweep. */
+		JACOBI,
+		/** New values are used as soon as they have been computed. */
+		GAUSS_SEIDEL
+	}
+
+	/**
+	 * A gradual valuation that is determined by the sum of the values of the attackers.
+	 */
+	@FunctionalInterface
+	public interface Valuation {
+		/**
+		 * Computes the new value of an argument.
+		 * @param id the id of some argument
+		 * @param sum the sum of the current values of the attackers of the argument
+		 * @return the new value of the argument
+		 */
+		double apply(int id, double sum);
+	}
+
+	/**
+	 * The values computed by the solver together with statistics about the convergence.
+	 */
+	public static class Result {
+		/** The theory. */
+		private CompactDungTheory theory;
+		/** The values, indexed by argument ids. */
+		private double[] values;
+		/** The number of sweeps. */
+		private int iterations;
+		/** The distance between the values of the last two sweeps. */
+		private double residual;
+		/** Whether the distance has dropped below epsilon. */
+		private boolean converged;
+		/** The time of the computation in nanoseconds. */
+		private long time;
+
+		/**
+		 * Returns the values, indexed by the argument ids of the theory.
+		 * @return the values.
+		 */
+		public double[] getValues() {
+			return this.values;
+		}
+
+		/**
+		 * Returns the value of the given argument.
+		 * @param argument some argument of the theory
+		 * @return the value of the argument.
+		 */
+		public double getValue(Argument argument) {
+			return this.values[this.theory.getId(argument)];
+		}
+
+		/**
+		 * Returns the theory.
+		 * @return the theory.
+		 */
+		public CompactDungTheory getTheory() {
+			return this.theory;
+		}
+
+		/**
+		 * Returns the number of sweeps.
+		 * @return the number of sweeps.
+		 */
+		public int getIterations() {
+			return this.iterations;
+		}
+
+		/**
+		 * Returns the Euclidean distance between the values of the last two sweeps.
+		 * @return the distance between the values of the last two sweeps.
+		 */
+		public double getResidual() {
+			return this.residual;
+		}
+
+		/**
+		 * Returns whether the iteration has converged, i.e., whether it stopped
+		 * before the maximal number of sweeps.
+		 * @return "true" iff the iteration has converged.
+		 */
+		public boolean isConverged() {
+			return this.converged;
+		}
+
+		/**
+		 * Returns the time of the computation in nanoseconds.
+		 * @return the time of the computation in nanoseconds.
+		 */
+		public long getTime() {
+			return this.time;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return "iterations=" + this.iterations + ", residual=" + this.residual + ", converged=" + this.converged + ", time=" + (this.time / 1000000) + "ms";
+		}
+	}
+
+	/** The number of arguments of a block. */
+	private static final int BLOCKSIZE = 4096;
+
+	/** The maximal distance of the values of two consecutive sweeps. */
+	private double epsilon;
+	/** The maximal number of sweeps. */
+	private int maxIterations;
+	/** The update scheme. */
+	private Update update;
+	/** The pool for parallel sweeps or null. */
+	private ForkJoinPool pool;
+
+	/**
+	 * Creates a new sequential solver with Jacobi updates and no limit on the number of sweeps.
+	 * @param epsilon the maximal distance of the values of two consecutive sweeps
+	 */
+	public FixpointSolver(double epsilon) {
+		this(epsilon, Integer.MAX_VALUE, Update.JACOBI, null);
+	}
+
+	/**
+	 * Creates a new solver.
+	 * @param epsilon the maximal distance of the values of two consecutive sweeps
+	 * @param maxIterations the maximal number of sweeps
+	 * @param update the update scheme
+	 * @param pool a pool for parallel sweeps or null if sweeps are sequential
+	 */
+	public FixpointSolver(double epsilon, int maxIterations, Update update, ForkJoinPool pool) {
+		if(maxIterations < 1)
+			throw new IllegalArgumentException("The maximal number of iterations must be positive.");
+		this.epsilon = epsilon;
+		this.maxIterations = maxIterations;
+		this.update = update;
+		this.pool = pool;
+	}
+
+	/**
+	 * Returns the maximal distance of the values of two consecutive sweeps.
+	 * @return epsilon
+	 */
+	public double getEpsilon() {
+		return this.epsilon;
+	}
+
+	/**
+	 * Iterates the given valuation on the given theory until it converges.
+	 * @param theory some compact Dung theory
+	 * @param valuation some valuation
+	 * @param initial the initial value of all arguments
+	 * @return the values after the last sweep
+	 */
+	public Result solve(CompactDungTheory theory, Valuation valuation, double initial) {
+		long start = System.nanoTime();
+		int n = theory.getNumberOfArguments();
+		double[] current = new double[n];
+		double[] next = new double[n];
+		Arrays.fill(current, initial);
+		// without a pool, Gauss-Seidel updates are applied to all arguments as one block
+		int blockSize = this.pool == null && this.update == Update.GAUSS_SEIDEL ? Math.max(n, 1) : FixpointSolver.BLOCKSIZE;
+		int blocks = (n + blockSize - 1) / blockSize;
+		double[] residuals = new double[blocks];
+		Result result = new Result();
+		result.theory = theory;
+		do {
+			Sweep sweep = new Sweep(theory, valuation, current, next, residuals, blockSize, 0, blocks);
+			if(this.pool == null)
+				sweep.compute();
+			else
+				this.pool.invoke(sweep);
+			double sum = 0;
+			for(double r: residuals)
+				sum += r;
+			double[] tmp = current;
+			current = next;
+			next = tmp;
+			result.residual = Math.sqrt(sum);
+			result.iterations++;
+		} while(result.residual > this.epsilon && result.iterations < this.maxIterations);
+		result.converged = result.residual <= this.epsilon;
+		result.values = current;
+		result.time = System.nanoTime() - start;
+		return result;
+	}
+
+	/**
+	 * Updates the values of a range of blocks; the range is split in halves
+	 * until it consists of a single block.
+	 */
+	private class Sweep extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		/** The theory. */
+		private CompactDungTheory theory;
+		/** The valuation. */
+		private Valuation valuation;
+		/** The values of the previous sweep. */
+		private double[] current;
+		/** The values of this sweep. */
+		private double[] next;
+		/** The squared distances of the blocks. */
+		private double[] residuals;
+		/** The size of a block and the range of blocks. */
+		private int blockSize, from, to;
+
+		/**
+		 * Creates a new sweep over the blocks from (inclusive) and to (exclusive).
+		 * @param theory the theory
+		 * @param valuation the valuation
+		 * @param current the values of the previous sweep
+		 * @param next the values of this sweep
+		 * @param residuals the squared distances of the blocks
+		 * @param blockSize the size of a block
+		 * @param from the first block
+		 * @param to the last block (exclusive)
+		 */
+		Sweep(CompactDungTheory theory, Valuation valuation, double[] current, double[] next, double[] residuals, int blockSize, int from, int to) {
+			this.theory = theory;
+			this.valuation = valuation;
+			this.current = current;
+			this.next = next;
+			this.residuals = residuals;
+			this.blockSize = blockSize;
+			this.from = from;
+			this.to = to;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.util.concurrent.RecursiveAction#compute()
+		 */
+		@Override
+		protected void compute() {
+			if(this.to - this.from > 1 && FixpointSolver.this.pool != null) {
+				int mid = (this.from + this.to) >>> 1;
+				invokeAll(
+						new Sweep(this.theory, this.valuation, this.current, this.next, this.residuals, this.blockSize, this.from, mid),
+						new Sweep(this.theory, this.valuation, this.current, this.next, this.residuals, this.blockSize, mid, this.to));
+				return;
+			}
+			for(int b = this.from; b < this.to; b++)
+				this.residuals[b] = this.sweep(b * this.blockSize, Math.min((b+1) * this.blockSize, this.next.length));
+		}
+
+		/**
+		 * Updates the values of the arguments lo,...,hi-1.
+		 * @param lo the first argument
+		 * @param hi the last argument (exclusive)
+		 * @return the squared distance between the old and new values
+		 */
+		private double sweep(int lo, int hi) {
+			boolean gaussSeidel = FixpointSolver.this.update == Update.GAUSS_SEIDEL;
+			double residual = 0;
+			for(int i = lo; i < hi; i++) {
+				double sum = 0;
+				for(int k = 0; k < this.theory.getNumberOfAttackers(i); k++) {
+					int j = this.theory.getAttacker(i, k);
+					// values of the block that have already been updated in this sweep
+					sum += gaussSeidel && j >= lo && j < i ? this.next[j] : this.current[j];
+				}
+				double value = this.valuation.apply(i, sum);
+				residual += (value - this.current[i]) * (value - this.current[i]);
+				this.next[i] = value;
+			}
+			return residual;
+		}
+	}
+}
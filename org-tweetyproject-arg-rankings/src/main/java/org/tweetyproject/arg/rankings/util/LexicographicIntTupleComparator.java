@@ -22,7 +22,12 @@ import java.util.Comparator;
 
 /**
  *  Compares tuples of integers according to the lexicographic ordering as described in 
- *  [Cayrol, Lagasquie-Schiex. Graduality in argumentation. 2005].
+ *  [Cayrol, Lagasquie-Schiex. Graduality in argumentation. 2005], i.e., values are compared
+ *  position by position and a proper prefix of a tuple is smaller than the tuple.
+ *  <br>
+ *  <br>Sorted tuples of non-negative integers can also be compared in a compact 
+ *  representation by their numbers of occurrences (see {@link #compare(long[], long[])}),
+ *  which does not require to expand tuples with large numbers of entries.
  * 
  * @author Anna Gessler
  *
@@ -35,15 +40,53 @@ public class LexicographicIntTupleComparator implements Comparator<int[]> {
 	public static final double PRECISION = 0.001;
 	@Override
 	public int compare(int[] o1, int[] o2) {
-		String s1 = "";
-		String s2 = "";
-		for (int i : o1) 
-			s1 += i; 
-		for (int j : o2) 
-			s2 += j; 
-		return s1.compareTo(s2);
+		for (int i = 0; i < Math.min(o1.length, o2.length); i++)
+			if (o1[i] != o2[i])
+				return Integer.compare(o1[i], o2[i]);
+		return Integer.compare(o1.length, o2.length);
 	}
 
-}
+	/**
+	 * Compares two sorted (ascending) tuples that are given by the numbers of occurrences of 
+	 * their values, i.e., the tuple represented by <code>c</code> contains the value v exactly 
+	 * c[v] times.
+	 * @param c1 the numbers of occurrences of the values of the first tuple
+	 * @param c2 the numbers of occurrences of the values of the second tuple
+	 * @return a negative integer, zero, or a positive integer as the first tuple is less than, 
+	 * 	equal to, or greater than the second tuple
+	 */
+	public int compare(long[] c1, long[] c2) {
+		long total1 = 0, total2 = 0;
+		for (long c : c1)
+			total1 = LexicographicIntTupleComparator.add(total1, c);
+		for (long c : c2)
+			total2 = LexicographicIntTupleComparator.add(total2, c);
+		// the number of values smaller than v (in both tuples)
+		long position = 0;
+		for (int v = 0; v < Math.max(c1.length, c2.length); v++) {
+			long x = v < c1.length ? c1[v] : 0;
+			long y = v < c2.length ? c2[v] : 0;
+			if (x != y) {
+				// the tuple with more occurrences of v is smaller unless the other one ends
+				long common = LexicographicIntTupleComparator.add(position, Math.min(x, y));
+				if (x > y)
+					return total2 > common ? -1 : 1;
+				return total1 > common ? 1 : -1;
+			}
+			position = LexicographicIntTupleComparator.add(position, x);
+		}
+		return 0;
+	}
 
+	/**
+	 * Adds two non-negative numbers, saturating at Long.MAX_VALUE.
+	 * @param a some non-negative number
+	 * @param b some non-negative number
+	 * @return min(a+b, Long.MAX_VALUE)
+	 */
+	public static long add(long a, long b) {
+		long sum = a + b;
+		return sum < 0 ? Long.MAX_VALUE : sum;
+	}
 
+}
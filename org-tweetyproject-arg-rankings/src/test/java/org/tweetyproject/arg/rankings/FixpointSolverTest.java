@@ -0,0 +1,90 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.rankings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.CompactDungTheory;
+import org.tweetyproject.arg.dung.syntax.DungTheory;
+import org.tweetyproject.arg.dung.util.DefaultDungTheoryGenerator;
+import org.tweetyproject.arg.dung.util.DungTheoryGenerationParameters;
+import org.tweetyproject.arg.rankings.reasoner.CategorizerRankingReasoner;
+import org.tweetyproject.arg.rankings.reasoner.CountingRankingReasoner;
+import org.tweetyproject.arg.rankings.util.FixpointSolver;
+
+public class FixpointSolverTest {
+
+	@Test
+	public void updateTest() {
+		DungTheoryGenerationParameters params = new DungTheoryGenerationParameters();
+		params.numberOfArguments = 5000;
+		params.attackProbability = 0.001;
+		params.avoidSelfAttacks = false;
+		DefaultDungTheoryGenerator gen = new DefaultDungTheoryGenerator(params);
+		gen.setSeed(1);
+		CompactDungTheory theory = new CompactDungTheory(gen.next());
+		ForkJoinPool pool = new ForkJoinPool(2);
+		FixpointSolver.Result categorizer = new CategorizerRankingReasoner(1e-10).solve(theory);
+		FixpointSolver.Result counting = new CountingRankingReasoner(0.9, 1e-10).solve(theory);
+		for(FixpointSolver.Update update: FixpointSolver.Update.values())
+			for(ForkJoinPool p: new ForkJoinPool[] {null, pool}) {
+				FixpointSolver solver = new FixpointSolver(1e-10, 10000, update, p);
+				FixpointSolver.Result result = new CategorizerRankingReasoner(solver).solve(theory);
+				assertTrue(result.isConverged());
+				for(int i = 0; i < theory.getNumberOfArguments(); i++)
+					assertEquals(categorizer.getValues()[i], result.getValues()[i], 1e-8);
+				result = new CountingRankingReasoner(0.9, solver).solve(theory);
+				assertTrue(result.isConverged());
+				for(int i = 0; i < theory.getNumberOfArguments(); i++)
+					assertEquals(counting.getValues()[i], result.getValues()[i], 1e-8);
+			}
+		pool.shutdown();
+	}
+
+	@Test
+	public void categorizerTest() {
+		// a chain a <- b <- c and a self-attacking argument d
+		DungTheory theory = new DungTheory();
+		Argument a = new Argument("a");
+		Argument b = new Argument("b");
+		Argument c = new Argument("c");
+		Argument d = new Argument("d");
+		theory.add(a);
+		theory.add(b);
+		theory.add(c);
+		theory.add(d);
+		theory.addAttack(b, a);
+		theory.addAttack(c, b);
+		theory.addAttack(d, d);
+		FixpointSolver.Result result = new CategorizerRankingReasoner(new FixpointSolver(1e-12, 1000, FixpointSolver.Update.GAUSS_SEIDEL, null)).solve(theory);
+		assertEquals(1.0, result.getValue(c), 1e-10);
+		assertEquals(0.5, result.getValue(b), 1e-10);
+		assertEquals(2.0 / 3.0, result.getValue(a), 1e-10);
+		assertEquals((Math.sqrt(5) - 1) / 2, result.getValue(d), 1e-10);
+		// the maximal number of iterations is respected
+		result = new CategorizerRankingReasoner(new FixpointSolver(0, 3, FixpointSolver.Update.JACOBI, null)).solve(theory);
+		assertEquals(3, result.getIterations());
+		assertTrue(!result.isConverged());
+	}
+}
@@ -18,8 +18,12 @@
  */
 package org.tweetyproject.arg.rankings;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import org.junit.Test;
 
@@ -34,6 +38,7 @@ import org.tweetyproject.arg.rankings.reasoner.DiscussionBasedRankingReasoner;
 import org.tweetyproject.arg.rankings.reasoner.MTRankingReasoner;
 import org.tweetyproject.arg.rankings.semantics.LatticeArgumentRanking;
 import org.tweetyproject.arg.rankings.semantics.NumericalArgumentRanking;
+import org.tweetyproject.arg.rankings.util.LexicographicIntTupleComparator;
 
 /**
  * Test class for checking counterexamples for some postulates.
@@ -224,4 +229,58 @@ public class RankingReasonerTest {
 		assertFalse(ranking_discussion.isStrictlyMoreAcceptableThan(a,b));
 	}
 	
+	@Test(timeout = DEFAULT_TIMEOUT)
+	//Tuples* on a layered graph with exponentially many branches
+	public void TuplesLayeredTest() throws Exception {
+		DungTheory dt = new DungTheory();
+		Argument[][] args = new Argument[100][3];
+		for (int l = 0; l < args.length; l++)
+			for (int w = 0; w < args[l].length; w++) {
+				args[l][w] = new Argument("a" + l + "_" + w);
+				dt.add(args[l][w]);
+				if (l > 0)
+					for (Argument b : args[l-1])
+						dt.add(new Attack(b, args[l][w]));
+			}
+		TuplesRankingReasoner reasoner_tuples = new TuplesRankingReasoner();
+		LatticeArgumentRanking ranking = reasoner_tuples.getModel(dt);
+		assertTrue(ranking.isStrictlyMoreAcceptableThan(args[0][0], args[1][0]));
+		assertTrue(ranking.isStrictlyMoreAcceptableThan(args[2][0], args[1][0]));
+		assertFalse(ranking.isIncomparable(args[50][0], args[50][1]));
+		assertArrayEquals(new int[] {2, 2, 2, 2, 2, 2, 2, 2, 2}, reasoner_tuples.computeTupledValue(args[2][0], dt).getFirst());
+		assertArrayEquals(new int[] {1, 1, 1}, reasoner_tuples.computeTupledValue(args[1][0], dt).getSecond());
+		// 3^99 branches cannot be expanded to an explicit tuple
+		try {
+			reasoner_tuples.computeTupledValue(args[99][0], dt);
+			fail();
+		} catch (IllegalStateException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("argument " + args[99][0] + " has at least " + Long.MAX_VALUE));
+		}
+		try {
+			reasoner_tuples.getTupledValues();
+			fail();
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		
+		// cycles are only supported for bounded branch lengths
+		dt.add(new Attack(args[99][0], args[0][0]));
+		assertNull(reasoner_tuples.getModel(dt));
+		ranking = new TuplesRankingReasoner(20).getModel(dt);
+		assertFalse(ranking.isIncomparable(args[10][1], args[10][2]));
+	}
+
+	@Test
+	public void LexicographicComparatorTest() throws Exception {
+		LexicographicIntTupleComparator c = new LexicographicIntTupleComparator();
+		assertTrue(c.compare(new int[] {9}, new int[] {10}) < 0);
+		assertTrue(c.compare(new int[] {1, 2}, new int[] {1, 2, 3}) < 0);
+		assertEquals(0, c.compare(new int[] {1, 3}, new int[] {1, 3}));
+		// (1,1,3) < (1,2) < (1,2,2)
+		assertTrue(c.compare(new long[] {0, 2, 0, 1}, new long[] {0, 1, 1}) < 0);
+		assertTrue(c.compare(new long[] {0, 1, 1}, new long[] {0, 1, 2}) < 0);
+		assertTrue(c.compare(new long[] {0, 1, 2}, new long[] {0, 1, 1}) > 0);
+		assertEquals(0, c.compare(new long[] {0, 1, 1}, new long[] {0, 1, 1, 0}));
+	}
+	
 }
@@ -19,14 +19,15 @@
 package org.tweetyproject.logics.cl.reasoner;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
+import java.util.List;
 
 import org.tweetyproject.logics.cl.semantics.RankingFunction;
 import org.tweetyproject.logics.cl.syntax.ClBeliefSet;
 import org.tweetyproject.logics.cl.syntax.Conditional;
-import org.tweetyproject.logics.pl.semantics.PossibleWorld;
+import org.tweetyproject.logics.pl.semantics.CompiledPlFormula;
+import org.tweetyproject.logics.pl.semantics.PackedPossibleWorld;
+import org.tweetyproject.logics.pl.semantics.PackedPossibleWorldIterator;
+import org.tweetyproject.logics.pl.semantics.PropositionIndex;
 
 
 /**
@@ -64,28 +65,50 @@ public class ZReasoner extends AbstractConditionalLogicReasoner {
 	 * Returns a partitioning of a knowledge base into partitions containing all conditionals that 
 	 * tolerate the remaining set of conditionals of a knowledge base.
 	 * @param kb Knowledge base that needs to be partitioned
-	 * @param omega a set of possible worlds
+	 * @param index an index of the propositions of the knowledge base
 	 * @return ArrayList containing consistent belief sets
 	 */
-	private ArrayList<ClBeliefSet> partition( ClBeliefSet kb , Set<PossibleWorld> omega){
+	private ArrayList<ClBeliefSet> partition( ClBeliefSet kb , PropositionIndex index){
 		
 		// create empty set of belief bases for the partitioning
 		ArrayList<ClBeliefSet> tolerancePartition = new ArrayList<ClBeliefSet>();
 		
-		// Copy knowledge base to a second set from which we can remove tolerated conditionals
-		ClBeliefSet knowledgebase = new ClBeliefSet(kb);
+		// Copy knowledge base to a list from which we can remove tolerated conditionals
+		List<CompiledConditional> knowledgebase = new ArrayList<CompiledConditional>();
+		for( Conditional c : kb ){
+			knowledgebase.add( new CompiledConditional(c, index) );
+		}
 		
 		while( !knowledgebase.isEmpty() ){
 			
 			ClBeliefSet partition = new ClBeliefSet();
+			boolean[] tolerated = new boolean[knowledgebase.size()];
 			
-			for( Conditional f: knowledgebase ){
-				// if the current conditional is tolerated by the remaining set of conditionals in the
-				// knowledge base, add it to the current partition
-				if( isTolerated(f,knowledgebase, omega) ) {
-					partition.add( f );
+			// A conditional is tolerated by the remaining set of conditionals in the knowledge base
+			// iff some world verifies it and does not falsify any remaining conditional (i.e. it
+			// satisfies all material implications A => B). So a single pass over all worlds
+			// determines all tolerated conditionals of the current partition.
+			PackedPossibleWorldIterator it = new PackedPossibleWorldIterator(index);
+			worlds:
+			while( it.hasNext() ){
+				long[] world = it.next().getBits();
+				for( CompiledConditional c : knowledgebase ){
+					if( c.falsifies(world) ){
+						continue worlds;
+					}
+				}
+				for( int i = 0; i < tolerated.length; i++ ){
+					if( !tolerated[i] && knowledgebase.get(i).verifies(world) ){
+						tolerated[i] = true;
+					}
+				}
+			}
+			
+			// add all tolerated conditionals to the current partition
+			for( int i = tolerated.length - 1; i >= 0; i-- ){
+				if( tolerated[i] ){
+					partition.add( knowledgebase.remove(i).conditional );
 				}
-				
 			}
 			
 			 /*
@@ -96,12 +119,7 @@ public class ZReasoner extends AbstractConditionalLogicReasoner {
 			  return new ArrayList<ClBeliefSet>();
 			 
 			// adding the partition with all tolerated conditionals to the partition set
-			// and remove all conditionals of this partition from the remaining conditional set
 			tolerancePartition.add( partition );
-			
-			for( Conditional f : partition ){
-				knowledgebase.remove(f);
-			}
 		}
 		
 		System.out.println( tolerancePartition );
@@ -109,93 +127,91 @@ public class ZReasoner extends AbstractConditionalLogicReasoner {
 		return tolerancePartition;
 	}
 
-	/**
-	 * Checks whether or not the given formula is tolerated by the knowledge base,
-	 * i.e., there is a world omega that satisfies the formula and does not falsify each conditional (B|A)
-	 * in the knowledge base (it satisfies the material implication A => B).
-	 * @param f  formula that should be tolerated by the knowledge base
-	 * @param kb corresponding knowledge base
-	 * @param omega a set of possible worlds  
-	 * @return true if the Conditional f is tolerated, false otherwise
-	 */
-	private boolean isTolerated( Conditional f, ClBeliefSet kb , Set<PossibleWorld> omega) {
-		
-		boolean tolerated = true;
-		
-		// Test whether or not there is a world that satisfies formula f
-		// and does not falsify the remaining conditionals of the knowledge base
-		for( PossibleWorld world : omega ){
-			tolerated = true;
-			
-			// Test whether or not the current world satisfies the formula f.
-			// If it does not satisfy the formula f, all further tests can be aborted.
-			if( !world.satisfies(f.getPremise()) || ( world.satisfies(f.getPremise()) && !world.satisfies(f.getConclusion()) ) ){
-				tolerated = false;
-				continue;
-			}
-
-			for( Conditional c : kb ){
-							
-				// Test whether the current world which satisfies the given formula f does also
-				// satisfy the material implication of the current conditional c. 
-				if( world.satisfies(c.getPremise()) ){
-					if( !world.satisfies(c.getConclusion()) ){
-						tolerated = false;
-						break;
-					}
-				}
-			}
-				
-			// if the current world represents an interpretation under which the formula f is tolerated, yeay
-			if( tolerated == true ){
-				break;
-			}
-		}
-		
-		return tolerated;
-	}
-
 	/* (non-Javadoc)
 	 * @see org.tweetyproject.logics.cl.reasoner.AbstractConditionalLogicReasoner#getModel(org.tweetyproject.logics.cl.syntax.ClBeliefSet)
 	 */
 	@Override
 	public RankingFunction getModel(ClBeliefSet beliefset) {
-		Set<PossibleWorld> omega = PossibleWorld.getAllPossibleWorlds(beliefset.getMinimalSignature().toCollection());		
+		PropositionIndex index = new PropositionIndex(beliefset.getMinimalSignature());
 		RankingFunction ocf = new RankingFunction(beliefset.getMinimalSignature());
 		
 		// Compute partitioning of the knowledge base
-		ArrayList<ClBeliefSet> tolerancePartition = partition( beliefset ,omega);
+		ArrayList<ClBeliefSet> tolerancePartition = partition( beliefset , index);
 		if( tolerancePartition.isEmpty() ){
 			System.out.println("The belief base " + beliefset + " is not consistent.");
 			return null;
 		}
 		
 		// Store Z-value for each conditional of the knowledge base
-		Map<Conditional,Integer> zValue = new HashMap<Conditional,Integer>();
+		List<CompiledConditional> conditionals = new ArrayList<CompiledConditional>();
+		List<Integer> zValue = new ArrayList<Integer>();
 		
-		for( int index = 0; index < tolerancePartition.size(); index++ ){
-			for( Conditional c : tolerancePartition.get(index) ) {   
-				zValue.put(c, index);
+		for( int i = 0; i < tolerancePartition.size(); i++ ){
+			for( Conditional c : tolerancePartition.get(i) ) {   
+				conditionals.add( new CompiledConditional(c, index) );
+				zValue.add(i);
 			}
 		}
 		
 		// Compute penalty points for each world based on partitioning
-		
-		for( PossibleWorld w : omega ){
+		PackedPossibleWorldIterator it = new PackedPossibleWorldIterator(index);
+		while( it.hasNext() ){
+			PackedPossibleWorld w = it.next();
 			int rank = 0;
 			
-			for( Conditional c : zValue.keySet() ){
-				if( (w.satisfies(c.getPremise()) && !w.satisfies(c.getConclusion())) && rank < (zValue.get(c)+1)){
-					rank = zValue.get(c) + 1;
+			for( int i = 0; i < conditionals.size(); i++ ){
+				if( rank < (zValue.get(i)+1) && conditionals.get(i).falsifies(w.getBits()) ){
+					rank = zValue.get(i) + 1;
 				}
 			}
 			
-			ocf.setRank(w, rank);
+			ocf.setRank(w.toPossibleWorld(), rank);
 		}
 		
 		return ocf;
 	}
 
+	/**
+	 * A conditional whose premise and conclusion are compiled against
+	 * a proposition index.
+	 */
+	private static class CompiledConditional {
+		/** The conditional. */
+		private Conditional conditional;
+		/** The compiled premise. */
+		private CompiledPlFormula premise;
+		/** The compiled conclusion. */
+		private CompiledPlFormula conclusion;
+		
+		/**
+		 * Compiles the given conditional.
+		 * @param conditional some conditional
+		 * @param index an index containing the propositions of the conditional
+		 */
+		private CompiledConditional(Conditional conditional, PropositionIndex index) {
+			this.conditional = conditional;
+			this.premise = CompiledPlFormula.compile(conditional.getPremise(), index);
+			this.conclusion = CompiledPlFormula.compile(conditional.getConclusion(), index);
+		}
+		
+		/**
+		 * Checks whether the given world verifies this conditional (B|A), i.e., satisfies A and B.
+		 * @param world the bits of a world
+		 * @return "true" iff the world verifies this conditional.
+		 */
+		private boolean verifies(long[] world) {
+			return this.premise.evaluate(world) && this.conclusion.evaluate(world);
+		}
+		
+		/**
+		 * Checks whether the given world falsifies this conditional (B|A), i.e., satisfies A and not B.
+		 * @param world the bits of a world
+		 * @return "true" iff the world falsifies this conditional.
+		 */
+		private boolean falsifies(long[] world) {
+			return this.premise.evaluate(world) && !this.conclusion.evaluate(world);
+		}
+	}
 }
 		
 
@@ -32,10 +32,10 @@ import java.util.TreeMap;
 
 import org.tweetyproject.commons.util.Pair;
 import org.tweetyproject.logics.cl.syntax.Conditional;
+import org.tweetyproject.logics.pl.semantics.CompiledPlFormula;
 import org.tweetyproject.logics.pl.semantics.NicePossibleWorld;
-import org.tweetyproject.logics.pl.syntax.Conjunction;
+import org.tweetyproject.logics.pl.semantics.PropositionIndex;
 import org.tweetyproject.logics.pl.syntax.Proposition;
-import org.tweetyproject.logics.pl.syntax.PlFormula;
 import org.tweetyproject.logics.pl.syntax.PlSignature;
 
 /**
@@ -282,8 +282,11 @@ public class ConditionalStructure implements Comparator<NicePossibleWorld>{
 		// add the new conditional and update the world data:
 		this.conditionalData.put(cond, 
 				new TreeMap<NicePossibleWorld, ConditionalStructure.Generator>(this.worldSorting));
+		PropositionIndex index = new PropositionIndex(this.signature);
+		CompiledPlFormula head = CompiledPlFormula.compile(cond.getConclusion(), index);
+		CompiledPlFormula body = CompiledPlFormula.compile(cond.getPremise(), index);
 		for(NicePossibleWorld npw : worldData.keySet()) {
-			putGenerator(npw, cond);
+			putGenerator(npw, cond, head, body);
 		}
 		
 		return true;
@@ -360,6 +363,13 @@ public class ConditionalStructure implements Comparator<NicePossibleWorld>{
 		// Third: Add all Worlds were not representable before:
 		Set<NicePossibleWorld> toAdd = new HashSet<NicePossibleWorld>(newWorlds);
 		toAdd.removeAll(worldData.keySet());
+		PropositionIndex index = new PropositionIndex(signature);
+		Map<Conditional, CompiledPlFormula[]> compiled = new HashMap<Conditional, CompiledPlFormula[]>();
+		for(Conditional cond : conditionalData.keySet()) {
+			compiled.put(cond, new CompiledPlFormula[] {
+					CompiledPlFormula.compile(cond.getConclusion(), index),
+					CompiledPlFormula.compile(cond.getPremise(), index)});
+		}
 		for(NicePossibleWorld npw : toAdd) {
 			if(worldRepresentation != null) {
 				npw.setComparator(worldRepresentation);
@@ -367,7 +377,7 @@ public class ConditionalStructure implements Comparator<NicePossibleWorld>{
 			
 			worldData.put(npw, new HashMap<Conditional, ConditionalStructure.Generator>());
 			for(Conditional cond : conditionalData.keySet()) {
-				putGenerator(npw, cond);
+				putGenerator(npw, cond, compiled.get(cond)[0], compiled.get(cond)[1]);
 			}
 		}
 	}
@@ -377,15 +387,15 @@ public class ConditionalStructure implements Comparator<NicePossibleWorld>{
 	 * npw and saves it in the worldData data structure if it is not equal CG_ONE.
 	 * @param npw	The PossibleWorld 
 	 * @param cond	The Conditional
+	 * @param compiledHead	The conclusion of the Conditional compiled against the signature
+	 * @param compiledBody	The premise of the Conditional compiled against the signature
 	 * @return		True if the Generator is not equal CG_ONe and is added to worldData or
 	 * 				false if the Generator is CG_ONE and is not added to worldData.
 	 */
-	private boolean putGenerator(NicePossibleWorld npw, Conditional cond) {
-		// generate propositional head and body formulas
-		Conjunction conjunction = new Conjunction();
-		conjunction.addAll(cond.getPremise());
-		boolean head = npw.satisfies(cond.getConclusion());
-		boolean body = npw.satisfies((PlFormula)conjunction);
+	private boolean putGenerator(NicePossibleWorld npw, Conditional cond, 
+			CompiledPlFormula compiledHead, CompiledPlFormula compiledBody) {
+		boolean head = npw.satisfies(compiledHead);
+		boolean body = npw.satisfies(compiledBody);
 		
 		// process the generator for the given world and conditional:
 		Generator gen = null;
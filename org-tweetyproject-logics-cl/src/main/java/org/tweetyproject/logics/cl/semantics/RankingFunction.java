@@ -122,8 +122,9 @@ public class RankingFunction extends AbstractInterpretation<ClBeliefSet,Conditio
 	 * @param formulas a set of first-order formulas.
 	 */
 	public void forceStrictness(Set<PlFormula> formulas){
+		CompiledPlFormula f = CompiledPlFormula.compile(formulas, this.getIndex(formulas));
 		for(PossibleWorld w: this.ranks.keySet())
-			if(!w.satisfies(formulas))
+			if(!w.satisfies(f))
 				this.setRank(w, RankingFunction.INFINITY);
 	}
 	
@@ -139,13 +140,27 @@ public class RankingFunction extends AbstractInterpretation<ClBeliefSet,Conditio
 	 */
 	public Integer rank(PlFormula formula) throws IllegalArgumentException{
 		Integer rank = RankingFunction.INFINITY;
+		CompiledPlFormula f = CompiledPlFormula.compile(formula, this.getIndex(Collections.singleton(formula)));
 		for(PossibleWorld i: this.ranks.keySet())
-			if(i.satisfies(formula))
+			if(i.satisfies(f))
 				if(this.ranks.get(i).compareTo(rank)<0)
 					rank = this.ranks.get(i); 
 		return rank;
 	}
 	
+	/**
+	 * Returns an index of the propositions of the signature of this ranking function
+	 * and of the given formulas.
+	 * @param formulas some formulas
+	 * @return a proposition index
+	 */
+	private PropositionIndex getIndex(Collection<PlFormula> formulas){
+		PlSignature sig = new PlSignature(this.signature);
+		for(PlFormula f: formulas)
+			sig.addAll(f.getAtoms());
+		return new PropositionIndex(sig);
+	}
+	
 	/**
 	 * Returns the minimal rank of this OCF.
 	 * @return the minimal rank of this OCF.
@@ -54,11 +54,12 @@ public class PclDefaultConsistencyTester extends AbstractBeliefSetConsistencyTes
 		// Create variables for the probability of each possible world and
 		// create a multi-dimensional function that has a root iff the belief base is consistent
 		List<Term> functions = new ArrayList<Term>();
-		Set<PossibleWorld> worlds = PossibleWorld.getAllPossibleWorlds((PlSignature)beliefSet.getMinimalSignature());
-		Map<PossibleWorld,Variable> worlds2vars = new HashMap<PossibleWorld,Variable>();
+		PropositionIndex index = new PropositionIndex((PlSignature)beliefSet.getMinimalSignature());
+		List<PackedPossibleWorld> worlds = PackedPossibleWorld.getAllPossibleWorlds(index);
+		Map<PackedPossibleWorld,Variable> worlds2vars = new HashMap<PackedPossibleWorld,Variable>();
 		int i = 0;
 		Term normConstraint = null;
-		for(PossibleWorld w: worlds){
+		for(PackedPossibleWorld w: worlds){
 			FloatVariable var = new FloatVariable("w" + i++,0,1);
 			worlds2vars.put(w, var);
 			if(normConstraint == null)
@@ -72,8 +73,9 @@ public class PclDefaultConsistencyTester extends AbstractBeliefSetConsistencyTes
 			Term leftSide = null;
 			Term rightSide = null;
 			if(c.isFact()){
-				for(PossibleWorld w: worlds)
-					if(w.satisfies(c.getConclusion())){
+				CompiledPlFormula conclusion = CompiledPlFormula.compile(c.getConclusion(), index);
+				for(PackedPossibleWorld w: worlds)
+					if(w.satisfies(conclusion)){
 						if(leftSide == null)
 							leftSide = worlds2vars.get(w);
 						else leftSide = leftSide.add(worlds2vars.get(w));
@@ -82,13 +84,15 @@ public class PclDefaultConsistencyTester extends AbstractBeliefSetConsistencyTes
 			}else{				
 				PlFormula body = c.getPremise().iterator().next();
 				PlFormula head_and_body = c.getConclusion().combineWithAnd(body);
-				for(PossibleWorld w: worlds){
-					if(w.satisfies(head_and_body)){
+				CompiledPlFormula compiledBody = CompiledPlFormula.compile(body, index);
+				CompiledPlFormula compiledHeadAndBody = CompiledPlFormula.compile(head_and_body, index);
+				for(PackedPossibleWorld w: worlds){
+					if(w.satisfies(compiledHeadAndBody)){
 						if(leftSide == null)
 							leftSide = worlds2vars.get(w);
 						else leftSide = leftSide.add(worlds2vars.get(w));
 					}
-					if(w.satisfies(body)){
+					if(w.satisfies(compiledBody)){
 						if(rightSide == null)
 							rightSide = worlds2vars.get(w);
 						else rightSide = rightSide.add(worlds2vars.get(w));
@@ -106,7 +110,7 @@ public class PclDefaultConsistencyTester extends AbstractBeliefSetConsistencyTes
 		}
 		// Search for a root of "functions" using OpenOpt
 		Map<Variable,Term> startingPoint = new HashMap<Variable,Term>();
-		for(PossibleWorld w: worlds)
+		for(PackedPossibleWorld w: worlds)
 			startingPoint.put(worlds2vars.get(w), new IntegerConstant(1));
 		try {
 			this.rootFinder.randomRoot(functions,startingPoint);
@@ -92,11 +92,12 @@ public class DefaultMeReasoner extends AbstractPclReasoner {
 				
 		// construct optimization problem
 		OptimizationProblem problem = new OptimizationProblem(OptimizationProblem.MINIMIZE);
-		Set<PossibleWorld> worlds = PossibleWorld.getAllPossibleWorlds((PlSignature) signature);
-		Map<PossibleWorld,Variable> vars = new HashMap<PossibleWorld,Variable>();
+		PropositionIndex index = new PropositionIndex(signature);
+		List<PackedPossibleWorld> worlds = PackedPossibleWorld.getAllPossibleWorlds(index);
+		Map<PackedPossibleWorld,Variable> vars = new HashMap<PackedPossibleWorld,Variable>();
 		int cnt = 0;
 		Term normConstraint = null;
-		for(PossibleWorld w: worlds){
+		for(PackedPossibleWorld w: worlds){
 			Variable var = new FloatVariable("w" + cnt,0,1);
 			vars.put(w, var);
 			if(normConstraint == null)
@@ -110,8 +111,9 @@ public class DefaultMeReasoner extends AbstractPclReasoner {
 			Term leftSide = null;
 			Term rightSide = null;			
 			if(pc.isFact()){
-				for(PossibleWorld w: worlds)
-					if(w.satisfies(pc.getConclusion())){
+				CompiledPlFormula conclusion = CompiledPlFormula.compile(pc.getConclusion(), index);
+				for(PackedPossibleWorld w: worlds)
+					if(w.satisfies(conclusion)){
 						if(leftSide == null)
 							leftSide = vars.get(w);
 						else leftSide = leftSide.add(vars.get(w));
@@ -120,13 +122,15 @@ public class DefaultMeReasoner extends AbstractPclReasoner {
 			}else{				
 				PlFormula body = pc.getPremise().iterator().next();
 				PlFormula head_and_body = pc.getConclusion().combineWithAnd(body);
-				for(PossibleWorld w: worlds){
-					if(w.satisfies(head_and_body)){
+				CompiledPlFormula compiledBody = CompiledPlFormula.compile(body, index);
+				CompiledPlFormula compiledHeadAndBody = CompiledPlFormula.compile(head_and_body, index);
+				for(PackedPossibleWorld w: worlds){
+					if(w.satisfies(compiledHeadAndBody)){
 						if(leftSide == null)
 							leftSide = vars.get(w);
 						else leftSide = leftSide.add(vars.get(w));
 					}
-					if(w.satisfies(body)){
+					if(w.satisfies(compiledBody)){
 						if(rightSide == null)
 							rightSide = vars.get(w);
 						else rightSide = rightSide.add(vars.get(w));
@@ -144,7 +148,7 @@ public class DefaultMeReasoner extends AbstractPclReasoner {
 		}
 		// target function is the entropy
 		Term targetFunction = null;
-		for(PossibleWorld w: worlds){
+		for(PackedPossibleWorld w: worlds){
 			if(targetFunction == null)
 				targetFunction = vars.get(w).mult(new Logarithm(vars.get(w)));
 			else targetFunction = targetFunction.add(vars.get(w).mult(new Logarithm(vars.get(w))));			
@@ -154,8 +158,8 @@ public class DefaultMeReasoner extends AbstractPclReasoner {
 			Map<Variable,Term> solution = Solver.getDefaultGeneralSolver().solve(problem);
 			// construct probability distribution
 			ProbabilityDistribution<PossibleWorld> p = new ProbabilityDistribution<PossibleWorld>(signature);
-			for(PossibleWorld w: worlds)
-				p.put(w, new Probability(solution.get(vars.get(w)).doubleValue()));
+			for(PackedPossibleWorld w: worlds)
+				p.put(w.toPossibleWorld(), new Probability(solution.get(vars.get(w)).doubleValue()));
 			return p;					
 		}catch (GeneralMathException e){
 			// This should not happen as the optimization problem is guaranteed to be feasible (the knowledge base is consistent)
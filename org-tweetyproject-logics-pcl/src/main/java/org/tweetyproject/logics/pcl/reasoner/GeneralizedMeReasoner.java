@@ -21,8 +21,8 @@ package org.tweetyproject.logics.pcl.reasoner;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.Vector;
 
 import org.tweetyproject.logics.commons.analysis.BeliefSetInconsistencyMeasure;
@@ -31,7 +31,10 @@ import org.tweetyproject.logics.pcl.analysis.MinimalViolationInconsistencyMeasur
 import org.tweetyproject.logics.pcl.semantics.ProbabilityDistribution;
 import org.tweetyproject.logics.pcl.syntax.PclBeliefSet;
 import org.tweetyproject.logics.pcl.syntax.ProbabilisticConditional;
+import org.tweetyproject.logics.pl.semantics.CompiledPlFormula;
+import org.tweetyproject.logics.pl.semantics.PackedPossibleWorld;
 import org.tweetyproject.logics.pl.semantics.PossibleWorld;
+import org.tweetyproject.logics.pl.semantics.PropositionIndex;
 import org.tweetyproject.logics.pl.syntax.PlFormula;
 import org.tweetyproject.logics.pl.syntax.PlSignature;
 import org.tweetyproject.math.GeneralMathException;
@@ -142,11 +145,12 @@ public class GeneralizedMeReasoner extends AbstractPclReasoner {
 		double iValue = inc.inconsistencyMeasure(bs);		
 		// construct optimization problem
 		OptimizationProblem problem = new OptimizationProblem(OptimizationProblem.MINIMIZE);
-		Set<PossibleWorld> worlds = PossibleWorld.getAllPossibleWorlds(signature);
-		Map<PossibleWorld,Variable> vars = new HashMap<PossibleWorld,Variable>();		
+		PropositionIndex index = new PropositionIndex(signature);
+		List<PackedPossibleWorld> worlds = PackedPossibleWorld.getAllPossibleWorlds(index);
+		Map<PackedPossibleWorld,Variable> vars = new HashMap<PackedPossibleWorld,Variable>();		
 		int cnt = 0;
 		Term normConstraint = null;
-		for(PossibleWorld w: worlds){
+		for(PackedPossibleWorld w: worlds){
 			Variable var = new FloatVariable("w" + cnt,0,1);
 			vars.put(w, var);
 			if(normConstraint == null)
@@ -165,8 +169,9 @@ public class GeneralizedMeReasoner extends AbstractPclReasoner {
 			Term leftSide = null;
 			Term rightSide = null;			
 			if(pc.isFact()){
-				for(PossibleWorld w: worlds)
-					if(w.satisfies(pc.getConclusion())){
+				CompiledPlFormula conclusion = CompiledPlFormula.compile(pc.getConclusion(), index);
+				for(PackedPossibleWorld w: worlds)
+					if(w.satisfies(conclusion)){
 						if(leftSide == null)
 							leftSide = vars.get(w);
 						else leftSide = leftSide.add(vars.get(w));
@@ -175,13 +180,15 @@ public class GeneralizedMeReasoner extends AbstractPclReasoner {
 			}else{				
 				PlFormula body = pc.getPremise().iterator().next();
 				PlFormula head_and_body = pc.getConclusion().combineWithAnd(body);
-				for(PossibleWorld w: worlds){
-					if(w.satisfies(head_and_body)){
+				CompiledPlFormula compiledBody = CompiledPlFormula.compile(body, index);
+				CompiledPlFormula compiledHeadAndBody = CompiledPlFormula.compile(head_and_body, index);
+				for(PackedPossibleWorld w: worlds){
+					if(w.satisfies(compiledHeadAndBody)){
 						if(leftSide == null)
 							leftSide = vars.get(w);
 						else leftSide = leftSide.add(vars.get(w));
 					}
-					if(w.satisfies(body)){
+					if(w.satisfies(compiledBody)){
 						if(rightSide == null)
 							rightSide = vars.get(w);
 						else rightSide = rightSide.add(vars.get(w));
@@ -205,7 +212,7 @@ public class GeneralizedMeReasoner extends AbstractPclReasoner {
 		problem.add(new Inequation(this.norm.normTerm(vioVars),new FloatConstant(iValue+accuracy),Inequation.LESS_EQUAL));
 		// target function is the entropy
 		Term targetFunction = null;
-		for(PossibleWorld w: worlds){
+		for(PackedPossibleWorld w: worlds){
 			if(targetFunction == null)
 				targetFunction = vars.get(w).mult(new Logarithm(vars.get(w)));
 			else targetFunction = targetFunction.add(vars.get(w).mult(new Logarithm(vars.get(w))));			
@@ -215,8 +222,8 @@ public class GeneralizedMeReasoner extends AbstractPclReasoner {
 			Map<Variable,Term> solution = Solver.getDefaultGeneralSolver().solve(problem);
 			// construct probability distribution
 			ProbabilityDistribution<PossibleWorld> p = new ProbabilityDistribution<PossibleWorld>(signature);
-			for(PossibleWorld w: worlds)
-				p.put(w, new Probability(solution.get(vars.get(w)).doubleValue()));
+			for(PackedPossibleWorld w: worlds)
+				p.put(w.toPossibleWorld(), new Probability(solution.get(vars.get(w)).doubleValue()));
 			return p;					
 		}catch (GeneralMathException e){
 			// This should not happen as the optimization problem is guaranteed to be feasible (the knowledge base is consistent)
@@ -18,7 +18,12 @@
  */
 package org.tweetyproject.logics.pl.analysis;
 
+import org.tweetyproject.logics.pl.semantics.CompiledPlFormula;
+import org.tweetyproject.logics.pl.semantics.PackedPossibleWorld;
+import org.tweetyproject.logics.pl.semantics.PackedPossibleWorldIterator;
 import org.tweetyproject.logics.pl.semantics.PossibleWorld;
+import org.tweetyproject.logics.pl.semantics.PropositionIndex;
+import org.tweetyproject.logics.pl.syntax.PlFormula;
 import org.tweetyproject.logics.pl.syntax.Proposition;
 import org.tweetyproject.logics.pl.syntax.PlSignature;
 
@@ -48,5 +53,33 @@ public class DalalDistance extends PossibleWorldDistance {
 				n++;
 		}
 		return n;
-	}	
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.logics.pl.analysis.PossibleWorldDistance#distance(org.tweetyproject.logics.pl.syntax.PlFormula, org.tweetyproject.logics.pl.semantics.PossibleWorld)
+	 */
+	@Override
+	public double distance(PlFormula f, PossibleWorld b) {
+		// enumerate the worlds of the signature of f in Gray code order, so the
+		// distance to b changes by exactly one in every step
+		PropositionIndex index = new PropositionIndex(f.getSignature());
+		CompiledPlFormula compiled = CompiledPlFormula.compile(f, index);
+		PackedPossibleWorld target = new PackedPossibleWorld(index, b);
+		PackedPossibleWorldIterator it = new PackedPossibleWorldIterator(index);
+		int n = target.size();
+		double dist = Double.POSITIVE_INFINITY;
+		while(it.hasNext()) {
+			PackedPossibleWorld w = it.next();
+			int i = it.getFlippedIndex();
+			if(i >= 0)
+				n += w.isTrue(i) == target.isTrue(i) ? -1 : 1;
+			if(n < dist && w.satisfies(compiled)) {
+				dist = n;
+				if(n == 0)
+					break;
+			}
+		}
+		// Note that the distance is maximal if there is no model.
+		return dist;
+	}
 }
@@ -18,9 +18,12 @@
  */
 package org.tweetyproject.logics.pl.reasoner;
 
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 
-import org.tweetyproject.logics.pl.semantics.PossibleWorld;
+import org.tweetyproject.logics.pl.semantics.CompiledPlFormula;
+import org.tweetyproject.logics.pl.semantics.PackedPossibleWorldIterator;
+import org.tweetyproject.logics.pl.semantics.PropositionIndex;
 import org.tweetyproject.logics.pl.syntax.PlBeliefSet;
 import org.tweetyproject.logics.pl.syntax.PlFormula;
 import org.tweetyproject.logics.pl.syntax.PlSignature;
@@ -41,11 +44,21 @@ public class SimplePlReasoner extends AbstractPlReasoner {
 		for(PlFormula f: beliefbase)
 			signature.addAll(f.getAtoms());
 		signature.addAll(formula.getAtoms());
-		Set<PossibleWorld> possibleWorlds = PossibleWorld.getAllPossibleWorlds(signature);
-		for(PossibleWorld w: possibleWorlds)
-			if(w.satisfies((PlBeliefSet)beliefbase))
-				if(!w.satisfies(formula))
-					return false;
+		PropositionIndex index = new PropositionIndex(signature);
+		List<CompiledPlFormula> kb = new ArrayList<CompiledPlFormula>();
+		for(PlFormula f: beliefbase)
+			kb.add(CompiledPlFormula.compile(f, index));
+		CompiledPlFormula query = CompiledPlFormula.compile(formula, index);
+		PackedPossibleWorldIterator it = new PackedPossibleWorldIterator(index);
+		worlds:
+		while(it.hasNext()) {
+			long[] w = it.next().getBits();
+			for(CompiledPlFormula f: kb)
+				if(!f.evaluate(w))
+					continue worlds;
+			if(!query.evaluate(w))
+				return false;
+		}
 		return true;
 	}
 
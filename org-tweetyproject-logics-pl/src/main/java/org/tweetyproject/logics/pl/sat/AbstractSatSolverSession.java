@@ -0,0 +1,145 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.logics.pl.sat;
+
+import java.util.Arrays;
+
+/**
+ * Base class for incremental solving sessions of solvers that support assumptions.
+ * Groups of clauses are realised by selector variables: every clause added within
+ * a group is extended by the negation of a fresh selector variable, the selector
+ * variables of all open groups are assumed to be true when solving, and closing a
+ * group adds the negation of its selector variable as a unit clause. To keep selector
+ * variables apart from the variables of the user, the latter are mapped to internal
+ * variables on demand.
+ * <br>
+ * <br>Subclasses only have to implement solving on internal variables.
+ *
+ * @author Sebastian Franke
+ */
+public abstract class AbstractSatSolverSession implements SatSolverSession {
+
+	/** The internal variable of every variable of the user (0 if not yet mapped). */
+	private int[] mapping = new int[16];
+	/** The number of internal variables. */
+	private int numberOfVariables = 0;
+	/** The selector variables of the open groups. */
+	private int[] selectors = new int[4];
+	/** The number of open groups. */
+	private int depth = 0;
+
+	/**
+	 * Adds the given clause on internal variables to the solver.
+	 * @param clause a clause in Dimacs representation on internal variables
+	 */
+	protected abstract void addInternalClause(int[] clause);
+
+	/**
+	 * Solves the clauses on internal variables under the given assumptions.
+	 * @param assumptions some literals on internal variables
+	 * @return "true" iff the clauses together with the assumptions are satisfiable.
+	 */
+	protected abstract boolean solveInternal(int[] assumptions);
+
+	/**
+	 * Returns the truth value of the given internal variable in the last model.
+	 * @param variable some internal variable
+	 * @return the truth value of the variable in the last model.
+	 */
+	protected abstract boolean getInternalValue(int variable);
+
+	/**
+	 * Returns the number of internal variables used so far.
+	 * @return the number of internal variables.
+	 */
+	protected int getNumberOfInternalVariables() {
+		return this.numberOfVariables;
+	}
+
+	/**
+	 * Maps the given literal to a literal on internal variables.
+	 * @param lit some literal in Dimacs representation
+	 * @return the internal literal
+	 */
+	private int map(int lit) {
+		if(lit == 0)
+			throw new IllegalArgumentException("0 is not a valid literal.");
+		int v = Math.abs(lit);
+		if(v >= this.mapping.length)
+			this.mapping = Arrays.copyOf(this.mapping, Math.max(v + 1, 2 * this.mapping.length));
+		if(this.mapping[v] == 0)
+			this.mapping[v] = ++this.numberOfVariables;
+		return lit > 0 ? this.mapping[v] : -this.mapping[v];
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.logics.pl.sat.SatSolverSession#addClause(int[])
+	 */
+	@Override
+	public void addClause(int... clause) {
+		int[] internal = new int[this.depth > 0 ? clause.length + 1 : clause.length];
+		for(int i = 0; i < clause.length; i++)
+			internal[i] = this.map(clause[i]);
+		if(this.depth > 0)
+			internal[clause.length] = -this.selectors[this.depth - 1];
+		this.addInternalClause(internal);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.logics.pl.sat.SatSolverSession#solve(int[])
+	 */
+	@Override
+	public boolean solve(int... assumptions) {
+		int[] internal = new int[assumptions.length + this.depth];
+		for(int i = 0; i < assumptions.length; i++)
+			internal[i] = this.map(assumptions[i]);
+		System.arraycopy(this.selectors, 0, internal, assumptions.length, this.depth);
+		return this.solveInternal(internal);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.logics.pl.sat.SatSolverSession#push()
+	 */
+	@Override
+	public void push() {
+		if(this.depth == this.selectors.length)
+			this.selectors = Arrays.copyOf(this.selectors, 2 * this.depth);
+		this.selectors[this.depth++] = ++this.numberOfVariables;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.logics.pl.sat.SatSolverSession#pop()
+	 */
+	@Override
+	public void pop() {
+		if(this.depth == 0)
+			throw new IllegalStateException("There is no open group of clauses.");
+		this.addInternalClause(new int[] {-this.selectors[--this.depth]});
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.logics.pl.sat.SatSolverSession#getValue(int)
+	 */
+	@Override
+	public boolean getValue(int variable) {
+		if(variable <= 0 || variable >= this.mapping.length || this.mapping[variable] == 0)
+			return false;
+		return this.getInternalValue(this.mapping[variable]);
+	}
+}
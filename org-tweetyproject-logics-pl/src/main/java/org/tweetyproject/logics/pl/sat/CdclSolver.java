@@ -0,0 +1,685 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.logics.pl.sat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.tweetyproject.commons.Interpretation;
+import org.tweetyproject.logics.pl.semantics.PossibleWorld;
+import org.tweetyproject.logics.pl.syntax.PlBeliefSet;
+import org.tweetyproject.logics.pl.syntax.PlFormula;
+import org.tweetyproject.logics.pl.syntax.PlSignature;
+import org.tweetyproject.logics.pl.syntax.Proposition;
+
+/**
+ * A pure Java implementation of a conflict-driven clause learning (CDCL) SAT solver
+ * in the style of MiniSat, see e.g.
+ * <br>
+ * <br>Niklas Een, Niklas Sörensson. An Extensible SAT-solver. In Proceedings of SAT 2003, LNCS 2919, pages 502-518. 2003.
+ * <br>
+ * <br>The solver uses two watched literals for unit propagation, first-UIP clause learning
+ * with clause minimisation, VSIDS decision heuristic with phase saving, Luby restarts, and
+ * activity-based deletion of learned clauses. Besides the usual interface of {@link SatSolver}
+ * it can be used directly on clauses in Dimacs representation (arrays of non-zero integers) and
+ * supports incremental solving under assumptions and groups of clauses via 
+ * {@link #createSession()}.
+ *
+ * @author Sebastian Franke
+ */
+public class CdclSolver extends SatSolver {
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.logics.pl.sat.SatSolver#getWitness(java.util.Collection)
+	 */
+	@Override
+	public Interpretation<PlBeliefSet, PlFormula> getWitness(Collection<PlFormula> formulas) {
+		List<Proposition> props = new ArrayList<Proposition>(PlSignature.getSignature(formulas).toCollection());
+		Engine engine = new Engine();
+		if(!this.addFormulas(engine, formulas, props) || !engine.solve())
+			return null;
+		PossibleWorld w = new PossibleWorld();
+		for(int i = 0; i < props.size(); i++)
+			if(engine.getValue(i+1))
+				w.add(props.get(i));
+		return w;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.logics.pl.sat.SatSolver#isSatisfiable(java.util.Collection)
+	 */
+	@Override
+	public boolean isSatisfiable(Collection<PlFormula> formulas) {
+		List<Proposition> props = new ArrayList<Proposition>(PlSignature.getSignature(formulas).toCollection());
+		Engine engine = new Engine();
+		return this.addFormulas(engine, formulas, props) && engine.solve();
+	}
+
+	/**
+	 * Checks whether the given clauses in Dimacs representation are satisfiable.
+	 * @param clauses some clauses, each given as an array of non-zero integers
+	 * @return "true" iff the clauses are satisfiable.
+	 */
+	public boolean isSatisfiable(int[][] clauses) {
+		Engine engine = new Engine();
+		for(int[] clause: clauses)
+			engine.addClause(clause);
+		return engine.solve();
+	}
+
+	/**
+	 * Returns a model of the given clauses in Dimacs representation, if one exists.
+	 * @param clauses some clauses, each given as an array of non-zero integers
+	 * @return an array containing for every variable v (from 1 to the maximal variable
+	 * in the clauses) either v or -v, depending on its truth value in the model, or
+	 * <code>null</code> if the clauses are unsatisfiable.
+	 */
+	public int[] getWitness(int[][] clauses) {
+		Engine engine = new Engine();
+		for(int[] clause: clauses)
+			engine.addClause(clause);
+		if(!engine.solve())
+			return null;
+		int max = 0;
+		for(int[] clause: clauses)
+			for(int lit: clause)
+				max = Math.max(max, Math.abs(lit));
+		int[] model = new int[max];
+		for(int v = 1; v <= max; v++)
+			model[v-1] = engine.getValue(v) ? v : -v;
+		return model;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.logics.pl.sat.SatSolver#createSession()
+	 */
+	@Override
+	public SatSolverSession createSession() {
+		return new Engine();
+	}
+
+	/**
+	 * Adds the clauses of the given formulas to the engine.
+	 * @param engine some engine
+	 * @param formulas some formulas
+	 * @param props the propositions; the proposition at index i is represented by variable i+1.
+	 * @return "false" if a contradiction has been detected while adding the clauses.
+	 */
+	private boolean addFormulas(Engine engine, Collection<PlFormula> formulas, List<Proposition> props) {
+		TseitinEncoder encoder = this.createEncoder(props);
+		List<int[]> clauses = new ArrayList<int[]>();
+		for(PlFormula f: formulas) {
+			encoder.encode(f, clauses);
+			for(int[] clause: clauses)
+				engine.addClause(clause);
+			clauses.clear();
+		}
+		return engine.ok;
+	}
+
+	/**
+	 * A clause of the engine; the first two literals are the watched literals.
+	 */
+	private static final class Clause {
+		/** The literals (in internal representation). */
+		int[] lits;
+		/** Whether this clause has been learned. */
+		boolean learnt;
+		/** The activity of a learned clause. */
+		double activity = 0;
+		/** Whether this clause has been removed. */
+		boolean deleted = false;
+
+		Clause(int[] lits, boolean learnt) {
+			this.lits = lits;
+			this.learnt = learnt;
+		}
+	}
+
+	/**
+	 * The actual CDCL engine. Literals are represented internally as 2*v for a positive and
+	 * 2*v+1 for a negative literal of variable v.
+	 */
+	private static final class Engine extends AbstractSatSolverSession {
+		/** Truth values. */
+		private static final byte TRUE = 1, FALSE = -1, UNDEF = 0;
+		/** Parameters */
+		private static final double VAR_DECAY = 0.95, CLAUSE_DECAY = 0.999;
+		private static final int RESTART_BASE = 100;
+
+		/** Whether no contradiction has been found at decision level 0. */
+		private boolean ok = true;
+		/** The number of variables. */
+		private int nVars = 0;
+		/** Variable assignments, indexed by variable. */
+		private byte[] assigns = new byte[1];
+		/** Decision level and reason of assigned variables. */
+		private int[] level = new int[1];
+		private Clause[] reason = new Clause[1];
+		/** Saved phases of variables ("true" for a negative phase). */
+		private boolean[] phase = new boolean[1];
+		/** Markers for conflict analysis. */
+		private boolean[] seen = new boolean[1];
+		/** VSIDS activities and heap of variables. */
+		private double[] activity = new double[1];
+		private double varInc = 1;
+		private int[] heap = new int[1];
+		private int heapSize = 0;
+		private int[] heapIndex = new int[] {-1};
+		/** Watch lists, indexed by literal. */
+		private Clause[][] watches = new Clause[2][];
+		private int[] watchSizes = new int[2];
+		/** The assignment trail and the positions of decision levels within the trail. */
+		private int[] trail = new int[1];
+		private int trailSize = 0;
+		private int[] trailLim = new int[1];
+		private int decisionLevel = 0;
+		private int qhead = 0;
+		/** Clauses. */
+		private int numberOfClauses = 0;
+		private List<Clause> learnts = new ArrayList<Clause>();
+		private double clauseInc = 1;
+		private double maxLearnts;
+		/** The current assumptions (internal literals). */
+		private int[] assumptions = new int[0];
+		/** The last model found. */
+		private boolean[] model = null;
+
+		/**
+		 * Converts a Dimacs literal to the internal representation.
+		 * @param lit some Dimacs literal
+		 * @return the internal literal
+		 */
+		private int toInternal(int lit) {
+			if(lit == 0)
+				throw new IllegalArgumentException("0 is not a valid literal.");
+			int v = Math.abs(lit);
+			this.ensureVariable(v);
+			return lit > 0 ? 2*v : 2*v+1;
+		}
+
+		/**
+		 * Makes sure that all data structures can hold the given variable.
+		 * @param v some variable
+		 */
+		private void ensureVariable(int v) {
+			if(v <= this.nVars)
+				return;
+			if(v >= this.assigns.length) {
+				int cap = Math.max(v + 1, 2 * this.assigns.length);
+				this.assigns = Arrays.copyOf(this.assigns, cap);
+				this.level = Arrays.copyOf(this.level, cap);
+				this.reason = Arrays.copyOf(this.reason, cap);
+				this.phase = Arrays.copyOf(this.phase, cap);
+				this.seen = Arrays.copyOf(this.seen, cap);
+				this.activity = Arrays.copyOf(this.activity, cap);
+				this.heap = Arrays.copyOf(this.heap, cap);
+				int old = this.heapIndex.length;
+				this.heapIndex = Arrays.copyOf(this.heapIndex, cap);
+				Arrays.fill(this.heapIndex, old, cap, -1);
+				this.watches = Arrays.copyOf(this.watches, 2 * cap);
+				this.watchSizes = Arrays.copyOf(this.watchSizes, 2 * cap);
+				this.trail = Arrays.copyOf(this.trail, cap);
+				this.trailLim = Arrays.copyOf(this.trailLim, cap);
+			}
+			for(int w = this.nVars + 1; w <= v; w++) {
+				this.phase[w] = true;
+				this.heapInsert(w);
+			}
+			this.nVars = v;
+		}
+
+		/**
+		 * Returns the value of the given literal.
+		 * @param lit some internal literal
+		 * @return TRUE, FALSE, or UNDEF
+		 */
+		private byte value(int lit) {
+			byte a = this.assigns[lit >> 1];
+			return (lit & 1) == 0 ? a : (byte) -a;
+		}
+
+		// Heap of variables ordered by activity
+
+		private boolean heapLess(int v, int w) {
+			return this.activity[v] > this.activity[w];
+		}
+
+		private void heapUp(int i) {
+			int v = this.heap[i];
+			while(i > 0) {
+				int parent = (i - 1) >> 1;
+				if(!this.heapLess(v, this.heap[parent]))
+					break;
+				this.heap[i] = this.heap[parent];
+				this.heapIndex[this.heap[i]] = i;
+				i = parent;
+			}
+			this.heap[i] = v;
+			this.heapIndex[v] = i;
+		}
+
+		private void heapDown(int i) {
+			int v = this.heap[i];
+			while(2 * i + 1 < this.heapSize) {
+				int child = 2 * i + 1;
+				if(child + 1 < this.heapSize && this.heapLess(this.heap[child + 1], this.heap[child]))
+					child++;
+				if(!this.heapLess(this.heap[child], v))
+					break;
+				this.heap[i] = this.heap[child];
+				this.heapIndex[this.heap[i]] = i;
+				i = child;
+			}
+			this.heap[i] = v;
+			this.heapIndex[v] = i;
+		}
+
+		private void heapInsert(int v) {
+			if(this.heapIndex[v] >= 0)
+				return;
+			this.heap[this.heapSize] = v;
+			this.heapIndex[v] = this.heapSize;
+			this.heapUp(this.heapSize++);
+		}
+
+		private int heapRemoveMax() {
+			int v = this.heap[0];
+			this.heapIndex[v] = -1;
+			this.heapSize--;
+			if(this.heapSize > 0) {
+				this.heap[0] = this.heap[this.heapSize];
+				this.heapIndex[this.heap[0]] = 0;
+				this.heapDown(0);
+			}
+			return v;
+		}
+
+		// Activities
+
+		private void bumpVariable(int v) {
+			if((this.activity[v] += this.varInc) > 1e100) {
+				for(int w = 1; w <= this.nVars; w++)
+					this.activity[w] *= 1e-100;
+				this.varInc *= 1e-100;
+			}
+			if(this.heapIndex[v] >= 0)
+				this.heapUp(this.heapIndex[v]);
+		}
+
+		private void bumpClause(Clause c) {
+			if((c.activity += this.clauseInc) > 1e20) {
+				for(Clause d: this.learnts)
+					d.activity *= 1e-20;
+				this.clauseInc *= 1e-20;
+			}
+		}
+
+		// Assignments and propagation
+
+		private void watch(int lit, Clause c) {
+			if(this.watches[lit] == null)
+				this.watches[lit] = new Clause[4];
+			else if(this.watchSizes[lit] == this.watches[lit].length)
+				this.watches[lit] = Arrays.copyOf(this.watches[lit], 2 * this.watchSizes[lit]);
+			this.watches[lit][this.watchSizes[lit]++] = c;
+		}
+
+		private void attach(Clause c) {
+			this.watch(c.lits[0] ^ 1, c);
+			this.watch(c.lits[1] ^ 1, c);
+		}
+
+		private void enqueue(int lit, Clause from) {
+			int v = lit >> 1;
+			this.assigns[v] = (lit & 1) == 0 ? TRUE : FALSE;
+			this.level[v] = this.decisionLevel;
+			this.reason[v] = from;
+			this.trail[this.trailSize++] = lit;
+		}
+
+		/**
+		 * Propagates all enqueued assignments.
+		 * @return a conflicting clause, or null if there is no conflict.
+		 */
+		private Clause propagate() {
+			while(this.qhead < this.trailSize) {
+				int p = this.trail[this.qhead++];
+				int falseLit = p ^ 1;
+				Clause[] ws = this.watches[p];
+				int n = this.watchSizes[p];
+				int i = 0, j = 0;
+				while(i < n) {
+					Clause c = ws[i++];
+					if(c.deleted)
+						continue;
+					int[] lits = c.lits;
+					if(lits[0] == falseLit) {
+						lits[0] = lits[1];
+						lits[1] = falseLit;
+					}
+					if(this.value(lits[0]) == TRUE) {
+						ws[j++] = c;
+						continue;
+					}
+					boolean found = false;
+					for(int k = 2; k < lits.length; k++)
+						if(this.value(lits[k]) != FALSE) {
+							lits[1] = lits[k];
+							lits[k] = falseLit;
+							this.watch(lits[1] ^ 1, c);
+							found = true;
+							break;
+						}
+					if(found)
+						continue;
+					ws[j++] = c;
+					if(this.value(lits[0]) == FALSE) {
+						while(i < n)
+							ws[j++] = ws[i++];
+						this.watchSizes[p] = j;
+						this.qhead = this.trailSize;
+						return c;
+					}
+					this.enqueue(lits[0], c);
+				}
+				this.watchSizes[p] = j;
+			}
+			return null;
+		}
+
+		private void newDecisionLevel() {
+			this.trailLim[this.decisionLevel++] = this.trailSize;
+		}
+
+		private void cancelUntil(int lvl) {
+			if(this.decisionLevel <= lvl)
+				return;
+			for(int i = this.trailSize - 1; i >= this.trailLim[lvl]; i--) {
+				int v = this.trail[i] >> 1;
+				this.phase[v] = (this.trail[i] & 1) == 1;
+				this.assigns[v] = UNDEF;
+				this.reason[v] = null;
+				this.heapInsert(v);
+			}
+			this.trailSize = this.trailLim[lvl];
+			this.qhead = this.trailSize;
+			this.decisionLevel = lvl;
+		}
+
+		// Conflict analysis
+
+		/**
+		 * Analyses the given conflict and learns a clause whose first literal is the
+		 * first unique implication point.
+		 * @param confl some conflicting clause
+		 * @return the learned clause (internal literals)
+		 */
+		private int[] analyze(Clause confl) {
+			int[] out = new int[8];
+			int outSize = 1;
+			int pathC = 0;
+			int p = -1;
+			int index = this.trailSize - 1;
+			do {
+				if(confl.learnt)
+					this.bumpClause(confl);
+				for(int k = (p == -1 ? 0 : 1); k < confl.lits.length; k++) {
+					int q = confl.lits[k];
+					int v = q >> 1;
+					if(!this.seen[v] && this.level[v] > 0) {
+						this.bumpVariable(v);
+						this.seen[v] = true;
+						if(this.level[v] >= this.decisionLevel)
+							pathC++;
+						else {
+							if(outSize == out.length)
+								out = Arrays.copyOf(out, 2 * outSize);
+							out[outSize++] = q;
+						}
+					}
+				}
+				while(!this.seen[this.trail[index--] >> 1]);
+				p = this.trail[index + 1];
+				confl = this.reason[p >> 1];
+				this.seen[p >> 1] = false;
+				pathC--;
+			}while(pathC > 0);
+			out[0] = p ^ 1;
+			// remove literals implied by the other literals of the clause
+			int[] all = Arrays.copyOf(out, outSize);
+			int j = 1;
+			for(int i = 1; i < outSize; i++) {
+				Clause r = this.reason[out[i] >> 1];
+				boolean redundant = r != null;
+				if(redundant)
+					for(int k = 1; k < r.lits.length; k++) {
+						int v = r.lits[k] >> 1;
+						if(!this.seen[v] && this.level[v] > 0) {
+							redundant = false;
+							break;
+						}
+					}
+				if(!redundant)
+					out[j++] = out[i];
+			}
+			for(int i = 1; i < all.length; i++)
+				this.seen[all[i] >> 1] = false;
+			// put a literal of the highest remaining level at position 1
+			if(j > 1) {
+				int max = 1;
+				for(int i = 2; i < j; i++)
+					if(this.level[out[i] >> 1] > this.level[out[max] >> 1])
+						max = i;
+				int tmp = out[1];
+				out[1] = out[max];
+				out[max] = tmp;
+			}
+			return Arrays.copyOf(out, j);
+		}
+
+		// Learned clause database
+
+		private boolean locked(Clause c) {
+			int v = c.lits[0] >> 1;
+			return this.reason[v] == c && this.value(c.lits[0]) == TRUE;
+		}
+
+		private void reduceDB() {
+			this.learnts.sort((c, d) -> Double.compare(c.activity, d.activity));
+			double extra = this.clauseInc / this.learnts.size();
+			List<Clause> keep = new ArrayList<Clause>();
+			int half = this.learnts.size() / 2;
+			for(int i = 0; i < this.learnts.size(); i++) {
+				Clause c = this.learnts.get(i);
+				if(c.lits.length > 2 && !this.locked(c) && (i < half || c.activity < extra))
+					c.deleted = true;
+				else keep.add(c);
+			}
+			this.learnts = keep;
+		}
+
+		// Search
+
+		/**
+		 * Searches for a model until the given number of conflicts is reached.
+		 * @param conflictBudget the maximal number of conflicts
+		 * @return 1 if a model has been found, -1 if there is none (under the current assumptions),
+		 * and 0 if the budget has been exhausted.
+		 */
+		private int search(int conflictBudget) {
+			int conflicts = 0;
+			while(true) {
+				Clause confl = this.propagate();
+				if(confl != null) {
+					conflicts++;
+					if(this.decisionLevel == 0) {
+						this.ok = false;
+						return -1;
+					}
+					int[] learnt = this.analyze(confl);
+					int backtrackLevel = learnt.length > 1 ? this.level[learnt[1] >> 1] : 0;
+					this.cancelUntil(backtrackLevel);
+					if(learnt.length == 1)
+						this.enqueue(learnt[0], null);
+					else {
+						Clause c = new Clause(learnt, true);
+						this.learnts.add(c);
+						this.attach(c);
+						this.bumpClause(c);
+						this.enqueue(learnt[0], c);
+					}
+					this.varInc /= VAR_DECAY;
+					this.clauseInc /= CLAUSE_DECAY;
+				}else {
+					if(conflicts >= conflictBudget) {
+						this.cancelUntil(0);
+						return 0;
+					}
+					if(this.learnts.size() - this.trailSize >= this.maxLearnts) {
+						this.reduceDB();
+						this.maxLearnts *= 1.1;
+					}
+					int next = -1;
+					while(this.decisionLevel < this.assumptions.length) {
+						int p = this.assumptions[this.decisionLevel];
+						if(this.value(p) == TRUE)
+							this.newDecisionLevel();
+						else if(this.value(p) == FALSE)
+							return -1;
+						else {
+							next = p;
+							break;
+						}
+					}
+					if(next == -1) {
+						while(this.heapSize > 0) {
+							int v = this.heapRemoveMax();
+							if(this.assigns[v] == UNDEF) {
+								next = this.phase[v] ? 2*v+1 : 2*v;
+								break;
+							}
+						}
+						if(next == -1)
+							return 1;
+					}
+					this.newDecisionLevel();
+					this.enqueue(next, null);
+				}
+			}
+		}
+
+		/**
+		 * Computes the i-th element of the Luby sequence.
+		 * @param i some index
+		 * @return the i-th element of the Luby sequence
+		 */
+		private static int luby(int i) {
+			int size = 1, seq = 0;
+			while(size < i + 1) {
+				seq++;
+				size = 2 * size + 1;
+			}
+			int x = i;
+			while(size - 1 != x) {
+				size = (size - 1) >> 1;
+				seq--;
+				x = x % size;
+			}
+			return 1 << seq;
+		}
+
+		/* (non-Javadoc)
+		 * @see org.tweetyproject.logics.pl.sat.AbstractSatSolverSession#addInternalClause(int[])
+		 */
+		@Override
+		protected void addInternalClause(int[] clause) {
+			if(!this.ok)
+				return;
+			this.model = null;
+			int[] lits = new int[clause.length];
+			for(int i = 0; i < clause.length; i++)
+				lits[i] = this.toInternal(clause[i]);
+			Arrays.sort(lits);
+			int j = 0;
+			for(int i = 0; i < lits.length; i++) {
+				// tautologies and clauses satisfied at level 0 are ignored
+				if(this.value(lits[i]) == TRUE || (i > 0 && lits[i] == (lits[i-1] ^ 1)))
+					return;
+				if(this.value(lits[i]) != FALSE && (i == 0 || lits[i] != lits[i-1]))
+					lits[j++] = lits[i];
+			}
+			if(j == 0)
+				this.ok = false;
+			else if(j == 1) {
+				this.enqueue(lits[0], null);
+				if(this.propagate() != null)
+					this.ok = false;
+			}else {
+				this.attach(new Clause(Arrays.copyOf(lits, j), false));
+				this.numberOfClauses++;
+			}
+		}
+
+		/* (non-Javadoc)
+		 * @see org.tweetyproject.logics.pl.sat.AbstractSatSolverSession#solveInternal(int[])
+		 */
+		@Override
+		protected boolean solveInternal(int[] assumptions) {
+			this.model = null;
+			if(!this.ok)
+				return false;
+			this.assumptions = new int[assumptions.length];
+			for(int i = 0; i < assumptions.length; i++)
+				this.assumptions[i] = this.toInternal(assumptions[i]);
+			this.maxLearnts = Math.max(this.numberOfClauses / 3.0, 1000);
+			int status = 0;
+			for(int restarts = 0; status == 0; restarts++)
+				status = this.search(Engine.luby(restarts) * RESTART_BASE);
+			if(status == 1) {
+				this.model = new boolean[this.nVars + 1];
+				for(int v = 1; v <= this.nVars; v++)
+					this.model[v] = this.assigns[v] == TRUE;
+			}
+			this.cancelUntil(0);
+			this.assumptions = new int[0];
+			return status == 1;
+		}
+
+		/* (non-Javadoc)
+		 * @see org.tweetyproject.logics.pl.sat.AbstractSatSolverSession#getInternalValue(int)
+		 */
+		@Override
+		protected boolean getInternalValue(int variable) {
+			return this.model != null && variable < this.model.length && this.model[variable];
+		}
+
+		/* (non-Javadoc)
+		 * @see org.tweetyproject.logics.pl.sat.SatSolverSession#close()
+		 */
+		@Override
+		public void close() {
+			this.learnts = null;
+			this.watches = null;
+			this.model = null;
+		}
+	}
+}
@@ -0,0 +1,275 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.logics.pl.sat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.tweetyproject.logics.pl.syntax.PlFormula;
+import org.tweetyproject.logics.pl.syntax.Proposition;
+
+/**
+ * A cache for the clausal forms of propositional formulas. Every formula is compiled
+ * once by a {@link TseitinEncoder} into clauses in Dimacs representation (arrays of non-zero integers)
+ * against a proposition index that is stable for the lifetime of the cache, so that
+ * SAT solvers can be called repeatedly on (overlapping subsets of) the same formulas,
+ * e.g. of a single belief set, without converting them to CNF again.
+ * <br>
+ * <br>Formulas are looked up by identity; as a safeguard against formulas modified
+ * after they have been compiled, the hash code of a formula is compared to the one
+ * recorded at compilation time. The cache keeps at most a given number of formulas
+ * and evicts the least recently used ones. If the proposition index grows beyond a
+ * given size, the whole cache is cleared before the next compilation.
+ * <br>
+ * <br>This class is thread-safe.
+ *
+ * @author Sebastian Franke
+ */
+public class ClauseCache {
+
+	/** Default value for the maximal number of cached formulas. */
+	private static final int CAPACITY = 10000;
+	/** Default value for the maximal number of indexed propositions. */
+	private static final int MAXPROPOSITIONS = 100000;
+
+	/** The maximal number of indexed propositions. */
+	private int maxPropositions;
+	/** Whether formulas are converted by the definitional transformation. */
+	private boolean definitional;
+	/** The index of propositions; proposition p is represented by variable prop2Idx.get(p). */
+	private Map<Proposition,Integer> prop2Idx = new HashMap<Proposition,Integer>();
+	/** The propositions, variable v is represented by the proposition at index v-1. */
+	private List<Proposition> idx2Prop = new ArrayList<Proposition>();
+	/** The compiled formulas in access order. */
+	private LinkedHashMap<Key,Entry> entries;
+
+	/**
+	 * Creates a new cache with the given parameters.
+	 * @param capacity the maximal number of cached formulas.
+	 * @param maxPropositions the maximal number of indexed propositions.
+	 */
+	public ClauseCache(int capacity, int maxPropositions) {
+		this(capacity, maxPropositions, true);
+	}
+
+	/**
+	 * Creates a new cache with the given parameters.
+	 * @param capacity the maximal number of cached formulas.
+	 * @param maxPropositions the maximal number of indexed propositions (including
+	 * 	auxiliary variables).
+	 * @param definitional whether formulas are converted by the definitional (Tseitin)
+	 * 	transformation (see {@link TseitinEncoder}) or by {@link PlFormula#toCnf()}.
+	 */
+	public ClauseCache(int capacity, int maxPropositions, boolean definitional) {
+		this.maxPropositions = maxPropositions;
+		this.definitional = definitional;
+		this.entries = new LinkedHashMap<Key,Entry>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key,Entry> eldest) {
+				return this.size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * Creates a new cache with default parameters (capacity=10000, maxPropositions=100000)
+	 * using the definitional transformation.
+	 */
+	public ClauseCache() {
+		this(ClauseCache.CAPACITY, ClauseCache.MAXPROPOSITIONS);
+	}
+
+	/**
+	 * Adds the clauses of the given formulas to the given list. Tautological clauses
+	 * are omitted and contradictions are removed from clauses, so a contradictory
+	 * formula yields an empty clause. Auxiliary variables of the definitional
+	 * transformation are not shared between formulas. The added arrays must
+	 * not be modified.
+	 * @param formulas some formulas
+	 * @param clauses a list the clauses (in Dimacs representation) are added to.
+	 * @return the propositions of the formulas indexed by their variables, i.e., the
+	 * 	proposition of variable v is at position v, positions of auxiliary variables and of
+	 * 	variables not occurring in the formulas are null.
+	 */
+	public synchronized Proposition[] getClauses(Collection<PlFormula> formulas, List<int[]> clauses) {
+		// evict everything before compiling so that all clauses share the same index
+		if(this.idx2Prop.size() > this.maxPropositions)
+			this.clear();
+		List<Entry> entries = new ArrayList<Entry>(formulas.size());
+		int max = 0;
+		for(PlFormula f: formulas) {
+			Entry e = this.getEntry(f);
+			entries.add(e);
+			for(int v: e.variables)
+				max = Math.max(max, v);
+		}
+		Proposition[] props = new Proposition[max + 1];
+		for(Entry e: entries) {
+			for(int[] clause: e.clauses)
+				clauses.add(clause);
+			for(int v: e.variables)
+				props[v] = this.idx2Prop.get(v - 1);
+		}
+		return props;
+	}
+
+	/**
+	 * Returns whether formulas are converted by the definitional (Tseitin) transformation.
+	 * @return "true" iff the definitional transformation is used.
+	 */
+	public boolean isDefinitional() {
+		return this.definitional;
+	}
+
+	/**
+	 * Returns the number of indexed propositions, i.e., the maximal variable used in clauses.
+	 * @return the number of indexed propositions.
+	 */
+	public synchronized int getNumberOfVariables() {
+		return this.idx2Prop.size();
+	}
+
+	/**
+	 * Returns the number of cached formulas.
+	 * @return the number of cached formulas.
+	 */
+	public synchronized int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Removes all formulas and propositions from this cache.
+	 */
+	public synchronized void clear() {
+		this.entries.clear();
+		this.prop2Idx.clear();
+		this.idx2Prop.clear();
+	}
+
+	/**
+	 * Returns the cache entry of the given formula, compiling it if necessary.
+	 * @param f some formula
+	 * @return the entry of f
+	 */
+	private Entry getEntry(PlFormula f) {
+		Key key = new Key(f);
+		int hash = f.hashCode();
+		Entry e = this.entries.get(key);
+		if(e != null && e.hash == hash)
+			return e;
+		e = this.compile(f);
+		e.hash = hash;
+		this.entries.put(key, e);
+		return e;
+	}
+
+	/**
+	 * Returns the variable of the given proposition, adding it to the index if necessary.
+	 * @param p some proposition
+	 * @return the variable of p
+	 */
+	private int getVariable(PlFormula p) {
+		Integer v = this.prop2Idx.get(p);
+		if(v == null) {
+			this.idx2Prop.add((Proposition) p);
+			v = this.idx2Prop.size();
+			this.prop2Idx.put((Proposition) p, v);
+		}
+		return v;
+	}
+
+	/**
+	 * Compiles the given formula.
+	 * @param f some formula
+	 * @return the compiled formula
+	 */
+	private Entry compile(PlFormula f) {
+		Entry e = new Entry();
+		TseitinEncoder encoder = new TseitinEncoder(new ArrayList<Proposition>(f.getAtoms()), this.definitional);
+		List<int[]> clauses = new ArrayList<int[]>();
+		encoder.encode(f, clauses);
+		// map the variables of the encoder to the variables of this cache
+		int[] vars = new int[encoder.getNumberOfVariables() + 1];
+		for(int v = 1; v < vars.length; v++) {
+			Proposition p = encoder.getProposition(v);
+			if(p != null)
+				vars[v] = this.getVariable(p);
+			else {
+				this.idx2Prop.add(null);
+				vars[v] = this.idx2Prop.size();
+			}
+		}
+		for(int[] clause: clauses)
+			for(int i = 0; i < clause.length; i++)
+				clause[i] = clause[i] > 0 ? vars[clause[i]] : -vars[-clause[i]];
+		e.clauses = clauses.toArray(new int[clauses.size()][]);
+		e.variables = Arrays.copyOfRange(vars, 1, vars.length);
+		return e;
+	}
+
+	/**
+	 * A compiled formula.
+	 */
+	private static class Entry {
+		/** The clauses of the formula. */
+		int[][] clauses;
+		/** The variables of the formula. */
+		int[] variables;
+		/** The hash code of the formula at compilation time. */
+		int hash;
+	}
+
+	/**
+	 * Wraps a formula such that it is compared by identity.
+	 */
+	private static class Key {
+		/** The formula. */
+		private PlFormula formula;
+
+		/**
+		 * Creates a new key.
+		 * @param formula some formula
+		 */
+		private Key(PlFormula formula) {
+			this.formula = formula;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(this.formula);
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key && ((Key) obj).formula == this.formula;
+		}
+	}
+}
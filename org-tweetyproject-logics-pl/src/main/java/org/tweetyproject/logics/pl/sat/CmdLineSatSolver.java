@@ -18,17 +18,20 @@
  */
 package org.tweetyproject.logics.pl.sat;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.StringTokenizer;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.tweetyproject.commons.Interpretation;
-import org.tweetyproject.commons.util.NativeShell;
 import org.tweetyproject.logics.pl.semantics.PossibleWorld;
 import org.tweetyproject.logics.pl.syntax.PlBeliefSet;
 import org.tweetyproject.logics.pl.syntax.PlFormula;
@@ -38,7 +41,17 @@ import org.tweetyproject.logics.pl.syntax.Proposition;
  * This class offers a generic wrapper for command line based SAT solvers. It is
  * likely to work for most solvers that use the Dimacs format, e.g. most solvers
  * presented at SAT solver competitions.
- * 
+ * <br>
+ * <br>By default, the clauses are streamed to the standard input of the solver
+ * process and the model is parsed from the "v" lines of its output while it is
+ * read. Solvers that require their input to be given as a file can be used via
+ * <code>setUseTempFile(true)</code>.
+ * <br>
+ * <br>The result is read from the status line of the solver, which may be given
+ * as "s SATISFIABLE" or as a bare "SATISFIABLE" (resp. "UNSATISFIABLE") line. If
+ * there is no status line but the solver prints some other output, this output is
+ * reported as an error.
+ *
  * Tested with the following solvers:
  * <ul>
  * <li>CaDiCal 1.3.1 <a href="http://fmv.jku.at/cadical">http://fmv.jku.at/cadical</a></li>
@@ -62,6 +75,12 @@ public class CmdLineSatSolver extends SatSolver {
 	 */
 	private String options = "";
 
+	/**
+	 * Whether the binary requires its input to be given as a file. Otherwise the
+	 * input is written to the standard input of the solver process.
+	 */
+	private boolean useTempFile = false;
+
 	/**
 	 * Creates a new SAT solver based on the given binary location.
 	 * 
@@ -72,62 +91,188 @@ public class CmdLineSatSolver extends SatSolver {
 		this.binaryLocation = binaryLocation;
 	}
 
+	/**
+	 * Creates a new SAT solver based on the given binary location.
+	 * 
+	 * @param binaryLocation the location of the binary
+	 * @param useTempFile    whether the binary requires its input to be given as a file
+	 *                       (otherwise the input is written to the standard input of 
+	 *                       the solver process)
+	 */
+	public CmdLineSatSolver(String binaryLocation, boolean useTempFile) {
+		this(binaryLocation);
+		this.useTempFile = useTempFile;
+	}
+
+	/**
+	 * Sets whether the binary requires its input to be given as a file. By default
+	 * the input is written to the standard input of the solver process, which
+	 * avoids writing and reading a temporary file.
+	 * 
+	 * @param useTempFile whether to use temporary files for the input
+	 */
+	public void setUseTempFile(boolean useTempFile) {
+		this.useTempFile = useTempFile;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.logics.pl.sat.SatSolver#getWitness(java.util.Collection)
+	 */
 	@Override
 	public Interpretation<PlBeliefSet, PlFormula> getWitness(Collection<PlFormula> formulas) {
-		try {
-			List<Proposition> props = new ArrayList<Proposition>();
-			for (PlFormula f : formulas) {
-				props.removeAll(f.getAtoms());
-				props.addAll(f.getAtoms());
-			}
-			// create temporary file in Dimacs CNF format.
-			File f = SatSolver.createTmpDimacsFile(formulas, props);
-			String output = NativeShell
-					.invokeExecutable(this.binaryLocation + " " + options + " " + f.getAbsolutePath());
-			f.delete();
-			if (output.indexOf("UNSATISFIABLE") != -1)
-				return null;
-			// parse the model by looking for dimacs output strings, e.g. "v -1 2 3 0"
-			Pattern pattern = Pattern.compile("[^a-zA-Z]v\\s(-?[1-9]+\\s)+0");
-			Matcher matcher = pattern.matcher(output.trim());
-			if (matcher.find()) {
-				String model = output.substring(matcher.start(), matcher.end()).trim();
-				model = model.replaceAll("v ", "");
-				StringTokenizer tokenizer = new StringTokenizer(model, " ");
-				PossibleWorld w = new PossibleWorld();
-				while (tokenizer.hasMoreTokens()) {
-					String s = tokenizer.nextToken().trim();
-					Integer i = Integer.parseInt(s);
-					if (i > 0) {
-						w.add(props.get(i - 1));
-					}
-				}
-				return w;
-			} else
-				throw new IllegalArgumentException(
-						"Unable to find witness in solver output. Depending on your solver, you may need to add a cmd line option like --W to enable it.");
-		} catch (InterruptedException | IOException e) {
-			throw new RuntimeException(e);
-		}
+		List<Proposition> props = CmdLineSatSolver.getSignature(formulas);
+		TseitinEncoder encoder = this.createEncoder(props);
+		List<int[]> clauses = CmdLineSatSolver.encode(encoder, formulas);
+		if (clauses == null)
+			return null;
+		PossibleWorld w = new PossibleWorld();
+		if (!this.run(clauses, encoder.getNumberOfVariables(), w, props))
+			return null;
+		return w;
 	}
 
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.logics.pl.sat.SatSolver#isSatisfiable(java.util.Collection)
+	 */
 	@Override
 	public boolean isSatisfiable(Collection<PlFormula> formulas) {
+		List<Proposition> props = CmdLineSatSolver.getSignature(formulas);
+		TseitinEncoder encoder = this.createEncoder(props);
+		List<int[]> clauses = CmdLineSatSolver.encode(encoder, formulas);
+		if (clauses == null)
+			return false;
+		return this.run(clauses, encoder.getNumberOfVariables(), null, props);
+	}
+
+	/**
+	 * Encodes the given formulas as clauses.
+	 * 
+	 * @param encoder  some encoder
+	 * @param formulas some formulas
+	 * @return the clauses, or null if some clause is a contradiction.
+	 */
+	private static List<int[]> encode(TseitinEncoder encoder, Collection<PlFormula> formulas) {
+		List<int[]> clauses = new ArrayList<int[]>();
+		for (PlFormula f : formulas)
+			encoder.encode(f, clauses);
+		for (int[] clause : clauses)
+			if (clause.length == 0)
+				return null;
+		return clauses;
+	}
+
+	/**
+	 * Returns the propositions of the given formulas in a fixed order.
+	 * 
+	 * @param formulas some formulas
+	 * @return the list of propositions
+	 */
+	private static List<Proposition> getSignature(Collection<PlFormula> formulas) {
+		Set<Proposition> props = new LinkedHashSet<Proposition>();
+		for (PlFormula f : formulas)
+			props.addAll(f.getAtoms());
+		return new ArrayList<Proposition>(props);
+	}
+
+	/**
+	 * Runs the solver on the given clauses. The clauses are streamed to the standard
+	 * input of the solver process (or to a temporary file if required), and the output
+	 * of the solver is parsed line by line.
+	 * 
+	 * @param clauses           some clauses in Dimacs representation
+	 * @param numberOfVariables the number of variables
+	 * @param w                 if not null, the model found by the solver is added to this
+	 *                          possible world.
+	 * @param props             the propositions, the proposition at index i represents
+	 *                          variable i+1; the model is projected onto these variables.
+	 * @return "true" if the clauses are satisfiable.
+	 */
+	private boolean run(List<int[]> clauses, int numberOfVariables, PossibleWorld w, List<Proposition> props) {
+		File f = null;
 		try {
-			List<Proposition> props = new ArrayList<Proposition>();
-			for (PlFormula f : formulas) {
-				props.removeAll(f.getAtoms());
-				props.addAll(f.getAtoms());
+			List<String> command = new ArrayList<String>();
+			command.add(this.binaryLocation);
+			StringTokenizer tokenizer = new StringTokenizer(this.options);
+			while (tokenizer.hasMoreTokens())
+				command.add(tokenizer.nextToken());
+			if (this.useTempFile) {
+				f = File.createTempFile("tweety-sat", ".cnf");
+				f.deleteOnExit();
+				try (OutputStream out = new FileOutputStream(f)) {
+					SatSolver.writeDimacs(clauses, numberOfVariables, out);
+				}
+				command.add(f.getAbsolutePath());
 			}
-			// create temporary file in Dimacs CNF format.
-			File f = SatSolver.createTmpDimacsFile(formulas, props);
-			String output = NativeShell
-					.invokeExecutable(this.binaryLocation + " " + options + " " + f.getAbsolutePath());
-			// delete file
-			f.delete();
-			return (output.indexOf("UNSATISFIABLE") == -1);
+			ProcessBuilder builder = new ProcessBuilder(command);
+			builder.redirectErrorStream(true);
+			Process child = builder.start();
+			// write the input in a separate thread so that the solver's output does not block it
+			IOException[] writeError = new IOException[1];
+			Thread writer = null;
+			if (!this.useTempFile) {
+				writer = new Thread(() -> {
+					try (OutputStream out = child.getOutputStream()) {
+						SatSolver.writeDimacs(clauses, numberOfVariables, out);
+					} catch (IOException e) {
+						writeError[0] = e;
+					}
+				});
+				writer.setDaemon(true);
+				writer.start();
+			} else
+				child.getOutputStream().close();
+			Boolean sat = null;
+			boolean foundModel = false;
+			StringBuilder other = new StringBuilder();
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(child.getInputStream()))) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					line = line.trim();
+					if (line.startsWith("c"))
+						continue;
+					// the status is usually given as "s SATISFIABLE", some solvers
+					// only print a bare "SATISFIABLE" or "SAT" line instead
+					String status = line.startsWith("s ") ? line.substring(2).trim() : line;
+					if (line.indexOf("UNSATISFIABLE") != -1 || status.equals("UNSAT"))
+						sat = false;
+					else if (status.equals("SATISFIABLE") || status.equals("SAT")
+							|| (line.startsWith("s ") && line.indexOf("SATISFIABLE") != -1))
+						sat = true;
+					else if (line.startsWith("v ") || line.equals("v")) {
+						// parse the model, e.g. "v -1 2 3 0"; it may span several lines
+						foundModel = true;
+						if (w == null)
+							continue;
+						StringTokenizer lits = new StringTokenizer(line.substring(1));
+						while (lits.hasMoreTokens()) {
+							int i = Integer.parseInt(lits.nextToken());
+							if (i > 0 && i <= props.size())
+								w.add(props.get(i - 1));
+						}
+					} else if (other.length() < 1000)
+						other.append(line).append("\n");
+				}
+			}
+			child.waitFor();
+			if (writer != null)
+				writer.join();
+			if (sat == null) {
+				if (writeError[0] != null)
+					throw writeError[0];
+				if (other.length() > 0)
+					throw new IOException(other.toString());
+				// no status line, assume satisfiability as long as no error occurred
+				sat = true;
+			}
+			if (sat && w != null && !foundModel)
+				throw new IllegalArgumentException(
+						"Unable to find witness in solver output. Depending on your solver, you may need to add a cmd line option like --W to enable it.");
+			return sat;
 		} catch (InterruptedException | IOException e) {
 			throw new RuntimeException(e);
+		} finally {
+			if (f != null)
+				f.delete();
 		}
 	}
 
@@ -21,13 +21,13 @@ package org.tweetyproject.logics.pl.sat;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.tweetyproject.commons.Interpretation;
-import org.tweetyproject.logics.pl.syntax.Conjunction;
 import org.tweetyproject.logics.pl.syntax.Disjunction;
 import org.tweetyproject.logics.pl.syntax.Negation;
 import org.tweetyproject.logics.pl.syntax.PlBeliefSet;
@@ -114,25 +114,21 @@ public abstract class MaxSatSolver extends SatSolver{
 			}					
 		}		
 		sum_weight++;
-		for(PlFormula p: hardConstraints){
-			Conjunction conj = p.toCnf();
-			for(PlFormula p1: conj){
-				num_clauses++;
-				// max weight as we have a hard clause
-				s += sum_weight + " ";
-				// as conj is in CNF all formulas should be disjunctions
-				Disjunction disj = (Disjunction) p1;
-				for(PlFormula p2: disj){
-					if(p2 instanceof Proposition)
-						s += (props.indexOf(p2) + 1) + " ";
-					else if(p2.isLiteral()){
-						s += "-" + (props.indexOf((Proposition)((Negation)p2).getFormula()) + 1) + " ";
-					}else throw new RuntimeException("This should not happen: formula is supposed to be in CNF but another formula than a literal has been encountered.");				
-				}			
-				s += "0\n";
-			}
+		// hard constraints are encoded by the definitional transformation, auxiliary
+		// variables are numbered after the given propositions
+		TseitinEncoder encoder = new TseitinEncoder(props, true);
+		List<int[]> clauses = new ArrayList<int[]>();
+		for(PlFormula p: hardConstraints)
+			encoder.encode(p, clauses);
+		for(int[] clause: clauses){
+			num_clauses++;
+			// max weight as we have a hard clause
+			s += sum_weight + " ";
+			for(int lit: clause)
+				s += lit + " ";
+			s += "0\n";
 		}
-		return "p wcnf " + props.size() + " " + num_clauses + " " + sum_weight + "\n" + s;
+		return "p wcnf " + encoder.getNumberOfVariables() + " " + num_clauses + " " + sum_weight + "\n" + s;
 	}
 
 	/**
@@ -80,7 +80,8 @@ public class OpenWboSolver extends MaxSatSolver {
 			while(tokenizer.hasMoreTokens()){
 				String s = tokenizer.nextToken().trim();				
 				Integer i = Integer.parseInt(s);
-				if(i > 0){
+				// auxiliary variables of the encoding are not part of the model
+				if(i > 0 && i <= props.size()){
 					w.add(props.get(i-1));
 				}
 			}
@@ -18,21 +18,15 @@
  */
 package org.tweetyproject.logics.pl.sat;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 
 import org.tweetyproject.commons.Interpretation;
 import org.tweetyproject.logics.pl.semantics.PossibleWorld;
-import org.tweetyproject.logics.pl.syntax.Conjunction;
-import org.tweetyproject.logics.pl.syntax.Contradiction;
-import org.tweetyproject.logics.pl.syntax.Disjunction;
-import org.tweetyproject.logics.pl.syntax.Negation;
 import org.tweetyproject.logics.pl.syntax.PlBeliefSet;
 import org.tweetyproject.logics.pl.syntax.Proposition;
 import org.tweetyproject.logics.pl.syntax.PlFormula;
-import org.tweetyproject.logics.pl.syntax.PlSignature;
-import org.tweetyproject.logics.pl.syntax.Tautology;
 
 import org.sat4j.core.VecInt;
 import org.sat4j.minisat.SolverFactory;
@@ -57,14 +51,38 @@ public class Sat4jSolver extends SatSolver{
 	/** Max number of expected clauses for this solver. */
 	private int nbclauses;
 	
+	/** The cache for the clauses of formulas. */
+	private ClauseCache cache;
+	
 	/**
 	 * Creates a new solver with the given parameters.
 	 * @param maxvar Max number of variables for this solver.
 	 * @param nbclauses Max number of expected clauses for this solver.
+	 * @param cache the cache for the clauses of formulas; formulas (e.g. of the same 
+	 * 	belief set) that are checked repeatedly are only converted to CNF once.
 	 */
-	public Sat4jSolver(int maxvar, int nbclauses){
+	public Sat4jSolver(int maxvar, int nbclauses, ClauseCache cache){
 		this.maxvar = maxvar;
 		this.nbclauses = nbclauses;
+		this.cache = cache;
+	}
+	
+	/**
+	 * Creates a new solver with the given parameters.
+	 * @param maxvar Max number of variables for this solver.
+	 * @param nbclauses Max number of expected clauses for this solver.
+	 */
+	public Sat4jSolver(int maxvar, int nbclauses){
+		this(maxvar, nbclauses, new ClauseCache());
+	}
+	
+	/**
+	 * Creates a new solver with default parameters (maxvar=1000000, nbclauses=500000)
+	 * and the given clause cache.
+	 * @param cache the cache for the clauses of formulas.
+	 */
+	public Sat4jSolver(ClauseCache cache){
+		this(Sat4jSolver.MAXVAR, Sat4jSolver.NBCLAUSES, cache);
 	}
 	
 	/**
@@ -74,6 +92,45 @@ public class Sat4jSolver extends SatSolver{
 		this(Sat4jSolver.MAXVAR, Sat4jSolver.NBCLAUSES);
 	}
 	
+	/**
+	 * Returns the cache for the clauses of formulas used by this solver.
+	 * @return the clause cache.
+	 */
+	public ClauseCache getClauseCache() {
+		return this.cache;
+	}
+	
+	/**
+	 * Adds the clauses of the given formulas to the given solver.
+	 * @param solver some Sat4j solver
+	 * @param formulas some formulas
+	 * @return the propositions of the formulas indexed by their variables.
+	 * @throws ContradictionException if the solver detects a contradiction.
+	 */
+	private Proposition[] addClauses(ISolver solver, Collection<PlFormula> formulas) throws ContradictionException {
+		List<int[]> clauses = new ArrayList<int[]>();
+		Proposition[] props;
+		if(this.cache.isDefinitional() == this.isDefinitionalCnf())
+			props = this.cache.getClauses(formulas, clauses);
+		else {
+			// the cache uses another encoding, so the formulas are encoded directly
+			TseitinEncoder encoder = this.createEncoder(new ArrayList<Proposition>());
+			for(PlFormula f: formulas)
+				encoder.encode(f, clauses);
+			props = new Proposition[encoder.getNumberOfVariables() + 1];
+			for(int v = 1; v < props.length; v++)
+				props[v] = encoder.getProposition(v);
+		}
+		solver.newVar(Math.max(this.maxvar, props.length));
+		solver.setExpectedNumberOfClauses(Math.min(this.nbclauses, Math.max(clauses.size(), 1)));
+		for(int[] clause: clauses) {
+			if(clause.length == 0)
+				throw new ContradictionException();
+			// Sat4j may modify the given vector, so the cached clause is copied
+			solver.addClause(new VecInt(clause.clone()));
+		}
+		return props;
+	}
 	
 	/* (non-Javadoc)
 	 * @see org.tweetyproject.logics.pl.sat.SatSolver#isSatisfiable(java.util.Collection)
@@ -81,45 +138,8 @@ public class Sat4jSolver extends SatSolver{
 	@Override
 	public boolean isSatisfiable(Collection<PlFormula> formulas) {
 		ISolver solver = SolverFactory.newDefault();
-		solver.newVar(this.maxvar);
-		solver.setExpectedNumberOfClauses(this.nbclauses);		
-		PlSignature sig = new PlSignature();
-		for(PlFormula f: formulas)
-			sig.addAll(f.getAtoms());		
-		Map<Proposition, Integer> prop2Idx = new HashMap<Proposition, Integer>();
-		Proposition[] idx2Prop = new Proposition[sig.size()];
-		int i = 0;
-		for(Proposition p: sig){
-			prop2Idx.put(p, i);
-			idx2Prop[i++] = p;
-		}
 		try{
-			for(PlFormula f: formulas){
-				Conjunction conj;
-				if(f.isClause()) {
-					conj = new Conjunction();
-					conj.add(f);
-				}else conj = f.toCnf();
-				for(PlFormula f2: conj){
-					Disjunction disj = (Disjunction) f2;
-					// first remove contradictions
-					while(disj.remove(new Contradiction()));					
-					int[] clause = new int[disj.size()];
-					i = 0;
-					boolean taut = false;
-					for(PlFormula f3: disj){
-						if(f3 instanceof Proposition){
-							clause[i++] = prop2Idx.get(f3) + 1; 
-						}else if(f3 instanceof Negation){
-							clause[i++] = - prop2Idx.get(((Negation)f3).getFormula()) - 1;
-						}else if(f3 instanceof Tautology){
-							taut = true;
-							break;
-						}else throw new RuntimeException("Unexpected formula type in conjunctive normal form: " + f3.getClass());
-					}
-					if(!taut) solver.addClause(new VecInt(clause));
-				}
-			}
+			this.addClauses(solver, formulas);
 			return solver.isSatisfiable();
 		}catch(ContradictionException e){
 			return false;
@@ -134,52 +154,14 @@ public class Sat4jSolver extends SatSolver{
 	@Override
 	public Interpretation<PlBeliefSet,PlFormula> getWitness(Collection<PlFormula> formulas) {
 		ISolver solver = SolverFactory.newLight();
-		solver.newVar(this.maxvar);
-		solver.setExpectedNumberOfClauses(this.nbclauses);		
-		PlSignature sig = new PlSignature();
-		for(PlFormula f: formulas)
-			sig.addAll(f.getAtoms());		
-		Map<Proposition, Integer> prop2Idx = new HashMap<Proposition, Integer>();
-		Proposition[] idx2Prop = new Proposition[sig.size()];
-		int i = 0;
-		for(Proposition p: sig){
-			prop2Idx.put(p, i);
-			idx2Prop[i++] = p;
-		}
 		try{
-			for(PlFormula f: formulas){
-				Conjunction conj;
-				if(f.isClause()) {
-					conj = new Conjunction();
-					conj.add(f);
-				}else conj = f.toCnf();
-				for(PlFormula f2: conj){
-					Disjunction disj = (Disjunction) f2;
-					// first remove contradictions
-					while(disj.remove(new Contradiction()));					
-					int[] clause = new int[disj.size()];
-					i = 0;
-					boolean taut = false;
-					for(PlFormula f3: disj){
-						if(f3 instanceof Proposition){
-							clause[i++] = prop2Idx.get(f3) + 1; 
-						}else if(f3 instanceof Negation){
-							clause[i++] = - prop2Idx.get(((Negation)f3).getFormula()) - 1;
-						}else if(f3 instanceof Tautology){
-							taut = true;
-							break;
-						}else throw new RuntimeException("Unexpected formula type in conjunctive normal form: " + f3.getClass());
-					}
-					if(!taut) solver.addClause(new VecInt(clause));
-				}
-			}
+			Proposition[] props = this.addClauses(solver, formulas);
 			if(!solver.isSatisfiable())
 				return null;
-			int[] model = solver.model();
 			PossibleWorld w = new PossibleWorld();
-			for(i = 0; i < model.length; i++)
-				if(model[i]>0)
-					w.add(idx2Prop[model[i]-1]);				
+			for(int v = 1; v < props.length; v++)
+				if(props[v] != null && solver.model(v))
+					w.add(props[v]);
 			return w;
 		}catch(ContradictionException e){
 			return null;
@@ -187,4 +169,91 @@ public class Sat4jSolver extends SatSolver{
 			throw new RuntimeException(e);
 		}
 	}	
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.logics.pl.sat.SatSolver#createSession()
+	 */
+	@Override
+	public SatSolverSession createSession() {
+		return new Sat4jSession();
+	}
+
+	/**
+	 * An incremental solving session that keeps a single Sat4j solver instance alive.
+	 */
+	private class Sat4jSession extends AbstractSatSolverSession {
+		/** The Sat4j solver. */
+		private ISolver solver;
+		/** The maximal variable allocated in the solver so far. */
+		private int maxvar;
+		/** Whether the clauses are already known to be inconsistent. */
+		private boolean contradiction = false;
+
+		/**
+		 * Creates a new session.
+		 */
+		private Sat4jSession() {
+			this.solver = SolverFactory.newDefault();
+			this.maxvar = Math.min(Sat4jSolver.this.maxvar, 1024);
+			this.solver.newVar(this.maxvar);
+			this.solver.setExpectedNumberOfClauses(Math.min(Sat4jSolver.this.nbclauses, 4096));
+		}
+
+		/**
+		 * Makes sure that the solver knows all variables used so far.
+		 */
+		private void ensureVariables() {
+			int max = this.getNumberOfInternalVariables();
+			if(max > this.maxvar) {
+				this.maxvar = Math.max(max, 2 * this.maxvar);
+				this.solver.newVar(this.maxvar);
+			}
+		}
+
+		/* (non-Javadoc)
+		 * @see org.tweetyproject.logics.pl.sat.AbstractSatSolverSession#addInternalClause(int[])
+		 */
+		@Override
+		protected void addInternalClause(int[] clause) {
+			if(this.contradiction)
+				return;
+			this.ensureVariables();
+			try {
+				this.solver.addClause(new VecInt(clause));
+			} catch (ContradictionException e) {
+				this.contradiction = true;
+			}
+		}
+
+		/* (non-Javadoc)
+		 * @see org.tweetyproject.logics.pl.sat.AbstractSatSolverSession#solveInternal(int[])
+		 */
+		@Override
+		protected boolean solveInternal(int[] assumptions) {
+			if(this.contradiction)
+				return false;
+			this.ensureVariables();
+			try {
+				return this.solver.isSatisfiable(new VecInt(assumptions));
+			} catch (TimeoutException e) {
+				throw new RuntimeException(e);
+			}
+		}
+
+		/* (non-Javadoc)
+		 * @see org.tweetyproject.logics.pl.sat.AbstractSatSolverSession#getInternalValue(int)
+		 */
+		@Override
+		protected boolean getInternalValue(int variable) {
+			return variable <= this.solver.nVars() && this.solver.model(variable);
+		}
+
+		/* (non-Javadoc)
+		 * @see org.tweetyproject.logics.pl.sat.SatSolverSession#close()
+		 */
+		@Override
+		public void close() {
+			this.solver.reset();
+		}
+	}
 }
@@ -18,13 +18,23 @@
  */
 package org.tweetyproject.logics.pl.sat;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.tweetyproject.commons.BeliefSet;
 import org.tweetyproject.commons.Interpretation;
@@ -52,6 +62,8 @@ public abstract class SatSolver implements BeliefSetConsistencyTester<PlFormula>
 	private static SatSolver defaultSatSolver = null;
 	/** For temporary files. */
 	private static File tempFolder = null;
+	/** Whether formulas are converted to clauses by the definitional (Tseitin) transformation. */
+	private boolean definitionalCnf = true;
 
 	/**
 	 * Sets the default SAT solver.
@@ -102,20 +114,56 @@ public abstract class SatSolver implements BeliefSetConsistencyTester<PlFormula>
 	}
 
 	/**
-	 * Converts the given set of formulas to their string representation in Dimacs
-	 * CNF. Note that a single formula may be represented as multiple clauses, so
-	 * there is no simple correspondence between the formulas of the set and the
-	 * Dimacs representation. Use <code>convertToDimacs(.)</code> for obtaining a
-	 * map between those.
+	 * Sets whether formulas are converted to clauses by the definitional (Tseitin)
+	 * transformation (the default) or by {@link PlFormula#toCnf()} when checking
+	 * satisfiability and computing witnesses. The former yields clauses linear in
+	 * the size of the formulas using auxiliary variables, which do not show up in
+	 * witnesses; the latter may be exponentially larger.
+	 * 
+	 * @param definitionalCnf whether the definitional transformation is used.
+	 */
+	public void setDefinitionalCnf(boolean definitionalCnf) {
+		this.definitionalCnf = definitionalCnf;
+	}
+
+	/**
+	 * Returns whether formulas are converted to clauses by the definitional (Tseitin)
+	 * transformation.
+	 * 
+	 * @return "true" iff the definitional transformation is used.
+	 */
+	public boolean isDefinitionalCnf() {
+		return this.definitionalCnf;
+	}
+
+	/**
+	 * Creates an encoder for converting formulas into clauses for checking
+	 * satisfiability and computing witnesses, according to the configuration of this solver.
+	 * 
+	 * @param props some propositions; the proposition at index i is represented by variable i+1.
+	 * @return an encoder
+	 */
+	protected TseitinEncoder createEncoder(List<Proposition> props) {
+		return new TseitinEncoder(props, this.definitionalCnf);
+	}
+
+	/**
+	 * Converts the given formulas to clauses in Dimacs representation, i.e., arrays
+	 * of non-zero integers where the proposition at index i of the given list is
+	 * represented by the variable i+1. Tautological clauses are omitted.
 	 * 
 	 * @param formulas a collection of formulas
 	 * @param props    a list of propositions (=signature) where the indices are
 	 *                 used for writing the clauses.
-	 * @return a string in Dimacs CNF.
+	 * @param mappings if not null, for every clause the formula it originated from
+	 *                 is added to this list.
+	 * @return the clauses, or null if some clause is a contradiction.
 	 */
-	public static String convertToDimacs(Collection<PlFormula> formulas, List<Proposition> props) {
-		String s = "";
-		int num_clauses = 0;
+	protected static List<int[]> toDimacsClauses(Collection<PlFormula> formulas, List<Proposition> props, List<PlFormula> mappings) {
+		Map<Proposition, Integer> index = new HashMap<Proposition, Integer>();
+		for (int i = 0; i < props.size(); i++)
+			index.putIfAbsent(props.get(i), i + 1);
+		List<int[]> clauses = new ArrayList<int[]>();
 		for (PlFormula p : formulas) {
 			Conjunction conj;
 			if (p.isClause()) {
@@ -123,45 +171,121 @@ public abstract class SatSolver implements BeliefSetConsistencyTester<PlFormula>
 				conj.add(p);
 			} else
 				conj = p.toCnf();
-			boolean foundContradiction = false;
 			for (PlFormula p1 : conj) {
 				// as conj is in CNF all formulas should be disjunctions
 				Disjunction disj = (Disjunction) p1;
 				if (disj.isEmpty())
 					continue;
-				num_clauses++;
-				String stemp = "";
+				int[] clause = new int[disj.size()];
+				int size = 0;
+				boolean tautology = false;
 				for (PlFormula p2 : disj) {
-					if (p2 instanceof Proposition) {
-						stemp += (props.indexOf(p2) + 1) + " ";
-					} else if (p2.isLiteral()) 
-						stemp += "-" + (props.indexOf((Proposition) ((Negation) p2).getFormula()) + 1) + " ";
+					if (p2 instanceof Proposition)
+						clause[size++] = index.get(p2);
+					else if (p2.isLiteral())
+						clause[size++] = -index.get(((Negation) p2).getFormula());
 					else if (p2 instanceof Tautology) {
-						stemp = "";
+						tautology = true;
 						break;
-					} else if (p2 instanceof Contradiction) {
-						foundContradiction = true;
-						continue;
-					} else
+					} else if (!(p2 instanceof Contradiction))
 						throw new RuntimeException(p2 + 
 								"This should not happen: formula is supposed to be in CNF but another formula than a literal has been encountered. The type of the formula is " + p2.getClass());
 				}
-				if (stemp != "")
-					s += stemp + "0\n";
-				else  {
-					if (foundContradiction) 
-						//case: whole clause is a contradiction, therefore the entire kb is false
-						return  "p cnf 1 2\n1 0\n-1 0\n";
-					else
-						//case: whole clause is a tautology, remove it from kb
-						num_clauses--;		
+				if (tautology)
+					continue;
+				if (size == 0)
+					// case: whole clause is a contradiction, therefore the entire kb is false
+					return null;
+				clauses.add(size == clause.length ? clause : Arrays.copyOf(clause, size));
+				if (mappings != null)
+					mappings.add(p);
+			}
+		}
+		return clauses;
+	}
+
+	/**
+	 * Writes the given clauses in Dimacs CNF to the given stream. The clauses are
+	 * written directly to the stream (through a small internal buffer) without
+	 * building an intermediate string. The stream is flushed but not closed.
+	 * 
+	 * @param clauses           some clauses in Dimacs representation, or null to
+	 *                          write a contradiction.
+	 * @param numberOfVariables the number of variables
+	 * @param out               some output stream
+	 * @throws IOException if writing to the stream failed.
+	 */
+	public static void writeDimacs(List<int[]> clauses, int numberOfVariables, OutputStream out) throws IOException {
+		DimacsOutput dimacs = new DimacsOutput(out);
+		if (clauses == null) {
+			dimacs.write("p cnf 1 2\n1 0\n-1 0\n");
+		} else if (clauses.isEmpty()) {
+			// case: entire kb is a tautology
+			dimacs.write("p cnf 0 0\n");
+		} else {
+			dimacs.write("p cnf " + numberOfVariables + " " + clauses.size() + "\n");
+			for (int[] clause : clauses) {
+				for (int lit : clause) {
+					dimacs.write(lit);
+					dimacs.write(' ');
 				}
+				dimacs.write('0');
+				dimacs.write('\n');
 			}
 		}
-		if (s == "") 
-			//case: entire kb is a tautology
-			return "p cnf 0 0\n";
-		return "p cnf " + props.size() + " " + num_clauses + "\n" + s;
+		dimacs.flush();
+	}
+
+	/**
+	 * Writes the given set of formulas in Dimacs CNF to the given stream.
+	 * 
+	 * @param formulas a collection of formulas
+	 * @param props    a list of propositions (=signature) where the indices are
+	 *                 used for writing the clauses.
+	 * @param out      some output stream
+	 * @throws IOException if writing to the stream failed.
+	 */
+	public static void writeDimacs(Collection<PlFormula> formulas, List<Proposition> props, OutputStream out) throws IOException {
+		SatSolver.writeDimacs(SatSolver.toDimacsClauses(formulas, props, null), props.size(), out);
+	}
+
+	/**
+	 * Converts the given set of formulas to their string representation in Dimacs
+	 * CNF. Note that a single formula may be represented as multiple clauses, so
+	 * there is no simple correspondence between the formulas of the set and the
+	 * Dimacs representation. Use <code>convertToDimacs(.)</code> for obtaining a
+	 * map between those. For large sets of formulas, consider using 
+	 * <code>writeDimacs(.)</code> instead.
+	 * 
+	 * @param formulas a collection of formulas
+	 * @param props    a list of propositions (=signature) where the indices are
+	 *                 used for writing the clauses.
+	 * @return a string in Dimacs CNF.
+	 */
+	public static String convertToDimacs(Collection<PlFormula> formulas, List<Proposition> props) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			SatSolver.writeDimacs(formulas, props, out);
+		} catch (IOException e) {
+			// does not happen for byte array streams
+			throw new RuntimeException(e);
+		}
+		return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns the propositions of the given formulas in order of their appearance.
+	 * 
+	 * @param formulas a collection of formulas.
+	 * @return a list of propositions.
+	 */
+	private static List<Proposition> getPropositions(Collection<PlFormula> formulas) {
+		Set<Proposition> props = new LinkedHashSet<Proposition>();
+		for (PlFormula f : formulas) {
+			props.removeAll(f.getAtoms());
+			props.addAll(f.getAtoms());
+		}
+		return new ArrayList<Proposition>(props);
 	}
 
 	/**
@@ -177,67 +301,19 @@ public abstract class SatSolver implements BeliefSetConsistencyTester<PlFormula>
 	 *         formulas.
 	 */
 	public static Pair<String, List<PlFormula>> convertToDimacs(Collection<PlFormula> formulas) {
-		List<Proposition> props = new ArrayList<Proposition>();
-		for (PlFormula f : formulas) {
-			props.removeAll(f.getAtoms());
-			props.addAll(f.getAtoms());
-		}
-		List<PlFormula> clauses = new ArrayList<PlFormula>();
+		List<Proposition> props = SatSolver.getPropositions(formulas);
 		List<PlFormula> mappings = new ArrayList<PlFormula>();
-		for (PlFormula p : formulas) {
-			Conjunction pcnf;
-			if (p.isClause()) {
-				pcnf = new Conjunction();
-				pcnf.add(p);
-			} else
-				pcnf = p.toCnf();
-			for (PlFormula sub : pcnf) {
-				clauses.add(sub);
-				mappings.add(p);
-			}
+		List<int[]> clauses = SatSolver.toDimacsClauses(formulas, props, mappings);
+		if (clauses == null || clauses.isEmpty())
+			mappings = new ArrayList<PlFormula>(formulas);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			SatSolver.writeDimacs(clauses, props.size(), out);
+		} catch (IOException e) {
+			// does not happen for byte array streams
+			throw new RuntimeException(e);
 		}
-		int clauseCount = clauses.size();
-		String s = "";
-		for (PlFormula p1 : clauses) {
-			// as conj is in CNF all formulas should be disjunctions
-			Disjunction disj = (Disjunction) p1;
-			String stemp = "";
-			boolean foundContradiction = false;
-			for (PlFormula p2 : disj) {
-				if (p2 instanceof Proposition)
-					stemp += (props.indexOf(p2) + 1) + " ";
-				else if (p2.isLiteral()) 
-					stemp += "-" + (props.indexOf((Proposition) ((Negation) p2).getFormula()) + 1) + " ";
-				else if (p2 instanceof Tautology) {
-					stemp = "";
-					break;
-				} else if (p2 instanceof Contradiction) {
-					foundContradiction = true;
-					continue;
-				} else
-					throw new RuntimeException(
-							"This should not happen: formula is supposed to be in CNF but another formula than a literal has been encountered. The type of the formula is " + p2.getClass());
-			}
-			if (stemp == "") {
-				if (foundContradiction) {
-					//case: whole clause is a contradiction, therefore the entire kb is false
-					String contradiction = "p cnf 1 2\n1 0\n-1 0\n";
-					return new Pair<String, List<PlFormula>>(contradiction,new ArrayList<PlFormula>(formulas));
-				}
-				else
-					//case: whole clause is a tautology
-					clauseCount--;		
-			}
-			if (stemp != "")
-				s += stemp + "0\n";
-		}
-		if (s == "") {
-			//case: entire kb is a tautology
-			String tautology = "p cnf 0 0\n";
-			return new Pair<String, List<PlFormula>>(tautology,new ArrayList<PlFormula>(formulas));
-		}
-		s = "p cnf " + props.size() + " " + clauseCount + "\n" + s;
-		return new Pair<String, List<PlFormula>>(s, mappings);
+		return new Pair<String, List<PlFormula>>(new String(out.toByteArray(), StandardCharsets.UTF_8), mappings);
 	}
 
 	/**
@@ -252,12 +328,11 @@ public abstract class SatSolver implements BeliefSetConsistencyTester<PlFormula>
 	 */
 	protected static File createTmpDimacsFile(Collection<PlFormula> formulas, List<Proposition> props)
 			throws IOException {
-		String r = SatSolver.convertToDimacs(formulas, props);
 		File f = File.createTempFile("tweety-sat", ".cnf", SatSolver.tempFolder);
 		f.deleteOnExit();
-		PrintWriter writer = new PrintWriter(f, "UTF-8");
-		writer.print(r);
-		writer.close();
+		try (OutputStream out = new FileOutputStream(f)) {
+			SatSolver.writeDimacs(formulas, props, out);
+		}
 		return f;
 	}
 
@@ -272,13 +347,99 @@ public abstract class SatSolver implements BeliefSetConsistencyTester<PlFormula>
 	 */
 	protected static Pair<File, List<PlFormula>> createTmpDimacsFile(Collection<PlFormula> formulas)
 			throws IOException {
-		Pair<String, List<PlFormula>> r = SatSolver.convertToDimacs(formulas);
-		File f = File.createTempFile("tweety-sat", ".cnf");
+		List<Proposition> props = SatSolver.getPropositions(formulas);
+		List<PlFormula> mappings = new ArrayList<PlFormula>();
+		List<int[]> clauses = SatSolver.toDimacsClauses(formulas, props, mappings);
+		if (clauses == null || clauses.isEmpty())
+			mappings = new ArrayList<PlFormula>(formulas);
+		File f = File.createTempFile("tweety-sat", ".cnf", SatSolver.tempFolder);
 		f.deleteOnExit();
-		PrintWriter writer = new PrintWriter(f, "UTF-8");
-		writer.print(r.getFirst());
-		writer.close();
-		return new Pair<File, List<PlFormula>>(f, r.getSecond());
+		try (OutputStream out = new FileOutputStream(f)) {
+			SatSolver.writeDimacs(clauses, props.size(), out);
+		}
+		return new Pair<File, List<PlFormula>>(f, mappings);
+	}
+
+	/**
+	 * A buffered writer for Dimacs output that writes integers as ASCII without 
+	 * creating intermediate strings.
+	 */
+	private static class DimacsOutput {
+		/** The underlying stream. */
+		private OutputStream out;
+		/** The buffer. */
+		private byte[] buffer = new byte[1 << 16];
+		/** The number of bytes in the buffer. */
+		private int size = 0;
+
+		/**
+		 * Creates a new Dimacs output for the given stream.
+		 * @param out some output stream
+		 */
+		private DimacsOutput(OutputStream out) {
+			this.out = out;
+		}
+
+		/**
+		 * Writes a single ASCII character.
+		 * @param c some character
+		 * @throws IOException if writing failed.
+		 */
+		private void write(char c) throws IOException {
+			if (this.size == this.buffer.length) {
+				this.out.write(this.buffer, 0, this.size);
+				this.size = 0;
+			}
+			this.buffer[this.size++] = (byte) c;
+		}
+
+		/**
+		 * Writes the decimal representation of the given integer.
+		 * @param i some integer
+		 * @throws IOException if writing failed.
+		 */
+		private void write(int i) throws IOException {
+			if (this.size + 11 > this.buffer.length) {
+				this.out.write(this.buffer, 0, this.size);
+				this.size = 0;
+			}
+			long l = i;
+			if (l < 0) {
+				this.buffer[this.size++] = '-';
+				l = -l;
+			}
+			int start = this.size;
+			do {
+				this.buffer[this.size++] = (byte) ('0' + (l % 10));
+				l /= 10;
+			} while (l > 0);
+			// reverse digits
+			for (int lo = start, hi = this.size - 1; lo < hi; lo++, hi--) {
+				byte b = this.buffer[lo];
+				this.buffer[lo] = this.buffer[hi];
+				this.buffer[hi] = b;
+			}
+		}
+
+		/**
+		 * Writes the given ASCII string.
+		 * @param s some string
+		 * @throws IOException if writing failed.
+		 */
+		private void write(String s) throws IOException {
+			for (int i = 0; i < s.length(); i++)
+				this.write(s.charAt(i));
+		}
+
+		/**
+		 * Flushes the buffer and the underlying stream.
+		 * @throws IOException if writing failed.
+		 */
+		private void flush() throws IOException {
+			this.out.write(this.buffer, 0, this.size);
+			this.size = 0;
+			this.out.flush();
+		}
 	}
 
 	/**
@@ -297,6 +458,99 @@ public abstract class SatSolver implements BeliefSetConsistencyTester<PlFormula>
 	 */
 	public abstract boolean isSatisfiable(Collection<PlFormula> formulas);
 
+	/**
+	 * Creates a new incremental solving session on clauses in Dimacs representation.
+	 * This default implementation does not work incrementally: the clauses are
+	 * collected and every call to <code>solve(.)</code> is delegated to
+	 * <code>getWitness(.)</code>. Solvers that support incremental solving
+	 * should override this method.
+	 * 
+	 * @return a new solving session.
+	 */
+	public SatSolverSession createSession() {
+		return new DefaultSession(this);
+	}
+
+	/**
+	 * A non-incremental solving session that translates its clauses to propositional
+	 * formulas and uses <code>getWitness(.)</code> of some SAT solver.
+	 */
+	private static class DefaultSession implements SatSolverSession {
+		/** The underlying solver. */
+		private SatSolver solver;
+		/** The clauses of this session. */
+		private List<PlFormula> clauses = new ArrayList<PlFormula>();
+		/** The propositions representing variables, indexed by variable. */
+		private List<Proposition> props = new ArrayList<Proposition>();
+		/** The last model found. */
+		private Interpretation<PlBeliefSet, PlFormula> model = null;
+		/** The number of clauses at the beginning of every open group. */
+		private Deque<Integer> groups = new ArrayDeque<Integer>();
+
+		/**
+		 * Creates a new session for the given solver.
+		 * @param solver some SAT solver
+		 */
+		private DefaultSession(SatSolver solver) {
+			this.solver = solver;
+		}
+
+		/**
+		 * Returns the literal of the given Dimacs literal.
+		 * @param lit some literal in Dimacs representation
+		 * @return the corresponding propositional literal
+		 */
+		private PlFormula toLiteral(int lit) {
+			int v = Math.abs(lit);
+			while(this.props.size() <= v)
+				this.props.add(new Proposition("x" + this.props.size()));
+			return lit > 0 ? this.props.get(v) : new Negation(this.props.get(v));
+		}
+
+		@Override
+		public void addClause(int... clause) {
+			Disjunction disj = new Disjunction();
+			for(int lit: clause)
+				disj.add(this.toLiteral(lit));
+			this.clauses.add(clause.length == 0 ? new Contradiction() : disj);
+		}
+
+		@Override
+		public boolean solve(int... assumptions) {
+			Collection<PlFormula> formulas = new ArrayList<PlFormula>(this.clauses);
+			for(int lit: assumptions)
+				formulas.add(this.toLiteral(lit));
+			this.model = this.solver.getWitness(formulas);
+			return this.model != null;
+		}
+
+		@Override
+		public void push() {
+			this.groups.push(this.clauses.size());
+		}
+
+		@Override
+		public void pop() {
+			if(this.groups.isEmpty())
+				throw new IllegalStateException("There is no open group of clauses.");
+			int size = this.groups.pop();
+			this.clauses.subList(size, this.clauses.size()).clear();
+		}
+
+		@Override
+		public boolean getValue(int variable) {
+			if(this.model == null || variable >= this.props.size())
+				return false;
+			return this.model.satisfies(this.props.get(variable));
+		}
+
+		@Override
+		public void close() {
+			this.clauses = null;
+			this.model = null;
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
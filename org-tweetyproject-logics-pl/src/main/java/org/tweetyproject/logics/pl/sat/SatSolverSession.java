@@ -0,0 +1,77 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.logics.pl.sat;
+
+/**
+ * An incremental SAT solving session. Clauses are given in Dimacs representation,
+ * i.e., as arrays of non-zero integers where a positive integer v denotes the
+ * variable v and a negative integer -v denotes its negation. Clauses are added
+ * once and remain in the session, so that subsequent calls to {@link #solve(int...)}
+ * can reuse everything the solver has learned so far.
+ * <br>
+ * <br>Clauses can be organised in groups: all clauses added after a call to
+ * {@link #push()} are removed again by the matching call to {@link #pop()}.
+ * <br>
+ * <br>Sessions are obtained via {@link SatSolver#createSession()} and have to be
+ * closed after use.
+ *
+ * @author Sebastian Franke
+ */
+public interface SatSolverSession extends AutoCloseable {
+
+	/**
+	 * Adds the given clause to this session.
+	 * @param clause a clause in Dimacs representation (without the terminating zero)
+	 */
+	void addClause(int... clause);
+
+	/**
+	 * Checks whether the clauses of this session are satisfiable under the
+	 * given assumptions. Assumptions only hold for this call.
+	 * @param assumptions some literals in Dimacs representation that are assumed to be true
+	 * @return "true" iff the clauses together with the assumptions are satisfiable.
+	 */
+	boolean solve(int... assumptions);
+
+	/**
+	 * Opens a new group of clauses. All clauses added until the matching call
+	 * to {@link #pop()} belong to this group.
+	 */
+	void push();
+
+	/**
+	 * Removes all clauses added since the matching call to {@link #push()}.
+	 * @throws IllegalStateException if there is no open group of clauses.
+	 */
+	void pop();
+
+	/**
+	 * Returns the truth value of the given variable in the model found by the last
+	 * successful call to {@link #solve(int...)}.
+	 * @param variable some variable
+	 * @return the truth value of the variable in the last model.
+	 */
+	boolean getValue(int variable);
+
+	/* (non-Javadoc)
+	 * @see java.lang.AutoCloseable#close()
+	 */
+	@Override
+	void close();
+}
@@ -18,13 +18,15 @@
  */
 package org.tweetyproject.logics.pl.sat;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.Stack;
 
 import org.tweetyproject.commons.Interpretation;
 import org.tweetyproject.logics.pl.semantics.PossibleWorld;
-import org.tweetyproject.logics.pl.syntax.Conjunction;
 import org.tweetyproject.logics.pl.syntax.Disjunction;
 import org.tweetyproject.logics.pl.syntax.Negation;
 import org.tweetyproject.logics.pl.syntax.PlBeliefSet;
@@ -49,14 +51,36 @@ public class SimpleDpllSolver extends SatSolver {
 	@Override
 	public Interpretation<PlBeliefSet,PlFormula> getWitness(Collection<PlFormula> formulas) {
 		Collection<Disjunction> clauses = new HashSet<Disjunction>();
+		// auxiliary propositions introduced by the conversion to CNF
+		Set<Proposition> auxiliary = new HashSet<Proposition>();
 		// check if we are working with CNF; if not, convert
+		TseitinEncoder encoder = this.createEncoder(new ArrayList<Proposition>());
+		List<int[]> encoded = new ArrayList<int[]>();
 		for(PlFormula f: formulas) {
-			if(f.isClause())
+			if(f instanceof Disjunction && f.isClause())
 				clauses.add((Disjunction)f);
-			else {
-				f = f.toCnf();
-				for(PlFormula c: ((Conjunction)f)) 
-					clauses.add((Disjunction)c);				
+			else encoder.encode(f, encoded);
+		}
+		if(!encoded.isEmpty()) {
+			Collection<Proposition> atoms = PlSignature.getSignature(formulas).toCollection();
+			Proposition[] props = new Proposition[encoder.getNumberOfVariables() + 1];
+			for(int v = 1; v < props.length; v++) {
+				props[v] = encoder.getProposition(v);
+				if(props[v] == null) {
+					String name = "T" + v;
+					while(atoms.contains(new Proposition(name)))
+						name = "_" + name;
+					props[v] = new Proposition(name);
+					auxiliary.add(props[v]);
+				}
+			}
+			for(int[] c: encoded) {
+				if(c.length == 0)
+					return null;
+				Disjunction clause = new Disjunction();
+				for(int lit: c)
+					clause.add(lit > 0 ? props[lit] : new Negation(props[-lit]));
+				clauses.add(clause);
 			}
 		}
 		// we need some data structures
@@ -136,7 +160,7 @@ public class SimpleDpllSolver extends SatSolver {
 		// we found a witness
 		PossibleWorld w = new PossibleWorld();
 		for(PlFormula p: sel_literals)
-			if(p instanceof Proposition)
+			if(p instanceof Proposition && !auxiliary.contains(p))
 				w.add((Proposition)p);
 		return w;
 	}
@@ -0,0 +1,394 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.logics.pl.sat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.tweetyproject.logics.pl.syntax.AssociativePlFormula;
+import org.tweetyproject.logics.pl.syntax.Conjunction;
+import org.tweetyproject.logics.pl.syntax.Contradiction;
+import org.tweetyproject.logics.pl.syntax.Disjunction;
+import org.tweetyproject.logics.pl.syntax.Equivalence;
+import org.tweetyproject.logics.pl.syntax.ExclusiveDisjunction;
+import org.tweetyproject.logics.pl.syntax.Implication;
+import org.tweetyproject.logics.pl.syntax.Negation;
+import org.tweetyproject.logics.pl.syntax.PlFormula;
+import org.tweetyproject.logics.pl.syntax.Proposition;
+import org.tweetyproject.logics.pl.syntax.Tautology;
+
+/**
+ * Converts propositional formulas into clauses in Dimacs representation, i.e.,
+ * arrays of non-zero integers where v denotes variable v and -v its negation.
+ * <br>
+ * <br>By default, the definitional (Tseitin) transformation is used: every
+ * sub-formula that is not a literal is represented by an auxiliary variable that
+ * is defined to be equivalent to it. The resulting clauses are equisatisfiable to
+ * the formulas and linear in their size, and every model of the formulas can be
+ * extended to a model of the clauses (and vice versa, by dropping the auxiliary
+ * variables). Sub-formulas are hashed structurally, i.e., sub-formulas with the
+ * same connective and the same (encoded) operands share one auxiliary variable,
+ * and constants are propagated. Formulas that are already clauses are
+ * added directly without auxiliary variables.
+ * <br>
+ * <br>Alternatively, the encoder can use the conjunctive normal form obtained by
+ * {@link PlFormula#toCnf()}, which introduces no auxiliary variables but may be
+ * exponentially larger.
+ * <br>
+ * <br>Variables are assigned consecutively starting with 1; propositions given
+ * at construction time are represented by the variables 1,...,n in the given order.
+ *
+ * @author Sebastian Franke
+ */
+public class TseitinEncoder {
+
+	/** Marker for the literal "true" (its negation is "false"). */
+	private static final int TRUE = Integer.MAX_VALUE;
+	/** Operator of conjunction gates. */
+	private static final int AND = 0;
+	/** Operator of exclusive disjunction gates. */
+	private static final int XOR = 1;
+
+	/** Whether the definitional transformation is used. */
+	private final boolean definitional;
+	/** The proposition of each variable v at index v-1, null for auxiliary variables. */
+	private final List<Proposition> variables = new ArrayList<Proposition>();
+	/** The variables of the propositions. */
+	private final Map<Proposition,Integer> prop2var = new HashMap<Proposition,Integer>();
+	/** The auxiliary variables of gates. */
+	private final Map<Gate,Integer> gates = new HashMap<Gate,Integer>();
+	/** The literals of already encoded formula objects. */
+	private final Map<PlFormula,Integer> encoded = new IdentityHashMap<PlFormula,Integer>();
+
+	/**
+	 * Creates a new encoder using the definitional transformation.
+	 */
+	public TseitinEncoder() {
+		this(new ArrayList<Proposition>(), true);
+	}
+
+	/**
+	 * Creates a new encoder.
+	 * @param props some propositions; the proposition at index i is represented by variable i+1.
+	 * @param definitional whether the definitional transformation is used; otherwise
+	 * 	formulas are converted by {@link PlFormula#toCnf()}.
+	 */
+	public TseitinEncoder(List<Proposition> props, boolean definitional) {
+		this.definitional = definitional;
+		for(Proposition p: props)
+			this.getVariable(p);
+	}
+
+	/**
+	 * Returns whether this encoder uses the definitional transformation.
+	 * @return "true" iff the definitional transformation is used.
+	 */
+	public boolean isDefinitional() {
+		return this.definitional;
+	}
+
+	/**
+	 * Returns the variable of the given proposition, assigning a new one if necessary.
+	 * @param p some proposition
+	 * @return the variable of p
+	 */
+	public int getVariable(Proposition p) {
+		Integer v = this.prop2var.get(p);
+		if(v == null) {
+			this.variables.add(p);
+			v = this.variables.size();
+			this.prop2var.put(p, v);
+		}
+		return v;
+	}
+
+	/**
+	 * Returns the proposition represented by the given variable.
+	 * @param v some variable
+	 * @return the proposition of v, or null if v is an auxiliary variable.
+	 */
+	public Proposition getProposition(int v) {
+		return this.variables.get(v - 1);
+	}
+
+	/**
+	 * Returns the number of variables used so far, including auxiliary variables.
+	 * @return the number of variables.
+	 */
+	public int getNumberOfVariables() {
+		return this.variables.size();
+	}
+
+	/**
+	 * Adds clauses to the given list that are satisfiable together with the clauses
+	 * encoded before iff the given formula is satisfiable together with the formulas
+	 * encoded before. A contradiction yields an empty clause, tautological clauses
+	 * are omitted.
+	 * @param formula some formula
+	 * @param clauses a list the clauses are added to.
+	 */
+	public void encode(PlFormula formula, List<int[]> clauses) {
+		// note that exclusive disjunctions of literals also claim to be clauses
+		if(formula.isLiteral() || (formula instanceof Disjunction && formula.isClause()))
+			this.addClause(formula instanceof Disjunction ? (Disjunction) formula : new Disjunction(Arrays.asList(formula)), clauses);
+		else if(!this.definitional) {
+			for(PlFormula f: formula.toCnf())
+				this.addClause((Disjunction) f, clauses);
+		}else if(formula instanceof Conjunction) {
+			for(PlFormula f: (Conjunction) formula)
+				this.encode(f, clauses);
+		}else if(formula instanceof Disjunction) {
+			int[] clause = new int[((Disjunction) formula).size()];
+			int size = 0;
+			for(PlFormula f: (Disjunction) formula) {
+				int l = this.literal(f, clauses);
+				if(l == TRUE)
+					return;
+				if(l != -TRUE)
+					clause[size++] = l;
+			}
+			clauses.add(size == clause.length ? clause : Arrays.copyOf(clause, size));
+		}else {
+			int l = this.literal(formula, clauses);
+			if(l != TRUE)
+				clauses.add(l == -TRUE ? new int[0] : new int[] { l });
+		}
+	}
+
+	/**
+	 * Adds the given clause (a disjunction of literals and constants).
+	 * @param disj some disjunction of literals
+	 * @param clauses a list the clause is added to.
+	 */
+	private void addClause(Disjunction disj, List<int[]> clauses) {
+		int[] clause = new int[disj.size()];
+		int size = 0;
+		for(PlFormula f: disj) {
+			if(f instanceof Proposition)
+				clause[size++] = this.getVariable((Proposition) f);
+			else if(f instanceof Negation && ((Negation) f).getFormula() instanceof Proposition)
+				clause[size++] = -this.getVariable((Proposition) ((Negation) f).getFormula());
+			else if(f instanceof Tautology || (f instanceof Negation && ((Negation) f).getFormula() instanceof Contradiction))
+				return;
+			else if(!(f instanceof Contradiction || (f instanceof Negation && ((Negation) f).getFormula() instanceof Tautology)))
+				throw new IllegalArgumentException("Unexpected formula type in conjunctive normal form: " + f.getClass());
+		}
+		clauses.add(size == clause.length ? clause : Arrays.copyOf(clause, size));
+	}
+
+	/**
+	 * Returns a literal equivalent to the given formula (given the definitions added
+	 * to the clauses), or TRUE/-TRUE if the formula is equivalent to a constant.
+	 * @param formula some formula
+	 * @param clauses a list definitions of auxiliary variables are added to.
+	 * @return a literal
+	 */
+	private int literal(PlFormula formula, List<int[]> clauses) {
+		if(formula instanceof Proposition)
+			return this.getVariable((Proposition) formula);
+		if(formula instanceof Tautology)
+			return TRUE;
+		if(formula instanceof Contradiction)
+			return -TRUE;
+		if(formula instanceof Negation)
+			return -this.literal(((Negation) formula).getFormula(), clauses);
+		Integer l = this.encoded.get(formula);
+		if(l != null)
+			return l;
+		int lit;
+		if(formula instanceof Conjunction || formula instanceof Disjunction) {
+			int[] args = new int[((AssociativePlFormula) formula).size()];
+			int i = 0;
+			for(PlFormula f: (AssociativePlFormula) formula)
+				args[i++] = this.literal(f, clauses);
+			lit = formula instanceof Conjunction ? this.and(args, clauses) : -this.and(negate(args), clauses);
+		}else if(formula instanceof ExclusiveDisjunction) {
+			ExclusiveDisjunction x = (ExclusiveDisjunction) formula;
+			// the empty exclusive disjunction is a tautology (see PossibleWorld)
+			if(x.isEmpty())
+				lit = TRUE;
+			else {
+				lit = -TRUE;
+				for(PlFormula f: x)
+					lit = this.xor(lit, this.literal(f, clauses), clauses);
+			}
+		}else if(formula instanceof Implication) {
+			Implication i = (Implication) formula;
+			lit = -this.and(new int[] { this.literal(i.getFormulas().getFirst(), clauses), -this.literal(i.getFormulas().getSecond(), clauses) }, clauses);
+		}else if(formula instanceof Equivalence) {
+			Equivalence e = (Equivalence) formula;
+			lit = -this.xor(this.literal(e.getFormulas().getFirst(), clauses), this.literal(e.getFormulas().getSecond(), clauses), clauses);
+		}else
+			// other formulas (e.g. cardinality constraints) are defined by their CNF
+			lit = this.literal(formula.toCnf(), clauses);
+		this.encoded.put(formula, lit);
+		return lit;
+	}
+
+	/**
+	 * Returns the negated literals.
+	 * @param lits some literals
+	 * @return the negated literals (in place).
+	 */
+	private static int[] negate(int[] lits) {
+		for(int i = 0; i < lits.length; i++)
+			lits[i] = -lits[i];
+		return lits;
+	}
+
+	/**
+	 * Returns a literal equivalent to the conjunction of the given literals.
+	 * @param args some literals (may be modified)
+	 * @param clauses a list the definition is added to.
+	 * @return a literal
+	 */
+	private int and(int[] args, List<int[]> clauses) {
+		Arrays.sort(args);
+		int size = 0;
+		for(int i = 0; i < args.length; i++) {
+			if(args[i] == -TRUE)
+				return -TRUE;
+			if(args[i] == TRUE || (size > 0 && args[size - 1] == args[i]))
+				continue;
+			args[size++] = args[i];
+		}
+		// complementary literals
+		for(int i = 0, j = size - 1; i < j; ) {
+			if(-args[i] == args[j])
+				return -TRUE;
+			if(-args[i] > args[j])
+				i++;
+			else j--;
+		}
+		if(size == 0)
+			return TRUE;
+		if(size == 1)
+			return args[0];
+		int[] lits = Arrays.copyOf(args, size);
+		Gate gate = new Gate(AND, lits);
+		Integer x = this.gates.get(gate);
+		if(x != null)
+			return x;
+		x = this.newAuxiliaryVariable();
+		this.gates.put(gate, x);
+		int[] clause = new int[size + 1];
+		clause[0] = x;
+		for(int i = 0; i < size; i++) {
+			clauses.add(new int[] { -x, lits[i] });
+			clause[i + 1] = -lits[i];
+		}
+		clauses.add(clause);
+		return x;
+	}
+
+	/**
+	 * Returns a literal equivalent to the exclusive disjunction of the given literals.
+	 * @param a some literal
+	 * @param b some literal
+	 * @param clauses a list the definition is added to.
+	 * @return a literal
+	 */
+	private int xor(int a, int b, List<int[]> clauses) {
+		// normalise to positive operands, negations flip the result
+		boolean negated = false;
+		if(a < 0) {
+			a = -a;
+			negated = !negated;
+		}
+		if(b < 0) {
+			b = -b;
+			negated = !negated;
+		}
+		int result;
+		if(a == TRUE)
+			result = -b;
+		else if(b == TRUE)
+			result = -a;
+		else if(a == b)
+			result = -TRUE;
+		else {
+			int[] lits = new int[] { Math.min(a, b), Math.max(a, b) };
+			Gate gate = new Gate(XOR, lits);
+			Integer x = this.gates.get(gate);
+			if(x == null) {
+				x = this.newAuxiliaryVariable();
+				this.gates.put(gate, x);
+				clauses.add(new int[] { -x, a, b });
+				clauses.add(new int[] { -x, -a, -b });
+				clauses.add(new int[] { x, -a, b });
+				clauses.add(new int[] { x, a, -b });
+			}
+			result = x;
+		}
+		return negated ? -result : result;
+	}
+
+	/**
+	 * Returns a new auxiliary variable.
+	 * @return a new auxiliary variable.
+	 */
+	private int newAuxiliaryVariable() {
+		this.variables.add(null);
+		return this.variables.size();
+	}
+
+	/**
+	 * A gate, i.e. an operator applied to some sorted literals. Disjunctions are
+	 * represented as negated conjunctions of the negated literals.
+	 */
+	private static final class Gate {
+		/** The operator. */
+		private final int op;
+		/** The operands. */
+		private final int[] args;
+
+		/**
+		 * Creates a new gate.
+		 * @param op some operator
+		 * @param args some literals
+		 */
+		private Gate(int op, int[] args) {
+			this.op = op;
+			this.args = args;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return 31 * Arrays.hashCode(this.args) + this.op;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if(!(obj instanceof Gate))
+				return false;
+			Gate other = (Gate) obj;
+			return this.op == other.op && Arrays.equals(this.args, other.args);
+		}
+	}
+}
@@ -0,0 +1,305 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.logics.pl.semantics;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.tweetyproject.logics.pl.syntax.AssociativePlFormula;
+import org.tweetyproject.logics.pl.syntax.Conjunction;
+import org.tweetyproject.logics.pl.syntax.Contradiction;
+import org.tweetyproject.logics.pl.syntax.Disjunction;
+import org.tweetyproject.logics.pl.syntax.Equivalence;
+import org.tweetyproject.logics.pl.syntax.ExclusiveDisjunction;
+import org.tweetyproject.logics.pl.syntax.Implication;
+import org.tweetyproject.logics.pl.syntax.Negation;
+import org.tweetyproject.logics.pl.syntax.PlFormula;
+import org.tweetyproject.logics.pl.syntax.Proposition;
+import org.tweetyproject.logics.pl.syntax.Tautology;
+
+/**
+ * A propositional formula compiled against a {@link PropositionIndex} into a flat
+ * array of integers, which can be evaluated on the bits of a {@link PackedPossibleWorld}
+ * without any set lookups or allocations.
+ * <br>
+ * <br>The formula is stored in pre-order; every node occupies three integers: its operator,
+ * its argument (the index of a proposition for atoms) and the position directly after
+ * the node and all its sub-formulas. The latter allows to skip sub-formulas, so
+ * evaluation short-circuits just like {@link PossibleWorld#satisfies(PlFormula)}, whose
+ * semantics is preserved for all supported formula types.
+ *
+ * @author Sebastian Franke
+ */
+public class CompiledPlFormula {
+
+	/** Operator of propositions. */
+	private static final int VAR = 0;
+	/** Operator of tautologies. */
+	private static final int TRUE = 1;
+	/** Operator of contradictions. */
+	private static final int FALSE = 2;
+	/** Operator of negations. */
+	private static final int NOT = 3;
+	/** Operator of conjunctions. */
+	private static final int AND = 4;
+	/** Operator of disjunctions. */
+	private static final int OR = 5;
+	/** Operator of exclusive disjunctions. */
+	private static final int XOR = 6;
+	/** Operator of implications. */
+	private static final int IMPL = 7;
+	/** Operator of equivalences. */
+	private static final int EQUIV = 8;
+
+	/** The size of a node in the program. */
+	private static final int NODE = 3;
+
+	/** The index the formula has been compiled against. */
+	private final PropositionIndex index;
+	/** The program. */
+	private final int[] program;
+
+	/**
+	 * Creates a new compiled formula.
+	 * @param index some proposition index
+	 * @param program the program
+	 */
+	private CompiledPlFormula(PropositionIndex index, int[] program) {
+		this.index = index;
+		this.program = program;
+	}
+
+	/**
+	 * Compiles the given formula against the given index.
+	 * @param formula some formula
+	 * @param index a proposition index containing all propositions of the formula
+	 * @return the compiled formula
+	 * @throws IllegalArgumentException if the formula contains a proposition that is not
+	 * 	indexed or is of a type that cannot be evaluated by possible worlds.
+	 */
+	public static CompiledPlFormula compile(PlFormula formula, PropositionIndex index) throws IllegalArgumentException {
+		Compiler c = new Compiler(index);
+		c.compile(formula);
+		return new CompiledPlFormula(index, Arrays.copyOf(c.program, c.size));
+	}
+
+	/**
+	 * Compiles the conjunction of the given formulas against the given index.
+	 * @param formulas some formulas, e.g. a belief set
+	 * @param index a proposition index containing all propositions of the formulas
+	 * @return the compiled conjunction of the formulas
+	 * @throws IllegalArgumentException if one of the formulas contains a proposition that is
+	 * 	not indexed or is of a type that cannot be evaluated by possible worlds.
+	 */
+	public static CompiledPlFormula compile(Collection<? extends PlFormula> formulas, PropositionIndex index) throws IllegalArgumentException {
+		Compiler c = new Compiler(index);
+		int pc = c.node(AND, 0);
+		for(PlFormula f: formulas)
+			c.compile(f);
+		c.program[pc + 2] = c.size;
+		return new CompiledPlFormula(index, Arrays.copyOf(c.program, c.size));
+	}
+
+	/**
+	 * Returns the index this formula has been compiled against.
+	 * @return a proposition index
+	 */
+	public PropositionIndex getIndex() {
+		return this.index;
+	}
+
+	/**
+	 * Evaluates this formula in the world given by the bits, i.e. the proposition
+	 * with index i is true iff bit i is set.
+	 * @param bits the bits of a world
+	 * @return "true" iff the world satisfies this formula.
+	 */
+	public boolean evaluate(long[] bits) {
+		return this.evaluate(0, bits);
+	}
+
+	/**
+	 * Evaluates this formula in the given world.
+	 * @param world some world over the index of this formula
+	 * @return "true" iff the world satisfies this formula.
+	 */
+	public boolean evaluate(PackedPossibleWorld world) {
+		return this.evaluate(0, world.getBits());
+	}
+
+	/**
+	 * Evaluates the sub-formula at the given position.
+	 * @param pc the position of some node
+	 * @param bits the bits of a world
+	 * @return the truth value of the sub-formula
+	 */
+	private boolean evaluate(int pc, long[] bits) {
+		int[] p = this.program;
+		int end = p[pc + 2];
+		int child = pc + NODE;
+		switch(p[pc]) {
+			case VAR:
+				return (bits[p[pc + 1] >>> 6] & (1L << p[pc + 1])) != 0;
+			case TRUE:
+				return true;
+			case FALSE:
+				return false;
+			case NOT:
+				return !this.evaluate(child, bits);
+			case AND:
+				for(; child < end; child = p[child + 2])
+					if(!this.evaluate(child, bits))
+						return false;
+				return true;
+			case OR:
+				for(; child < end; child = p[child + 2])
+					if(this.evaluate(child, bits))
+						return true;
+				return false;
+			case XOR:
+				// the empty exclusive disjunction is a tautology (its CNF is empty)
+				if(child == end)
+					return true;
+				boolean parity = false;
+				for(; child < end; child = p[child + 2])
+					parity ^= this.evaluate(child, bits);
+				return parity;
+			case IMPL:
+				return !this.evaluate(child, bits) || this.evaluate(p[child + 2], bits);
+			case EQUIV:
+				return this.evaluate(child, bits) == this.evaluate(p[child + 2], bits);
+			default:
+				throw new IllegalStateException("Unknown operator " + p[pc]);
+		}
+	}
+
+	/**
+	 * Returns all models of this formula among the worlds of its index.
+	 * @return the set of models of this formula.
+	 */
+	public Set<PossibleWorld> getModels() {
+		Set<PossibleWorld> models = new HashSet<PossibleWorld>();
+		PackedPossibleWorldIterator it = new PackedPossibleWorldIterator(this.index);
+		while(it.hasNext()) {
+			PackedPossibleWorld w = it.next();
+			if(this.evaluate(w.getBits()))
+				models.add(w.toPossibleWorld());
+		}
+		return models;
+	}
+
+	/**
+	 * Returns the number of models of this formula among the worlds of its index.
+	 * @return the number of models of this formula.
+	 */
+	public long countModels() {
+		long count = 0;
+		PackedPossibleWorldIterator it = new PackedPossibleWorldIterator(this.index);
+		while(it.hasNext())
+			if(this.evaluate(it.next().getBits()))
+				count++;
+		return count;
+	}
+
+	/**
+	 * Returns all models of the given formula over the given signature extended
+	 * by the atoms of the formula.
+	 * @param formula some formula
+	 * @param signature some propositions
+	 * @return the set of models of the formula.
+	 */
+	public static Set<PossibleWorld> getModels(PlFormula formula, Collection<Proposition> signature) {
+		Set<Proposition> props = new LinkedHashSet<Proposition>(signature);
+		props.addAll(formula.getAtoms());
+		return CompiledPlFormula.compile(formula, new PropositionIndex(props)).getModels();
+	}
+
+	/**
+	 * Compiles formulas into programs.
+	 */
+	private static class Compiler {
+		/** The index of propositions. */
+		private PropositionIndex index;
+		/** The program. */
+		private int[] program = new int[4 * NODE];
+		/** The size of the program. */
+		private int size = 0;
+
+		/**
+		 * Creates a new compiler.
+		 * @param index some proposition index
+		 */
+		private Compiler(PropositionIndex index) {
+			this.index = index;
+		}
+
+		/**
+		 * Appends a new node to the program.
+		 * @param op some operator
+		 * @param arg some argument
+		 * @return the position of the node
+		 */
+		private int node(int op, int arg) {
+			if(this.size + NODE > this.program.length)
+				this.program = Arrays.copyOf(this.program, 2 * this.program.length);
+			int pc = this.size;
+			this.program[pc] = op;
+			this.program[pc + 1] = arg;
+			this.size += NODE;
+			return pc;
+		}
+
+		/**
+		 * Appends the given formula to the program.
+		 * @param formula some formula
+		 */
+		private void compile(PlFormula formula) {
+			int pc;
+			if(formula instanceof Proposition) {
+				int i = this.index.indexOf((Proposition) formula);
+				if(i < 0)
+					throw new IllegalArgumentException("Proposition " + formula + " is not indexed.");
+				pc = this.node(VAR, i);
+			}else if(formula instanceof Tautology)
+				pc = this.node(TRUE, 0);
+			else if(formula instanceof Contradiction)
+				pc = this.node(FALSE, 0);
+			else if(formula instanceof Negation) {
+				pc = this.node(NOT, 0);
+				this.compile(((Negation) formula).getFormula());
+			}else if(formula instanceof Conjunction || formula instanceof Disjunction || formula instanceof ExclusiveDisjunction) {
+				pc = this.node(formula instanceof Conjunction ? AND : (formula instanceof Disjunction ? OR : XOR), 0);
+				for(PlFormula f: (AssociativePlFormula) formula)
+					this.compile(f);
+			}else if(formula instanceof Implication) {
+				pc = this.node(IMPL, 0);
+				this.compile(((Implication) formula).getFormulas().getFirst());
+				this.compile(((Implication) formula).getFormulas().getSecond());
+			}else if(formula instanceof Equivalence) {
+				pc = this.node(EQUIV, 0);
+				this.compile(((Equivalence) formula).getFormulas().getFirst());
+				this.compile(((Equivalence) formula).getFormulas().getSecond());
+			}else throw new IllegalArgumentException("Propositional formula " + formula + " is of unknown type.");
+			this.program[pc + 2] = this.size;
+		}
+	}
+}
@@ -192,6 +192,15 @@ public class NicePossibleWorld extends InterpretationSet<Proposition,PlBeliefSet
 		return world.satisfies(formula);
 	}
 
+	/**
+	 * Checks whether this world satisfies the given compiled formula.
+	 * @param formula some compiled formula
+	 * @return "true" iff this world satisfies the formula.
+	 */
+	public boolean satisfies(CompiledPlFormula formula) {
+		return world.satisfies(formula);
+	}
+
 	@Override
 	public boolean satisfies(PlBeliefSet beliefBase)
 			throws IllegalArgumentException {
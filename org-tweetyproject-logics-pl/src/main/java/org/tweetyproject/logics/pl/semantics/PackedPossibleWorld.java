@@ -0,0 +1,213 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.logics.pl.semantics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.tweetyproject.logics.pl.syntax.PlFormula;
+import org.tweetyproject.logics.pl.syntax.Proposition;
+
+/**
+ * A possible world over a fixed {@link PropositionIndex} that is represented as a
+ * bit vector, i.e. the proposition with index i is true iff bit i is set. In contrast
+ * to {@link PossibleWorld} it is mutable and cheap to modify in place, which makes it
+ * suitable for enumerating worlds (see {@link PackedPossibleWorldIterator}) and for
+ * evaluating formulas compiled by {@link CompiledPlFormula}.
+ *
+ * @author Sebastian Franke
+ */
+public class PackedPossibleWorld {
+
+	/** The index of the propositions. */
+	private final PropositionIndex index;
+	/** The bits of this world. */
+	private final long[] bits;
+
+	/**
+	 * Creates a new world where all propositions of the given index are false.
+	 * @param index some proposition index
+	 */
+	public PackedPossibleWorld(PropositionIndex index) {
+		this.index = index;
+		this.bits = new long[(index.size() + 63) >>> 6];
+	}
+
+	/**
+	 * Creates a new world where exactly the given propositions are true.
+	 * @param index some proposition index
+	 * @param propositions the true propositions; propositions not in the index are ignored
+	 */
+	public PackedPossibleWorld(PropositionIndex index, Collection<? extends Proposition> propositions) {
+		this(index);
+		for(Proposition p: propositions) {
+			int i = index.indexOf(p);
+			if(i >= 0)
+				this.set(i, true);
+		}
+	}
+
+	/**
+	 * Returns the proposition index of this world.
+	 * @return the proposition index of this world.
+	 */
+	public PropositionIndex getIndex() {
+		return this.index;
+	}
+
+	/**
+	 * Returns the bits of this world. The array is backed by this world and must not
+	 * be modified.
+	 * @return the bits of this world.
+	 */
+	public long[] getBits() {
+		return this.bits;
+	}
+
+	/**
+	 * Checks whether the proposition with the given index is true.
+	 * @param i some index
+	 * @return "true" iff the proposition with index i is true.
+	 */
+	public boolean isTrue(int i) {
+		return (this.bits[i >>> 6] & (1L << i)) != 0;
+	}
+
+	/**
+	 * Sets the truth value of the proposition with the given index.
+	 * @param i some index
+	 * @param value some truth value
+	 */
+	public void set(int i, boolean value) {
+		if(value)
+			this.bits[i >>> 6] |= 1L << i;
+		else this.bits[i >>> 6] &= ~(1L << i);
+	}
+
+	/**
+	 * Flips the truth value of the proposition with the given index.
+	 * @param i some index
+	 */
+	public void flip(int i) {
+		this.bits[i >>> 6] ^= 1L << i;
+	}
+
+	/**
+	 * Returns the number of true propositions.
+	 * @return the number of true propositions.
+	 */
+	public int size() {
+		int size = 0;
+		for(long word: this.bits)
+			size += Long.bitCount(word);
+		return size;
+	}
+
+	/**
+	 * Checks whether this world satisfies the given compiled formula.
+	 * @param formula some formula compiled against the index of this world
+	 * @return "true" iff this world satisfies the formula.
+	 */
+	public boolean satisfies(CompiledPlFormula formula) {
+		return formula.evaluate(this.bits);
+	}
+
+	/**
+	 * Checks whether this world satisfies the given formula. The formula is compiled
+	 * for every call, so formulas that are checked repeatedly should be compiled once
+	 * via {@link CompiledPlFormula#compile(PlFormula, PropositionIndex)}.
+	 * @param formula some formula over the propositions of the index of this world
+	 * @return "true" iff this world satisfies the formula.
+	 */
+	public boolean satisfies(PlFormula formula) {
+		return CompiledPlFormula.compile(formula, this.index).evaluate(this.bits);
+	}
+
+	/**
+	 * Returns a copy of this world.
+	 * @return a copy of this world.
+	 */
+	public PackedPossibleWorld copy() {
+		PackedPossibleWorld w = new PackedPossibleWorld(this.index);
+		System.arraycopy(this.bits, 0, w.bits, 0, this.bits.length);
+		return w;
+	}
+
+	/**
+	 * Returns the true propositions of this world as a {@link PossibleWorld}.
+	 * @return a possible world
+	 */
+	public PossibleWorld toPossibleWorld() {
+		Set<Proposition> props = new HashSet<Proposition>();
+		for(int w = 0; w < this.bits.length; w++) {
+			long word = this.bits[w];
+			while(word != 0) {
+				props.add(this.index.get((w << 6) + Long.numberOfTrailingZeros(word)));
+				word &= word - 1;
+			}
+		}
+		return new PossibleWorld(props);
+	}
+
+	/**
+	 * Returns all possible worlds of the given index in Gray code order.
+	 * @param index some proposition index with at most 62 propositions
+	 * @return the list of all possible worlds of the index.
+	 */
+	public static List<PackedPossibleWorld> getAllPossibleWorlds(PropositionIndex index) {
+		List<PackedPossibleWorld> worlds = new ArrayList<PackedPossibleWorld>();
+		PackedPossibleWorldIterator it = new PackedPossibleWorldIterator(index);
+		while(it.hasNext())
+			worlds.add(it.next().copy());
+		return worlds;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(this.bits);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj)
+			return true;
+		if(!(obj instanceof PackedPossibleWorld))
+			return false;
+		PackedPossibleWorld other = (PackedPossibleWorld) obj;
+		return this.index == other.index && Arrays.equals(this.bits, other.bits);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return this.toPossibleWorld().toString();
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.logics.pl.semantics;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over all possible worlds of a {@link PropositionIndex} in Gray code order,
+ * i.e. two consecutive worlds differ in the truth value of exactly one proposition.
+ * The iterator returns the same {@link PackedPossibleWorld} instance in every step
+ * and modifies it in place, so callers that want to keep a world have to copy it.
+ * The first world is the one where all propositions are false.
+ *
+ * @author Sebastian Franke
+ */
+public class PackedPossibleWorldIterator implements Iterator<PackedPossibleWorld> {
+
+	/** The world that is modified in place. */
+	private final PackedPossibleWorld world;
+	/** The number of worlds. */
+	private final long numberOfWorlds;
+	/** The number of worlds returned so far. */
+	private long count = 0;
+	/** The index of the proposition flipped in the last step. */
+	private int flipped = -1;
+
+	/**
+	 * Creates a new iterator over all worlds of the given index.
+	 * @param index some proposition index with at most 62 propositions
+	 * @throws IllegalArgumentException if there are more than 62 propositions.
+	 */
+	public PackedPossibleWorldIterator(PropositionIndex index) {
+		if(index.size() > 62)
+			throw new IllegalArgumentException("Cannot enumerate the possible worlds of more than 62 propositions.");
+		this.world = new PackedPossibleWorld(index);
+		this.numberOfWorlds = 1L << index.size();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.Iterator#hasNext()
+	 */
+	@Override
+	public boolean hasNext() {
+		return this.count < this.numberOfWorlds;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.Iterator#next()
+	 */
+	@Override
+	public PackedPossibleWorld next() {
+		if(!this.hasNext())
+			throw new NoSuchElementException();
+		if(this.count > 0) {
+			this.flipped = Long.numberOfTrailingZeros(this.count);
+			this.world.flip(this.flipped);
+		}
+		this.count++;
+		return this.world;
+	}
+
+	/**
+	 * Returns the index of the proposition whose truth value has been changed by
+	 * the last call to {@link #next()}, or -1 if the last call returned the first world.
+	 * @return the index of the proposition flipped in the last step.
+	 */
+	public int getFlippedIndex() {
+		return this.flipped;
+	}
+}
@@ -106,6 +106,16 @@ public class PossibleWorld extends InterpretationSet<Proposition,PlBeliefSet,PlF
 		throw new IllegalArgumentException("Propositional formula " + formula + " is of unknown type.");
 	}
 
+	/**
+	 * Checks whether this possible world satisfies the given compiled formula. Propositions
+	 * of the index of the formula that are not in this world are false.
+	 * @param formula some compiled formula
+	 * @return "true" iff this world satisfies the formula.
+	 */
+	public boolean satisfies(CompiledPlFormula formula) {
+		return formula.evaluate(new PackedPossibleWorld(formula.getIndex(), this).getBits());
+	}
+
 	/* (non-Javadoc)
 	 * @see org.tweetyproject.commons.AbstractInterpretation#satisfies(java.util.Collection)
 	 */
@@ -136,9 +146,9 @@ public class PossibleWorld extends InterpretationSet<Proposition,PlBeliefSet,PlF
 	 */
 	public static Set<PossibleWorld> getAllPossibleWorlds(Collection<Proposition> signature){
 		Set<PossibleWorld> possibleWorlds = new HashSet<PossibleWorld>();
-		Set<Set<Proposition>> propositions = new SetTools<Proposition>().subsets(signature);
-		for(Set<Proposition> p: propositions)
-			possibleWorlds.add(new PossibleWorld(p));
+		PackedPossibleWorldIterator it = new PackedPossibleWorldIterator(new PropositionIndex(signature));
+		while(it.hasNext())
+			possibleWorlds.add(it.next().toPossibleWorld());
 		return possibleWorlds;
 	}
 	
@@ -19,23 +19,20 @@
 package org.tweetyproject.logics.pl.semantics;
 
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.NoSuchElementException;
-import java.util.Set;
 
 import org.tweetyproject.commons.Formula;
 import org.tweetyproject.commons.InterpretationIterator;
 import org.tweetyproject.commons.Signature;
-import org.tweetyproject.commons.util.DefaultSubsetIterator;
-import org.tweetyproject.commons.util.SubsetIterator;
 import org.tweetyproject.logics.pl.syntax.PlBeliefSet;
-import org.tweetyproject.logics.pl.syntax.Proposition;
 import org.tweetyproject.logics.pl.syntax.PlFormula;
 import org.tweetyproject.logics.pl.syntax.PlSignature;
 
 
 /**
  * Iterates effectively over all interpretation sets worlds of a given signature.
+ * The worlds are enumerated in Gray code order by a {@link PackedPossibleWorldIterator},
+ * only the returned worlds themselves are created as {@link PossibleWorld}s.
  * 
  * @author Matthias Thimm
  *
@@ -45,8 +42,8 @@ public class PossibleWorldIterator implements InterpretationIterator<PlFormula,P
 	/** The signature used for creating possible worlds. */
 	private PlSignature sig = null;
 	
-	/** Used for iterating over subsets of propositions. */
-	private SubsetIterator<Proposition> it = null;
+	/** Used for iterating over the packed worlds of the signature. */
+	private PackedPossibleWorldIterator it = null;
 
 	/**
 	 * Creates new iterator.
@@ -57,11 +54,12 @@ public class PossibleWorldIterator implements InterpretationIterator<PlFormula,P
 	/**
 	 * Creates new iterator for the given signature.
 	 * @param sig some signature
+	 * @throws IllegalArgumentException if the signature has more than 62 propositions.
 	 */
 	public PossibleWorldIterator(PlSignature sig){
 		this();
 		this.sig = sig;
-		this.it = new DefaultSubsetIterator<Proposition>(new HashSet<Proposition>(sig.toCollection()));
+		this.it = new PackedPossibleWorldIterator(new PropositionIndex(sig));
 	}
 	
 	/* (non-Javadoc)
@@ -77,10 +75,9 @@ public class PossibleWorldIterator implements InterpretationIterator<PlFormula,P
 	 */
 	@Override
 	public PossibleWorld next() {
-		if(!this.it.hasNext())
+		if(this.it == null || !this.it.hasNext())
 			throw new NoSuchElementException();
-		Set<Proposition> s = this.it.next();
-		return new PossibleWorld(s);
+		return this.it.next().toPossibleWorld();
 	}
 
 	/* (non-Javadoc)
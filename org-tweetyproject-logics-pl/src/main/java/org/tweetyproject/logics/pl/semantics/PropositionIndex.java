@@ -0,0 +1,116 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.logics.pl.semantics;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.tweetyproject.logics.pl.syntax.PlSignature;
+import org.tweetyproject.logics.pl.syntax.Proposition;
+
+/**
+ * An immutable assignment of consecutive indices 0,...,n-1 to a set of propositions.
+ * Indices are used as bit positions of {@link PackedPossibleWorld} and by
+ * {@link CompiledPlFormula}.
+ *
+ * @author Sebastian Franke
+ */
+public class PropositionIndex implements Iterable<Proposition> {
+
+	/** The propositions, ordered by their indices. */
+	private final Proposition[] propositions;
+	/** The index of each proposition. */
+	private final Map<Proposition,Integer> indices;
+
+	/**
+	 * Creates a new index for the given propositions (in iteration order, duplicates are ignored).
+	 * @param propositions some propositions
+	 */
+	public PropositionIndex(Collection<? extends Proposition> propositions) {
+		this.propositions = new LinkedHashSet<Proposition>(propositions).toArray(new Proposition[0]);
+		this.indices = new HashMap<Proposition,Integer>();
+		for(int i = 0; i < this.propositions.length; i++)
+			this.indices.put(this.propositions[i], i);
+	}
+
+	/**
+	 * Creates a new index for the propositions of the given signature.
+	 * @param signature some propositional signature
+	 */
+	public PropositionIndex(PlSignature signature) {
+		this(signature.toCollection());
+	}
+
+	/**
+	 * Returns the number of propositions.
+	 * @return the number of propositions.
+	 */
+	public int size() {
+		return this.propositions.length;
+	}
+
+	/**
+	 * Returns the proposition with the given index.
+	 * @param index some index
+	 * @return a proposition
+	 */
+	public Proposition get(int index) {
+		return this.propositions[index];
+	}
+
+	/**
+	 * Returns the index of the given proposition.
+	 * @param p some proposition
+	 * @return the index of p or -1 if p is not indexed.
+	 */
+	public int indexOf(Proposition p) {
+		Integer i = this.indices.get(p);
+		return i == null ? -1 : i;
+	}
+
+	/**
+	 * Returns the indexed propositions as a list ordered by their indices.
+	 * @return an unmodifiable list of the propositions.
+	 */
+	public List<Proposition> toList() {
+		return Collections.unmodifiableList(Arrays.asList(this.propositions));
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Iterable#iterator()
+	 */
+	@Override
+	public Iterator<Proposition> iterator() {
+		return this.toList().iterator();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return Arrays.toString(this.propositions);
+	}
+}
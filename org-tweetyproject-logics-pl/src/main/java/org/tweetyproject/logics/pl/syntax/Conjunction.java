@@ -20,10 +20,10 @@ package org.tweetyproject.logics.pl.syntax;
 
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Set;
 
 import org.tweetyproject.logics.commons.LogicalSymbols;
+import org.tweetyproject.logics.pl.semantics.CompiledPlFormula;
 import org.tweetyproject.logics.pl.semantics.PossibleWorld;
 
 /**
@@ -156,14 +156,9 @@ public class Conjunction extends AssociativePlFormula {
 	 */
 	@Override
 	public Set<PossibleWorld> getModels(PlSignature sig) {
-		Set<PossibleWorld> models = new HashSet<PossibleWorld>();
-		Iterator<PlFormula> it = this.support.iterator();
-		if (!it.hasNext())
-			return models;
-		models.addAll(it.next().getModels(sig));
-		while (it.hasNext())
-			models.retainAll(it.next().getModels(sig));
-		return models;
+		if (this.support.isEmpty())
+			return new HashSet<PossibleWorld>();
+		return CompiledPlFormula.getModels(this, sig.toCollection());
 	}
 
 	/*
@@ -20,11 +20,11 @@ package org.tweetyproject.logics.pl.syntax;
 
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Set;
 
 import org.tweetyproject.commons.util.SetTools;
 import org.tweetyproject.logics.commons.LogicalSymbols;
+import org.tweetyproject.logics.pl.semantics.CompiledPlFormula;
 import org.tweetyproject.logics.pl.semantics.PossibleWorld;
 
 /**
@@ -170,14 +170,7 @@ public class Disjunction extends AssociativePlFormula {
 	 */
 	@Override
 	public Set<PossibleWorld> getModels(PlSignature sig) {
-		Set<PossibleWorld> models = new HashSet<PossibleWorld>();
-		Iterator<PlFormula> it = this.support.iterator();
-		if (!it.hasNext())
-			return PossibleWorld.getAllPossibleWorlds(sig);
-		models.addAll(it.next().getModels(sig));
-		while (it.hasNext())
-			models.addAll(it.next().getModels(sig));
-		return models;
+		return CompiledPlFormula.getModels(this, sig.toCollection());
 	}
 
 	/*
@@ -23,6 +23,7 @@ import java.util.Set;
 
 import org.tweetyproject.commons.util.Pair;
 import org.tweetyproject.logics.commons.LogicalSymbols;
+import org.tweetyproject.logics.pl.semantics.CompiledPlFormula;
 import org.tweetyproject.logics.pl.semantics.PossibleWorld;
 
 /**
@@ -136,9 +137,7 @@ public class Equivalence extends PlFormula {
 
 	@Override
 	public Set<PossibleWorld> getModels(PlSignature sig) {
-		Disjunction d1 = new Disjunction(new Negation(this.formulas.getFirst()),this.formulas.getSecond());
-		Disjunction d2 = new Disjunction(new Negation(this.formulas.getSecond()),this.formulas.getFirst()); 
-		return (new Conjunction(d1,d2)).getModels();
+		return CompiledPlFormula.getModels(this, sig.toCollection());
 	}
 
 	@Override
@@ -23,6 +23,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import org.tweetyproject.logics.commons.LogicalSymbols;
+import org.tweetyproject.logics.pl.semantics.CompiledPlFormula;
 import org.tweetyproject.logics.pl.semantics.PossibleWorld;
 
 /**
@@ -171,8 +172,7 @@ public class ExclusiveDisjunction extends AssociativePlFormula {
 	 */
 	@Override
 	public Set<PossibleWorld> getModels(PlSignature sig) {
-		Conjunction cnf = this.toCnf();
-		return cnf.getModels();
+		return CompiledPlFormula.getModels(this, sig.toCollection());
 	}
 
 	/*
@@ -23,6 +23,7 @@ import java.util.Set;
 
 import org.tweetyproject.commons.util.Pair;
 import org.tweetyproject.logics.commons.LogicalSymbols;
+import org.tweetyproject.logics.pl.semantics.CompiledPlFormula;
 import org.tweetyproject.logics.pl.semantics.PossibleWorld;
 
 /**
@@ -160,8 +161,7 @@ public class Implication extends PlFormula {
 
 	@Override
 	public Set<PossibleWorld> getModels(PlSignature sig) {
-		Disjunction d = new Disjunction(new Negation(this.formulas.getFirst()), this.formulas.getSecond()); // (A=>B)
-		return d.getModels();
+		return CompiledPlFormula.getModels(this, sig.toCollection());
 	}
 
 	@Override
@@ -22,6 +22,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import org.tweetyproject.logics.commons.LogicalSymbols;
+import org.tweetyproject.logics.pl.semantics.CompiledPlFormula;
 import org.tweetyproject.logics.pl.semantics.PossibleWorld;
 
 /**
@@ -263,10 +264,7 @@ public class Negation extends PlFormula {
 	 */
 	@Override
 	public Set<PossibleWorld> getModels(PlSignature sig) {
-		Set<PossibleWorld> models = PossibleWorld.getAllPossibleWorlds(sig);
-		for (PossibleWorld w : this.formula.getModels(sig))
-			models.remove(w);
-		return models;
+		return CompiledPlFormula.getModels(this, sig.toCollection());
 	}
 
 	/*
@@ -21,6 +21,9 @@ package org.tweetyproject.logics.pl.syntax;
 import java.util.*;
 
 import org.tweetyproject.commons.*;
+import org.tweetyproject.logics.pl.semantics.CompiledPlFormula;
+import org.tweetyproject.logics.pl.semantics.PossibleWorld;
+import org.tweetyproject.logics.pl.semantics.PropositionIndex;
 
 /**
  * This class represents a knowledge base of propositional formulae.
@@ -46,6 +49,42 @@ public class PlBeliefSet extends BeliefSet<PlFormula,PlSignature> {
 		super(formulas);
 	}
 
+	/**
+	 * Returns all models of this belief set over the given signature extended by
+	 * the signature of this belief set. The formulas are compiled once and evaluated
+	 * on a bit representation of the possible worlds.
+	 * 
+	 * @param sig some propositional signature
+	 * @return the set of models of this belief set.
+	 */
+	public Set<PossibleWorld> getModels(PlSignature sig) {
+		PlSignature sig2 = new PlSignature(sig);
+		sig2.addSignature(this.getMinimalSignature());
+		return CompiledPlFormula.compile(this, new PropositionIndex(sig2)).getModels();
+	}
+
+	/**
+	 * Returns all models of this belief set over its minimal signature.
+	 * 
+	 * @return the set of models of this belief set.
+	 */
+	public Set<PossibleWorld> getModels() {
+		return this.getModels(new PlSignature());
+	}
+
+	/**
+	 * Returns the number of models of this belief set over the given signature extended
+	 * by the signature of this belief set.
+	 * 
+	 * @param sig some propositional signature
+	 * @return the number of models of this belief set.
+	 */
+	public long countModels(PlSignature sig) {
+		PlSignature sig2 = new PlSignature(sig);
+		sig2.addSignature(this.getMinimalSignature());
+		return CompiledPlFormula.compile(this, new PropositionIndex(sig2)).countModels();
+	}
+
 	/**
 	 * This method returns this belief set in conjunctive normal form (CNF). A
 	 * formula is in CNF iff it is a conjunction of disjunctions and in NNF.
@@ -26,7 +26,9 @@ import org.tweetyproject.commons.util.SetTools;
 import org.tweetyproject.logics.commons.syntax.interfaces.ClassicalFormula;
 import org.tweetyproject.logics.commons.syntax.interfaces.Conjunctable;
 import org.tweetyproject.logics.commons.syntax.interfaces.Disjunctable;
+import org.tweetyproject.logics.pl.semantics.CompiledPlFormula;
 import org.tweetyproject.logics.pl.semantics.PossibleWorld;
+import org.tweetyproject.logics.pl.semantics.PropositionIndex;
 import org.tweetyproject.math.probability.Probability;
 
 /**
@@ -99,12 +101,9 @@ public abstract class PlFormula implements ClassicalFormula {
 	 */
 	@Override
 	public Probability getUniformProbability() {
-		Set<PossibleWorld> worlds = PossibleWorld.getAllPossibleWorlds(this.getSignature());
-		int cnt = 0;
-		for (PossibleWorld world : worlds)
-			if (world.satisfies(this))
-				cnt++;
-		return new Probability(((double) cnt) / ((double) worlds.size()));
+		PropositionIndex index = new PropositionIndex(this.getSignature());
+		long cnt = CompiledPlFormula.compile(this, index).countModels();
+		return new Probability(((double) cnt) / ((double) (1L << index.size())));
 	}
 
 	/**
@@ -27,6 +27,7 @@ import java.util.Set;
 import org.tweetyproject.logics.commons.syntax.Predicate;
 import org.tweetyproject.logics.commons.syntax.interfaces.Atom;
 import org.tweetyproject.logics.commons.syntax.interfaces.Term;
+import org.tweetyproject.logics.pl.semantics.CompiledPlFormula;
 import org.tweetyproject.logics.pl.semantics.PossibleWorld;
 
 /**
@@ -220,13 +221,6 @@ public class Proposition extends PlFormula implements Atom, Comparable<Propositi
 	 */
 	@Override
 	public Set<PossibleWorld> getModels(PlSignature sig) {
-		Set<PossibleWorld> models = new HashSet<PossibleWorld>();
-		PlSignature sig2 = new PlSignature(sig);
-		sig2.remove(this);
-		for(PossibleWorld w: PossibleWorld.getAllPossibleWorlds(sig2)){
-			w.add(this);
-			models.add(w);
-		}
-		return models;
+		return CompiledPlFormula.getModels(this, sig.toCollection());
 	}	
 }
@@ -0,0 +1,165 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2016-2018 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.logics.pl.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+import org.tweetyproject.commons.ParserException;
+import org.tweetyproject.logics.pl.parser.DimacsParser;
+import org.tweetyproject.logics.pl.sat.CdclSolver;
+import org.tweetyproject.logics.pl.sat.Sat4jSolver;
+import org.tweetyproject.logics.pl.sat.SatSolverSession;
+import org.tweetyproject.logics.pl.semantics.PossibleWorld;
+import org.tweetyproject.logics.pl.syntax.PlBeliefSet;
+
+public class CdclSolverTest {
+
+	private String[] files = {
+			"src/main/resources/dimacs_ex1.cnf",
+			"src/main/resources/dimacs_ex2.cnf",
+			"src/main/resources/dimacs_ex3.cnf",
+			"src/main/resources/dimacs_ex4.cnf",
+			"src/main/resources/dimacs_ex5.cnf"
+	};
+
+	private boolean[] sat = {
+			true,
+			false,
+			true,
+			false,
+			true
+	};
+
+	@Test
+	public void dimacsTest() throws ParserException, IOException {
+		DimacsParser parser = new DimacsParser();
+		CdclSolver solver = new CdclSolver();
+		for(int i = 0; i < this.files.length; i++) {
+			PlBeliefSet bs = parser.parseBeliefBaseFromFile(this.files[i]);
+			assertEquals(this.sat[i], solver.isConsistent(bs));
+			if(this.sat[i])
+				assertTrue(((PossibleWorld) solver.getWitness(bs)).satisfies(bs));
+		}
+	}
+
+	@Test
+	public void randomTest() {
+		Random rand = new Random(42);
+		CdclSolver solver = new CdclSolver();
+		for(int i = 0; i < 200; i++) {
+			int vars = 5 + rand.nextInt(40);
+			int[][] clauses = this.random3Sat(rand, vars, (int) (vars * 4.26));
+			int[] model = solver.getWitness(clauses);
+			assertEquals(this.sat4j(clauses), model != null);
+			if(model != null)
+				for(int[] clause: clauses) {
+					boolean satisfied = false;
+					for(int lit: clause)
+						satisfied |= model[Math.abs(lit)-1] == lit;
+					assertTrue(satisfied);
+				}
+		}
+	}
+
+	@Test
+	public void pigeonholeTest() {
+		// 8 pigeons do not fit into 7 holes
+		int pigeons = 8, holes = 7;
+		int[][] clauses = new int[pigeons + holes * pigeons * (pigeons-1) / 2][];
+		int c = 0;
+		for(int p = 0; p < pigeons; p++) {
+			clauses[c] = new int[holes];
+			for(int h = 0; h < holes; h++)
+				clauses[c][h] = p * holes + h + 1;
+			c++;
+		}
+		for(int h = 0; h < holes; h++)
+			for(int p = 0; p < pigeons; p++)
+				for(int q = p+1; q < pigeons; q++)
+					clauses[c++] = new int[] {-(p * holes + h + 1), -(q * holes + h + 1)};
+		assertNull(new CdclSolver().getWitness(clauses));
+	}
+
+	@Test
+	public void sessionTest() {
+		SatSolverSession session = new CdclSolver().createSession();
+		session.addClause(1, 2);
+		session.addClause(-1, 3);
+		assertTrue(session.solve());
+		assertTrue(session.solve(-2));
+		assertTrue(session.getValue(1));
+		assertTrue(session.getValue(3));
+		assertFalse(session.solve(-2, -3));
+		assertTrue(session.solve(-3));
+		assertFalse(session.getValue(1));
+		session.addClause(-2);
+		assertFalse(session.solve(-3));
+		assertTrue(session.solve());
+		session.addClause(-3);
+		assertFalse(session.solve());
+		session.close();
+		Random rand = new Random(7);
+		for(int i = 0; i < 20; i++) {
+			int[][] clauses = this.random3Sat(rand, 30, 110);
+			session = new CdclSolver().createSession();
+			for(int[] clause: clauses)
+				session.addClause(clause);
+			for(int j = 0; j < 10; j++) {
+				int a = 1 + rand.nextInt(30), b = 1 + rand.nextInt(30);
+				a = rand.nextBoolean() ? a : -a;
+				b = rand.nextBoolean() ? b : -b;
+				int[][] extended = Arrays.copyOf(clauses, clauses.length + 2);
+				extended[clauses.length] = new int[] {a};
+				extended[clauses.length+1] = new int[] {b};
+				boolean expected = this.sat4j(extended);
+				assertEquals(expected, session.solve(a, b));
+				if(expected)
+					assertEquals(a > 0, session.getValue(Math.abs(a)));
+			}
+			session.close();
+		}
+	}
+
+	private int[][] random3Sat(Random rand, int vars, int numberOfClauses) {
+		int[][] clauses = new int[numberOfClauses][3];
+		for(int[] clause: clauses)
+			for(int k = 0; k < 3; k++) {
+				int v = 1 + rand.nextInt(vars);
+				clause[k] = rand.nextBoolean() ? v : -v;
+			}
+		return clauses;
+	}
+
+	private boolean sat4j(int[][] clauses) {
+		SatSolverSession session = new Sat4jSolver().createSession();
+		for(int[] clause: clauses)
+			session.addClause(clause);
+		boolean result = session.solve();
+		session.close();
+		return result;
+	}
+}
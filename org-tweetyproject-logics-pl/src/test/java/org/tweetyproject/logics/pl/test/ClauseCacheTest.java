@@ -0,0 +1,82 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2016-2018 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.logics.pl.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.tweetyproject.commons.ParserException;
+import org.tweetyproject.logics.pl.parser.PlParser;
+import org.tweetyproject.logics.pl.sat.ClauseCache;
+import org.tweetyproject.logics.pl.sat.Sat4jSolver;
+import org.tweetyproject.logics.pl.semantics.PossibleWorld;
+import org.tweetyproject.logics.pl.syntax.Conjunction;
+import org.tweetyproject.logics.pl.syntax.Negation;
+import org.tweetyproject.logics.pl.syntax.PlBeliefSet;
+import org.tweetyproject.logics.pl.syntax.PlFormula;
+import org.tweetyproject.logics.pl.syntax.Proposition;
+
+public class ClauseCacheTest {
+
+	@Test
+	public void subsetTest() throws ParserException, IOException {
+		PlBeliefSet kb = new PlParser().parseBeliefBase("a && b\n!a || c\n!c\nd => (a || e)\n!e && !b\n+\nf || -");
+		List<PlFormula> formulas = new ArrayList<PlFormula>(kb);
+		ClauseCache cache = new ClauseCache();
+		Sat4jSolver solver = new Sat4jSolver(cache);
+		for(int i = 0; i < (1 << formulas.size()); i++) {
+			List<PlFormula> subset = new ArrayList<PlFormula>();
+			for(int j = 0; j < formulas.size(); j++)
+				if((i & (1 << j)) != 0)
+					subset.add(formulas.get(j));
+			boolean sat = false;
+			for(PossibleWorld w: PossibleWorld.getAllPossibleWorlds(kb.getMinimalSignature()))
+				sat |= w.satisfies(subset);
+			assertEquals(sat, solver.isSatisfiable(subset));
+			PossibleWorld w = (PossibleWorld) solver.getWitness(subset);
+			if(w != null)
+				assertTrue(w.satisfies(subset));
+		}
+		assertEquals(formulas.size(), cache.size());
+	}
+
+	@Test
+	public void modificationTest() {
+		ClauseCache cache = new ClauseCache(2, 100);
+		Sat4jSolver solver = new Sat4jSolver(cache);
+		Proposition a = new Proposition("a");
+		Conjunction conj = new Conjunction();
+		conj.add(a);
+		List<PlFormula> formulas = new ArrayList<PlFormula>();
+		formulas.add(conj);
+		assertTrue(solver.isSatisfiable(formulas));
+		conj.add(new Negation(a));
+		assertFalse(solver.isSatisfiable(formulas));
+		formulas.add(new Proposition("b"));
+		formulas.add(new Proposition("c"));
+		assertFalse(solver.isSatisfiable(formulas));
+		assertEquals(2, cache.size());
+	}
+}
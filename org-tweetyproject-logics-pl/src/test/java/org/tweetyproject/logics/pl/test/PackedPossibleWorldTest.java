@@ -0,0 +1,189 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.logics.pl.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+import org.tweetyproject.logics.pl.analysis.DalalDistance;
+import org.tweetyproject.logics.pl.semantics.CompiledPlFormula;
+import org.tweetyproject.logics.pl.semantics.PackedPossibleWorld;
+import org.tweetyproject.logics.pl.semantics.PackedPossibleWorldIterator;
+import org.tweetyproject.logics.pl.semantics.PossibleWorld;
+import org.tweetyproject.logics.pl.semantics.PossibleWorldIterator;
+import org.tweetyproject.logics.pl.semantics.PropositionIndex;
+import org.tweetyproject.logics.pl.syntax.Conjunction;
+import org.tweetyproject.logics.pl.syntax.Contradiction;
+import org.tweetyproject.logics.pl.syntax.Disjunction;
+import org.tweetyproject.logics.pl.syntax.Equivalence;
+import org.tweetyproject.logics.pl.syntax.ExclusiveDisjunction;
+import org.tweetyproject.logics.pl.syntax.Implication;
+import org.tweetyproject.logics.pl.syntax.Negation;
+import org.tweetyproject.logics.pl.syntax.PlBeliefSet;
+import org.tweetyproject.logics.pl.syntax.PlFormula;
+import org.tweetyproject.logics.pl.syntax.PlSignature;
+import org.tweetyproject.logics.pl.syntax.Proposition;
+import org.tweetyproject.logics.pl.syntax.Tautology;
+
+public class PackedPossibleWorldTest {
+
+	/**
+	 * Creates a random formula over the given propositions.
+	 * @param props some propositions
+	 * @param depth the maximal depth
+	 * @param rand a random number generator
+	 * @return a random formula
+	 */
+	private PlFormula randomFormula(List<Proposition> props, int depth, Random rand) {
+		int op = depth == 0 ? rand.nextInt(3) : rand.nextInt(9);
+		switch(op) {
+			case 0: case 1: return props.get(rand.nextInt(props.size()));
+			case 2: return rand.nextBoolean() ? new Tautology() : new Contradiction();
+			case 3: return new Negation(this.randomFormula(props, depth - 1, rand));
+			case 4: case 5: case 6:
+				List<PlFormula> sub = new ArrayList<PlFormula>();
+				// the CNF of exclusive disjunctions, which defines their semantics, needs at least two sub-formulas
+				for(int i = op == 6 ? 2 + rand.nextInt(2) : rand.nextInt(4); i > 0; i--)
+					sub.add(this.randomFormula(props, depth - 1, rand));
+				return op == 4 ? new Conjunction(sub) : (op == 5 ? new Disjunction(sub) : new ExclusiveDisjunction(sub));
+			case 7: return new Implication(this.randomFormula(props, depth - 1, rand), this.randomFormula(props, depth - 1, rand));
+			default: return new Equivalence(this.randomFormula(props, depth - 1, rand), this.randomFormula(props, depth - 1, rand));
+		}
+	}
+
+	@Test
+	public void grayCodeTest() {
+		List<Proposition> props = new ArrayList<Proposition>();
+		for(int i = 0; i < 10; i++)
+			props.add(new Proposition("p" + i));
+		PropositionIndex index = new PropositionIndex(props);
+		PackedPossibleWorldIterator it = new PackedPossibleWorldIterator(index);
+		Set<PossibleWorld> worlds = new HashSet<PossibleWorld>();
+		PackedPossibleWorld previous = null;
+		while(it.hasNext()) {
+			PackedPossibleWorld w = it.next();
+			if(previous == null)
+				assertEquals(0, w.size());
+			else {
+				PackedPossibleWorld diff = previous.copy();
+				diff.flip(it.getFlippedIndex());
+				assertEquals(diff, w);
+			}
+			assertTrue(worlds.add(w.toPossibleWorld()));
+			previous = w.copy();
+		}
+		assertEquals(PossibleWorld.getAllPossibleWorlds(props), worlds);
+		assertFalse(new PackedPossibleWorldIterator(new PropositionIndex(new ArrayList<Proposition>())).next().getBits().length > 0);
+	}
+
+	@Test
+	public void evaluationTest() {
+		List<Proposition> props = new ArrayList<Proposition>();
+		for(int i = 0; i < 5; i++)
+			props.add(new Proposition("p" + i));
+		PropositionIndex index = new PropositionIndex(props);
+		Random rand = new Random(1);
+		for(int i = 0; i < 300; i++) {
+			PlFormula f = this.randomFormula(props, 4, rand);
+			CompiledPlFormula c = CompiledPlFormula.compile(f, index);
+			Set<PossibleWorld> models = new HashSet<PossibleWorld>();
+			PackedPossibleWorldIterator it = new PackedPossibleWorldIterator(index);
+			while(it.hasNext()) {
+				PackedPossibleWorld w = it.next();
+				PossibleWorld pw = w.toPossibleWorld();
+				assertEquals(f.toString(), pw.satisfies(f), c.evaluate(w.getBits()));
+				if(pw.satisfies(f))
+					models.add(pw);
+			}
+			if(!(f instanceof Conjunction && ((Conjunction) f).isEmpty()))
+				assertEquals(f.toString(), models, f.getModels(new PlSignature(props)));
+		}
+	}
+
+	@Test
+	public void beliefSetTest() {
+		List<Proposition> props = new ArrayList<Proposition>();
+		for(int i = 0; i < 6; i++)
+			props.add(new Proposition("p" + i));
+		Random rand = new Random(2);
+		for(int i = 0; i < 50; i++) {
+			PlBeliefSet kb = new PlBeliefSet();
+			for(int j = rand.nextInt(4); j > 0; j--)
+				kb.add(this.randomFormula(props, 3, rand));
+			PlSignature sig = new PlSignature(props);
+			Set<PossibleWorld> models = new HashSet<PossibleWorld>();
+			for(PossibleWorld w: PossibleWorld.getAllPossibleWorlds(sig))
+				if(w.satisfies(kb))
+					models.add(w);
+			assertEquals(models, kb.getModels(sig));
+			assertEquals(models.size(), kb.countModels(sig));
+			CompiledPlFormula c = CompiledPlFormula.compile(kb, new PropositionIndex(sig));
+			for(PossibleWorld w: PossibleWorld.getAllPossibleWorlds(sig))
+				assertEquals(models.contains(w), w.satisfies(c));
+		}
+	}
+
+	@Test
+	public void possibleWorldIteratorTest() {
+		List<Proposition> props = new ArrayList<Proposition>();
+		for(int i = 0; i < 8; i++)
+			props.add(new Proposition("p" + i));
+		PossibleWorldIterator it = new PossibleWorldIterator(new PlSignature(props));
+		List<PossibleWorld> worlds = new ArrayList<PossibleWorld>();
+		while(it.hasNext())
+			worlds.add(it.next());
+		assertEquals(256, worlds.size());
+		assertEquals(PossibleWorld.getAllPossibleWorlds(props), new HashSet<PossibleWorld>(worlds));
+		assertFalse(new PossibleWorldIterator().hasNext());
+	}
+
+	@Test
+	public void dalalDistanceTest() {
+		List<Proposition> props = new ArrayList<Proposition>();
+		for(int i = 0; i < 5; i++)
+			props.add(new Proposition("p" + i));
+		DalalDistance distance = new DalalDistance();
+		Random rand = new Random(3);
+		for(int i = 0; i < 100; i++) {
+			PlFormula f = this.randomFormula(props, 3, rand);
+			if(f instanceof Conjunction && ((Conjunction) f).isEmpty())
+				continue;
+			for(PossibleWorld w: PossibleWorld.getAllPossibleWorlds(props)) {
+				// the minimal distance to a model of f, where propositions not in f are ignored
+				double expected = Double.POSITIVE_INFINITY;
+				for(PossibleWorld m: f.getModels()) {
+					PossibleWorld restricted = new PossibleWorld();
+					for(Proposition p: w)
+						if(f.getSignature().contains(p))
+							restricted.add(p);
+					expected = Math.min(expected, distance.distance(m, restricted));
+				}
+				assertEquals(f.toString(), expected, distance.distance(f, w), 0);
+			}
+		}
+	}
+}
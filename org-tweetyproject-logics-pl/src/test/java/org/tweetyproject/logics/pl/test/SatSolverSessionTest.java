@@ -0,0 +1,134 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2016-2018 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.logics.pl.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.tweetyproject.commons.Interpretation;
+import org.tweetyproject.logics.pl.sat.CdclSolver;
+import org.tweetyproject.logics.pl.sat.Sat4jSolver;
+import org.tweetyproject.logics.pl.sat.SatSolver;
+import org.tweetyproject.logics.pl.sat.SatSolverSession;
+import org.tweetyproject.logics.pl.syntax.PlBeliefSet;
+import org.tweetyproject.logics.pl.syntax.PlFormula;
+
+public class SatSolverSessionTest {
+
+	/**
+	 * Tests groups of clauses and assumptions on sessions of the given solver.
+	 * @param solver some SAT solver
+	 */
+	private void groups(SatSolver solver) {
+		SatSolverSession session = solver.createSession();
+		session.addClause(1, 2);
+		session.push();
+		session.addClause(-1);
+		session.addClause(-2, 3);
+		assertTrue(session.solve());
+		assertFalse(session.getValue(1));
+		assertTrue(session.getValue(3));
+		assertFalse(session.solve(-3));
+		session.push();
+		session.addClause(-3);
+		assertFalse(session.solve());
+		session.pop();
+		assertTrue(session.solve());
+		session.pop();
+		assertTrue(session.solve(1, -2, -3));
+		session.push();
+		session.addClause();
+		assertFalse(session.solve());
+		session.pop();
+		assertTrue(session.solve(-1));
+		assertTrue(session.getValue(2));
+		session.close();
+	}
+
+	/**
+	 * Compares random sequences of session operations with solving from scratch.
+	 * @param solver some SAT solver
+	 */
+	private void random(SatSolver solver) {
+		Random rand = new Random(11);
+		SatSolverSession session = solver.createSession();
+		List<List<int[]>> groups = new ArrayList<List<int[]>>();
+		groups.add(new ArrayList<int[]>());
+		for(int i = 0; i < 300; i++) {
+			int op = rand.nextInt(10);
+			if(op == 0) {
+				session.push();
+				groups.add(new ArrayList<int[]>());
+			}else if(op == 1 && groups.size() > 1) {
+				session.pop();
+				groups.remove(groups.size() - 1);
+			}else {
+				int[] clause = new int[3];
+				for(int k = 0; k < 3; k++)
+					clause[k] = (1 + rand.nextInt(15)) * (rand.nextBoolean() ? 1 : -1);
+				session.addClause(clause);
+				groups.get(groups.size() - 1).add(clause);
+			}
+			SatSolverSession fresh = new CdclSolver().createSession();
+			for(List<int[]> group: groups)
+				for(int[] clause: group)
+					fresh.addClause(clause);
+			int a = (1 + rand.nextInt(15)) * (rand.nextBoolean() ? 1 : -1);
+			assertEquals(fresh.solve(a), session.solve(a));
+			fresh.close();
+		}
+		session.close();
+	}
+
+	@Test
+	public void sat4jTest() {
+		this.groups(new Sat4jSolver());
+		this.random(new Sat4jSolver());
+	}
+
+	@Test
+	public void cdclTest() {
+		this.groups(new CdclSolver());
+		this.random(new CdclSolver());
+	}
+
+	@Test
+	public void defaultSessionTest() {
+		SatSolver solver = new SatSolver() {
+			private SatSolver sat4j = new Sat4jSolver();
+			@Override
+			public Interpretation<PlBeliefSet, PlFormula> getWitness(Collection<PlFormula> formulas) {
+				return this.sat4j.getWitness(formulas);
+			}
+			@Override
+			public boolean isSatisfiable(Collection<PlFormula> formulas) {
+				return this.sat4j.isSatisfiable(formulas);
+			}
+		};
+		this.groups(solver);
+		this.random(solver);
+	}
+}
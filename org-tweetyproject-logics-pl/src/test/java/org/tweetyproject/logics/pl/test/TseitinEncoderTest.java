@@ -0,0 +1,154 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2021 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.logics.pl.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.tweetyproject.commons.Interpretation;
+import org.tweetyproject.logics.pl.sat.CdclSolver;
+import org.tweetyproject.logics.pl.sat.Sat4jSolver;
+import org.tweetyproject.logics.pl.sat.SatSolver;
+import org.tweetyproject.logics.pl.sat.SimpleDpllSolver;
+import org.tweetyproject.logics.pl.sat.TseitinEncoder;
+import org.tweetyproject.logics.pl.semantics.PossibleWorld;
+import org.tweetyproject.logics.pl.syntax.Conjunction;
+import org.tweetyproject.logics.pl.syntax.Contradiction;
+import org.tweetyproject.logics.pl.syntax.Disjunction;
+import org.tweetyproject.logics.pl.syntax.Equivalence;
+import org.tweetyproject.logics.pl.syntax.ExclusiveDisjunction;
+import org.tweetyproject.logics.pl.syntax.Implication;
+import org.tweetyproject.logics.pl.syntax.Negation;
+import org.tweetyproject.logics.pl.syntax.PlBeliefSet;
+import org.tweetyproject.logics.pl.syntax.PlFormula;
+import org.tweetyproject.logics.pl.syntax.Proposition;
+import org.tweetyproject.logics.pl.syntax.Tautology;
+
+public class TseitinEncoderTest {
+
+	/**
+	 * Creates a random formula over the given propositions.
+	 * @param props some propositions
+	 * @param depth the maximal depth
+	 * @param xor whether exclusive disjunctions may occur
+	 * @param rand a random number generator
+	 * @return a random formula
+	 */
+	private PlFormula randomFormula(List<Proposition> props, int depth, boolean xor, Random rand) {
+		int op = depth == 0 ? rand.nextInt(3) : rand.nextInt(9);
+		if(op == 6 && !xor)
+			op = 5;
+		switch(op) {
+			case 0: case 1: return props.get(rand.nextInt(props.size()));
+			case 2: return rand.nextBoolean() ? new Tautology() : new Contradiction();
+			case 3: return new Negation(this.randomFormula(props, depth - 1, xor, rand));
+			case 4: case 5: case 6:
+				List<PlFormula> sub = new ArrayList<PlFormula>();
+				// the CNF of exclusive disjunctions, which defines their semantics, needs at least two sub-formulas
+				for(int i = op == 6 ? 2 + rand.nextInt(2) : 1 + rand.nextInt(3); i > 0; i--)
+					sub.add(this.randomFormula(props, depth - 1, xor, rand));
+				return op == 4 ? new Conjunction(sub) : (op == 5 ? new Disjunction(sub) : new ExclusiveDisjunction(sub));
+			case 7: return new Implication(this.randomFormula(props, depth - 1, xor, rand), this.randomFormula(props, depth - 1, xor, rand));
+			default: return new Equivalence(this.randomFormula(props, depth - 1, xor, rand), this.randomFormula(props, depth - 1, xor, rand));
+		}
+	}
+
+	/**
+	 * Checks the given solver against brute force on random formulas.
+	 * @param solver some SAT solver
+	 * @param depth the maximal depth of formulas
+	 * @param xor whether exclusive disjunctions may occur
+	 * @param seed some seed
+	 */
+	private void compare(SatSolver solver, int depth, boolean xor, long seed) {
+		List<Proposition> props = new ArrayList<Proposition>();
+		for(int i = 0; i < 5; i++)
+			props.add(new Proposition("p" + i));
+		Random rand = new Random(seed);
+		for(int i = 0; i < 100; i++) {
+			Collection<PlFormula> formulas = new ArrayList<PlFormula>();
+			for(int j = 1 + rand.nextInt(3); j > 0; j--)
+				formulas.add(this.randomFormula(props, depth, xor, rand));
+			boolean sat = false;
+			for(PossibleWorld w: PossibleWorld.getAllPossibleWorlds(props))
+				sat |= w.satisfies(formulas);
+			assertEquals(formulas.toString(), sat, solver.isSatisfiable(formulas));
+			Interpretation<PlBeliefSet,PlFormula> witness = solver.getWitness(formulas);
+			if(!sat)
+				assertNull(witness);
+			else {
+				// the witness must not contain auxiliary variables
+				for(Proposition p: (PossibleWorld) witness)
+					assertTrue(props.contains(p));
+				for(PlFormula f: formulas)
+					assertTrue(formulas.toString(), witness.satisfies(f));
+			}
+		}
+	}
+
+	@Test
+	public void cdclTest() {
+		this.compare(new CdclSolver(), 4, true, 1);
+	}
+
+	@Test
+	public void sat4jTest() {
+		this.compare(new Sat4jSolver(), 4, true, 2);
+		SatSolver solver = new Sat4jSolver();
+		solver.setDefinitionalCnf(false);
+		// toCnf() does not support negated exclusive disjunctions and grows exponentially
+		this.compare(solver, 3, false, 3);
+	}
+
+	@Test
+	public void dpllTest() {
+		this.compare(new SimpleDpllSolver(), 4, true, 4);
+	}
+
+	@Test
+	public void sizeTest() {
+		// the CNF of a disjunction of n binary conjunctions has 2^n clauses
+		Disjunction disj = new Disjunction();
+		for(int i = 0; i < 30; i++)
+			disj.add(new Conjunction(new Proposition("a" + i), new Proposition("b" + i)));
+		TseitinEncoder encoder = new TseitinEncoder();
+		List<int[]> clauses = new ArrayList<int[]>();
+		encoder.encode(disj, clauses);
+		assertEquals(60 + 30, encoder.getNumberOfVariables());
+		assertTrue(clauses.size() <= 1 + 3 * 30);
+		// identical sub-formulas share their auxiliary variables
+		Disjunction copy = new Disjunction();
+		for(int i = 29; i >= 0; i--)
+			copy.add(new Conjunction(new Proposition("b" + i), new Proposition("a" + i)));
+		encoder.encode(copy, clauses);
+		assertEquals(60 + 30, encoder.getNumberOfVariables());
+		Collection<PlFormula> formulas = new ArrayList<PlFormula>();
+		formulas.add(disj);
+		formulas.add(new Negation(copy));
+		assertFalse(new CdclSolver().isSatisfiable(formulas));
+	}
+}